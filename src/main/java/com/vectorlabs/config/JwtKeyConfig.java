@@ -0,0 +1,37 @@
+package com.vectorlabs.config;
+
+import com.vectorlabs.security.jwt.JwtKeyRing;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Única fonte das chaves dos JWTs.
+ * Tudo é decodificado/parseado uma vez no startup e compartilhado por emissão e validação (JwtService).
+ */
+@Configuration
+public class JwtKeyConfig {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtKeyProperties properties) {
+        SignatureAlgorithm algorithm = (properties.algorithm() == null || properties.algorithm().isBlank())
+                ? SignatureAlgorithm.HS256
+                : SignatureAlgorithm.forName(properties.algorithm().trim());
+
+        if (algorithm.isHmac()) {
+            return JwtKeyRing.hmac(Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.secret())));
+        }
+
+        List<JwtKeyRing.PemKey> keys = properties.keys() == null
+                ? List.of()
+                : properties.keys().stream()
+                        .map(k -> new JwtKeyRing.PemKey(k.kid(), k.privateKey(), k.publicKey()))
+                        .toList();
+
+        return JwtKeyRing.fromPem(algorithm, properties.activeKid(), keys);
+    }
+}
@@ -0,0 +1,25 @@
+package com.vectorlabs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * security.jwt.algorithm = HS256 (padrão, usa security.jwt.secret) | RS256 | ES256.
+ * No modo assimétrico, "keys" lista todas as chaves aceitas e "active-kid" indica qual assina;
+ * chaves aposentadas ficam só com public-key até os tokens antigos expirarem.
+ */
+@ConfigurationProperties(prefix = "security.jwt")
+public record JwtKeyProperties(
+        String secret,
+        String algorithm,
+        String activeKid,
+        List<Key> keys
+) {
+
+    public record Key(
+            String kid,
+            String privateKey,
+            String publicKey
+    ) {}
+}
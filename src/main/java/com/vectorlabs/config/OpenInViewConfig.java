@@ -0,0 +1,37 @@
+package com.vectorlabs.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view no lugar do automático do Spring Boot (spring.jpa.open-in-view: false), com exceções.
+ *
+ * Com OSIV a conexão pega na primeira transação fica com o EntityManager até o fim da requisição.
+ * Nas rotas abaixo há chamada externa entre transações curtas (PaymentOrchestratorService), então
+ * elas ficam sem OSIV e a conexão volta ao pool a cada commit.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    private static final String[] EXCLUDED = {
+            "/api/inspections/*/payments"
+    };
+
+    // ausente nos testes de fatia web (@WebMvcTest)
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        entityManagerFactory.ifAvailable(emf -> {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(emf);
+            registry.addWebRequestInterceptor(interceptor).excludePathPatterns(EXCLUDED);
+        });
+    }
+}
@@ -12,16 +12,27 @@ import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import static org.springframework.security.authorization.AuthenticatedAuthorizationManager.authenticated;
+import static org.springframework.security.authorization.AuthorityAuthorizationManager.hasAuthority;
+import static org.springframework.security.authorization.AuthorizationManagers.allOf;
+import static org.springframework.security.authorization.AuthorizationManagers.anyOf;
+import static org.springframework.security.authorization.AuthorizationManagers.not;
+
 @Configuration
 @RequiredArgsConstructor
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfiguration {
 
+    // scope de integração (client credentials): leitura do catálogo de normas
+    public static final String SCOPE_RULES_READ = "SCOPE_rules:read";
+
     private final BasicAuthEntryPoint basicAuthEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final OAuth2UserServiceImpl oAuth2UserServiceImpl;
@@ -54,6 +65,7 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/api/users/internal").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/internal/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/internal/refresh").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/users/internal/token").permitAll()
                         .anyRequest().authenticated()
                 )
                 .httpBasic(basic -> basic.authenticationEntryPoint(basicAuthEntryPoint));
@@ -70,13 +82,25 @@ public class SecurityConfiguration {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(
                         auth -> auth
-                        .anyRequest().authenticated()
+                        // token de cliente só passa nas rotas desta allow-list, com o scope da rota
+                        .requestMatchers(HttpMethod.GET,
+                                "/api/rules/*/tree",
+                                "/api/rules/search",
+                                "/api/rule-modules", "/api/rule-modules/*",
+                                "/api/rule-items", "/api/rule-items/*"
+                        ).access(anyOf(userToken(), hasAuthority(SCOPE_RULES_READ)))
+                        // no resto da API só usuário: os services esperam o principal de usuário, não o clientId
+                        .anyRequest().access(userToken())
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private static AuthorizationManager<RequestAuthorizationContext> userToken() {
+        return allOf(authenticated(), not(hasAuthority(JwtAuthenticationFilter.CLIENT_AUTHORITY)));
+    }
+
     @Bean
     @Order(3)
     public SecurityFilterChain googleOauth2Chain(HttpSecurity http) throws Exception {
@@ -109,6 +133,39 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    @Bean
+    @Order(4)
+    public SecurityFilterChain jwksChain(HttpSecurity http) throws Exception {
+        // chaves públicas de verificação dos JWTs (RS256/ES256): leitura anônima
+        http
+                .securityMatcher("/.well-known/jwks.json")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .anyRequest().denyAll()
+                );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(5)
+    public SecurityFilterChain actuatorChain(HttpSecurity http) throws Exception {
+        // health aberto (load balancer); métricas só para ADMIN com o mesmo JWT da API
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
     @Bean
     @Order(99)
     public SecurityFilterChain fallbackChain(HttpSecurity http) throws Exception {
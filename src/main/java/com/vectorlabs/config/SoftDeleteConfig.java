@@ -0,0 +1,72 @@
+package com.vectorlabs.config;
+
+import com.vectorlabs.repository.support.IncludeDeleted;
+import com.vectorlabs.repository.support.SoftDeleteFilter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Liga @IncludeDeleted aos proxies dos repositories: o advice entra na cadeia de cada
+ * repository (depois do interceptor transacional do Spring Data) e só desliga o filtro de
+ * soft delete nos métodos anotados.
+ */
+@Configuration
+public class SoftDeleteConfig {
+
+    @Bean
+    static BeanPostProcessor includeDeletedRepositoryPostProcessor(ObjectProvider<SoftDeleteFilter> softDeleteFilter) {
+        MethodInterceptor interceptor = new IncludeDeletedInterceptor(softDeleteFilter);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // antes do afterPropertiesSet, que é quando o factory bean cria o repository
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxy, info) -> proxy.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static final class IncludeDeletedInterceptor implements MethodInterceptor {
+
+        // SoftDeleteFilter depende do EntityManager: resolvido na primeira chamada, não na criação do BPP
+        private final ObjectProvider<SoftDeleteFilter> softDeleteFilter;
+        private final Map<Method, Boolean> annotated = new ConcurrentHashMap<>();
+
+        IncludeDeletedInterceptor(ObjectProvider<SoftDeleteFilter> softDeleteFilter) {
+            this.softDeleteFilter = softDeleteFilter;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            boolean includeDeleted = annotated.computeIfAbsent(invocation.getMethod(),
+                    m -> AnnotatedElementUtils.hasAnnotation(m, IncludeDeleted.class));
+
+            if (!includeDeleted) return invocation.proceed();
+
+            return softDeleteFilter.getObject().includingDeleted(() -> {
+                try {
+                    return invocation.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new UndeclaredThrowableException(t);
+                }
+            });
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.vectorlabs.dto.appuser.AnswerAppUserDTO;
 import com.vectorlabs.dto.appuser.RegisterAppUserDTO;
 import com.vectorlabs.dto.appuser.SearchAppUserDTO;
 import com.vectorlabs.dto.appuser.UpdateAppUserDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.mapper.AppUserMapper;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
@@ -58,7 +59,7 @@ public class AppUserController implements GenericController {
     public ResponseEntity<AnswerAppUserDTO> getMe(
             @AuthenticationPrincipal CustomUserDetails principal
     ) {
-        AppUser user = principal.getUser(); // ou principal.getId()
+        AppUser user = loggedUser(principal);
         return ResponseEntity.ok(mapper.toAnswerDTO(user));
     }
 
@@ -68,7 +69,7 @@ public class AppUserController implements GenericController {
             @AuthenticationPrincipal CustomUserDetails principal,
             @RequestBody @Valid UpdateAppUserDTO dto
     ) {
-        AppUser logged = principal.getUser(); // ou principal.getId()
+        AppUser logged = loggedUser(principal);
         AppUser result = service.updateMe(dto, logged);
 
         return ResponseEntity.ok(mapper.toAnswerDTO(result));
@@ -121,8 +122,57 @@ public class AppUserController implements GenericController {
                 lastLoginTo
         );
 
-        Page<AppUser> page = service.search(filter, pageable);
-        Page<AnswerAppUserDTO> out = page.map(mapper::toAnswerDTO);
+        return ResponseEntity.ok(service.search(filter, pageable));
+    }
+
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScrollDTO<AnswerAppUserDTO>> scroll(
+            @RequestParam(required = false) UUID id,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String cpf,
+            @RequestParam(required = false) String cnpj,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Boolean deleted,
+            @RequestParam(required = false) AuthProvider authProvider,
+            @RequestParam(required = false) Set<UserRole> roles,
+            @RequestParam(required = false) Instant lastLoginFrom,
+            @RequestParam(required = false) Instant lastLoginTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(name = "page_size", defaultValue = "20") Integer pageSize
+    ) {
+
+        SearchAppUserDTO filter = new SearchAppUserDTO(
+                id,
+                name,
+                email,
+                cpf,
+                cnpj,
+                city,
+                state,
+                country,
+                enabled,
+                deleted,
+                authProvider,
+                roles,
+                lastLoginFrom,
+                lastLoginTo
+        );
+
+        ScrollDTO<AppUser> result = service.scroll(filter, cursor, page, pageSize);
+        ScrollDTO<AnswerAppUserDTO> out = new ScrollDTO<>(
+                result.content().stream().map(mapper::toAnswerDTO).toList(),
+                result.size(),
+                result.hasNext(),
+                result.nextCursor(),
+                result.page()
+        );
 
         return ResponseEntity.ok(out);
     }
@@ -162,4 +212,9 @@ public class AppUserController implements GenericController {
         return ResponseEntity.ok(mapper.toAnswerDTO(result));
     }
 
-}
\ No newline at end of file
+    // Principal vindo do filtro JWT é montado do cache e não carrega a entidade
+    private AppUser loggedUser(CustomUserDetails principal) {
+        AppUser user = principal.getUser();
+        return user != null ? user : service.findById(principal.getId());
+    }
+}
@@ -1,55 +1,56 @@
 package com.vectorlabs.controller;
 
+import com.vectorlabs.dto.auth.ClientTokenRequestDTO;
+import com.vectorlabs.dto.auth.ClientTokenResponseDTO;
 import com.vectorlabs.dto.auth.LoginDTO;
 import com.vectorlabs.dto.auth.RefreshTokenDTO;
 import com.vectorlabs.dto.auth.TokenResponseDTO;
+import com.vectorlabs.exception.InvalidFieldException;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.security.VerifiedClient;
 import com.vectorlabs.security.jwt.JwtService;
+import com.vectorlabs.security.jwt.RefreshTokenRevocationStore;
+import com.vectorlabs.security.jwt.VerifiedToken;
+import com.vectorlabs.service.ClientService;
+import com.vectorlabs.service.LoginService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users/internal")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
     private final AppUserRepository appUserRepository;
     private final JwtService jwtService;
+    private final RefreshTokenRevocationStore revocationStore;
+    private final ClientService clientService;
+
+    @Value("${security.jwt.client-ttl-seconds:900}")
+    private long clientTokenTtlSeconds;
 
     //Working
+    // Assíncrono: o bcrypt roda no pool do LoginService e a thread do servlet fica livre
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
-    public TokenResponseDTO login(@RequestBody @Valid LoginDTO dto) {
-        var authToken = new UsernamePasswordAuthenticationToken(dto.email(), dto.password());
-        try {
-            authenticationManager.authenticate(authToken);
-        } catch (Exception ex) {
-            throw new BadCredentialsException("Invalid credentials");
-        }
-        AppUser user = appUserRepository.findByEmail(dto.email().trim().toLowerCase())
-                .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
-
-        if (user.getDeleted()  || !user.isEnabled()) {
-            throw new BadCredentialsException("Invalid credentials");
-        }
-
-        // Atualiza último login (opcional)
-        user.setLastLoginAt(Instant.now());
-        appUserRepository.save(user);
-
-        String access = jwtService.generateAccessToken(user);
-        String refresh = jwtService.generateRefreshToken(user);
-
-        return new TokenResponseDTO("Bearer", access, refresh);
+    public CompletableFuture<TokenResponseDTO> login(@RequestBody @Valid LoginDTO dto, HttpServletRequest request) {
+        return loginService.login(dto.email(), dto.password(), request.getRemoteAddr())
+                .thenApply(user -> new TokenResponseDTO(
+                        "Bearer",
+                        jwtService.generateAccessToken(user),
+                        jwtService.generateRefreshToken(user)
+                ));
     }
 
     @PostMapping("/refresh")
@@ -58,18 +59,26 @@ public class AuthController {
 
         String refreshToken = dto.refreshToken();
 
-        // valida assinatura/expiração
-        jwtService.validateTokenOrThrow(refreshToken);
+        // valida assinatura/expiração (uma vez só)
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(refreshToken);
+        } catch (JwtException ex) {
+            throw new BadCredentialsException("Invalid token");
+        }
 
-        if (!jwtService.isRefreshToken(refreshToken)) {
+        if (!verified.isRefreshToken()) {
             throw new BadCredentialsException("Invalid token");
         }
 
-        var userId = jwtService.extractUserId(refreshToken);
+        var userId = verified.userId();
         if (userId == null) {
             throw new BadCredentialsException("Invalid token");
         }
 
+        // marca o jti como usado; reuso derruba a família inteira
+        revocationStore.rotate(verified);
+
         AppUser user = appUserRepository.findById(userId)
                 .orElseThrow(() -> new BadCredentialsException("Invalid token"));
 
@@ -78,9 +87,37 @@ public class AuthController {
         }
 
         String newAccess = jwtService.generateAccessToken(user);
-        String newRefresh = jwtService.generateRefreshToken(user);
+        String newRefresh = verified.familyId() != null
+                ? jwtService.generateRefreshToken(user, verified.familyId())
+                : jwtService.generateRefreshToken(user);
 
         return new TokenResponseDTO("Bearer", newAccess, newRefresh);
     }
-}
 
+    // Client credentials (integrações tipo n8n): troca clientId/secret por um access token curto com escopos
+    @PostMapping("/token")
+    @ResponseStatus(HttpStatus.OK)
+    public ClientTokenResponseDTO clientToken(@RequestBody @Valid ClientTokenRequestDTO dto) {
+
+        VerifiedClient client = clientService.authenticate(dto.clientId(), dto.clientSecret())
+                .orElseThrow(() -> new BadCredentialsException("Invalid client credentials"));
+
+        Set<String> scopes = client.scopes();
+        if (dto.scope() != null && !dto.scope().isBlank()) {
+            Set<String> requested = VerifiedClient.parseScopes(dto.scope());
+            if (!scopes.containsAll(requested)) {
+                throw new InvalidFieldException("Requested scope exceeds client scopes");
+            }
+            scopes = requested;
+        }
+
+        clientService.markUsed(client.clientId());
+
+        return new ClientTokenResponseDTO(
+                "Bearer",
+                jwtService.generateClientAccessToken(client.clientId(), scopes, clientTokenTtlSeconds),
+                clientTokenTtlSeconds,
+                String.join(" ", scopes)
+        );
+    }
+}
@@ -4,6 +4,7 @@ import com.vectorlabs.controller.common.GenericController;
 import com.vectorlabs.dto.checklisttemplate.AnswerChecklistTemplateDTO;
 import com.vectorlabs.dto.checklisttemplate.RegisterChecklistTemplateDTO;
 import com.vectorlabs.dto.checklisttemplate.UpdateChecklistTemplateDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.mapper.ChecklistTemplateMapper;
 import com.vectorlabs.model.ChecklistTemplate;
 import com.vectorlabs.security.SecurityService;
@@ -83,6 +84,36 @@ public class ChecklistTemplateController implements GenericController {
         return ResponseEntity.ok(result);
     }
 
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
+    public ResponseEntity<ScrollDTO<AnswerChecklistTemplateDTO>> scroll(
+            @RequestParam(required = false) UUID user,
+            @RequestParam(required = false) UUID rule,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(name = "page_size", defaultValue = "10") Integer pageSize
+    ) {
+        UUID userId = securityService.getLoggedUser().getId();
+
+        ScrollDTO<AnswerChecklistTemplateDTO> result = service.scroll(
+                userId,
+                user,
+                rule,
+                title,
+                description,
+                active,
+                cursor,
+                page,
+                pageSize
+        );
+
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
     public ResponseEntity<AnswerChecklistTemplateDTO> update(
@@ -5,10 +5,14 @@ import com.vectorlabs.dto.clientcompany.AnswerClientCompanyDTO;
 import com.vectorlabs.dto.clientcompany.RegisterClientCompanyAdminDTO;
 import com.vectorlabs.dto.clientcompany.RegisterClientCompanyDTO;
 import com.vectorlabs.dto.clientcompany.UpdateClientCompanyDTO;
+import com.vectorlabs.dto.common.BulkRequestDTO;
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.service.ClientCompanyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -31,6 +35,14 @@ public class ClientCompanyController implements GenericController {
         return ResponseEntity.created(generateHeaderLocation(out.id())).body(out);
     }
 
+    // Criação em lote (sempre para o usuário logado): uma transação, INSERTs em JDBC batch
+    @PostMapping("/bulk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkResultDTO> createAll(@RequestBody @Valid BulkRequestDTO<RegisterClientCompanyDTO> body) {
+        var out = service.createAll(body.items());
+        return ResponseEntity.status(HttpStatus.CREATED).body(out);
+    }
+
     // ADMIN cria para outro user
     @PostMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
@@ -71,6 +83,25 @@ public class ClientCompanyController implements GenericController {
         return ResponseEntity.ok(result);
     }
 
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ScrollDTO<AnswerClientCompanyDTO>> scroll(
+            @RequestParam(value = "user", required = false) UUID userId,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "tradeName", required = false) String tradeName,
+            @RequestParam(value = "cnpj", required = false) String cnpj,
+            @RequestParam(value = "phone", required = false) String phone,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "active", required = false) Boolean active,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "page_size", defaultValue = "10") Integer pageSize
+    ) {
+        var result = service.scroll(userId, name, tradeName, cnpj, phone, email, active, cursor, page, pageSize);
+        return ResponseEntity.ok(result);
+    }
+
     // USER: só dele | ADMIN: qualquer
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -0,0 +1,68 @@
+package com.vectorlabs.controller;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.vectorlabs.security.jwt.JwtKeyRing;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publica as chaves públicas de verificação dos JWTs (RS256/ES256) para os serviços
+ * que validam nossos tokens localmente. O JSON é montado uma vez no startup.
+ * No modo HS256 a lista sai vazia: o segredo compartilhado nunca é exposto.
+ */
+@RestController
+public class JwksController {
+
+    private final Map<String, Object> jwks;
+
+    public JwksController(JwtKeyRing keyRing) {
+        this.jwks = toJwkSet(keyRing).toJSONObject(true);
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwks);
+    }
+
+    private static JWKSet toJwkSet(JwtKeyRing keyRing) {
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(keyRing.algorithm().getValue());
+        List<JWK> keys = new ArrayList<>();
+
+        for (Map.Entry<String, PublicKey> entry : keyRing.publicKeys().entrySet()) {
+            PublicKey key = entry.getValue();
+
+            if (key instanceof RSAPublicKey rsa) {
+                keys.add(new RSAKey.Builder(rsa)
+                        .keyID(entry.getKey())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(algorithm)
+                        .build());
+            } else if (key instanceof ECPublicKey ec) {
+                keys.add(new ECKey.Builder(Curve.forECParameterSpec(ec.getParams()), ec)
+                        .keyID(entry.getKey())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(algorithm)
+                        .build());
+            }
+        }
+        return new JWKSet(keys);
+    }
+}
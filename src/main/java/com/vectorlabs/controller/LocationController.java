@@ -1,6 +1,9 @@
 package com.vectorlabs.controller;
 
 import com.vectorlabs.controller.common.GenericController;
+import com.vectorlabs.dto.common.BulkRequestDTO;
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.location.AnswerLocationDTO;
 import com.vectorlabs.dto.location.RegisterLocationDTO;
 import com.vectorlabs.dto.location.UpdateLocationDTO;
@@ -11,6 +14,7 @@ import com.vectorlabs.service.LocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +40,15 @@ public class LocationController implements GenericController {
         return ResponseEntity.created(generateHeaderLocation(saved.getId())).body(out);
     }
 
+    // Criação em lote: uma transação, INSERTs em JDBC batch
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
+    public ResponseEntity<BulkResultDTO> createAll(@RequestBody @Valid BulkRequestDTO<RegisterLocationDTO> body) {
+        UUID userId = securityService.getLoggedUser().getId();
+        var out = service.createAll(userId, body.items());
+        return ResponseEntity.status(HttpStatus.CREATED).body(out);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
     public ResponseEntity<AnswerLocationDTO> getDetails(@PathVariable UUID id) {
@@ -64,6 +77,28 @@ public class LocationController implements GenericController {
         return ResponseEntity.ok(result);
     }
 
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
+    public ResponseEntity<ScrollDTO<AnswerLocationDTO>> scroll(
+            @RequestParam(value = "clientCompanyId", required = false) UUID clientCompanyId,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "code", required = false) String code,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "street", required = false) String street,
+            @RequestParam(value = "city", required = false) String city,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "zipCode", required = false) String zipCode,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "page_size", defaultValue = "10") Integer pageSize
+    ) {
+        UUID userId = securityService.getLoggedUser().getId();
+        var result = service.scroll(userId, clientCompanyId, name, code, description, street, city, state, zipCode,
+                cursor, page, pageSize);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
     public ResponseEntity<AnswerLocationDTO> update(@PathVariable UUID id, @RequestBody @Valid UpdateLocationDTO dto) {
@@ -1,20 +1,33 @@
 package com.vectorlabs.controller;
 
 import com.vectorlabs.controller.common.GenericController;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.rule.AnswerRuleDTO;
 import com.vectorlabs.dto.rule.RegisterRuleDTO;
+import com.vectorlabs.dto.rule.RuleTextHitDTO;
 import com.vectorlabs.dto.rule.UpdateRuleDTO;
+import com.vectorlabs.dto.rule.ruleimport.RuleImportResultDTO;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeDTO;
 import com.vectorlabs.mapper.RuleMapper;
 import com.vectorlabs.model.Rule;
+import com.vectorlabs.service.RuleImportService;
 import com.vectorlabs.service.RuleService;
+import com.vectorlabs.service.RuleTextSearchService;
+import com.vectorlabs.service.RuleTreeCache;
+import com.vectorlabs.service.RuleTreeService;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -24,6 +37,9 @@ public class RuleController implements GenericController {
 
     private final RuleService service;
     private final RuleMapper mapper;
+    private final RuleTextSearchService textSearchService;
+    private final RuleImportService importService;
+    private final RuleTreeService treeService;
 
     // CREATE
     @PostMapping
@@ -37,6 +53,24 @@ public class RuleController implements GenericController {
         return ResponseEntity.created(generateHeaderLocation(saved.getId())).body(out);
     }
 
+    // IMPORT - árvore inteira (seções, módulos, itens) lida em streaming do corpo da requisição
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<RuleImportResultDTO> importTree(InputStream body) {
+        return ResponseEntity.ok(importService.importJson(body));
+    }
+
+    // IMPORT - CSV: uma linha por item; a norma vem por parâmetro (rule_title só se ainda não existir)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<RuleImportResultDTO> importTreeCsv(
+            InputStream body,
+            @RequestParam("rule_code") String ruleCode,
+            @RequestParam(value = "rule_title", required = false) String ruleTitle
+    ) {
+        return ResponseEntity.ok(importService.importCsv(body, ruleCode, ruleTitle));
+    }
+
     // DETAILS
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
@@ -46,6 +80,20 @@ public class RuleController implements GenericController {
         return ResponseEntity.ok(out);
     }
 
+    // TREE - norma inteira (seções → módulos → itens aninhados) em uma chamada; If-None-Match → 304
+    @GetMapping("/{id}/tree")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<RuleTreeDTO> getTree(@PathVariable UUID id, WebRequest request) {
+        RuleTreeCache.Snapshot snapshot = treeService.getTree(id);
+        if (request.checkNotModified(snapshot.etag())) {
+            return null; // 304 com ETag já preenchidos pelo WebRequest
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.tree());
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Page<AnswerRuleDTO>> getAll(
@@ -68,6 +116,42 @@ public class RuleController implements GenericController {
         );
         return ResponseEntity.ok(result);
     }
+
+    // Busca textual em normas, seções, módulos e itens (ranqueada, com trecho destacado)
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<RuleTextHitDTO>> searchText(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(textSearchService.search(q, limit));
+    }
+
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<ScrollDTO<AnswerRuleDTO>> scroll(
+            @RequestParam(value = "code", required = false) String code,
+            @RequestParam(value = "title", required = false) String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "active", required = false) Boolean active,
+            @RequestParam(value = "deleted", required = false) Boolean deleted,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "page_size", defaultValue = "10") Integer pageSize
+    ) {
+        ScrollDTO<AnswerRuleDTO> result = service.scroll(
+                code,
+                title,
+                description,
+                active,
+                deleted,
+                cursor,
+                page,
+                pageSize
+        );
+        return ResponseEntity.ok(result);
+    }
     // UPDATE
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
@@ -1,6 +1,9 @@
 package com.vectorlabs.controller;
 
 import com.vectorlabs.controller.common.GenericController;
+import com.vectorlabs.dto.common.BulkRequestDTO;
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.rule.ruleitem.AnswerRuleItemDTO;
 import com.vectorlabs.dto.rule.ruleitem.RegisterRuleItemDTO;
 import com.vectorlabs.dto.rule.ruleitem.UpdateRuleItemDTO;
@@ -9,6 +12,7 @@ import com.vectorlabs.service.RuleItemService;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +38,14 @@ public class RuleItemController implements GenericController {
         return ResponseEntity.created(generateHeaderLocation(saved.getId())).body(out);
     }
 
+    // Importação em lote (ex.: itens de uma NR inteira): uma transação, INSERTs em JDBC batch
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDTO> createAll(@RequestBody @Valid BulkRequestDTO<RegisterRuleItemDTO> body) {
+        var out = service.createAll(body.items());
+        return ResponseEntity.status(HttpStatus.CREATED).body(out);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AnswerRuleItemDTO> getDetails(@PathVariable UUID id) {
@@ -45,6 +57,7 @@ public class RuleItemController implements GenericController {
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<AnswerRuleItemDTO>> getAll(
+            @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "module_id", required = false) UUID moduleId,
             @RequestParam(value = "parent_id", required = false) UUID parentId,
             @RequestParam(value = "item_code", required = false) String itemCode,
@@ -53,6 +66,10 @@ public class RuleItemController implements GenericController {
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "page_size", defaultValue = "10") Integer pageSize
     ) {
+        // ?q= -> full-text ranqueado; item_code/description (ILIKE) são ignorados nesse modo
+        if (q != null && !q.isBlank()) {
+            return ResponseEntity.ok(service.searchText(q, moduleId, parentId, active, page, pageSize));
+        }
         var result = service.search(
                 moduleId,
                 parentId,
@@ -65,6 +82,23 @@ public class RuleItemController implements GenericController {
         return ResponseEntity.ok(result);
     }
 
+    // Sem count(*): ?cursor= (keyset, padrão) ou ?page= (slice)
+    @GetMapping("/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ScrollDTO<AnswerRuleItemDTO>> scroll(
+            @RequestParam(value = "module_id", required = false) UUID moduleId,
+            @RequestParam(value = "parent_id", required = false) UUID parentId,
+            @RequestParam(value = "item_code", required = false) String itemCode,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "active", required = false) Boolean active,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "page_size", defaultValue = "10") Integer pageSize
+    ) {
+        var result = service.scroll(moduleId, parentId, itemCode, description, active, cursor, page, pageSize);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AnswerRuleItemDTO> update(
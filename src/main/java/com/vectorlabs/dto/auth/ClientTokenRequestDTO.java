@@ -0,0 +1,11 @@
+package com.vectorlabs.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record ClientTokenRequestDTO(
+        @NotBlank @Size(max = 200) String clientId,
+        @NotBlank @Size(max = 200) String clientSecret,
+        // opcional: subconjunto dos escopos do cliente (separados por espaço)
+        @Size(max = 500) String scope
+) {}
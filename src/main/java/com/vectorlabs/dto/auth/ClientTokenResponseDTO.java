@@ -0,0 +1,8 @@
+package com.vectorlabs.dto.auth;
+
+public record ClientTokenResponseDTO(
+        String tokenType,
+        String accessToken,
+        long expiresIn,
+        String scope
+) {}
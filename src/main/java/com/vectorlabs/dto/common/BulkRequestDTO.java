@@ -0,0 +1,17 @@
+package com.vectorlabs.dto.common;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Corpo dos endpoints de criação em lote (POST .../bulk). Cada item passa pela mesma
+ * validação do create unitário; o lote é tudo ou nada (uma transação).
+ */
+public record BulkRequestDTO<T>(
+        @NotEmpty
+        @Size(max = 50_000)
+        List<@Valid T> items
+) {}
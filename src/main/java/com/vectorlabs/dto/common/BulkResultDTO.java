@@ -0,0 +1,10 @@
+package com.vectorlabs.dto.common;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Resposta da criação em lote: ids na mesma ordem dos itens enviados. */
+public record BulkResultDTO(
+        int created,
+        List<UUID> ids
+) {}
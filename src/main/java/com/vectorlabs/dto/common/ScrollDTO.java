@@ -0,0 +1,16 @@
+package com.vectorlabs.dto.common;
+
+import java.util.List;
+
+/**
+ * Resposta das listagens sem count(*):
+ * - modo cursor (keyset): nextCursor opaco, passar de volta em ?cursor= para a próxima janela;
+ * - modo slice (?page=): só diz se há próxima página (page preenchido, nextCursor nulo).
+ */
+public record ScrollDTO<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Integer page
+) {}
@@ -0,0 +1,20 @@
+package com.vectorlabs.dto.rule;
+
+import com.vectorlabs.model.enuns.RuleTextHitType;
+
+import java.util.UUID;
+
+/**
+ * Resultado da busca textual no corpus das NRs.
+ * snippet: trecho com os termos encontrados entre &lt;mark&gt;...&lt;/mark&gt;.
+ */
+public record RuleTextHitDTO(
+        RuleTextHitType type,
+        UUID id,
+        UUID ruleId,
+        String code,
+        String title,
+        String snippet,
+        double rank
+) {
+}
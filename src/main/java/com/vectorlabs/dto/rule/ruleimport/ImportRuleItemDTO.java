@@ -0,0 +1,12 @@
+package com.vectorlabs.dto.rule.ruleimport;
+
+/**
+ * Item da árvore importada. parentCode é o itemCode do pai no mesmo módulo (no arquivo ou já
+ * gravado); sequence nulo assume a posição do item no módulo.
+ */
+public record ImportRuleItemDTO(
+        String code,
+        String parentCode,
+        String description,
+        Integer sequence
+) {}
@@ -0,0 +1,10 @@
+package com.vectorlabs.dto.rule.ruleimport;
+
+import java.util.List;
+
+public record ImportRuleModuleDTO(
+        String code,
+        String name,
+        Integer sequence,
+        List<ImportRuleItemDTO> items
+) {}
@@ -0,0 +1,11 @@
+package com.vectorlabs.dto.rule.ruleimport;
+
+import java.util.List;
+
+/** Seção da árvore importada (POST /api/rules/import, JSON): lida e descartada uma por vez. */
+public record ImportRuleSectionDTO(
+        String code,
+        String name,
+        Integer sequence,
+        List<ImportRuleModuleDTO> modules
+) {}
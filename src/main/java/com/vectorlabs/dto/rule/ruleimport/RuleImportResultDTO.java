@@ -0,0 +1,18 @@
+package com.vectorlabs.dto.rule.ruleimport;
+
+import java.util.UUID;
+
+/**
+ * Resumo da importação. Nós que já existiam (mesmo código) não são alterados e entram em
+ * existingSkipped: reenviar o mesmo arquivo depois de uma falha continua de onde parou.
+ */
+public record RuleImportResultDTO(
+        UUID ruleId,
+        String ruleCode,
+        boolean ruleCreated,
+        int sectionsCreated,
+        int modulesCreated,
+        int itemsCreated,
+        int existingSkipped,
+        int batches
+) {}
@@ -0,0 +1,17 @@
+package com.vectorlabs.dto.rule.ruletree;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/** Norma inteira aninhada (GET /api/rules/{id}/tree): Rule → Section → Module → Item. */
+public record RuleTreeDTO(
+        UUID id,
+        String code,
+        String title,
+        String description,
+        String updateOrdinance,
+        LocalDate updateOrdinanceDate,
+        Boolean active,
+        List<RuleTreeSectionDTO> sections
+) {}
@@ -0,0 +1,14 @@
+package com.vectorlabs.dto.rule.ruletree;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Item com os filhos aninhados (parent_id); a lista do módulo só tem os itens raiz. */
+public record RuleTreeItemDTO(
+        UUID id,
+        String itemCode,
+        String description,
+        Integer itemSequence,
+        Boolean active,
+        List<RuleTreeItemDTO> children
+) {}
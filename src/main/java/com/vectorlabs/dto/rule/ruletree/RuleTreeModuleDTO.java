@@ -0,0 +1,13 @@
+package com.vectorlabs.dto.rule.ruletree;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RuleTreeModuleDTO(
+        UUID id,
+        String moduleCode,
+        String moduleName,
+        Integer moduleSequence,
+        Boolean active,
+        List<RuleTreeItemDTO> items
+) {}
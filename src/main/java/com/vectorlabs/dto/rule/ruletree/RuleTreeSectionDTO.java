@@ -0,0 +1,13 @@
+package com.vectorlabs.dto.rule.ruletree;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RuleTreeSectionDTO(
+        UUID id,
+        String code,
+        String name,
+        Integer sequence,
+        Boolean active,
+        List<RuleTreeModuleDTO> modules
+) {}
@@ -88,6 +88,16 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorAnswer handleTooManyRequests(TooManyRequestsException ex) {
+        return new ErrorAnswer(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                List.of()
+        );
+    }
+
     @ExceptionHandler(NoAuthenticatedAcces.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ErrorAnswer handleNoAuthenticatedException(NoAuthenticatedAcces e) {
@@ -118,6 +128,16 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PaymentGatewayUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorAnswer handlePaymentGatewayUnavailable(PaymentGatewayUnavailableException ex) {
+        return new ErrorAnswer(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                List.of()
+        );
+    }
+
     @ExceptionHandler(WebhookRejectedException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorAnswer handleWebhookRejected(WebhookRejectedException ex) {
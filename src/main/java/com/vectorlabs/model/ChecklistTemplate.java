@@ -8,7 +8,13 @@ import lombok.experimental.SuperBuilder;
 import java.util.UUID;
 
 @Entity
-@Table(name = "checklist_templates")
+@Table(
+        name = "checklist_templates",
+        indexes = {
+                @Index(name = "ix_checklist_templates_user", columnList = "user_id"),
+                @Index(name = "ix_checklist_templates_rule", columnList = "rule_id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,8 +14,8 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "idx_client_companies_user", columnList = "user_id"),
                 @Index(name = "idx_client_companies_cnpj", columnList = "cnpj"),
-                @Index(name = "idx_client_companies_active", columnList = "active"),
-                @Index(name = "idx_client_companies_deleted", columnList = "deleted")
+                @Index(name = "idx_client_companies_active", columnList = "active")
+                // linhas vivas: índices parciais WHERE deleted = false em V5__soft_delete_partial_indexes.sql
         }
 )
 @Getter
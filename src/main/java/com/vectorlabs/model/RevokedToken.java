@@ -0,0 +1,45 @@
+package com.vectorlabs.model;
+
+import com.vectorlabs.model.enuns.RevokedTokenKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Denylist de refresh tokens. Cada linha vale só até o "exp" do token/família;
+ * depois disso o próprio JWT já é rejeitado e a linha pode ser apagada.
+ */
+@Entity
+@Table(
+        name = "revoked_token",
+        indexes = {
+                @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    // jti do refresh token ou id da família
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 16)
+    private RevokedTokenKind kind;
+
+    @Column(name = "family_id", length = 64)
+    private String familyId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
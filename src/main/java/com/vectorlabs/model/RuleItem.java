@@ -21,7 +21,9 @@ import java.util.UUID;
         indexes = {
                 @Index(name = "ix_ruleitem_module_sequence", columnList = "module_id, sequence"),
                 @Index(name = "ix_ruleitem_parent", columnList = "parent_id"),
-                @Index(name = "ix_ruleitem_item_code", columnList = "item_code")
+                @Index(name = "ix_ruleitem_item_code", columnList = "item_code"),
+                // keyset (scroll) ordena por (created_at, id)
+                @Index(name = "ix_ruleitem_created_at_id", columnList = "created_at, id")
         }
 )
 @Getter
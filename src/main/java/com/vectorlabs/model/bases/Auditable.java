@@ -1,5 +1,6 @@
 package com.vectorlabs.model.bases;
 
+import com.vectorlabs.security.AuthenticatedPrincipal;
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
@@ -9,20 +10,35 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
+
+/**
+ * Soft delete automático: o filtro {@value #NOT_DELETED_FILTER} vem habilitado em toda sessão, então
+ * consultas JPQL/Criteria (findAll, Specifications, scroll) só enxergam linhas vivas e casam com os
+ * índices parciais {@code WHERE deleted = false} (V5__soft_delete_partial_indexes.sql).
+ *
+ * Não se aplica a findById/em.find nem a SQL nativo. Para enxergar as tombstones:
+ * {@code @IncludeDeleted} no método do repository ou {@code SoftDeleteFilter.includingDeleted(...)}.
+ */
 @MappedSuperclass
+@FilterDef(name = Auditable.NOT_DELETED_FILTER, defaultCondition = "deleted = false", autoEnabled = true)
+@Filter(name = Auditable.NOT_DELETED_FILTER)
 @Getter
 @Setter
 @SuperBuilder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class Auditable {
 
+    public static final String NOT_DELETED_FILTER = "notDeleted";
+
     @Column(name = "created_at")
     private Instant createdAt;
 
@@ -51,7 +67,7 @@ public abstract class Auditable {
 
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = Instant.now();
+        this.updatedAt = now();
         beforeSave(false);
 
         UUID currentUserId = resolveCurrentUserId().orElse(null);
@@ -60,7 +76,7 @@ public abstract class Auditable {
 
     @PrePersist
     protected void onCreate() {
-        Instant now = Instant.now();
+        Instant now = now();
         this.createdAt = now;
         this.updatedAt = now;
 
@@ -79,7 +95,7 @@ public abstract class Auditable {
     public void softDelete() {
         if (Boolean.TRUE.equals(this.deleted)) return;
         this.deleted = true;
-        this.deletedAt = Instant.now();
+        this.deletedAt = now();
         this.deletedBy = resolveCurrentUserId().orElse(null);
     }
 
@@ -89,6 +105,12 @@ public abstract class Auditable {
         this.deletedBy = null;
     }
 
+    // mesma precisão do timestamp do banco (micros): o valor em memória é igual ao gravado,
+    // o que o cursor de keyset (createdAt, id) exige
+    protected static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     protected void beforeSave(boolean isNew) {
         // default: não faz nada
     }
@@ -100,22 +122,12 @@ public abstract class Auditable {
 
         Object principal = auth.getPrincipal();
 
-        if (principal instanceof Jwt jwt) {
-            return parseUuid(jwt.getSubject())
-                    .or(() -> parseUuid(jwt.getClaimAsString("uid")));
+        if (principal instanceof AuthenticatedPrincipal authenticated) {
+            return Optional.ofNullable(authenticated.getId());
         }
 
         if (principal instanceof UUID uuid) return Optional.of(uuid);
 
         return Optional.empty();
     }
-
-    private Optional<UUID> parseUuid(String value) {
-        try {
-            if (value == null || value.isBlank()) return Optional.empty();
-            return Optional.of(UUID.fromString(value));
-        } catch (Exception e) {
-            return Optional.empty();
-        }
-    }
 }
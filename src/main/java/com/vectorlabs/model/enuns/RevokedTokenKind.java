@@ -0,0 +1,8 @@
+package com.vectorlabs.model.enuns;
+
+public enum RevokedTokenKind {
+    // um refresh token específico (jti) já usado na rotação
+    TOKEN,
+    // família inteira derrubada (reuso detectado / logout)
+    FAMILY
+}
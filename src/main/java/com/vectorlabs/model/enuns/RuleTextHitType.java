@@ -0,0 +1,8 @@
+package com.vectorlabs.model.enuns;
+
+public enum RuleTextHitType {
+    RULE,
+    SECTION,
+    MODULE,
+    ITEM
+}
@@ -0,0 +1,7 @@
+package com.vectorlabs.model.enuns;
+
+public enum WebhookInboxStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
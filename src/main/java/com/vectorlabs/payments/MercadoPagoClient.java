@@ -3,8 +3,9 @@ package com.vectorlabs.payments;
 import com.vectorlabs.payments.config.MercadoPagoProperties;
 import com.vectorlabs.model.enuns.PaymentProvider;
 import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.gateway.PaymentGatewayTransport;
 import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
@@ -13,14 +14,30 @@ import java.util.List;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class MercadoPagoClient implements PaymentGatewayClient {
 
+    // o MP devolve a mesma preferência para a mesma chave: retry do POST não duplica cobrança
+    static final String IDEMPOTENCY_HEADER = "X-Idempotency-Key";
+
     private final RestClient mercadoPagoRestClient;
+    private final RestClient mercadoPagoCheckoutRestClient;
+    private final PaymentGatewayTransport transport;
     private final MercadoPagoProperties props;
 
+    public MercadoPagoClient(
+            @Qualifier("mercadoPagoRestClient") RestClient mercadoPagoRestClient,
+            @Qualifier("mercadoPagoCheckoutRestClient") RestClient mercadoPagoCheckoutRestClient,
+            PaymentGatewayTransport transport,
+            MercadoPagoProperties props
+    ) {
+        this.mercadoPagoRestClient = mercadoPagoRestClient;
+        this.mercadoPagoCheckoutRestClient = mercadoPagoCheckoutRestClient;
+        this.transport = transport;
+        this.props = props;
+    }
+
     @Override
-    public CreateChargeResult createCharge(UUID inspectionId, int machineCountSnapshot, BigDecimal totalAmount) {
+    public CreateChargeResult createCharge(UUID paymentIntentId, UUID inspectionId, int machineCountSnapshot, BigDecimal totalAmount) {
 
         // 1) Monta a “Preference” (Checkout Pro) e usa external_reference pra rastrear no seu sistema
         PreferenceRequest body = new PreferenceRequest(
@@ -35,12 +52,16 @@ public class MercadoPagoClient implements PaymentGatewayClient {
         );
 
         // 2) POST /checkout/preferences -> retorna init_point (checkout url) e id da preference
-        PreferenceResponse resp = mercadoPagoRestClient
+        // chave = id do PaymentIntent reservado: a mesma em todas as tentativas do transport e também
+        // se a cobrança inteira for repetida para a mesma reserva
+        String idempotencyKey = paymentIntentId.toString();
+        PreferenceResponse resp = transport.execute("create_charge", () -> mercadoPagoCheckoutRestClient
                 .post()
                 .uri("/checkout/preferences")
+                .header(IDEMPOTENCY_HEADER, idempotencyKey)
                 .body(body)
                 .retrieve()
-                .body(PreferenceResponse.class);
+                .body(PreferenceResponse.class));
 
         if (resp == null || resp.init_point() == null || resp.init_point().isBlank()) {
             throw new IllegalStateException("Mercado Pago did not return init_point");
@@ -63,11 +84,11 @@ public class MercadoPagoClient implements PaymentGatewayClient {
 
         // Para consultar status real, o ideal é usar o ID do PAYMENT:
         // GET /v1/payments/{payment_id}
-        PaymentGetResponse payment = mercadoPagoRestClient
+        PaymentGetResponse payment = transport.execute("payment_status", () -> mercadoPagoRestClient
                 .get()
                 .uri("/v1/payments/{id}", providerPaymentId)
                 .retrieve()
-                .body(PaymentGetResponse.class);
+                .body(PaymentGetResponse.class));
 
         if (payment == null || payment.status() == null) {
             throw new IllegalStateException("Mercado Pago did not return payment status");
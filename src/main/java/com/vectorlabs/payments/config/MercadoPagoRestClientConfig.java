@@ -1,20 +1,60 @@
 package com.vectorlabs.payments.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Um HttpClient (JDK) compartilhado com o Mercado Pago: HTTP/2 quando o servidor aceita, conexões
+ * reaproveitadas pelo pool interno do cliente, connect timeout fixo.
+ * Um RestClient por operação só para o read timeout: criar preferência pode demorar mais que
+ * consultar status, e nenhuma das duas pode segurar a thread (e a transação) indefinidamente.
+ */
 @Configuration
 public class MercadoPagoRestClientConfig {
 
     @Bean
-    RestClient mercadoPagoRestClient(MercadoPagoProperties props) {
+    HttpClient mercadoPagoHttpClient(@Value("${payments.mercadopago.http.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    // GET /v1/payments/{id}
+    @Bean
+    RestClient mercadoPagoRestClient(
+            MercadoPagoProperties props,
+            HttpClient mercadoPagoHttpClient,
+            @Value("${payments.mercadopago.http.payment-status-timeout-ms:3000}") long readTimeoutMs
+    ) {
+        return builder(props, mercadoPagoHttpClient, readTimeoutMs).build();
+    }
+
+    // POST /checkout/preferences
+    @Bean
+    RestClient mercadoPagoCheckoutRestClient(
+            MercadoPagoProperties props,
+            HttpClient mercadoPagoHttpClient,
+            @Value("${payments.mercadopago.http.create-charge-timeout-ms:8000}") long readTimeoutMs
+    ) {
+        return builder(props, mercadoPagoHttpClient, readTimeoutMs).build();
+    }
+
+    private static RestClient.Builder builder(MercadoPagoProperties props, HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
         return RestClient.builder()
+                .requestFactory(requestFactory)
                 .baseUrl(props.baseUrl())
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + props.accessToken())
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, "application/json")
-                .build();
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, "application/json");
     }
 }
-
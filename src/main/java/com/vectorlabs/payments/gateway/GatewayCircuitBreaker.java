@@ -0,0 +1,70 @@
+package com.vectorlabs.payments.gateway;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker por falhas consecutivas.
+ *
+ * CLOSED: tudo passa; failure-threshold falhas seguidas abrem o circuito.
+ * OPEN: nada passa (falha rápida) até open-duration; depois vira HALF_OPEN.
+ * HALF_OPEN: uma chamada de teste por vez; sucesso fecha, falha reabre.
+ */
+class GatewayCircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    GatewayCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /** false: circuito aberto (ou teste do half-open já em andamento), não chamar o provedor. */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) return false;
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) return false;
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+        probeInFlight = false;
+    }
+
+    /** Resultado que não diz nada sobre a saúde do provedor (ex.: erro de validação local). */
+    synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,155 @@
+package com.vectorlabs.payments.gateway;
+
+import com.vectorlabs.exception.PaymentGatewayUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Política de chamada ao provedor de pagamento (hoje só o Mercado Pago), em volta do RestClient.
+ *
+ * - retry só para falhas transitórias (I/O, timeout, 5xx, 429), com backoff exponencial + jitter
+ *   e limitado pelo RetryBudget;
+ * - circuit breaker compartilhado pelas operações: com o provedor fora, falha rápido com
+ *   PaymentGatewayUnavailableException (503 na API; a reconciliação tenta de novo no próximo ciclo);
+ * - latência por operação/resultado em payments.gateway.latency (histograma no actuator).
+ *
+ * Só é seguro repetir o que é idempotente: GET, ou POST com X-Idempotency-Key fixo entre tentativas.
+ */
+@Slf4j
+@Component
+public class PaymentGatewayTransport {
+
+    private static final long MAX_BACKOFF_MS = 2_000;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final RetryBudget retryBudget;
+    private final GatewayCircuitBreaker circuitBreaker;
+
+    @Autowired
+    public PaymentGatewayTransport(
+            MeterRegistry meterRegistry,
+            @Value("${payments.gateway.max-attempts:3}") int maxAttempts,
+            @Value("${payments.gateway.backoff-base-ms:100}") long backoffBaseMs,
+            @Value("${payments.gateway.retry-budget-ratio:0.2}") double retryBudgetRatio,
+            @Value("${payments.gateway.retry-budget-max:10}") double retryBudgetMax,
+            @Value("${payments.gateway.circuit-failure-threshold:5}") int circuitFailureThreshold,
+            @Value("${payments.gateway.circuit-open-seconds:30}") long circuitOpenSeconds
+    ) {
+        this(meterRegistry, maxAttempts, backoffBaseMs, retryBudgetRatio, retryBudgetMax,
+                circuitFailureThreshold, Duration.ofSeconds(circuitOpenSeconds), Clock.systemUTC());
+    }
+
+    PaymentGatewayTransport(MeterRegistry meterRegistry, int maxAttempts, long backoffBaseMs,
+                            double retryBudgetRatio, double retryBudgetMax,
+                            int circuitFailureThreshold, Duration circuitOpenDuration, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMs = Math.max(0, backoffBaseMs);
+        this.retryBudget = new RetryBudget(retryBudgetRatio, retryBudgetMax);
+        this.circuitBreaker = new GatewayCircuitBreaker(circuitFailureThreshold, circuitOpenDuration, clock);
+
+        // 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+        Gauge.builder("payments.gateway.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+                .description("Payment gateway circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+        Gauge.builder("payments.gateway.retry.budget", retryBudget, RetryBudget::available)
+                .description("Retries currently allowed by the payment gateway retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a chamada com a política acima. operation nomeia a métrica (ex.: "create_charge").
+     * Erros não transitórios (4xx, resposta inválida) sobem na primeira tentativa, como antes.
+     */
+    public <T> T execute(String operation, Supplier<T> call) {
+        retryBudget.deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                meterRegistry.counter("payments.gateway.short_circuited", "operation", operation).increment();
+                throw new PaymentGatewayUnavailableException("Payment provider unavailable, try again later");
+            }
+
+            long start = System.nanoTime();
+            RuntimeException failure;
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess();
+                record(operation, "success", start);
+                return result;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            if (!isTransient(failure)) {
+                // o provedor respondeu: não conta contra o circuito
+                circuitBreaker.onIgnored();
+                record(operation, "rejected", start);
+                throw failure;
+            }
+
+            circuitBreaker.onFailure();
+            record(operation, "failure", start);
+
+            if (attempt >= maxAttempts || !retryBudget.tryWithdraw()) {
+                log.warn("Payment gateway {} failed after {} attempt(s): {}", operation, attempt, failure.toString());
+                throw new PaymentGatewayUnavailableException("Payment provider unavailable, try again later", failure);
+            }
+            meterRegistry.counter("payments.gateway.retries", "operation", operation).increment();
+            sleep(backoff(attempt));
+        }
+    }
+
+    GatewayCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    static boolean isTransient(RuntimeException e) {
+        if (e instanceof ResourceAccessException) return true; // I/O, connect/read timeout
+        if (e instanceof HttpServerErrorException) return true;
+        return e instanceof HttpClientErrorException ce && ce.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        Timer.builder("payments.gateway.latency")
+                .description("Payment gateway call latency per attempt")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private long backoff(int attempt) {
+        // full jitter: uniforme em [0, base * 2^(attempt-1)]
+        long cap = Math.min(MAX_BACKOFF_MS, backoffBaseMs << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayUnavailableException("Interrupted while waiting to retry payment provider call");
+        }
+    }
+}
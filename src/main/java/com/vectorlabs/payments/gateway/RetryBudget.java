@@ -0,0 +1,33 @@
+package com.vectorlabs.payments.gateway;
+
+/**
+ * Orçamento de retries: cada chamada deposita ratio tokens (até max) e cada retry gasta um.
+ * Com o provedor fora, as novas tentativas ficam limitadas a ~ratio das chamadas, em vez de
+ * multiplicar a carga por max-attempts.
+ */
+class RetryBudget {
+
+    private final double ratio;
+    private final double max;
+    private double tokens;
+
+    RetryBudget(double ratio, double max) {
+        this.ratio = Math.max(0, ratio);
+        this.max = Math.max(1, max);
+        this.tokens = this.max;
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(max, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized double available() {
+        return tokens;
+    }
+}
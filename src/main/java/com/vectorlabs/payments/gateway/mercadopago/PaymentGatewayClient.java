@@ -9,7 +9,8 @@ import java.util.UUID;
 
 public interface PaymentGatewayClient {
 
-    CreateChargeResult createCharge(UUID inspectionId, int machineCountSnapshot, BigDecimal totalAmount);
+    /** paymentIntentId identifica a cobrança no provedor (chave de idempotência): repetir a chamada não duplica. */
+    CreateChargeResult createCharge(UUID paymentIntentId, UUID inspectionId, int machineCountSnapshot, BigDecimal totalAmount);
 
     PaymentStatus getPaymentStatus(PaymentProvider provider, String providerPaymentId);
 
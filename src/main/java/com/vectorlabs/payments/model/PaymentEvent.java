@@ -5,6 +5,8 @@ import com.vectorlabs.model.enuns.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -19,6 +21,9 @@ import java.util.UUID;
                         name = "uk_payment_event_provider_event",
                         columnNames = {"provider", "provider_event_id"}
                 )
+        },
+        indexes = {
+                @Index(name = "ix_payment_event_provider_payment", columnList = "provider, provider_payment_id")
         }
 )
 public class PaymentEvent {
@@ -41,7 +46,7 @@ public class PaymentEvent {
     @Column(name = "status", nullable = false, length = 20)
     private PaymentStatus status;
 
-    @Lob
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
     @Column(name = "raw_payload", nullable = false)
     private String rawPayload;
 
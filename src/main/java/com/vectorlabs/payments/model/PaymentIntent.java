@@ -13,7 +13,14 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "payment_intent")
+@Table(
+        name = "payment_intent",
+        indexes = {
+                // última intent da inspeção (findTopByInspectionIdOrderByCreatedAtDesc)
+                @Index(name = "ix_payment_intent_inspection_created", columnList = "inspection_id, created_at DESC"),
+                @Index(name = "ix_payment_intent_provider_payment", columnList = "provider, provider_payment_id")
+        }
+)
 public class PaymentIntent {
 
     @Id
@@ -0,0 +1,68 @@
+package com.vectorlabs.payments.model;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.WebhookInboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Webhook recebido e ainda não (ou já) aplicado: o endpoint só grava aqui e responde 200;
+ * os workers de PaymentWebhookInboxService aplicam em ordem por provider_payment_id.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "payment_webhook_inbox")
+public class PaymentWebhookInbox {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider", nullable = false, length = 30)
+    private PaymentProvider provider;
+
+    @Column(name = "provider_event_id", nullable = false, length = 120)
+    private String providerEventId;
+
+    @Column(name = "provider_payment_id", nullable = false, length = 120)
+    private String providerPaymentId;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "raw_payload", nullable = false)
+    private String rawPayload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WebhookInboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    // próxima tentativa (backoff após falha)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @PrePersist
+    private void onCreate() {
+        this.receivedAt = Instant.now();
+        if (this.availableAt == null) this.availableAt = this.receivedAt;
+        if (this.status == null) this.status = WebhookInboxStatus.PENDING;
+    }
+}
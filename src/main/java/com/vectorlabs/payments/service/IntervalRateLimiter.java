@@ -0,0 +1,32 @@
+package com.vectorlabs.payments.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de taxa por espaçamento: cada acquire reserva o próximo slot (1/rate segundos depois
+ * do anterior) e dorme até ele. A reserva é sob lock; a espera não, então várias threads
+ * (virtuais) aguardam em paralelo, cada uma no seu slot.
+ */
+class IntervalRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot = System.nanoTime();
+
+    IntervalRateLimiter(double permitsPerSecond) {
+        // <= 0: sem limite
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+    }
+
+    void acquire() throws InterruptedException {
+        if (intervalNanos == 0) return;
+
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot);
+            nextSlot = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+}
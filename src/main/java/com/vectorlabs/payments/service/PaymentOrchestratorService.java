@@ -1,81 +1,180 @@
 package com.vectorlabs.payments.service;
 
+import com.vectorlabs.exception.BusinessRuleException;
 import com.vectorlabs.payments.dto.mercadopago.PaymentAnswerDTO;
 import com.vectorlabs.model.enuns.PaymentStatus;
 import com.vectorlabs.payments.model.PaymentIntent;
 import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
 import com.vectorlabs.repository.PaymentIntentRepository;
 import com.vectorlabs.service.InspectionService;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Criação de cobrança em duas fases, sem conexão do banco presa durante a chamada ao provedor:
+ *
+ * 1) reserve: transação curta que valida, calcula e grava o intent PENDING (ainda sem provider_payment_id);
+ * 2) createCharge no Mercado Pago, fora de transação;
+ * 3) finalize: transação curta que grava id/checkout do provedor no intent reservado.
+ *
+ * Falha no passo 2 ou 3 compensa marcando a reserva como FAILED, liberando a inspeção para nova
+ * tentativa. Um PENDING por inspeção é garantido pelo índice único parcial (V8); reserva abandonada
+ * (processo caiu entre as fases) é descartada pela próxima tentativa depois de reservation-timeout.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentOrchestratorService {
 
     private final PaymentIntentRepository paymentIntentRepository;
     private final PricingService pricingService;
     private final PaymentGatewayClient paymentGatewayClient;
     private final InspectionService inspectionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reservationTimeout;
+
+    public PaymentOrchestratorService(
+            PaymentIntentRepository paymentIntentRepository,
+            PricingService pricingService,
+            PaymentGatewayClient paymentGatewayClient,
+            InspectionService inspectionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${payments.reservation-timeout-seconds:600}") long reservationTimeoutSeconds
+    ) {
+        this.paymentIntentRepository = paymentIntentRepository;
+        this.pricingService = pricingService;
+        this.paymentGatewayClient = paymentGatewayClient;
+        this.inspectionService = inspectionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationTimeout = Duration.ofSeconds(reservationTimeoutSeconds);
+    }
 
-    @Transactional
     public PaymentAnswerDTO createPaymentForInspection(UUID inspectionId, UUID requesterUserId) {
 
-        // 1) valida que a inspeção existe e pertence ao usuário (ou que ele tem permissão)
-        inspectionService.assertUserCanPay(inspectionId, requesterUserId);
+        // fase 1: reserva (transação curta)
+        PaymentIntent intent = reserve(inspectionId, requesterUserId);
+        UUID intentId = intent.getId();
 
-        // 2) pega a quantidade atual de máquinas
-        int machineCount = inspectionService.countMachines(inspectionId);
-        if (machineCount <= 0) {
-            throw new IllegalStateException("Inspection must have at least 1 machine to be charged");
+        // fase 2: cobrança no provedor (Mercado Pago), sem transação aberta
+        PaymentGatewayClient.CreateChargeResult charge;
+        try {
+            charge = paymentGatewayClient.createCharge(
+                    intentId,
+                    inspectionId,
+                    intent.getMachineCountSnapshot(),
+                    intent.getTotalAmount()
+            );
+        } catch (RuntimeException e) {
+            compensate(intentId, e);
+            throw e;
         }
 
-        // 3) evita criar várias cobranças iguais: se já existe uma PENDING recente, reaproveita
-        paymentIntentRepository.findTopByInspectionIdOrderByCreatedAtDesc(inspectionId)
-                .filter(pi -> pi.getStatus() == PaymentStatus.PENDING)
-                .ifPresent(existing -> {
-                    throw new IllegalStateException("There is already a pending payment for this inspection");
-                });
-
-        // 4) calcula o valor (taxa fixa + preço por máquina)
-        BigDecimal reportFee = pricingService.reportFee();
-        BigDecimal pricePerMachine = pricingService.pricePerMachine();
-        BigDecimal totalAmount = pricingService.calculateTotal(machineCount);
-
-        // 5) cria uma cobrança no provedor (Mercado Pago) e recebe dados (id e link)
-        PaymentGatewayClient.CreateChargeResult charge = paymentGatewayClient.createCharge(
-                inspectionId,
-                machineCount,
-                totalAmount
-        );
-
-        // 6) cria e salva o PaymentIntent (o “papel do pedido”)
-        PaymentIntent intent = new PaymentIntent();
-        intent.setInspectionId(inspectionId);
-        intent.setMachineCountSnapshot(machineCount);
-        intent.setReportFee(reportFee);
-        intent.setPricePerMachine(pricePerMachine);
-        intent.setTotalAmount(totalAmount);
-        intent.setProvider(charge.provider());
-        intent.setStatus(PaymentStatus.PENDING);
-        intent.setProviderPaymentId(charge.providerPaymentId());
-        intent.setProviderCheckoutUrl(charge.checkoutUrl());
-
-        paymentIntentRepository.save(intent);
+        // fase 3: grava os dados do provedor na reserva (transação curta)
+        try {
+            intent = transactionTemplate.execute(status -> finalizeReservation(intentId, charge));
+        } catch (RuntimeException e) {
+            // a preferência criada no provedor fica órfã (não é cobrança; expira sozinha)
+            compensate(intentId, e);
+            throw e;
+        }
 
-        // 7) devolve para o frontend (pra abrir checkout / mostrar QR)
+        // devolve para o frontend (pra abrir checkout / mostrar QR)
         return new PaymentAnswerDTO(
                 intent.getId(),
                 inspectionId,
-                machineCount,
-                totalAmount,
+                intent.getMachineCountSnapshot(),
+                intent.getTotalAmount(),
                 intent.getStatus(),
                 intent.getProvider(),
                 intent.getProviderCheckoutUrl()
         );
     }
+
+    private PaymentIntent reserve(UUID inspectionId, UUID requesterUserId) {
+        try {
+            return transactionTemplate.execute(status -> {
+
+                // 1) valida que a inspeção existe e pertence ao usuário (ou que ele tem permissão)
+                inspectionService.assertUserCanPay(inspectionId, requesterUserId);
+
+                // 2) pega a quantidade atual de máquinas
+                int machineCount = inspectionService.countMachines(inspectionId);
+                if (machineCount <= 0) {
+                    throw new IllegalStateException("Inspection must have at least 1 machine to be charged");
+                }
+
+                // 3) evita criar várias cobranças iguais (o índice único cobre a corrida entre requisições)
+                paymentIntentRepository.findTopByInspectionIdOrderByCreatedAtDesc(inspectionId)
+                        .filter(pi -> pi.getStatus() == PaymentStatus.PENDING)
+                        .ifPresent(this::releaseIfAbandoned);
+
+                // 4) calcula o valor (taxa fixa + preço por máquina)
+                BigDecimal reportFee = pricingService.reportFee();
+                BigDecimal pricePerMachine = pricingService.pricePerMachine();
+                BigDecimal totalAmount = pricingService.calculateTotal(machineCount);
+
+                // 5) reserva o PaymentIntent (o “papel do pedido”), ainda sem dados do provedor
+                PaymentIntent intent = new PaymentIntent();
+                intent.setInspectionId(inspectionId);
+                intent.setMachineCountSnapshot(machineCount);
+                intent.setReportFee(reportFee);
+                intent.setPricePerMachine(pricePerMachine);
+                intent.setTotalAmount(totalAmount);
+                intent.setStatus(PaymentStatus.PENDING);
+
+                // flush aqui: violação do índice aparece dentro do try, não no commit de outra fase
+                return paymentIntentRepository.saveAndFlush(intent);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // outra requisição reservou a mesma inspeção entre a checagem e o insert
+            throw new BusinessRuleException("There is already a pending payment for this inspection");
+        }
+    }
+
+    private void releaseIfAbandoned(PaymentIntent pending) {
+        boolean abandoned = pending.getProviderPaymentId() == null
+                && pending.getCreatedAt() != null
+                && pending.getCreatedAt().isBefore(Instant.now().minus(reservationTimeout));
+        if (!abandoned) {
+            throw new BusinessRuleException("There is already a pending payment for this inspection");
+        }
+
+        pending.setStatus(PaymentStatus.FAILED);
+        // antes do insert da nova reserva: o índice único só aceita um PENDING por inspeção
+        paymentIntentRepository.saveAndFlush(pending);
+        log.info("Released abandoned payment reservation {} of inspection {}", pending.getId(), pending.getInspectionId());
+    }
+
+    private PaymentIntent finalizeReservation(UUID intentId, PaymentGatewayClient.CreateChargeResult charge) {
+        PaymentIntent intent = paymentIntentRepository.findById(intentId)
+                .orElseThrow(() -> new IllegalStateException("Payment reservation disappeared: " + intentId));
+        if (intent.getStatus() != PaymentStatus.PENDING) {
+            // liberada como abandonada enquanto esperávamos o provedor
+            throw new BusinessRuleException("Payment reservation expired, try again");
+        }
+
+        intent.setProvider(charge.provider());
+        intent.setProviderPaymentId(charge.providerPaymentId());
+        intent.setProviderCheckoutUrl(charge.checkoutUrl());
+        return intent;
+    }
+
+    private void compensate(UUID intentId, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> paymentIntentRepository.findById(intentId)
+                    .filter(pi -> pi.getStatus() == PaymentStatus.PENDING && pi.getProviderPaymentId() == null)
+                    .ifPresent(pi -> pi.setStatus(PaymentStatus.FAILED)));
+        } catch (RuntimeException e) {
+            // banco fora: a reserva fica PENDING e é liberada depois de reservation-timeout
+            log.warn("Could not release payment reservation {} after {}: {}", intentId, cause.toString(), e.toString());
+        }
+    }
 }
@@ -0,0 +1,254 @@
+package com.vectorlabs.payments.service;
+
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import com.vectorlabs.repository.PaymentIntentRepository.ReconcileCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reconciliação agendada dos intents PENDING antigos (webhook perdido deixa a inspeção travada).
+ *
+ * Percorre os candidatos em keyset (created_at, id), uma página por vez. Em cada página as
+ * consultas ao provedor rodam em virtual threads, limitadas por max-concurrency e rate-per-second.
+ * Retry com backoff e circuit breaker ficam só no PaymentGatewayTransport (uma camada, sem multiplicar
+ * tentativas); o intent cuja consulta ainda falhar volta no próximo ciclo. As mudanças de status da
+ * página são gravadas em UPDATEs em lote, só onde o intent ainda está PENDING: o que o webhook já
+ * aplicou não é sobrescrito.
+ */
+@Slf4j
+@Service
+public class PaymentReconciliationEngine {
+
+    private static final String UPDATE_PAID =
+            "UPDATE payment_intent SET status = 'PAID', paid_at = COALESCE(paid_at, ?) WHERE id = ? AND status = 'PENDING'";
+    private static final String UPDATE_STATUS =
+            "UPDATE payment_intent SET status = ? WHERE id = ? AND status = 'PENDING'";
+
+    public record RunResult(int checked, int updated, int errors, int pages) {}
+
+    private final PaymentIntentRepository repository;
+    private final PaymentGatewayClient gatewayClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final Semaphore concurrency;
+    private final IntervalRateLimiter rateLimiter;
+
+    // uma execução por vez (agendada ou manual)
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter checked;
+    private final Counter errors;
+    private final Timer runTimer;
+
+    public PaymentReconciliationEngine(
+            PaymentIntentRepository repository,
+            PaymentGatewayClient gatewayClient,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${payments.reconciliation.enabled:true}") boolean enabled,
+            @Value("${payments.reconciliation.min-age-seconds:900}") long minAgeSeconds,
+            @Value("${payments.reconciliation.batch-size:100}") int batchSize,
+            @Value("${payments.reconciliation.max-concurrency:8}") int maxConcurrency,
+            @Value("${payments.reconciliation.rate-per-second:10}") double ratePerSecond
+    ) {
+        this.repository = repository;
+        this.gatewayClient = gatewayClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minAge = Duration.ofSeconds(Math.max(0, minAgeSeconds));
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = new Semaphore(Math.max(1, maxConcurrency));
+        this.rateLimiter = new IntervalRateLimiter(ratePerSecond);
+
+        Gauge.builder("payments.reconciliation.backlog", backlog, AtomicLong::get)
+                .description("Stale PENDING payment intents awaiting reconciliation (last run)")
+                .register(meterRegistry);
+        Gauge.builder("payments.reconciliation.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest stale PENDING payment intent (last run)")
+                .register(meterRegistry);
+        this.checked = meterRegistry.counter("payments.reconciliation.checked");
+        this.errors = meterRegistry.counter("payments.reconciliation.errors");
+        this.runTimer = Timer.builder("payments.reconciliation.run")
+                .description("Duration of a reconciliation run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${payments.reconciliation.interval-ms:300000}",
+            initialDelayString = "${payments.reconciliation.initial-delay-ms:60000}"
+    )
+    public void scheduledRun() {
+        if (!enabled) return;
+        try {
+            RunResult result = reconcileStale();
+            if (result.updated() > 0 || result.errors() > 0) {
+                log.info("Payment reconciliation: checked={} updated={} errors={} pages={}",
+                        result.checked(), result.updated(), result.errors(), result.pages());
+            }
+        } catch (RuntimeException e) {
+            // banco fora: tenta de novo no próximo ciclo
+            log.warn("Payment reconciliation run failed: {}", e.toString());
+        }
+    }
+
+    /** Executa uma passada completa; se outra já estiver rodando, devolve zeros sem fazer nada. */
+    public RunResult reconcileStale() {
+        if (!running.tryLock()) return new RunResult(0, 0, 0, 0);
+        try {
+            return runTimer.record(this::runPass);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private RunResult runPass() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(minAge);
+        backlog.set(repository.countByStatusAndProviderPaymentIdIsNotNullAndCreatedAtBefore(PaymentStatus.PENDING, cutoff));
+        lagSeconds.set(0);
+
+        int checkedTotal = 0, updatedTotal = 0, errorTotal = 0, pages = 0;
+        // created_at > EPOCH cobre tudo na primeira página; o id só desempata nas seguintes
+        Instant afterCreatedAt = Instant.EPOCH;
+        UUID afterId = new UUID(0, 0);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                List<ReconcileCandidate> page = repository.findStalePending(cutoff, afterCreatedAt, afterId, Limit.of(batchSize));
+                if (page.isEmpty()) break;
+                if (pages++ == 0) {
+                    // ordem por created_at: o primeiro da primeira página é o mais antigo
+                    lagSeconds.set(Duration.between(page.get(0).getCreatedAt(), now).toSeconds());
+                }
+
+                List<Future<PaymentStatus>> remote = new ArrayList<>(page.size());
+                for (ReconcileCandidate c : page) {
+                    remote.add(executor.submit(() -> fetchStatus(c)));
+                }
+
+                Map<PaymentStatus, List<UUID>> changes = new EnumMap<>(PaymentStatus.class);
+                for (int i = 0; i < page.size(); i++) {
+                    PaymentStatus status = await(remote.get(i));
+                    if (status == null) {
+                        errorTotal++;
+                        continue;
+                    }
+                    checkedTotal++;
+                    if (status != PaymentStatus.PENDING) {
+                        changes.computeIfAbsent(status, k -> new ArrayList<>()).add(page.get(i).getId());
+                    }
+                }
+                updatedTotal += applyChanges(changes);
+
+                ReconcileCandidate last = page.get(page.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+                if (page.size() < batchSize) break;
+            }
+        }
+        return new RunResult(checkedTotal, updatedTotal, errorTotal, pages);
+    }
+
+    /** Status no provedor, ou null se a consulta falhar (o transport já fez os retries). */
+    private PaymentStatus fetchStatus(ReconcileCandidate candidate) {
+        try {
+            concurrency.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            rateLimiter.acquire();
+            PaymentStatus status = gatewayClient.getPaymentStatus(candidate.getProvider(), candidate.getProviderPaymentId());
+            checked.increment();
+            return status;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (RuntimeException e) {
+            // segue PENDING: volta no próximo ciclo
+            errors.increment();
+            log.warn("Could not reconcile payment intent {} (payment {}): {}",
+                    candidate.getId(), candidate.getProviderPaymentId(), e.toString());
+            return null;
+        } finally {
+            concurrency.release();
+        }
+    }
+
+    private static PaymentStatus await(Future<PaymentStatus> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private int applyChanges(Map<PaymentStatus, List<UUID>> changes) {
+        if (changes.isEmpty()) return 0;
+
+        Timestamp paidAt = Timestamp.from(Instant.now());
+        Integer updated = transactionTemplate.execute(tx -> {
+            int total = 0;
+            for (Map.Entry<PaymentStatus, List<UUID>> e : changes.entrySet()) {
+                PaymentStatus status = e.getKey();
+                List<Object[]> args = new ArrayList<>(e.getValue().size());
+                for (UUID id : e.getValue()) {
+                    args.add(status == PaymentStatus.PAID
+                            ? new Object[]{paidAt, id}
+                            : new Object[]{status.name(), id});
+                }
+
+                int rows = 0;
+                for (int r : jdbcTemplate.batchUpdate(status == PaymentStatus.PAID ? UPDATE_PAID : UPDATE_STATUS, args)) {
+                    // 0: o webhook chegou primeiro
+                    if (r > 0) rows += r;
+                }
+                meterRegistry.counter("payments.reconciliation.updated", "status", status.name()).increment(rows);
+                total += rows;
+            }
+            return total;
+        });
+        return updated == null ? 0 : updated;
+    }
+}
@@ -53,7 +53,7 @@ public class PaymentReconciliationService {
 
     /**
      * Regra simples: se estiver PENDING há tempo demais, vale reconciliar.
-     * Você chamaria isso via scheduler depois, mas por enquanto pode ser manual.
+     * A passada agendada (PaymentReconciliationEngine) aplica a mesma regra direto na consulta.
      */
     public boolean shouldReconcile(PaymentIntent intent, Duration minAge) {
         if (isFinalStatus(intent.getStatus())) return false;
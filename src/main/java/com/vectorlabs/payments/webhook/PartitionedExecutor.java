@@ -0,0 +1,66 @@
+package com.vectorlabs.payments.webhook;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N filas de uma thread cada: tarefas da mesma chave caem sempre na mesma fila e rodam
+ * em ordem de submissão; chaves diferentes rodam em paralelo.
+ *
+ * As filas são limitadas: trySubmit devolve false quando a partição está cheia, e quem
+ * submeteu decide o que fazer (no inbox, a linha fica PENDING para o próximo poll).
+ */
+class PartitionedExecutor {
+
+    private final List<ThreadPoolExecutor> partitions;
+
+    PartitionedExecutor(String name, int partitions, int queueCapacity) {
+        int n = Math.max(1, partitions);
+        this.partitions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String threadName = name + "-" + i;
+            this.partitions.add(new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            ));
+        }
+    }
+
+    boolean trySubmit(String key, Runnable task) {
+        try {
+            partitions.get(partitionOf(key)).execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false; // partição cheia ou desligando
+        }
+    }
+
+    int partitionOf(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), partitions.size());
+    }
+
+    /** Tarefas aguardando nas filas (sem contar as que estão rodando). */
+    int queued() {
+        int total = 0;
+        for (ThreadPoolExecutor p : partitions) total += p.getQueue().size();
+        return total;
+    }
+
+    void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        partitions.forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor p : partitions) {
+            p.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+}
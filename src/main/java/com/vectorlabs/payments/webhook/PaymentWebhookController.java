@@ -15,11 +15,14 @@ import java.util.Map;
 public class PaymentWebhookController {
 
     private final PaymentWebhookHandler webhookHandler;
+    private final PaymentWebhookInboxService webhookInbox;
 
     /**
      * Endpoint genérico de webhook.
      * Você pode apontar o Mercado Pago para:
      *   POST /api/payments/webhooks/mercadopago
+     *
+     * Modo assíncrono (padrão, payments.webhook.async): só valida, grava no inbox e responde.
      */
     @PostMapping("/mercadopago")
     public ResponseEntity<Void> mercadoPagoWebhook(
@@ -27,7 +30,11 @@ public class PaymentWebhookController {
             @RequestHeader Map<String, String> headers,
             HttpServletRequest request
     ) {
-        webhookHandler.handleMercadoPago(rawPayload, headers, request);
+        if (webhookInbox.isAsync()) {
+            webhookInbox.accept(rawPayload, headers, request);
+        } else {
+            webhookHandler.handleMercadoPago(rawPayload, headers, request);
+        }
         return ResponseEntity.ok().build();
     }
 }
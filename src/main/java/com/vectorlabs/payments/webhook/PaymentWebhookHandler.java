@@ -22,9 +22,18 @@ public class PaymentWebhookHandler {
     private final PaymentIntentRepository paymentIntentRepository;
     private final WebhookSignatureValidator signatureValidator;
     private final MercadoPagoWebhookParser mercadoPagoWebhookParser; // parser simples do payload
+    private final RecentWebhookEvents recentEvents;
 
     @Transactional
     public void handleMercadoPago(String rawPayload, Map<String, String> headers, HttpServletRequest request) {
+        apply(verify(rawPayload, headers, request), rawPayload);
+    }
+
+    /**
+     * Assinatura + parse, sem banco: tudo o que pode rejeitar o webhook antes de responder.
+     * Usado também pelo inbox (PaymentWebhookInboxService), que grava e aplica depois.
+     */
+    public MercadoPagoWebhookParser.Result verify(String rawPayload, Map<String, String> headers, HttpServletRequest request) {
 
         // 1) valida assinatura (se você habilitar assinatura no provedor)
         // Se você ainda não tiver assinatura configurada, pode deixar esse validator aceitar "true" no MVP.
@@ -34,25 +43,38 @@ public class PaymentWebhookHandler {
         }
 
         // 2) extrai IDs importantes do payload (eventId e paymentId)
-        MercadoPagoWebhookParser.Result parsed = mercadoPagoWebhookParser.parse(rawPayload);
+        return mercadoPagoWebhookParser.parse(rawPayload);
+    }
+
+    /**
+     * Aplica um webhook já verificado: registra o evento (idempotente) e atualiza o intent.
+     * false: evento repetido, nada feito.
+     */
+    @Transactional
+    public boolean apply(MercadoPagoWebhookParser.Result parsed, String rawPayload) {
 
         String providerEventId = parsed.providerEventId();
         String providerPaymentId = parsed.providerPaymentId();
         PaymentStatus newStatus = parsed.status(); // pode vir null se o payload não trouxer status
 
-        // 3) idempotência: se já recebemos esse evento, ignoramos
-        if (paymentEventRepository.existsByProviderAndProviderEventId(PaymentProvider.MERCADO_PAGO, providerEventId)) {
-            return;
+        // 3) idempotência: reenvio de evento recém-gravado nesta instância nem chega ao banco
+        if (recentEvents.contains(PaymentProvider.MERCADO_PAGO, providerEventId)) {
+            return false;
         }
 
-        // 4) grava o evento (log imutável)
+        // 4) grava o evento (log imutável) — insert-first: a constraint decide quem aplica.
+        // Entregas concorrentes do mesmo evento esperam a primeira e recebem "já existe", sem 500.
         PaymentEvent event = new PaymentEvent();
         event.setProvider(PaymentProvider.MERCADO_PAGO);
         event.setProviderEventId(providerEventId);
         event.setProviderPaymentId(providerPaymentId);
         event.setStatus(newStatus != null ? newStatus : PaymentStatus.PENDING);
         event.setRawPayload(rawPayload != null ? rawPayload : "");
-        paymentEventRepository.save(event);
+        if (!paymentEventRepository.insertIfAbsent(event)) {
+            recentEvents.remember(PaymentProvider.MERCADO_PAGO, providerEventId);
+            return false;
+        }
+        recentEvents.rememberAfterCommit(PaymentProvider.MERCADO_PAGO, providerEventId);
 
         // 5) encontra o intent pelo providerPaymentId
         var intentOpt = paymentIntentRepository.findByProviderAndProviderPaymentId(
@@ -62,7 +84,7 @@ public class PaymentWebhookHandler {
 
         // Se não achar, ainda assim não falha o webhook (pra não ficar em loop de reenvio).
         if (intentOpt.isEmpty()) {
-            return;
+            return true;
         }
 
         var intent = intentOpt.get();
@@ -77,5 +99,6 @@ public class PaymentWebhookHandler {
             }
             paymentIntentRepository.save(intent);
         }
+        return true;
     }
 }
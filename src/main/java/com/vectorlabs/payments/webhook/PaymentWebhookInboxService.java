@@ -0,0 +1,238 @@
+package com.vectorlabs.payments.webhook;
+
+import com.vectorlabs.exception.WebhookRejectedException;
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.WebhookInboxStatus;
+import com.vectorlabs.payments.model.PaymentWebhookInbox;
+import com.vectorlabs.repository.PaymentWebhookInboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingestão assíncrona dos webhooks de pagamento.
+ *
+ * accept: assinatura + parse (sem banco), um INSERT no inbox e resposta imediata — lentidão
+ * no processamento não vira timeout/reenvio do provedor.
+ * Workers: uma fila por partição de provider_payment_id, então os eventos de um pagamento são
+ * aplicados em ordem e pagamentos diferentes em paralelo. Fila cheia não bloqueia o endpoint:
+ * a linha fica PENDING e o poller despacha quando houver espaço; o mesmo poller pega o que
+ * sobrou de um restart e as novas tentativas (backoff exponencial até max-attempts).
+ * Enquanto um evento do pagamento está PENDING (em backoff ou adiado), os seguintes esperam:
+ * o poller só despacha a cabeça de cada pagamento e o worker confere de novo sob o lock.
+ */
+@Slf4j
+@Service
+public class PaymentWebhookInboxService {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final PaymentWebhookInboxRepository repository;
+    private final PaymentWebhookHandler handler;
+    private final MercadoPagoWebhookParser parser;
+    private final RecentWebhookEvents recentEvents;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean async;
+    private final int pollBatchSize;
+    private final int maxAttempts;
+    private final PartitionedExecutor workers;
+
+    // ids já despachados e ainda não concluídos: o poller não despacha de novo
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Counter processed;
+    private final Counter duplicates;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter deferred;
+    private final Counter heldForOrder;
+    private final Timer lag;
+
+    public PaymentWebhookInboxService(
+            PaymentWebhookInboxRepository repository,
+            PaymentWebhookHandler handler,
+            MercadoPagoWebhookParser parser,
+            RecentWebhookEvents recentEvents,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${payments.webhook.async:true}") boolean async,
+            @Value("${payments.webhook.workers:4}") int workers,
+            @Value("${payments.webhook.queue-capacity:500}") int queueCapacity,
+            @Value("${payments.webhook.poll-batch-size:200}") int pollBatchSize,
+            @Value("${payments.webhook.max-attempts:8}") int maxAttempts
+    ) {
+        this.repository = repository;
+        this.handler = handler;
+        this.parser = parser;
+        this.recentEvents = recentEvents;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.async = async;
+        this.pollBatchSize = Math.max(1, pollBatchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.workers = new PartitionedExecutor("payment-webhook", workers, queueCapacity);
+
+        Gauge.builder("payments.webhook.inbox.backlog", backlog, AtomicLong::get)
+                .description("Webhooks PENDING in the inbox (last poll)")
+                .register(meterRegistry);
+        Gauge.builder("payments.webhook.inbox.queued", this.workers, PartitionedExecutor::queued)
+                .description("Webhooks waiting in the worker queues")
+                .register(meterRegistry);
+        this.processed = meterRegistry.counter("payments.webhook.inbox.processed");
+        this.duplicates = meterRegistry.counter("payments.webhook.inbox.duplicates");
+        this.retried = meterRegistry.counter("payments.webhook.inbox.retried");
+        this.failed = meterRegistry.counter("payments.webhook.inbox.failed");
+        this.deferred = meterRegistry.counter("payments.webhook.inbox.deferred");
+        this.heldForOrder = meterRegistry.counter("payments.webhook.inbox.held_for_order");
+        this.lag = Timer.builder("payments.webhook.inbox.lag")
+                .description("Time from webhook receipt to the event being applied")
+                .register(meterRegistry);
+    }
+
+    /** false: o controller processa no próprio request (modo síncrono antigo). */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Verifica, grava no inbox e despacha; não espera o processamento.
+     * null: reenvio de evento já aplicado nesta instância, descartado sem SQL.
+     */
+    public UUID accept(String rawPayload, Map<String, String> headers, HttpServletRequest request) {
+        MercadoPagoWebhookParser.Result parsed = handler.verify(rawPayload, headers, request);
+        if (recentEvents.contains(PaymentProvider.MERCADO_PAGO, parsed.providerEventId())) {
+            duplicates.increment();
+            return null;
+        }
+
+        PaymentWebhookInbox row = new PaymentWebhookInbox();
+        row.setProvider(PaymentProvider.MERCADO_PAGO);
+        row.setProviderEventId(parsed.providerEventId());
+        row.setProviderPaymentId(parsed.providerPaymentId());
+        row.setRawPayload(rawPayload);
+        repository.save(row); // transação própria: commitado antes do despacho
+
+        dispatch(row.getId(), row.getProviderPaymentId());
+        return row.getId();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${payments.webhook.poll-interval-ms:1000}",
+            initialDelayString = "${payments.webhook.poll-interval-ms:1000}"
+    )
+    public void poll() {
+        List<PaymentWebhookInbox> ready = repository.findReadyInPaymentOrder(
+                WebhookInboxStatus.PENDING, Instant.now(), Limit.of(pollBatchSize));
+        for (PaymentWebhookInbox row : ready) {
+            dispatch(row.getId(), row.getProviderPaymentId());
+        }
+        backlog.set(repository.countByStatus(WebhookInboxStatus.PENDING));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // o que não terminar fica PENDING no banco e é retomado no próximo start
+        workers.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private void dispatch(UUID id, String providerPaymentId) {
+        if (!inFlight.add(id)) return;
+
+        boolean queued = workers.trySubmit(providerPaymentId, () -> {
+            try {
+                process(id);
+            } finally {
+                inFlight.remove(id);
+            }
+        });
+        if (!queued) {
+            inFlight.remove(id);
+            deferred.increment(); // partição cheia: o poller tenta de novo
+        }
+    }
+
+    void process(UUID id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // lock da linha: outra instância processando o mesmo id espera e depois vê PROCESSED
+                PaymentWebhookInbox row = repository.findWithLockById(id).orElse(null);
+                if (row == null || row.getStatus() != WebhookInboxStatus.PENDING) return;
+
+                // evento anterior do mesmo pagamento ainda pendente (backoff, ou adiado por fila cheia e
+                // ultrapassado por um accept mais novo): fica PENDING, o poller traz de volta depois dele
+                if (repository.existsOlderPending(WebhookInboxStatus.PENDING, row.getProvider(),
+                        row.getProviderPaymentId(), row.getReceivedAt(), row.getId())) {
+                    heldForOrder.increment();
+                    return;
+                }
+
+                boolean applied = handler.apply(parser.parse(row.getRawPayload()), row.getRawPayload());
+
+                Instant now = Instant.now();
+                row.setStatus(WebhookInboxStatus.PROCESSED);
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLastError(null);
+                row.setProcessedAt(now);
+                (applied ? processed : duplicates).increment();
+                lag.record(Duration.between(row.getReceivedAt(), now));
+            });
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+
+    private void recordFailure(UUID id, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.findWithLockById(id)
+                    .filter(row -> row.getStatus() == WebhookInboxStatus.PENDING)
+                    .ifPresent(row -> {
+                        int attempts = row.getAttempts() + 1;
+                        row.setAttempts(attempts);
+                        row.setLastError(truncate(String.valueOf(cause), 500));
+
+                        // payload inválido não melhora com nova tentativa
+                        if (cause instanceof WebhookRejectedException || attempts >= maxAttempts) {
+                            row.setStatus(WebhookInboxStatus.FAILED);
+                            failed.increment();
+                            log.warn("Payment webhook {} (payment {}) failed after {} attempts: {}",
+                                    row.getProviderEventId(), row.getProviderPaymentId(), attempts, cause.toString());
+                        } else {
+                            row.setAvailableAt(Instant.now().plus(backoff(attempts)));
+                            retried.increment();
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            // banco fora: a linha continua PENDING e volta no próximo poll
+            log.warn("Could not record failure of payment webhook inbox {}: {}", id, e.toString());
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration d = Duration.ofSeconds(1L << Math.min(attempts, 10));
+        return d.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : d;
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+}
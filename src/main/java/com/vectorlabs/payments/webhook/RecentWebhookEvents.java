@@ -0,0 +1,64 @@
+package com.vectorlabs.payments.webhook;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ids de eventos de webhook já gravados recentemente nesta instância (LRU limitado).
+ *
+ * Provedores reenviam o mesmo evento várias vezes em sequência; com o id aqui, o reenvio
+ * é descartado sem nenhum SQL. Só entra id de transação commitada, então um evento cuja
+ * gravação falhou nunca é descartado por engano. A garantia continua sendo a constraint
+ * uk_payment_event_provider_event (PaymentEventRepository.insertIfAbsent).
+ */
+@Component
+public class RecentWebhookEvents {
+
+    private final Map<String, Boolean> recent;
+
+    public RecentWebhookEvents(@Value("${payments.webhook.recent-events:10000}") int maxEntries) {
+        int max = Math.max(1, maxEntries);
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    public boolean contains(PaymentProvider provider, String providerEventId) {
+        synchronized (recent) {
+            return recent.containsKey(key(provider, providerEventId));
+        }
+    }
+
+    public void remember(PaymentProvider provider, String providerEventId) {
+        synchronized (recent) {
+            recent.put(key(provider, providerEventId), Boolean.TRUE);
+        }
+    }
+
+    /** Registra só quando a transação atual commitar (imediato fora de transação). */
+    public void rememberAfterCommit(PaymentProvider provider, String providerEventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(provider, providerEventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(provider, providerEventId);
+            }
+        });
+    }
+
+    private static String key(PaymentProvider provider, String providerEventId) {
+        return provider + ":" + providerEventId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.address.AnswerAddressDTO;
+import com.vectorlabs.repository.support.SpecProjection.Row;
+
+import java.util.List;
+
+/** Colunas do embeddable Address nas projeções (prefixo = caminho até o @Embedded). */
+final class AddressProjection {
+
+    private static final List<String> FIELDS =
+            List.of("street", "number", "complement", "district", "city", "state", "zipCode", "country");
+
+    private AddressProjection() {
+    }
+
+    static List<String> columns(String prefix) {
+        return FIELDS.stream().map(f -> prefix + "." + f).toList();
+    }
+
+    static String get(Row row, String prefix, String field) {
+        return row.get(prefix + "." + field, String.class);
+    }
+
+    /** null quando todas as colunas são null, como o Hibernate faz com o embeddable (e o MapStruct repassa). */
+    static AnswerAddressDTO toDTO(Row row, String prefix) {
+        AnswerAddressDTO dto = new AnswerAddressDTO(
+                get(row, prefix, "street"),
+                get(row, prefix, "number"),
+                get(row, prefix, "complement"),
+                get(row, prefix, "district"),
+                get(row, prefix, "city"),
+                get(row, prefix, "state"),
+                get(row, prefix, "zipCode"),
+                get(row, prefix, "country")
+        );
+        return dto.equals(new AnswerAddressDTO(null, null, null, null, null, null, null, null)) ? null : dto;
+    }
+}
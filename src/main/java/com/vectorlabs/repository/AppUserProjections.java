@@ -0,0 +1,13 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.appuser.AnswerAppUserDTO;
+import com.vectorlabs.model.AppUser;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Listagem read-only direto em AnswerAppUserDTO (só as colunas do DTO, sem entidade gerenciada). */
+public interface AppUserProjections {
+
+    Page<AnswerAppUserDTO> findAnswers(Specification<AppUser> spec, Pageable pageable);
+}
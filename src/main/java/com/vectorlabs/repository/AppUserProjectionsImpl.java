@@ -0,0 +1,86 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.appuser.AnswerAppUserDTO;
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.AuthProvider;
+import com.vectorlabs.model.enuns.UserRole;
+import com.vectorlabs.repository.support.SpecProjection;
+import com.vectorlabs.repository.support.SpecProjection.Row;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class AppUserProjectionsImpl implements AppUserProjections {
+
+    // mesmos campos de AppUserMapper.toAnswerDTO (password nunca é selecionado)
+    private static final List<String> COLUMNS;
+
+    static {
+        List<String> columns = new ArrayList<>(List.of(
+                "id", "email", "authProvider", "providerUserId", "name", "pictureUrl", "emailVerified",
+                "lastLoginAt", "cpf", "cnpj", "deleted", "enabled"
+        ));
+        columns.addAll(AddressProjection.columns("address"));
+        COLUMNS = List.copyOf(columns);
+    }
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<AnswerAppUserDTO> findAnswers(Specification<AppUser> spec, Pageable pageable) {
+        Page<AnswerAppUserDTO> page = SpecProjection.page(
+                entityManager, AppUser.class, spec, pageable, COLUMNS, AppUserProjectionsImpl::toDTO);
+
+        fillRoles(page.getContent());
+        return page;
+    }
+
+    // roles é @ElementCollection: um select só para a página inteira (em vez do EAGER por usuário)
+    private void fillRoles(List<AnswerAppUserDTO> users) {
+        if (users.isEmpty()) return;
+
+        Map<UUID, Set<UserRole>> byId = new HashMap<>(users.size() * 2);
+        users.forEach(u -> byId.put(u.id(), u.roles()));
+
+        List<Tuple> rows = entityManager.createQuery(
+                        "select u.id, r from AppUser u join u.roles r where u.id in :ids", Tuple.class)
+                .setParameter("ids", byId.keySet())
+                .getResultList();
+
+        for (Tuple row : rows) {
+            byId.get(row.get(0, UUID.class)).add(row.get(1, UserRole.class));
+        }
+    }
+
+    private static AnswerAppUserDTO toDTO(Row row) {
+        return new AnswerAppUserDTO(
+                row.get("id", UUID.class),
+                row.get("email", String.class),
+                row.get("authProvider", AuthProvider.class),
+                row.get("providerUserId", String.class),
+                row.get("name", String.class),
+                row.get("pictureUrl", String.class),
+                row.get("emailVerified", Boolean.class),
+                row.get("lastLoginAt", Instant.class),
+                row.get("cpf", String.class),
+                row.get("cnpj", String.class),
+                AddressProjection.toDTO(row, "address"),
+                Boolean.TRUE.equals(row.get("deleted", Boolean.class)),
+                Boolean.TRUE.equals(row.get("enabled", Boolean.class)),
+                EnumSet.noneOf(UserRole.class) // preenchido por fillRoles
+        );
+    }
+}
@@ -2,28 +2,52 @@ package com.vectorlabs.repository;
 
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
+import com.vectorlabs.repository.support.IncludeDeleted;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface AppUserRepository extends JpaRepository<AppUser, UUID>, JpaSpecificationExecutor<AppUser> {
+public interface AppUserRepository extends JpaRepository<AppUser, UUID>, JpaSpecificationExecutor<AppUser>,
+        AppUserProjections {
+    @IncludeDeleted
     Optional<AppUser> findByEmail(String email);
 
+    @IncludeDeleted
     Optional<AppUser> findByAuthProviderAndProviderUserId(AuthProvider provider, String s);
 
-    boolean existsByEmailIgnoreCase(String normalizedEmail);
+    // lower() explícito (o IgnoreCase derivado gera upper()): usa o índice ix_app_user_email_lower
+    @IncludeDeleted
+    @Query("select count(u) > 0 from AppUser u where lower(u.email) = lower(:email)")
+    boolean existsByEmailIgnoreCase(@Param("email") String normalizedEmail);
 
+    @IncludeDeleted
     boolean existsByCpf(@Size(max = 14) String cpf);
 
+    @IncludeDeleted
     boolean existsByCnpj(@Size(max = 18) String cnpj);
 
-    Optional<AppUser> findByEmailIgnoreCase(String email);
+    @IncludeDeleted
+    @Query("select u from AppUser u where lower(u.email) = lower(:email)")
+    Optional<AppUser> findByEmailIgnoreCase(@Param("email") String email);
 
+    @IncludeDeleted
     Optional<AppUser> findByCpf(String cpf);
 
+    @IncludeDeleted
     Optional<AppUser> findByCnpj(String cnpj);
-}
 
+    // rehash do login: só a coluna password, e só se ninguém trocou a senha desde a leitura
+    @Modifying
+    @Transactional
+    @Query("update AppUser u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") UUID id,
+                                  @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
+}
@@ -0,0 +1,13 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.clientcompany.AnswerClientCompanyDTO;
+import com.vectorlabs.model.ClientCompany;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Listagem read-only direto em AnswerClientCompanyDTO (só as colunas do DTO, sem entidade gerenciada). */
+public interface ClientCompanyProjections {
+
+    Page<AnswerClientCompanyDTO> findAnswers(Specification<ClientCompany> spec, Pageable pageable);
+}
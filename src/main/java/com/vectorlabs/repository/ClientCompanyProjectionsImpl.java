@@ -0,0 +1,62 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.clientcompany.AnswerClientCompanyDTO;
+import com.vectorlabs.model.ClientCompany;
+import com.vectorlabs.repository.support.SpecProjection;
+import com.vectorlabs.repository.support.SpecProjection.Row;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class ClientCompanyProjectionsImpl implements ClientCompanyProjections {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<AnswerClientCompanyDTO> findAnswers(Specification<ClientCompany> spec, Pageable pageable) {
+        return SpecProjection.page(entityManager, ClientCompany.class, spec, pageable, columns(""), row -> toDTO(row, ""));
+    }
+
+    /**
+     * Mesmos campos de ClientCompanyMapper.toDTO; user.id vem da FK, sem join.
+     * Também usado por LocationProjectionsImpl (prefixo "company").
+     */
+    static List<String> columns(String prefix) {
+        List<String> columns = new ArrayList<>(List.of(
+                path(prefix, "id"), path(prefix, "user.id"), path(prefix, "corporateName"),
+                path(prefix, "tradeName"), path(prefix, "cnpj"), path(prefix, "phone"), path(prefix, "email"),
+                path(prefix, "active"), path(prefix, "deleted"), path(prefix, "createdAt"), path(prefix, "updatedAt")
+        ));
+        columns.addAll(AddressProjection.columns(path(prefix, "address")));
+        return columns;
+    }
+
+    static AnswerClientCompanyDTO toDTO(Row row, String prefix) {
+        return new AnswerClientCompanyDTO(
+                row.get(path(prefix, "id"), UUID.class),
+                row.get(path(prefix, "user.id"), UUID.class),
+                row.get(path(prefix, "corporateName"), String.class),
+                row.get(path(prefix, "tradeName"), String.class),
+                row.get(path(prefix, "cnpj"), String.class),
+                row.get(path(prefix, "phone"), String.class),
+                row.get(path(prefix, "email"), String.class),
+                AddressProjection.toDTO(row, path(prefix, "address")),
+                row.get(path(prefix, "active"), Boolean.class),
+                row.get(path(prefix, "deleted"), Boolean.class),
+                row.get(path(prefix, "createdAt"), Instant.class),
+                row.get(path(prefix, "updatedAt"), Instant.class)
+        );
+    }
+
+    private static String path(String prefix, String field) {
+        return prefix.isEmpty() ? field : prefix + "." + field;
+    }
+}
@@ -7,5 +7,6 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.UUID;
 
-public interface ClientCompanyRepository extends JpaRepository<ClientCompany, UUID>, JpaSpecificationExecutor<ClientCompany> {
+public interface ClientCompanyRepository extends JpaRepository<ClientCompany, UUID>, JpaSpecificationExecutor<ClientCompany>,
+        ClientCompanyProjections {
 }
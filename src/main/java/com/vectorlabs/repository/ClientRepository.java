@@ -1,6 +1,7 @@
 package com.vectorlabs.repository;
 
 import com.vectorlabs.model.Client;
+import com.vectorlabs.repository.support.IncludeDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -9,7 +10,9 @@ import java.util.UUID;
 
 public interface ClientRepository extends JpaRepository<Client, UUID>, JpaSpecificationExecutor<Client> {
 
+    @IncludeDeleted
     Optional<Client> findByClientId(String clientId);
 
+    @IncludeDeleted
     boolean existsByClientId(String clientId);
 }
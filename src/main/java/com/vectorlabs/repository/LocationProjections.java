@@ -0,0 +1,13 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.location.AnswerLocationDTO;
+import com.vectorlabs.model.Location;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Listagem read-only direto em AnswerLocationDTO (só as colunas do DTO, sem entidade gerenciada). */
+public interface LocationProjections {
+
+    Page<AnswerLocationDTO> findAnswers(Specification<Location> spec, Pageable pageable);
+}
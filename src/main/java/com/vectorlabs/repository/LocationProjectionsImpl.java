@@ -0,0 +1,61 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.location.AnswerLocationDTO;
+import com.vectorlabs.model.Location;
+import com.vectorlabs.model.enuns.InspectionLocationType;
+import com.vectorlabs.repository.support.SpecProjection;
+import com.vectorlabs.repository.support.SpecProjection.Row;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class LocationProjectionsImpl implements LocationProjections {
+
+    // mesmos campos de LocationMapper.toDTO: o local, o endereço achatado e a empresa (join em company)
+    private static final List<String> COLUMNS;
+
+    static {
+        List<String> columns = new ArrayList<>(List.of(
+                "id", "name", "code", "type", "description", "createdAt", "updatedAt"
+        ));
+        columns.addAll(AddressProjection.columns("address"));
+        columns.addAll(ClientCompanyProjectionsImpl.columns("company"));
+        COLUMNS = List.copyOf(columns);
+    }
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<AnswerLocationDTO> findAnswers(Specification<Location> spec, Pageable pageable) {
+        return SpecProjection.page(entityManager, Location.class, spec, pageable, COLUMNS, LocationProjectionsImpl::toDTO);
+    }
+
+    private static AnswerLocationDTO toDTO(Row row) {
+        return new AnswerLocationDTO(
+                row.get("id", UUID.class),
+                row.get("name", String.class),
+                row.get("code", String.class),
+                row.get("type", InspectionLocationType.class),
+                row.get("description", String.class),
+                AddressProjection.get(row, "address", "street"),
+                AddressProjection.get(row, "address", "number"),
+                AddressProjection.get(row, "address", "district"), // DTO usa neighborhood
+                AddressProjection.get(row, "address", "city"),
+                AddressProjection.get(row, "address", "state"),
+                AddressProjection.get(row, "address", "zipCode"),
+                AddressProjection.get(row, "address", "country"),
+                row.get("createdAt", Instant.class),
+                row.get("updatedAt", Instant.class),
+                ClientCompanyProjectionsImpl.toDTO(row, "company"),
+                row.get("company.corporateName", String.class)
+        );
+    }
+}
@@ -6,5 +6,6 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.UUID;
 
-public interface LocationRepository extends JpaRepository<Location, UUID>, JpaSpecificationExecutor<Location> {
+public interface LocationRepository extends JpaRepository<Location, UUID>, JpaSpecificationExecutor<Location>,
+        LocationProjections {
 }
@@ -3,14 +3,33 @@ package com.vectorlabs.repository;
 import com.vectorlabs.model.Machine;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface MachineRepository extends JpaRepository<Machine, UUID>, JpaSpecificationExecutor<Machine> {
 
-    boolean existsByTypeIgnoreCaseAndManufacturerIgnoreCaseAndModelIgnoreCase(String safe, String safe1, String safe2);
+    // lower() explícito (o IgnoreCase derivado gera upper()): usa o índice ix_machines_identity_lower
+    @Query("""
+            select count(m) > 0 from Machine m
+            where lower(m.type) = lower(:type)
+              and lower(m.manufacturer) = lower(:manufacturer)
+              and lower(m.model) = lower(:model)
+            """)
+    boolean existsByTypeIgnoreCaseAndManufacturerIgnoreCaseAndModelIgnoreCase(
+            @Param("type") String type, @Param("manufacturer") String manufacturer, @Param("model") String model);
+
+    @Query("""
+            select count(m) > 0 from Machine m
+            where lower(m.type) = lower(:type)
+              and lower(m.manufacturer) = lower(:manufacturer)
+              and lower(m.model) = lower(:model)
+              and m.id <> :id
+            """)
     boolean existsByTypeIgnoreCaseAndManufacturerIgnoreCaseAndModelIgnoreCaseAndIdNot(
-            String type, String manufacturer, String model, UUID id);
+            @Param("type") String type, @Param("manufacturer") String manufacturer, @Param("model") String model,
+            @Param("id") UUID id);
 
 }
@@ -0,0 +1,14 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.payments.model.PaymentEvent;
+
+/** Gravação idempotente de eventos de pagamento (insert-first, sem exists antes). */
+public interface PaymentEventInserts {
+
+    /**
+     * INSERT ... ON CONFLICT DO NOTHING (uk_payment_event_provider_event).
+     * true se a linha foi gravada; false se o evento já existia (inclusive gravado por
+     * uma transação concorrente, que o banco serializa na própria constraint).
+     */
+    boolean insertIfAbsent(PaymentEvent event);
+}
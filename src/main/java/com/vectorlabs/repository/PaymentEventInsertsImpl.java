@@ -0,0 +1,42 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.payments.model.PaymentEvent;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class PaymentEventInsertsImpl implements PaymentEventInserts {
+
+    // nativo: o ON CONFLICT do HQL vira INSERT simples no H2, e a corrida volta a estourar a constraint.
+    // Sem alvo (o H2 não aceita): a única outra unique é o id, gerado aqui
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO payment_event (id, provider, provider_event_id, provider_payment_id, status, raw_payload, received_at)
+            VALUES (:id, :provider, :providerEventId, :providerPaymentId, :status, :rawPayload, :receivedAt)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(PaymentEvent event) {
+        // sem @PrePersist/@GeneratedValue fora do persist: id e received_at preenchidos aqui
+        if (event.getId() == null) event.setId(UUID.randomUUID());
+        if (event.getReceivedAt() == null) event.setReceivedAt(Instant.now());
+
+        int rows = entityManager.createNativeQuery(INSERT_IF_ABSENT)
+                .setParameter("id", event.getId())
+                .setParameter("provider", event.getProvider().name())
+                .setParameter("providerEventId", event.getProviderEventId())
+                .setParameter("providerPaymentId", event.getProviderPaymentId())
+                .setParameter("status", event.getStatus().name())
+                .setParameter("rawPayload", event.getRawPayload())
+                .setParameter("receivedAt", event.getReceivedAt())
+                .executeUpdate();
+        return rows == 1;
+    }
+}
@@ -10,7 +10,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface PaymentEventRepository extends JpaRepository<PaymentEvent, UUID>, JpaSpecificationExecutor<PaymentEvent> {
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, UUID>, JpaSpecificationExecutor<PaymentEvent>,
+        PaymentEventInserts {
 
     boolean existsByProviderAndProviderEventId(PaymentProvider provider, String providerEventId);
 
@@ -3,10 +3,15 @@ package com.vectorlabs.repository;
 import com.vectorlabs.model.enuns.PaymentProvider;
 import com.vectorlabs.model.enuns.PaymentStatus;
 import com.vectorlabs.payments.model.PaymentIntent;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +25,33 @@ public interface PaymentIntentRepository extends JpaRepository<PaymentIntent, UU
     boolean existsByProviderAndProviderPaymentId(PaymentProvider provider, String providerPaymentId);
 
     long countByInspectionIdAndStatus(UUID inspectionId, PaymentStatus status);
+
+    // ===== reconciliação (PaymentReconciliationEngine) =====
+
+    /** Só o necessário para consultar o provedor; sem entidade gerenciada. */
+    interface ReconcileCandidate {
+        UUID getId();
+        PaymentProvider getProvider();
+        String getProviderPaymentId();
+        Instant getCreatedAt();
+    }
+
+    // PENDING antigos com id no provedor, em keyset (created_at, id) — ix_payment_intent_pending_created
+    @Query("""
+            select i.id as id, i.provider as provider, i.providerPaymentId as providerPaymentId, i.createdAt as createdAt
+            from PaymentIntent i
+            where i.status = com.vectorlabs.model.enuns.PaymentStatus.PENDING
+              and i.providerPaymentId is not null
+              and i.createdAt < :cutoff
+              and (i.createdAt > :afterCreatedAt or (i.createdAt = :afterCreatedAt and i.id > :afterId))
+            order by i.createdAt, i.id
+            """)
+    List<ReconcileCandidate> findStalePending(
+            @Param("cutoff") Instant cutoff,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit
+    );
+
+    long countByStatusAndProviderPaymentIdIsNotNullAndCreatedAtBefore(PaymentStatus status, Instant cutoff);
 }
@@ -0,0 +1,59 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.WebhookInboxStatus;
+import com.vectorlabs.payments.model.PaymentWebhookInbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PaymentWebhookInboxRepository extends JpaRepository<PaymentWebhookInbox, UUID> {
+
+    /**
+     * Poller: pendentes prontos para (re)tentar, na ordem de chegada, mas só a cabeça de cada pagamento. Linha com outra PENDING mais antiga do
+     * mesmo provider_payment_id (em backoff ou adiada por fila cheia) espera a anterior sair.
+     * Ordem por (received_at, id), a mesma de existsOlderPending.
+     */
+    @Query("""
+            select i from PaymentWebhookInbox i
+            where i.status = :pending and i.availableAt <= :now
+              and not exists (
+                  select 1 from PaymentWebhookInbox o
+                  where o.provider = i.provider and o.providerPaymentId = i.providerPaymentId
+                    and o.status = :pending
+                    and (o.receivedAt < i.receivedAt or (o.receivedAt = i.receivedAt and o.id < i.id)))
+            order by i.receivedAt, i.id
+            """)
+    List<PaymentWebhookInbox> findReadyInPaymentOrder(@Param("pending") WebhookInboxStatus pending,
+                                                      @Param("now") Instant now,
+                                                      Limit limit);
+
+    // worker: a linha só é aplicada se nenhum evento anterior do mesmo pagamento continua PENDING
+    @Query("""
+            select count(o) > 0 from PaymentWebhookInbox o
+            where o.provider = :provider and o.providerPaymentId = :providerPaymentId
+              and o.status = :pending
+              and (o.receivedAt < :receivedAt or (o.receivedAt = :receivedAt and o.id < :id))
+            """)
+    boolean existsOlderPending(@Param("pending") WebhookInboxStatus pending,
+                               @Param("provider") PaymentProvider provider,
+                               @Param("providerPaymentId") String providerPaymentId,
+                               @Param("receivedAt") Instant receivedAt,
+                               @Param("id") UUID id);
+
+    // worker: SELECT ... FOR UPDATE, uma instância aplica a linha por vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<PaymentWebhookInbox> findWithLockById(UUID id);
+
+    long countByStatus(WebhookInboxStatus status);
+}
@@ -0,0 +1,44 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveTokenIds(Instant now);
+
+    @Query("select r.tokenId from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findTokenIdsRevokedSince(Instant since, Instant now);
+
+    /**
+     * Insert-only (save com id atribuído vira merge: select + update, e nunca conflita).
+     * 0 = o id já estava gravado, por esta ou por outra instância.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO revoked_token (token_id, kind, family_id, revoked_at, expires_at)
+            VALUES (:tokenId, :kind, :familyId, :revokedAt, :expiresAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId,
+                       @Param("kind") String kind,
+                       @Param("familyId") String familyId,
+                       @Param("revokedAt") Instant revokedAt,
+                       @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
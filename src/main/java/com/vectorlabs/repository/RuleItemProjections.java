@@ -0,0 +1,13 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.rule.ruleitem.AnswerRuleItemDTO;
+import com.vectorlabs.model.RuleItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Listagem read-only direto em AnswerRuleItemDTO (só as colunas do DTO, sem entidade gerenciada). */
+public interface RuleItemProjections {
+
+    Page<AnswerRuleItemDTO> findAnswers(Specification<RuleItem> spec, Pageable pageable);
+}
@@ -0,0 +1,42 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.rule.ruleitem.AnswerRuleItemDTO;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.repository.support.SpecProjection;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class RuleItemProjectionsImpl implements RuleItemProjections {
+
+    // mesmos campos de RuleItemMapper.toDTO; module.moduleCode é o único join
+    private static final List<String> COLUMNS = List.of(
+            "id", "itemCode", "description", "sequence", "active", "createdAt", "updatedAt",
+            "module.id", "module.moduleCode", "parent.id"
+    );
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<AnswerRuleItemDTO> findAnswers(Specification<RuleItem> spec, Pageable pageable) {
+        return SpecProjection.page(entityManager, RuleItem.class, spec, pageable, COLUMNS, row -> new AnswerRuleItemDTO(
+                row.get("id", UUID.class),
+                row.get("itemCode", String.class),
+                row.get("description", String.class),
+                row.get("sequence", Integer.class),
+                row.get("active", Boolean.class),
+                row.get("createdAt", Instant.class),
+                row.get("updatedAt", Instant.class),
+                row.get("module.id", UUID.class),
+                row.get("module.moduleCode", String.class),
+                row.get("parent.id", UUID.class)
+        ));
+    }
+}
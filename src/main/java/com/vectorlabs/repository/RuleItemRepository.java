@@ -1,15 +1,75 @@
 package com.vectorlabs.repository;
 
 import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.repository.support.IncludeDeleted;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface RuleItemRepository extends JpaRepository<RuleItem, UUID>, JpaSpecificationExecutor<RuleItem> {
+public interface RuleItemRepository extends JpaRepository<RuleItem, UUID>, JpaSpecificationExecutor<RuleItem>,
+        RuleItemProjections {
+
+    @IncludeDeleted
     boolean existsByParent_Id(UUID id);
 
+    @IncludeDeleted
     boolean existsByModule_IdAndItemCode(UUID id, String itemCode);
 
+    @IncludeDeleted
     boolean existsByModule_IdAndItemCodeAndIdNot(UUID id, String effectiveCode, UUID id1);
+
+    /** Códigos já usados no módulo (tombstones inclusive), para a checagem de unicidade em lote. */
+    @IncludeDeleted
+    @Query("select i.itemCode from RuleItem i where i.module.id = :moduleId")
+    List<String> findItemCodesByModuleId(@Param("moduleId") UUID moduleId);
+
+    /** Importação da árvore: (moduleId, itemCode, id, deleted) de todos os itens da norma, sem carregar entidades. */
+    @IncludeDeleted
+    @Query("select i.module.id, i.itemCode, i.id, i.deleted from RuleItem i where i.module.section.rule.id = :ruleId")
+    List<Object[]> findImportKeysByRuleId(@Param("ruleId") UUID ruleId);
+
+    /**
+     * Full-text (Postgres) ordenado por relevância. tsQuery vem de TextSearchQuery.prefixQuery;
+     * a expressão do to_tsvector é a mesma do índice ix_ruleitem_fts (V2__rule_text_search.sql).
+     * SQL nativo não passa pelo filtro de soft delete de Auditable: deleted = false explícito.
+     */
+    @Query(value = """
+            SELECT ri.* FROM rule_items ri
+            WHERE to_tsvector('portuguese_unaccent', ri.item_code || ' ' || ri.description)
+                  @@ to_tsquery('portuguese_unaccent', :tsQuery)
+              AND (CAST(:moduleId AS uuid) IS NULL OR ri.module_id = CAST(:moduleId AS uuid))
+              AND (CAST(:parentId AS uuid) IS NULL OR ri.parent_id = CAST(:parentId AS uuid))
+              AND (CAST(:active AS boolean) IS NULL OR ri.active = CAST(:active AS boolean))
+              AND ri.deleted = false
+            ORDER BY ts_rank_cd(
+                         to_tsvector('portuguese_unaccent', ri.item_code || ' ' || ri.description),
+                         to_tsquery('portuguese_unaccent', :tsQuery)) DESC,
+                     ri.item_code, ri.id
+            """,
+            countQuery = """
+            SELECT count(*) FROM rule_items ri
+            WHERE to_tsvector('portuguese_unaccent', ri.item_code || ' ' || ri.description)
+                  @@ to_tsquery('portuguese_unaccent', :tsQuery)
+              AND (CAST(:moduleId AS uuid) IS NULL OR ri.module_id = CAST(:moduleId AS uuid))
+              AND (CAST(:parentId AS uuid) IS NULL OR ri.parent_id = CAST(:parentId AS uuid))
+              AND (CAST(:active AS boolean) IS NULL OR ri.active = CAST(:active AS boolean))
+              AND ri.deleted = false
+            """,
+            nativeQuery = true)
+    Page<RuleItem> searchText(
+            @Param("tsQuery") String tsQuery,
+            @Param("moduleId") UUID moduleId,
+            @Param("parentId") UUID parentId,
+            @Param("active") Boolean active,
+            Pageable pageable
+    );
+
+    // árvore da norma (GET /api/rules/{id}/tree): só itens vivos, pais resolvidos em memória
+    List<RuleItem> findAllByModule_Section_Rule_IdOrderBySequenceAscItemCodeAsc(UUID ruleId);
 }
@@ -1,20 +1,32 @@
 package com.vectorlabs.repository;
 
 import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.repository.support.IncludeDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface RuleModuleRepository extends JpaRepository<RuleModule, UUID>, JpaSpecificationExecutor<RuleModule> {
+    @IncludeDeleted
     boolean existsBySection_IdAndModuleCode(UUID sectionId, String moduleCode);
 
+    @IncludeDeleted
     boolean existsBySection_IdAndModuleSequence(UUID sectionId, Integer moduleSequence);
 
+    @IncludeDeleted
     boolean existsBySection_IdAndModuleCodeAndIdNot(UUID sectionId, String moduleCode, UUID id);
 
+    @IncludeDeleted
     boolean existsBySection_IdAndModuleSequenceAndIdNot(UUID sectionId, Integer seq, UUID id);
 
+    @IncludeDeleted
     boolean existsBySection_Id(UUID id);
-}
 
+    @IncludeDeleted
+    List<RuleModule> findAllBySection_Rule_Id(UUID ruleId);
+
+    // árvore da norma (GET /api/rules/{id}/tree): só módulos vivos
+    List<RuleModule> findAllBySection_Rule_IdOrderByModuleSequenceAsc(UUID ruleId);
+}
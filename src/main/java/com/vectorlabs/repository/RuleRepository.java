@@ -1,14 +1,21 @@
 package com.vectorlabs.repository;
 
 import com.vectorlabs.model.Rule;
+import com.vectorlabs.repository.support.IncludeDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface RuleRepository extends JpaRepository<Rule, UUID>, JpaSpecificationExecutor<Rule> {
 
+    @IncludeDeleted
     boolean existsByCodeIgnoreCase(String code);
 
+    /** Importação da árvore: a norma pode já existir (ou estar na lixeira). */
+    @IncludeDeleted
+    Optional<Rule> findByCodeIgnoreCase(String code);
+
 
 }
@@ -1,18 +1,37 @@
 package com.vectorlabs.repository;
 
 import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.repository.support.IncludeDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface RuleSectionRepository extends JpaRepository<RuleSection, UUID>, JpaSpecificationExecutor<RuleSection> {
 
+    @IncludeDeleted
     boolean existsByRule_IdAndSequence(UUID ruleId, Integer sequence);
 
+    @IncludeDeleted
     boolean existsByRule_IdAndSequenceAndIdNot(UUID ruleId, Integer seq, UUID id);
 
+    @IncludeDeleted
     boolean existsByRule_IdAndCode(UUID ruleId, String code);
 
+    @IncludeDeleted
     boolean existsByRule_IdAndCodeAndIdNot(UUID ruleId, String code, UUID id);
+
+    @IncludeDeleted
+    List<RuleSection> findAllByRule_Id(UUID ruleId);
+
+    // árvore da norma (GET /api/rules/{id}/tree): só seções vivas
+    List<RuleSection> findAllByRule_IdOrderBySequenceAsc(UUID ruleId);
+
+    // norma dona da seção sem carregar a entidade (invalidação da árvore ao criar módulo)
+    @Query("select s.rule.id from RuleSection s where s.id = :id")
+    Optional<UUID> findRuleIdById(@Param("id") UUID id);
 }
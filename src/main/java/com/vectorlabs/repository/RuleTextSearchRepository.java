@@ -0,0 +1,94 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.dto.rule.RuleTextHitDTO;
+import com.vectorlabs.model.enuns.RuleTextHitType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Busca textual (Postgres) em rules, rule_sections, rule_modules e rule_items, só registros
+ * ativos e não deletados (SQL nativo: o filtro de soft delete de Auditable não se aplica aqui).
+ *
+ * Cada ramo do UNION filtra pela mesma expressão to_tsvector do índice GIN da tabela
+ * (V2__rule_text_search.sql). O ts_headline é caro, então só roda nas :limit linhas
+ * já ordenadas por ts_rank_cd.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RuleTextSearchRepository {
+
+    static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=12, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+    private static final String SQL = """
+            WITH hits AS (
+                SELECT 'RULE' AS type, r.id, r.id AS rule_id, r.code, r.title,
+                       r.title || ' ' || coalesce(r.description, '') AS body,
+                       ts_rank_cd(to_tsvector('portuguese_unaccent', r.code || ' ' || r.title || ' ' || coalesce(r.description, '')),
+                                  to_tsquery('portuguese_unaccent', :tsQuery)) AS rank
+                FROM rules r
+                WHERE to_tsvector('portuguese_unaccent', r.code || ' ' || r.title || ' ' || coalesce(r.description, ''))
+                      @@ to_tsquery('portuguese_unaccent', :tsQuery)
+                  AND r.active AND r.deleted = false
+                UNION ALL
+                SELECT 'SECTION', s.id, s.rule_id, s.code, s.name, s.name,
+                       ts_rank_cd(to_tsvector('portuguese_unaccent', s.code || ' ' || s.name),
+                                  to_tsquery('portuguese_unaccent', :tsQuery))
+                FROM rule_sections s
+                WHERE to_tsvector('portuguese_unaccent', s.code || ' ' || s.name)
+                      @@ to_tsquery('portuguese_unaccent', :tsQuery)
+                  AND s.active AND s.deleted = false
+                UNION ALL
+                SELECT 'MODULE', m.id, s.rule_id, m.module_code, m.module_name, m.module_name,
+                       ts_rank_cd(to_tsvector('portuguese_unaccent', m.module_code || ' ' || m.module_name),
+                                  to_tsquery('portuguese_unaccent', :tsQuery))
+                FROM rule_modules m
+                JOIN rule_sections s ON s.id = m.section_id
+                WHERE to_tsvector('portuguese_unaccent', m.module_code || ' ' || m.module_name)
+                      @@ to_tsquery('portuguese_unaccent', :tsQuery)
+                  AND m.active AND m.deleted = false
+                UNION ALL
+                SELECT 'ITEM', i.id, s.rule_id, i.item_code, m.module_name, i.description,
+                       ts_rank_cd(to_tsvector('portuguese_unaccent', i.item_code || ' ' || i.description),
+                                  to_tsquery('portuguese_unaccent', :tsQuery))
+                FROM rule_items i
+                JOIN rule_modules m ON m.id = i.module_id
+                JOIN rule_sections s ON s.id = m.section_id
+                WHERE to_tsvector('portuguese_unaccent', i.item_code || ' ' || i.description)
+                      @@ to_tsquery('portuguese_unaccent', :tsQuery)
+                  AND i.active AND i.deleted = false
+                ORDER BY rank DESC, code
+                LIMIT :limit
+            )
+            SELECT h.type, h.id, h.rule_id, h.code, h.title, h.rank,
+                   ts_headline('portuguese_unaccent', h.body, to_tsquery('portuguese_unaccent', :tsQuery), :headlineOptions) AS snippet
+            FROM hits h
+            ORDER BY h.rank DESC, h.code
+            """;
+
+    private static final RowMapper<RuleTextHitDTO> ROW_MAPPER = (rs, rowNum) -> new RuleTextHitDTO(
+            RuleTextHitType.valueOf(rs.getString("type")),
+            rs.getObject("id", UUID.class),
+            rs.getObject("rule_id", UUID.class),
+            rs.getString("code"),
+            rs.getString("title"),
+            rs.getString("snippet"),
+            rs.getDouble("rank")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<RuleTextHitDTO> search(String tsQuery, int limit) {
+        var params = new MapSqlParameterSource()
+                .addValue("tsQuery", tsQuery)
+                .addValue("limit", limit)
+                .addValue("headlineOptions", HEADLINE_OPTIONS);
+        return jdbcTemplate.query(SQL, params, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,40 @@
+package com.vectorlabs.repository.support;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Inserção em lote: persist + flush/clear a cada CHUNK_SIZE entidades.
+ *
+ * O flush manda os INSERTs em JDBC batches (hibernate.jdbc.batch_size, order_inserts); o clear
+ * solta as entidades já gravadas do persistence context, senão cada flush seguinte faria dirty
+ * checking de tudo que já foi inserido e a memória cresceria com o lote.
+ *
+ * Tem que rodar dentro de uma transação. Depois do clear as entidades ficam detached: associações
+ * já carregadas (módulo, empresa) continuam servindo de FK para os próximos persist.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkWriter {
+
+    // múltiplo do hibernate.jdbc.batch_size (50): nenhum batch sai pela metade no meio do lote
+    public static final int CHUNK_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public <E> List<E> persistAll(List<E> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % CHUNK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return entities;
+    }
+}
@@ -0,0 +1,20 @@
+package com.vectorlabs.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Método de repository que precisa enxergar linhas com deleted = true (o filtro automático de
+ * Auditable fica desligado durante a chamada).
+ *
+ * Usado nas buscas por chave única: as constraints do banco valem também para as tombstones,
+ * então checagens de duplicidade e lookups de login/OAuth2 têm que vê-las.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IncludeDeleted {
+}
@@ -0,0 +1,158 @@
+package com.vectorlabs.repository.support;
+
+import com.vectorlabs.dto.common.ScrollDTO;
+import com.vectorlabs.exception.InvalidFieldException;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Listagens sem OFFSET e sem count(*) sobre qualquer Specification.
+ *
+ * keyset(): seek por (createdAt, id) — custo constante em qualquer profundidade,
+ * o cursor carrega os valores da última linha devolvida.
+ * slice(): paginação por número de página, mas busca pageSize + 1 linhas em vez de contar.
+ *
+ * fetch: associações que o mapper da página lê (fetch join no mesmo select, sem N+1).
+ */
+public final class Scrolling {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String ID = "id";
+
+    /** Ordem estável exigida pelo keyset (id desempata createdAt igual). */
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, CREATED_AT, ID);
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    private Scrolling() {
+    }
+
+    /** ?page= presente -> slice; senão keyset a partir do cursor (ou do início). */
+    public static <E, D> ScrollDTO<D> scroll(
+            JpaSpecificationExecutor<E> repository,
+            Specification<E> spec,
+            String cursor,
+            Integer page,
+            Integer pageSize,
+            Sort sliceSort,
+            Function<E, D> mapper,
+            String... fetch
+    ) {
+        if (page != null) {
+            if (cursor != null && !cursor.isBlank()) {
+                throw new InvalidFieldException("Use either cursor or page, not both");
+            }
+            return slice(repository, spec, page, pageSize, sliceSort, mapper, fetch);
+        }
+        return keyset(repository, spec, cursor, pageSize, mapper, fetch);
+    }
+
+    public static <E, D> ScrollDTO<D> keyset(
+            JpaSpecificationExecutor<E> repository,
+            Specification<E> spec,
+            String cursor,
+            Integer pageSize,
+            Function<E, D> mapper,
+            String... fetch
+    ) {
+        int size = sizeOf(pageSize);
+        Window<E> window = repository.findBy(fetching(orAll(spec), fetch), q -> q
+                .sortBy(KEYSET_SORT)
+                .limit(size)
+                .scroll(decode(cursor)));
+
+        String next = (window.hasNext() && !window.isEmpty())
+                ? encode(window.positionAt(window.size() - 1))
+                : null;
+
+        return new ScrollDTO<>(window.map(mapper).getContent(), size, window.hasNext(), next, null);
+    }
+
+    public static <E, D> ScrollDTO<D> slice(
+            JpaSpecificationExecutor<E> repository,
+            Specification<E> spec,
+            Integer page,
+            Integer pageSize,
+            Sort sort,
+            Function<E, D> mapper,
+            String... fetch
+    ) {
+        int p = (page == null || page < 0) ? 0 : page;
+        int size = sizeOf(pageSize);
+        // id no final garante ordem determinística entre páginas
+        Sort stable = (sort == null ? Sort.unsorted() : sort).and(Sort.by(Sort.Direction.ASC, ID));
+
+        Slice<E> slice = repository.findBy(fetching(orAll(spec), fetch), q -> q
+                .slice(PageRequest.of(p, size, stable)));
+
+        return new ScrollDTO<>(slice.map(mapper).getContent(), size, slice.hasNext(), null, p);
+    }
+
+    // fetch join na própria Specification: o findBy (scroll/slice) não aplica @EntityGraph do repository
+    private static <E> Specification<E> fetching(Specification<E> spec, String[] fetch) {
+        if (fetch == null || fetch.length == 0) return spec;
+        return (root, query, cb) -> {
+            if (!isCount(query)) {
+                for (String path : fetch) root.fetch(path, JoinType.LEFT);
+            }
+            return spec.toPredicate(root, query, cb);
+        };
+    }
+
+    private static boolean isCount(CriteriaQuery<?> query) {
+        Class<?> type = query.getResultType();
+        return Long.class.equals(type) || long.class.equals(type);
+    }
+
+    static int sizeOf(Integer pageSize) {
+        return (pageSize == null || pageSize <= 0) ? DEFAULT_SIZE : Math.min(pageSize, MAX_SIZE);
+    }
+
+    // cursor = base64url("<createdAt ISO-8601>|<id>")
+    static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) return null;
+
+        Object createdAt = keyset.getKeys().get(CREATED_AT);
+        Object id = keyset.getKeys().get(ID);
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) throw new IllegalArgumentException("separator");
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, Instant.parse(raw.substring(0, sep)));
+            keys.put(ID, UUID.fromString(raw.substring(sep + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException ex) {
+            throw new InvalidFieldException("Invalid cursor");
+        }
+    }
+
+    private static <E> Specification<E> orAll(Specification<E> spec) {
+        return spec == null ? Specification.unrestricted() : spec;
+    }
+}
@@ -0,0 +1,47 @@
+package com.vectorlabs.repository.support;
+
+import com.vectorlabs.model.bases.Auditable;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Liga/desliga o filtro de soft delete (Auditable.NOT_DELETED_FILTER) da sessão atual.
+ *
+ * O filtro é por sessão: a chamada roda dentro de uma transação (junta-se à atual se houver)
+ * para que desligar e religar aconteça na mesma Session usada pela consulta.
+ */
+@Component
+public class SoftDeleteFilter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public SoftDeleteFilter(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Executa a consulta enxergando também as linhas com deleted = true. */
+    public <T> T includingDeleted(Supplier<T> action) {
+        return transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+
+            // chamadas aninhadas: quem desligou primeiro religa
+            if (session.getEnabledFilter(Auditable.NOT_DELETED_FILTER) == null) {
+                return action.get();
+            }
+
+            session.disableFilter(Auditable.NOT_DELETED_FILTER);
+            try {
+                return action.get();
+            } finally {
+                session.enableFilter(Auditable.NOT_DELETED_FILTER);
+            }
+        });
+    }
+}
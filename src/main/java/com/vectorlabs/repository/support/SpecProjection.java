@@ -0,0 +1,105 @@
+package com.vectorlabs.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma Specification lendo só as colunas do DTO (tuple query), sem carregar entidades:
+ * nada entra no persistence context, não há dirty checking nem proxies lazy.
+ *
+ * Colunas são paths de atributo ("address.city", "module.moduleCode"). Associação to-one vira
+ * join implícito; "assoc.id" usa a FK direto, sem join.
+ */
+public final class SpecProjection {
+
+    private SpecProjection() {
+    }
+
+    /** Linha projetada: lê pelo mesmo path usado na lista de colunas. */
+    public record Row(Tuple tuple) {
+        public <T> T get(String path, Class<T> type) {
+            return tuple.get(alias(path), type);
+        }
+    }
+
+    public static <E, D> Page<D> page(
+            EntityManager em,
+            Class<E> entityType,
+            Specification<E> spec,
+            Pageable pageable,
+            List<String> columns,
+            Function<Row, D> mapper
+    ) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(path(root, column).alias(alias(column)));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = predicate(spec, root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (pageable.getSort().isSorted()) query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = em.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<D> content = typed.getResultList().stream()
+                .map(tuple -> mapper.apply(new Row(tuple)))
+                .toList();
+
+        // count só quando a página não basta para saber o total (mesma regra do SimpleJpaRepository)
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(em, entityType, spec));
+    }
+
+    private static <E> long count(EntityManager em, Class<E> entityType, Specification<E> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+
+        Predicate predicate = predicate(spec, root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private static <E> Predicate predicate(Specification<E> spec, Root<E> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec == null ? null : spec.toPredicate(root, query, cb);
+    }
+
+    private static Path<?> path(Root<?> root, String column) {
+        Path<?> path = root;
+        for (String part : column.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static String alias(String column) {
+        return column.replace('.', '_');
+    }
+}
@@ -0,0 +1,67 @@
+package com.vectorlabs.repository.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converte o texto digitado na caixa de busca em uma expressão para to_tsquery.
+ *
+ * Só sobram letras, dígitos e '.', '-', '_' dentro dos termos (códigos como "12.38.1"),
+ * então nada do que o usuário digita vira operador de tsquery. Termos são ligados por '&'
+ * e o último ganha ':*' (prefixo), para a busca funcionar enquanto o inspetor digita.
+ */
+public final class TextSearchQuery {
+
+    /** Configuração criada em V2__rule_text_search.sql (português + unaccent). */
+    public static final String CONFIG = "portuguese_unaccent";
+
+    public static final int MAX_TERMS = 8;
+    public static final int MAX_TERM_LENGTH = 64;
+
+    private TextSearchQuery() {
+    }
+
+    /** null quando o texto não tem nenhum termo pesquisável. */
+    public static String prefixQuery(String text) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) return null;
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) sb.append(" & ");
+            sb.append(terms.get(i));
+        }
+        return sb.append(":*").toString();
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length() && terms.size() < MAX_TERMS; ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.isLetterOrDigit(cp) || (isJoiner(cp) && !current.isEmpty())) {
+                if (current.length() < MAX_TERM_LENGTH) current.appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                flush(current, terms);
+            }
+        }
+        if (terms.size() < MAX_TERMS) flush(current, terms);
+        return terms;
+    }
+
+    private static boolean isJoiner(int cp) {
+        return cp == '.' || cp == '-' || cp == '_';
+    }
+
+    private static void flush(StringBuilder current, List<String> terms) {
+        // pontuação no fim não faz parte do termo ("12.38." -> "12.38")
+        int end = current.length();
+        while (end > 0 && isJoiner(current.charAt(end - 1))) end--;
+        if (end > 0) terms.add(current.substring(0, end));
+        current.setLength(0);
+    }
+}
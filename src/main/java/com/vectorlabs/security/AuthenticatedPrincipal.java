@@ -0,0 +1,30 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Modelo único de principal autenticado da API, seja qual for a origem
+ * (filtro JWT, Basic Auth). SecurityService e Auditable dependem só disto.
+ */
+public interface AuthenticatedPrincipal {
+
+    UUID getId();
+
+    String getEmail();
+
+    Set<UserRole> getRoles();
+
+    /** Roles como máscara de bits (ver RoleAuthorities); implementações podem pré-computar. */
+    default int getRoleMask() {
+        return RoleAuthorities.maskOf(getRoles());
+    }
+
+    /** Entidade já carregada durante a autenticação, se houver; null caso contrário. */
+    default AppUser getUser() {
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.support.BoundedTtlMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache de credenciais de integração já validadas com bcrypt.
+ *
+ * Guarda, por clientId, um HMAC-SHA256 do secret com chave aleatória do processo
+ * (nunca o secret, nem um hash rápido sem chave que desse para atacar offline).
+ * Secret igual ao da última validação -> pula findByClientId + bcrypt até o TTL.
+ * ClientService invalida em update/softDelete, na hora e de novo após o commit.
+ */
+@Component
+public class ClientCredentialCache {
+
+    private static final String HMAC_ALG = "HmacSHA256";
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecretKeySpec key;
+    private final BoundedTtlMap<String, Entry> entries;
+
+    @Autowired
+    public ClientCredentialCache(
+            @Value("${security.client-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${security.client-cache.max-entries:1000}") int maxEntries
+    ) {
+        this(Duration.ofSeconds(ttlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    ClientCredentialCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedTtlMap<>(maxEntries, clock);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALG);
+    }
+
+    public Optional<VerifiedClient> get(String clientId, String rawSecret) {
+        if (clientId == null || rawSecret == null) return Optional.empty();
+
+        Entry cached = entries.get(clientId);
+        if (cached == null) return Optional.empty();
+
+        // comparação em tempo constante
+        if (!MessageDigest.isEqual(cached.secretMac, mac(rawSecret))) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.client);
+    }
+
+    public VerifiedClient put(VerifiedClient client, String rawSecret) {
+        entries.put(client.clientId(), new Entry(client, mac(rawSecret)), clock.instant().plus(ttl));
+        return client;
+    }
+
+    public void evict(String clientId) {
+        entries.remove(clientId);
+    }
+
+    // uma autenticação concorrente pode recolocar o cliente antigo (secret/scopes/enabled) antes do commit
+    public void evictNowAndAfterCommit(String clientId) {
+        entries.removeNowAndAfterCommit(clientId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private byte[] mac(String rawSecret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALG);
+            mac.init(key);
+            return mac.doFinal(rawSecret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private record Entry(VerifiedClient client, byte[] secretMac) {
+    }
+}
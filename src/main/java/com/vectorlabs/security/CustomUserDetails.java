@@ -4,17 +4,15 @@ import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.UserRole;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Getter
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, AuthenticatedPrincipal {
 
     private final UUID id;
     private final String email;
@@ -23,6 +21,8 @@ public class CustomUserDetails implements UserDetails {
     private final boolean deleted;
     private final AppUser user;
     private final Set<UserRole> roles;
+    // calculada uma vez; getAuthorities() devolve o Set canônico da máscara, sem alocar
+    private final int roleMask;
 
     public CustomUserDetails(AppUser user) {
         Objects.requireNonNull(user, "AppUser cannot be null");
@@ -33,20 +33,35 @@ public class CustomUserDetails implements UserDetails {
         this.enabled = user.isEnabled();
         this.deleted = user.getDeleted();
         this.roles = user.getRoles();
+        this.roleMask = RoleAuthorities.maskOf(user.getRoles());
+    }
+
+    /**
+     * Principal montado a partir do cache (sem ir ao banco).
+     * Não há entidade nem senha aqui: getUser() devolve null e quem precisar da
+     * entidade deve buscar por getId().
+     */
+    public static CustomUserDetails fromSnapshot(PrincipalSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "PrincipalSnapshot cannot be null");
+        return new CustomUserDetails(snapshot);
+    }
+
+    private CustomUserDetails(PrincipalSnapshot snapshot) {
+        this.user = null;
+        this.id = snapshot.id();
+        this.email = snapshot.email();
+        this.password = null;
+        this.enabled = snapshot.enabled();
+        this.deleted = snapshot.deleted();
+        this.roles = snapshot.roles();
+        this.roleMask = snapshot.roleMask();
     }
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if (roles == null || roles.isEmpty()) {
-            return Set.of();
-        }
-
         // Convenção do Spring: ROLE_ADMIN, ROLE_CLIENT, etc.
-        return roles.stream()
-                .filter(Objects::nonNull)
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                .collect(Collectors.toUnmodifiableSet());
+        return RoleAuthorities.authoritiesOf(roleMask);
     }
 
     @Override
@@ -83,6 +98,7 @@ public class CustomUserDetails implements UserDetails {
         return enabled && !deleted;
     }
 
+    @Override
     public AppUser getUser() {
         return user;
     }
@@ -0,0 +1,115 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de falhas de login em memória, por conta (email) e por IP, em janela fixa.
+ * Estourou o limite -> bloqueia até a janela acabar, antes de ir ao banco ou rodar bcrypt.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerIp;
+    private final Duration window;
+    private final int maxTrackedKeys;
+    private final Clock clock;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAttemptLimiter(
+            @Value("${security.login.max-failures-per-account:5}") int maxFailuresPerAccount,
+            @Value("${security.login.max-failures-per-ip:50}") int maxFailuresPerIp,
+            @Value("${security.login.window-seconds:900}") long windowSeconds,
+            @Value("${security.login.max-tracked-keys:100000}") int maxTrackedKeys
+    ) {
+        this(maxFailuresPerAccount, maxFailuresPerIp, Duration.ofSeconds(windowSeconds), maxTrackedKeys, Clock.systemUTC());
+    }
+
+    LoginAttemptLimiter(int maxFailuresPerAccount, int maxFailuresPerIp, Duration window,
+                        int maxTrackedKeys, Clock clock) {
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.window = window;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.clock = clock;
+    }
+
+    public void checkAllowed(String email, String ip) {
+        Instant now = clock.instant();
+        if (isBlocked(accountKey(email), maxFailuresPerAccount, now)
+                || isBlocked(ipKey(ip), maxFailuresPerIp, now)) {
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+    }
+
+    public void recordFailure(String email, String ip) {
+        Instant now = clock.instant();
+        increment(accountKey(email), now);
+        increment(ipKey(ip), now);
+    }
+
+    /** Sucesso zera a conta; o IP continua contando (vários usuários atrás do mesmo NAT). */
+    public void recordSuccess(String email) {
+        String key = accountKey(email);
+        if (key != null) {
+            counters.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = clock.instant();
+        counters.values().removeIf(c -> c.isExpired(now));
+    }
+
+    int trackedKeys() {
+        return counters.size();
+    }
+
+    private boolean isBlocked(String key, int max, Instant now) {
+        if (key == null) return false;
+        Counter counter = counters.get(key);
+        return counter != null && !counter.isExpired(now) && counter.failures >= max;
+    }
+
+    private void increment(String key, Instant now) {
+        if (key == null) return;
+
+        // sob ataque com milhares de IPs/contas: limpa vencidos antes de crescer além do teto
+        if (counters.size() >= maxTrackedKeys && !counters.containsKey(key)) {
+            evictExpired();
+            if (counters.size() >= maxTrackedKeys) return;
+        }
+
+        counters.compute(key, (k, current) ->
+                (current == null || current.isExpired(now))
+                        ? new Counter(now.plus(window), 1)
+                        : new Counter(current.windowEnd, current.failures + 1));
+    }
+
+    private static String accountKey(String email) {
+        return (email == null || email.isBlank()) ? null : "acct:" + email;
+    }
+
+    private static String ipKey(String ip) {
+        return (ip == null || ip.isBlank()) ? null : "ip:" + ip;
+    }
+
+    private record Counter(Instant windowEnd, int failures) {
+        boolean isExpired(Instant now) {
+            return !windowEnd.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.support.BoundedTtlMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache em memória de PrincipalSnapshot por id de usuário.
+ * TTL curto + limite de tamanho; qualquer escrita em AppUser deve chamar evict()
+ * para que desabilitar/deletar um usuário tenha efeito imediato.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final BoundedTtlMap<UUID, PrincipalSnapshot> entries;
+
+    @Autowired
+    public PrincipalCache(
+            @Value("${security.principal-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${security.principal-cache.max-entries:10000}") int maxEntries
+    ) {
+        this(Duration.ofSeconds(ttlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    PrincipalCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedTtlMap<>(maxEntries, clock);
+    }
+
+    /**
+     * Devolve o snapshot em cache ou carrega via loader (normalmente o repositório).
+     * Usuário inexistente não é cacheado.
+     */
+    public Optional<PrincipalSnapshot> getOrLoad(UUID userId, Function<UUID, Optional<AppUser>> loader) {
+        if (userId == null) return Optional.empty();
+
+        PrincipalSnapshot cached = entries.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<PrincipalSnapshot> loaded = loader.apply(userId)
+                .map(user -> PrincipalSnapshot.of(user, clock.instant()));
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public void put(PrincipalSnapshot snapshot) {
+        if (snapshot == null || snapshot.loadedAt() == null) return;
+        entries.put(snapshot.id(), snapshot, snapshot.loadedAt().plus(ttl));
+    }
+
+    public void evict(UUID userId) {
+        entries.remove(userId);
+    }
+
+    public void evictNowAndAfterCommit(UUID userId) {
+        entries.removeNowAndAfterCommit(userId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Foto imutável do que o filtro JWT precisa saber do usuário a cada request.
+ * Não carrega senha nem a entidade: só o suficiente para checar enabled/deleted/roles.
+ */
+public record PrincipalSnapshot(
+        UUID id,
+        String email,
+        boolean enabled,
+        boolean deleted,
+        Set<UserRole> roles,
+        int roleMask,
+        Instant loadedAt
+) {
+
+    public static PrincipalSnapshot of(AppUser user, Instant loadedAt) {
+        // Set canônico compartilhado por todos os usuários com as mesmas roles
+        Set<UserRole> roles = RoleAuthorities.canonicalRoles(user.getRoles());
+
+        return new PrincipalSnapshot(
+                user.getId(),
+                user.getEmail(),
+                user.isEnabled(),
+                Boolean.TRUE.equals(user.getDeleted()),
+                roles,
+                // calculada uma vez aqui, não a cada checagem de role
+                RoleAuthorities.maskOf(roles),
+                loadedAt
+        );
+    }
+
+    public boolean isActive() {
+        return enabled && !deleted;
+    }
+}
@@ -0,0 +1,96 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Guarda, por request HTTP, o usuário logado já resolvido e o resultado de isAdmin().
+ * Fora de um request (jobs, testes unitários) não memoriza nada.
+ *
+ * Ao final do request registra quantas buscas de AppUser foram feitas
+ * (métrica "security.user.lookups"), para acompanhar regressões de N buscas por request.
+ */
+@Component
+public class RequestPrincipalContext {
+
+    static final String ATTRIBUTE = RequestPrincipalContext.class.getName() + ".STATE";
+
+    private final DistributionSummary lookupsPerRequest;
+
+    public RequestPrincipalContext(MeterRegistry meterRegistry) {
+        this.lookupsPerRequest = DistributionSummary.builder("security.user.lookups")
+                .description("AppUser lookups performed while resolving the logged user, per request")
+                .baseUnit("lookups")
+                .register(meterRegistry);
+    }
+
+    public AppUser cachedUser(Authentication auth) {
+        State state = state(false);
+        return (state != null && state.authentication == auth) ? state.user : null;
+    }
+
+    public void rememberUser(Authentication auth, AppUser user) {
+        State state = state(true);
+        if (state == null) return;
+        reset(state, auth);
+        state.user = user;
+    }
+
+    public Boolean cachedAdmin(Authentication auth) {
+        State state = state(false);
+        return (state != null && state.authentication == auth) ? state.admin : null;
+    }
+
+    public void rememberAdmin(Authentication auth, boolean admin) {
+        State state = state(true);
+        if (state == null) return;
+        reset(state, auth);
+        state.admin = admin;
+    }
+
+    /** Conta uma ida ao banco/serviço para carregar o usuário logado. */
+    public void recordLookup() {
+        State state = state(true);
+        if (state != null) {
+            state.lookups++;
+        }
+    }
+
+    // Se a Authentication mudou no meio do request (ex.: login), descarta o que estava memorizado
+    private static void reset(State state, Authentication auth) {
+        if (state.authentication != auth) {
+            state.authentication = auth;
+            state.user = null;
+            state.admin = null;
+        }
+    }
+
+    private State state(boolean create) {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return null;
+
+        Object existing = attrs.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (existing instanceof State state) return state;
+        if (!create) return null;
+
+        State state = new State();
+        attrs.setAttribute(ATTRIBUTE, state, RequestAttributes.SCOPE_REQUEST);
+        attrs.registerDestructionCallback(ATTRIBUTE,
+                () -> lookupsPerRequest.record(state.lookups),
+                RequestAttributes.SCOPE_REQUEST);
+        return state;
+    }
+
+    // Um request é atendido por uma thread por vez: não precisa de sincronização
+    private static final class State {
+        private Authentication authentication;
+        private AppUser user;
+        private Boolean admin;
+        private int lookups;
+    }
+}
@@ -0,0 +1,111 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.enuns.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Modelo de authorities pré-computado para UserRole.
+ *
+ * Cada combinação de roles vira uma máscara de bits (1 << ordinal) e cada máscara aponta para
+ * coleções canônicas e imutáveis, montadas uma vez na carga da classe:
+ * roles (EnumSet), authorities (ROLE_*) e nomes do claim "roles" do JWT.
+ * Nada disso é alocado por request.
+ */
+public final class RoleAuthorities {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final int COMBINATIONS = 1 << ROLES.length;
+
+    private static final GrantedAuthority[] AUTHORITY_BY_ROLE = new GrantedAuthority[ROLES.length];
+
+    @SuppressWarnings("unchecked")
+    private static final Set<UserRole>[] ROLES_BY_MASK = new Set[COMBINATIONS];
+    @SuppressWarnings("unchecked")
+    private static final Set<GrantedAuthority>[] AUTHORITIES_BY_MASK = new Set[COMBINATIONS];
+    @SuppressWarnings("unchecked")
+    private static final List<String>[] CLAIM_BY_MASK = new List[COMBINATIONS];
+
+    static {
+        for (UserRole role : ROLES) {
+            AUTHORITY_BY_ROLE[role.ordinal()] = new SimpleGrantedAuthority((ROLE_PREFIX + role.name()).intern());
+        }
+
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            EnumSet<UserRole> roles = EnumSet.noneOf(UserRole.class);
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            List<String> claim = new ArrayList<>();
+
+            for (UserRole role : ROLES) {
+                if ((mask & bit(role)) != 0) {
+                    roles.add(role);
+                    authorities.add(AUTHORITY_BY_ROLE[role.ordinal()]);
+                    claim.add(AUTHORITY_BY_ROLE[role.ordinal()].getAuthority());
+                }
+            }
+
+            ROLES_BY_MASK[mask] = Collections.unmodifiableSet(roles);
+            AUTHORITIES_BY_MASK[mask] = Collections.unmodifiableSet(authorities);
+            CLAIM_BY_MASK[mask] = List.copyOf(claim);
+        }
+    }
+
+    private RoleAuthorities() {
+    }
+
+    public static int bit(UserRole role) {
+        return 1 << role.ordinal();
+    }
+
+    public static int maskOf(Collection<UserRole> roles) {
+        if (roles == null || roles.isEmpty()) return 0;
+
+        int mask = 0;
+        for (UserRole role : roles) {
+            if (role != null) mask |= bit(role);
+        }
+        return mask;
+    }
+
+    public static boolean hasRole(int mask, UserRole role) {
+        return (mask & bit(role)) != 0;
+    }
+
+    /** Set<UserRole> canônico e imutável (compartilhado entre todos os usuários com as mesmas roles). */
+    public static Set<UserRole> canonicalRoles(Collection<UserRole> roles) {
+        return ROLES_BY_MASK[maskOf(roles)];
+    }
+
+    /** ROLE_* canônicos para a máscara. */
+    public static Set<GrantedAuthority> authoritiesOf(int mask) {
+        return AUTHORITIES_BY_MASK[mask];
+    }
+
+    /** Valor do claim "roles" do JWT (["ROLE_ADMIN", ...]). */
+    public static List<String> claimOf(Collection<UserRole> roles) {
+        return CLAIM_BY_MASK[maskOf(roles)];
+    }
+
+    /** Fallback para Authentications que não trazem um AuthenticatedPrincipal (sem streams). */
+    public static boolean containsRole(Collection<? extends GrantedAuthority> authorities, UserRole role) {
+        if (authorities == null || authorities.isEmpty()) return false;
+
+        String prefixed = AUTHORITY_BY_ROLE[role.ordinal()].getAuthority();
+        String bare = role.name();
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (prefixed.equals(name) || bare.equals(name)) return true;
+        }
+        return false;
+    }
+}
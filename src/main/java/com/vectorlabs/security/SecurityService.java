@@ -2,16 +2,13 @@ package com.vectorlabs.security;
 
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.service.AppUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
 import java.util.UUID;
 
 @Service
@@ -19,9 +16,14 @@ import java.util.UUID;
 public class SecurityService {
 
     private final AppUserService appUserService;
+    private final RequestPrincipalContext requestPrincipalContext;
 
     // =================== USER ===================
 
+    /**
+     * Resolve o usuário logado uma única vez por request; chamadas seguintes
+     * (ex.: create + enforceOwnershipOrAdmin no mesmo fluxo) reaproveitam a mesma instância.
+     */
     public AppUser getLoggedUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
@@ -29,16 +31,22 @@ public class SecurityService {
             throw new ObjectNotFound("No authentication");
         }
 
-        // JWT
-        if (auth instanceof JwtAuthenticationToken jat) {
-            Jwt jwt = jat.getToken();
-            UUID userId = UUID.fromString(jwt.getSubject());
-            return appUserService.findById(userId);
+        AppUser cached = requestPrincipalContext.cachedUser(auth);
+        if (cached != null) {
+            return cached;
         }
 
-        // Basic Auth
-        if (auth.getPrincipal() instanceof CustomUserDetails principal) {
-            return appUserService.findById(principal.getId());
+        AppUser user = resolveLoggedUser(auth);
+        requestPrincipalContext.rememberUser(auth, user);
+        return user;
+    }
+
+    private AppUser resolveLoggedUser(Authentication auth) {
+        // Filtro JWT e Basic Auth entregam o mesmo modelo de principal.
+        // Basic Auth já carregou a entidade neste request; o do JWT vem do cache -> busca por id.
+        if (auth.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            AppUser loaded = principal.getUser();
+            return loaded != null ? loaded : lookup(principal.getId());
         }
 
         throw new ObjectNotFound(
@@ -47,6 +55,11 @@ public class SecurityService {
         );
     }
 
+    private AppUser lookup(UUID userId) {
+        requestPrincipalContext.recordLookup();
+        return appUserService.findById(userId);
+    }
+
     // =================== ROLE ===================
 
     public boolean isAdmin() {
@@ -56,17 +69,21 @@ public class SecurityService {
             return false;
         }
 
-        Collection<? extends GrantedAuthority> authorities = auth.getAuthorities();
-
-        if (authorities == null || authorities.isEmpty()) {
-            return false;
+        Boolean cached = requestPrincipalContext.cachedAdmin(auth);
+        if (cached != null) {
+            return cached;
         }
 
-        return authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(role ->
-                        role.equals("ROLE_ADMIN") ||
-                                role.equals("ADMIN")
-                );
+        boolean admin = hasAdminRole(auth);
+        requestPrincipalContext.rememberAdmin(auth, admin);
+        return admin;
+    }
+
+    private static boolean hasAdminRole(Authentication auth) {
+        // JWT/Basic: máscara pré-computada no principal, sem percorrer authorities
+        if (auth.getPrincipal() instanceof AuthenticatedPrincipal principal) {
+            return RoleAuthorities.hasRole(principal.getRoleMask(), UserRole.ADMIN);
+        }
+        return RoleAuthorities.containsRole(auth.getAuthorities(), UserRole.ADMIN);
     }
 }
@@ -0,0 +1,31 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.Client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente de integração com credenciais já validadas.
+ * Os escopos ficam pré-processados em Set (parse uma vez só, não a cada chamada).
+ */
+public record VerifiedClient(UUID id, String clientId, Set<String> scopes) {
+
+    private static final Pattern SCOPE_SEPARATOR = Pattern.compile("[\\s,]+");
+
+    public static VerifiedClient of(Client client) {
+        return new VerifiedClient(client.getId(), client.getClientId(), parseScopes(client.getScopes()));
+    }
+
+    /** "a:read  b:write,c" -> [a:read, b:write, c] (ordem preservada, sem duplicados). */
+    public static Set<String> parseScopes(String raw) {
+        if (raw == null || raw.isBlank()) return Set.of();
+        return Collections.unmodifiableSet(new LinkedHashSet<>(
+                Arrays.asList(SCOPE_SEPARATOR.split(raw.trim()))
+        ));
+    }
+}
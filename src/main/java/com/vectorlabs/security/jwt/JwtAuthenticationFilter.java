@@ -1,8 +1,8 @@
 package com.vectorlabs.security.jwt;
 
 import com.vectorlabs.security.CustomUserDetails;
+import com.vectorlabs.security.PrincipalCache;
 import com.vectorlabs.repository.AppUserRepository;
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,14 +18,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // marca a autenticação de cliente de integração: a API nega essas requisições fora das rotas com scope
+    public static final String CLIENT_AUTHORITY = "CLIENT";
+
     private final JwtService jwtService;
     private final AppUserRepository appUserRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -45,14 +51,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            // valida assinatura + expiração
-            Claims claims = jwtService.parseClaims(token);
+            // valida assinatura + expiração uma única vez (ou reaproveita do cache até o exp)
+            VerifiedToken verified = jwtService.verify(token);
+
+            // refresh token só vale em /refresh: aqui só access (usuário) ou client (integração)
+            if (!verified.isAccessToken() && !verified.isClientToken()) {
+                throw new JwtException("Not an access token");
+            }
 
-            // Se você quiser aceitar apenas access token:
-            // if (!jwtService.isAccessToken(token)) throw new JwtException("Not an access token");
+            // Cliente de integração (client credentials): sem usuário, authorities = SCOPE_*
+            if (verified.isClientToken()) {
+                authenticateClient(verified, request);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-            UUID userId = jwtService.extractUserId(token);
-            String email = jwtService.extractEmail(token);
+            UUID userId = verified.userId();
+            if (userId == null) {
+                throw new JwtException("Missing uid claim");
+            }
 
             // Se já estiver autenticado, segue
             if (SecurityContextHolder.getContext().getAuthentication() != null) {
@@ -60,28 +77,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Carrega user do banco (recomendado pra respeitar enabled/deleted/roles atuais)
-            var user = appUserRepository.findById(userId)
+            // Snapshot do user (cache curto; AppUserService invalida em toda escrita,
+            // então enabled/deleted/roles continuam valendo na hora)
+            var snapshot = principalCache.getOrLoad(userId, appUserRepository::findById)
                     .orElseThrow(() -> new JwtException("User not found"));
 
             // Se quiser cortar token de usuário deletado/desabilitado
-            if (user.getDeleted() || !user.isEnabled()) {
+            if (!snapshot.isActive()) {
                 throw new JwtException("User disabled/deleted");
             }
 
-            // Authorities: pode vir do token ou do banco.
-            // Aqui: do banco (mais seguro se roles mudarem)
-            var authorities = user.getRoles().stream()
-                    .map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
-                    .toList();
-
             // Principal (você pode usar CustomUserDetails ou só email)
-            CustomUserDetails principal = new CustomUserDetails(user);
+            CustomUserDetails principal = CustomUserDetails.fromSnapshot(snapshot);
 
+            // Authorities: pode vir do token ou do banco.
+            // Aqui: do snapshot (mais seguro se roles mudarem), Set canônico pré-computado
             var authentication = new UsernamePasswordAuthenticationToken(
                     principal,
                     null,
-                    authorities
+                    principal.getAuthorities()
             );
 
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -99,5 +113,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             """);
         }
     }
+
+    private void authenticateClient(VerifiedToken verified, HttpServletRequest request) {
+        if (verified.subject() == null) {
+            throw new JwtException("Missing sub claim");
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) return;
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(verified.scopes().size() + 1);
+        authorities.add(new SimpleGrantedAuthority(CLIENT_AUTHORITY));
+        for (String scope : verified.scopes()) {
+            authorities.add(new SimpleGrantedAuthority("SCOPE_" + scope));
+        }
+
+        var authentication = new UsernamePasswordAuthenticationToken(verified.subject(), null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
 }
 
@@ -0,0 +1,141 @@
+package com.vectorlabs.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Chaves de assinatura/verificação dos JWTs, já parseadas no startup.
+ *
+ * HS256: uma única chave simétrica (modo legado, sem "kid").
+ * RS256/ES256: uma chave privada ativa para assinar e N chaves públicas por "kid" para verificar;
+ * manter a pública antiga no anel durante a rotação evita derrubar as sessões em andamento.
+ */
+public final class JwtKeyRing {
+
+    private final SignatureAlgorithm algorithm;
+    private final String activeKid;
+    private final Key signingKey;
+    private final SecretKey hmacKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final SigningKeyResolver resolver;
+
+    private JwtKeyRing(SignatureAlgorithm algorithm, String activeKid, Key signingKey,
+                       SecretKey hmacKey, Map<String, PublicKey> publicKeys) {
+        this.algorithm = algorithm;
+        this.activeKid = activeKid;
+        this.signingKey = signingKey;
+        this.hmacKey = hmacKey;
+        this.publicKeys = publicKeys;
+        this.resolver = new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return verificationKey(header.getKeyId());
+            }
+        };
+    }
+
+    public static JwtKeyRing hmac(SecretKey key) {
+        Objects.requireNonNull(key, "HMAC key cannot be null");
+        return new JwtKeyRing(SignatureAlgorithm.HS256, null, key, key, Map.of());
+    }
+
+    /**
+     * @param publicKeys todas as chaves aceitas na verificação (ativa + aposentadas), por kid
+     */
+    public static JwtKeyRing asymmetric(SignatureAlgorithm algorithm, String activeKid,
+                                        PrivateKey activePrivateKey, Map<String, PublicKey> publicKeys) {
+        if (algorithm == null || !(algorithm.isRsa() || algorithm.isEllipticCurve())) {
+            throw new IllegalArgumentException("Asymmetric JWT mode requires an RSA or EC algorithm: " + algorithm);
+        }
+        if (activeKid == null || activeKid.isBlank()) {
+            throw new IllegalArgumentException("Active kid is required for " + algorithm.getValue());
+        }
+        Objects.requireNonNull(activePrivateKey, "Private key for active kid cannot be null");
+        if (publicKeys == null || !publicKeys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("Public key for active kid not configured: " + activeKid);
+        }
+
+        return new JwtKeyRing(algorithm, activeKid, activePrivateKey, null,
+                Collections.unmodifiableMap(new LinkedHashMap<>(publicKeys)));
+    }
+
+    /**
+     * Monta o anel a partir das chaves PEM da configuração.
+     * Só a chave do activeKid precisa da privada; as demais servem apenas para verificar.
+     */
+    public static JwtKeyRing fromPem(SignatureAlgorithm algorithm, String activeKid, List<PemKey> keys) {
+        String keyAlgorithm = algorithm.isRsa() ? "RSA" : "EC";
+
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey activePrivateKey = null;
+
+        for (PemKey key : keys) {
+            if (key.kid() == null || key.kid().isBlank()) {
+                throw new IllegalArgumentException("JWT key without kid");
+            }
+            publicKeys.put(key.kid(), PemKeys.publicKey(key.publicKey(), keyAlgorithm));
+
+            if (key.kid().equals(activeKid)) {
+                activePrivateKey = PemKeys.privateKey(key.privateKey(), keyAlgorithm);
+            }
+        }
+
+        return asymmetric(algorithm, activeKid, activePrivateKey, publicKeys);
+    }
+
+    public record PemKey(String kid, String privateKey, String publicKey) {}
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /** kid a ser colocado no header; null no modo HMAC. */
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    /** Chaves públicas publicadas no JWKS (vazio no modo HMAC: segredo nunca sai daqui). */
+    public Map<String, PublicKey> publicKeys() {
+        return publicKeys;
+    }
+
+    public boolean isAsymmetric() {
+        return hmacKey == null;
+    }
+
+    SigningKeyResolver resolver() {
+        return resolver;
+    }
+
+    Key verificationKey(String kid) {
+        if (!isAsymmetric()) {
+            return hmacKey;
+        }
+        if (kid == null) {
+            throw new SignatureException("Missing kid header");
+        }
+        PublicKey key = publicKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown kid: " + kid);
+        }
+        return key;
+    }
+}
@@ -1,17 +1,20 @@
 package com.vectorlabs.security.jwt;
 
 import com.vectorlabs.model.AppUser;
+import com.vectorlabs.security.RoleAuthorities;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -22,66 +25,143 @@ public class JwtService {
     public static final String CLAIM_UID = "uid";
     public static final String CLAIM_ROLES = "roles";
     public static final String CLAIM_PROVIDER = "provider";
-
-    private final SecretKey signingKey;
+    public static final String CLAIM_TYPE = "typ";
+    // família do refresh token: todas as rotações a partir de um mesmo login
+    public static final String CLAIM_FAMILY = "fam";
+    // escopos de cliente de integração, separados por espaço (RFC 8693 / 9068)
+    public static final String CLAIM_SCOPE = "scope";
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+    public static final String TYPE_CLIENT = "client";
+
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 10_000;
+
+    private final JwtKeyRing keyRing;
+    // JwtParser é imutável e thread-safe: monta uma vez, não a cada token.
+    // A chave de verificação sai do JwtKeyRing pelo "kid" (já parseada no startup).
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final long accessTokenTtlSeconds;
     private final long refreshTokenTtlSeconds;
     private final String issuer;
 
+    public JwtService(String base64Secret, String issuer, long accessTokenTtlSeconds, long refreshTokenTtlSeconds) {
+        this(base64Secret, issuer, accessTokenTtlSeconds, refreshTokenTtlSeconds,
+                new VerifiedTokenCache(DEFAULT_CACHE_MAX_ENTRIES));
+    }
+
+    public JwtService(String base64Secret, String issuer, long accessTokenTtlSeconds, long refreshTokenTtlSeconds,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this(JwtKeyRing.hmac(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret))), issuer,
+                accessTokenTtlSeconds, refreshTokenTtlSeconds, verifiedTokenCache);
+    }
+
+    @Autowired
     public JwtService(
-            @Value("${security.jwt.secret}") String base64Secret,
+            JwtKeyRing keyRing,
             @Value("${security.jwt.issuer:vectorlabs}") String issuer,
             @Value("${security.jwt.access-ttl-seconds:3600}") long accessTokenTtlSeconds,
-            @Value("${security.jwt.refresh-ttl-seconds:1209600}") long refreshTokenTtlSeconds
+            @Value("${security.jwt.refresh-ttl-seconds:1209600}") long refreshTokenTtlSeconds,
+            VerifiedTokenCache verifiedTokenCache
     ) {
-        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyRing.resolver()).build();
+        this.verifiedTokenCache = verifiedTokenCache;
         this.issuer = issuer;
         this.accessTokenTtlSeconds = accessTokenTtlSeconds;
         this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
     }
 
     public String generateAccessToken(AppUser user) {
-        return buildToken(user, accessTokenTtlSeconds, "access");
+        return buildToken(user, accessTokenTtlSeconds, TYPE_ACCESS, null);
     }
 
+    /** Refresh token que inicia uma nova família (login). */
     public String generateRefreshToken(AppUser user) {
-        return buildToken(user, refreshTokenTtlSeconds, "refresh");
+        return generateRefreshToken(user, UUID.randomUUID().toString());
+    }
+
+    /** Refresh token rotacionado dentro de uma família existente; cada um recebe um jti novo. */
+    public String generateRefreshToken(AppUser user, String familyId) {
+        return buildToken(user, refreshTokenTtlSeconds, TYPE_REFRESH, familyId);
+    }
+
+    /**
+     * Access token de cliente de integração (client credentials): sub = clientId, sem uid/roles.
+     * Sem refresh: o cliente pede outro com as credenciais quando expirar.
+     */
+    public String generateClientAccessToken(String clientId, Collection<String> scopes, long ttlSeconds) {
+        Instant now = Instant.now();
+
+        var builder = Jwts.builder();
+        if (keyRing.activeKid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid());
+        }
+
+        return builder
+                .setIssuer(issuer)
+                .setSubject(clientId)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(ttlSeconds)))
+                .claim(CLAIM_TYPE, TYPE_CLIENT)
+                .claim(CLAIM_SCOPE, String.join(" ", scopes))
+                .signWith(keyRing.signingKey(), keyRing.algorithm())
+                .compact();
     }
 
-    private String buildToken(AppUser user, long ttlSeconds, String tokenType) {
+    private String buildToken(AppUser user, long ttlSeconds, String tokenType, String familyId) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(ttlSeconds);
 
-        List<String> roles = user.getRoles() == null
-                ? List.of()
-                : user.getRoles().stream()
-                .map(r -> "ROLE_" + r.name())
-                .toList();
+        // lista imutável pré-computada por combinação de roles
+        List<String> roles = RoleAuthorities.claimOf(user.getRoles());
+
+        var builder = Jwts.builder();
+        if (keyRing.activeKid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKid());
+        }
+        if (familyId != null) {
+            builder.setId(UUID.randomUUID().toString())
+                    .claim(CLAIM_FAMILY, familyId);
+        }
 
-        return Jwts.builder()
+        return builder
                 .setIssuer(issuer)
                 .setSubject(user.getEmail()) // sub = email
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(exp))
-                .claim("typ", tokenType)
+                .claim(CLAIM_TYPE, tokenType)
                 .claim(CLAIM_UID, user.getId() != null ? user.getId().toString() : null)
                 .claim(CLAIM_ROLES, roles)
                 .claim(CLAIM_PROVIDER, user.getAuthProvider() != null ? user.getAuthProvider().name() : null)
-                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .signWith(keyRing.signingKey(), keyRing.algorithm())
                 .compact();
     }
 
+    /**
+     * Valida assinatura + expiração uma única vez e devolve os claims já extraídos.
+     * Tokens repetidos saem do VerifiedTokenCache até o próprio "exp".
+     */
+    public VerifiedToken verify(String token) throws JwtException {
+        var cached = verifiedTokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        VerifiedToken verified = VerifiedToken.from(parseClaims(token));
+        verifiedTokenCache.put(token, verified);
+        return verified;
+    }
+
     /** Valida assinatura + expiração. Lança JwtException se inválido. */
     public void validateTokenOrThrow(String token) throws JwtException {
         parseClaims(token);
     }
 
     public Claims parseClaims(String token) throws JwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractEmail(String token) {
@@ -102,12 +182,12 @@ public class JwtService {
     }
 
     public boolean isAccessToken(String token) {
-        Object typ = parseClaims(token).get("typ");
-        return "access".equals(String.valueOf(typ));
+        Object typ = parseClaims(token).get(CLAIM_TYPE);
+        return TYPE_ACCESS.equals(String.valueOf(typ));
     }
 
     public boolean isRefreshToken(String token) {
-        Object typ = parseClaims(token).get("typ");
-        return "refresh".equals(String.valueOf(typ));
+        Object typ = parseClaims(token).get(CLAIM_TYPE);
+        return TYPE_REFRESH.equals(String.valueOf(typ));
     }
 }
@@ -0,0 +1,48 @@
+package com.vectorlabs.security.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Leitura de chaves PEM (PKCS#8 privada / X.509 pública) vindas da configuração.
+ * Aceita o PEM completo ou só o base64 do corpo.
+ */
+final class PemKeys {
+
+    private PemKeys() {
+    }
+
+    static PrivateKey privateKey(String pem, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm)
+                    .generatePrivate(new PKCS8EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " private key", e);
+        }
+    }
+
+    static PublicKey publicKey(String pem, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm)
+                    .generatePublic(new X509EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + keyAlgorithm + " public key", e);
+        }
+    }
+
+    private static byte[] decode(String pem) {
+        if (pem == null || pem.isBlank()) {
+            throw new IllegalArgumentException("Empty key");
+        }
+        String body = pem
+                .replaceAll("-----BEGIN [A-Z ]+-----", "")
+                .replaceAll("-----END [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
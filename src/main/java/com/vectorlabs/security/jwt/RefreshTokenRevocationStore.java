@@ -0,0 +1,216 @@
+package com.vectorlabs.security.jwt;
+
+import com.vectorlabs.model.RevokedToken;
+import com.vectorlabs.model.enuns.RevokedTokenKind;
+import com.vectorlabs.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rotação de refresh tokens por família (claim "fam") com denylist de jti.
+ *
+ * A checagem é O(1) em memória: um bloom filter responde "com certeza não revogado" sem SQL;
+ * só um "talvez" vai ao banco confirmar. Revogações entram no filtro na hora e são gravadas
+ * em lote na tabela revoked_token pelo sync(), que também traz as revogações de outras instâncias.
+ * O caminho do access token não passa por aqui.
+ */
+@Service
+public class RefreshTokenRevocationStore {
+
+    // margem para relógios desalinhados entre instâncias ao puxar revogações recentes
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final Clock clock;
+    private final Duration refreshTtl;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final ReadWriteLock filterLock = new ReentrantReadWriteLock();
+    private volatile RevocationBloomFilter filter;
+
+    // revogações desta instância ainda não persistidas; também detecta reuso concorrente local
+    private final Map<String, RevokedToken> pending = new ConcurrentHashMap<>();
+    private volatile Instant lastSync;
+
+    @Autowired
+    public RefreshTokenRevocationStore(
+            RevokedTokenRepository repository,
+            @Value("${security.jwt.refresh-ttl-seconds:1209600}") long refreshTtlSeconds,
+            @Value("${security.jwt.revocation.expected-entries:200000}") int expectedEntries,
+            @Value("${security.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this(repository, Clock.systemUTC(), Duration.ofSeconds(refreshTtlSeconds), expectedEntries, falsePositiveRate);
+    }
+
+    RefreshTokenRevocationStore(RevokedTokenRepository repository, Clock clock, Duration refreshTtl,
+                                int expectedEntries, double falsePositiveRate) {
+        this.repository = repository;
+        this.clock = clock;
+        this.refreshTtl = refreshTtl;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new RevocationBloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Consome um refresh token válido (assinatura/exp já checados).
+     * Se o jti já tinha sido usado, é reuso: a família inteira é revogada.
+     */
+    public void rotate(VerifiedToken refresh) {
+        String jti = refresh.tokenId();
+        String family = refresh.familyId();
+
+        // tokens emitidos antes das famílias não têm jti: aceitos até expirarem
+        if (jti == null) return;
+
+        Instant now = clock.instant();
+
+        if (family != null && isRevoked(family)) {
+            throw new BadCredentialsException("Invalid token");
+        }
+
+        if (isRevoked(jti)) {
+            revokeFamily(family, now);
+            throw new BadCredentialsException("Invalid token");
+        }
+
+        RevokedToken used = RevokedToken.builder()
+                .tokenId(jti)
+                .kind(RevokedTokenKind.TOKEN)
+                .familyId(family)
+                .revokedAt(now)
+                .expiresAt(refresh.expiresAt() != null ? refresh.expiresAt() : now.plus(refreshTtl))
+                .build();
+
+        // duas chamadas simultâneas com o mesmo token: só a primeira passa
+        if (pending.putIfAbsent(jti, used) != null) {
+            revokeFamily(family, now);
+            throw new BadCredentialsException("Invalid token");
+        }
+        addToFilter(jti);
+    }
+
+    /** Derruba todos os refresh tokens da família (ex.: logout em todos os dispositivos). */
+    public void revokeFamily(String familyId) {
+        revokeFamily(familyId, clock.instant());
+    }
+
+    public boolean isRevoked(String tokenOrFamilyId) {
+        if (tokenOrFamilyId == null) return false;
+
+        // caminho comum: filtro diz "não" -> sem SQL
+        if (!mightContain(tokenOrFamilyId)) return false;
+
+        return pending.containsKey(tokenOrFamilyId) || repository.existsById(tokenOrFamilyId);
+    }
+
+    /** Persiste as revogações locais e incorpora as feitas por outras instâncias. */
+    @Scheduled(
+            fixedDelayString = "${security.jwt.revocation.sync-interval-ms:2000}",
+            initialDelayString = "${security.jwt.revocation.sync-interval-ms:2000}"
+    )
+    public void sync() {
+        flushPending();
+
+        Instant now = clock.instant();
+        Instant since = (lastSync == null ? now : lastSync).minus(SYNC_OVERLAP);
+        repository.findTokenIdsRevokedSince(since, now).forEach(this::addToFilter);
+        lastSync = now;
+    }
+
+    /** Linhas expiradas não servem mais (o JWT já é rejeitado pelo exp): apaga e reconstrói o filtro. */
+    @Scheduled(
+            fixedDelayString = "${security.jwt.revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${security.jwt.revocation.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        flushPending();
+        repository.deleteExpired(clock.instant());
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushPending();
+    }
+
+    private void revokeFamily(String familyId, Instant now) {
+        if (familyId == null) return;
+
+        RevokedToken revoked = RevokedToken.builder()
+                .tokenId(familyId)
+                .kind(RevokedTokenKind.FAMILY)
+                .familyId(familyId)
+                .revokedAt(now)
+                .expiresAt(now.plus(refreshTtl))
+                .build();
+
+        pending.putIfAbsent(familyId, revoked);
+        addToFilter(familyId);
+    }
+
+    private void flushPending() {
+        boolean reused = false;
+        for (Map.Entry<String, RevokedToken> entry : pending.entrySet()) {
+            RevokedToken revoked = entry.getValue();
+            int rows = repository.insertIfAbsent(revoked.getTokenId(), revoked.getKind().name(),
+                    revoked.getFamilyId(), revoked.getRevokedAt(), revoked.getExpiresAt());
+
+            // jti já consumido por outra instância dentro da janela do sync: reuso, derruba a família
+            if (rows == 0 && revoked.getKind() == RevokedTokenKind.TOKEN && revoked.getFamilyId() != null) {
+                revokeFamily(revoked.getFamilyId(), clock.instant());
+                reused = true;
+            }
+            // só sai do pending depois de gravado, para o reuso continuar detectável
+            pending.remove(entry.getKey(), revoked);
+        }
+        // grava a família revogada já nesta passada
+        if (reused) flushPending();
+    }
+
+    private void rebuild() {
+        filterLock.writeLock().lock();
+        try {
+            Instant now = clock.instant();
+            RevocationBloomFilter fresh = new RevocationBloomFilter(expectedEntries, falsePositiveRate);
+            repository.findActiveTokenIds(now).forEach(fresh::put);
+            pending.keySet().forEach(fresh::put);
+            filter = fresh;
+            lastSync = now;
+        } finally {
+            filterLock.writeLock().unlock();
+        }
+    }
+
+    private void addToFilter(String id) {
+        filterLock.readLock().lock();
+        try {
+            filter.put(id);
+        } finally {
+            filterLock.readLock().unlock();
+        }
+    }
+
+    private boolean mightContain(String id) {
+        return filter.mightContain(id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.vectorlabs.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de um token já validado (assinatura + expiração).
+ * Produzido uma única vez pelo JwtService e reaproveitado no resto do request,
+ * evitando re-parse/re-verificação do HMAC a cada extractXxx().
+ */
+public record VerifiedToken(
+        String subject,
+        UUID userId,
+        String tokenType,
+        List<String> roles,
+        String provider,
+        Instant expiresAt,
+        String tokenId,
+        String familyId,
+        List<String> scopes
+) {
+
+    static VerifiedToken from(Claims claims) {
+        Object uid = claims.get(JwtService.CLAIM_UID);
+        Object typ = claims.get(JwtService.CLAIM_TYPE);
+        Object provider = claims.get(JwtService.CLAIM_PROVIDER);
+        Object family = claims.get(JwtService.CLAIM_FAMILY);
+        Object scope = claims.get(JwtService.CLAIM_SCOPE);
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                uid == null ? null : UUID.fromString(String.valueOf(uid)),
+                typ == null ? null : String.valueOf(typ),
+                rolesOf(claims.get(JwtService.CLAIM_ROLES)),
+                provider == null ? null : String.valueOf(provider),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                claims.getId(),
+                family == null ? null : String.valueOf(family),
+                scopesOf(scope)
+        );
+    }
+
+    public boolean isAccessToken() {
+        return JwtService.TYPE_ACCESS.equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.TYPE_REFRESH.equals(tokenType);
+    }
+
+    public boolean isClientToken() {
+        return JwtService.TYPE_CLIENT.equals(tokenType);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    // claim vazio ("") não vira scope "" (authority SCOPE_)
+    private static List<String> scopesOf(Object raw) {
+        if (raw == null) return List.of();
+        return Arrays.stream(String.valueOf(raw).trim().split("\\s+"))
+                .filter(s -> !s.isBlank())
+                .toList();
+    }
+
+    private static List<String> rolesOf(Object raw) {
+        if (!(raw instanceof List<?> list)) return List.of();
+        return list.stream().map(String::valueOf).toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.vectorlabs.security.jwt;
+
+import com.vectorlabs.support.BoundedTtlMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cache de tokens já verificados, chaveado pelo SHA-256 do token (nunca guarda o token em si).
+ * Cada entrada vive só até o "exp" do próprio token, então um cliente que reusa o mesmo
+ * access token (dashboards fazendo polling) pula a verificação de assinatura até expirar.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final BoundedTtlMap<String, VerifiedToken> entries;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${security.jwt.cache.max-entries:10000}") int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.entries = new BoundedTtlMap<>(maxEntries, clock);
+    }
+
+    public Optional<VerifiedToken> get(String token) {
+        if (maxEntries <= 0) return Optional.empty();
+
+        // expirou desde que entrou no cache -> sai e força nova verificação (que vai falhar)
+        return Optional.ofNullable(entries.get(keyOf(token)));
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0 || verified == null) return;
+        entries.put(keyOf(token), verified, verified.expiresAt());
+    }
+
+    public void invalidate(String token) {
+        entries.remove(keyOf(token));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String keyOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.service.LastSeenWriteBehind;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
@@ -21,6 +22,7 @@ import java.util.Optional;
 public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
 
     private final AppUserRepository appUserRepository;
+    private final LastSeenWriteBehind lastSeen;
 
     @Override
     @Transactional
@@ -54,6 +56,8 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
                     .build();
             // role default (ajuste se seu enum for diferente)
             user.getRoles().add(UserRole.CLIENT);
+            user.setLastLoginAt(Instant.now());
+            appUserRepository.save(user);
         } else {
             // Atualiza dados “mutáveis”
             user.setName(info.name());
@@ -70,9 +74,10 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
             if (user.getDeleted() || !user.isEnabled()) {
                 throw new OAuth2AuthenticationException("User disabled/deleted");
             }
+            // entidade gerenciada: só gera UPDATE se algum dado acima mudou de fato;
+            // lastLoginAt vai pelo write-behind
+            lastSeen.recordUserLogin(user.getId());
         }
-        user.setLastLoginAt(Instant.now());
-        appUserRepository.save(user);
         return oAuth2User;
     }
     private AuthProvider mapProvider(String registrationId) {
@@ -1,8 +1,10 @@
 package com.vectorlabs.service;
 
+import com.vectorlabs.dto.appuser.AnswerAppUserDTO;
 import com.vectorlabs.dto.appuser.RegisterAppUserDTO;
 import com.vectorlabs.dto.appuser.SearchAppUserDTO;
 import com.vectorlabs.dto.appuser.UpdateAppUserDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.AddressMapper;
 import com.vectorlabs.model.Address;
@@ -11,10 +13,14 @@ import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.repository.AppUserRepository;
 import com.vectorlabs.repository.specs.AppUserSpecs;
+import com.vectorlabs.repository.support.Scrolling;
+import com.vectorlabs.repository.support.SoftDeleteFilter;
+import com.vectorlabs.security.PrincipalCache;
 import com.vectorlabs.validator.AppUserValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +38,8 @@ public class AppUserService {
     private final PasswordEncoder passwordEncoder;
     private final AppUserValidator validator;
     private final AddressMapper addressMapper;
+    private final PrincipalCache principalCache;
+    private final SoftDeleteFilter softDeleteFilter;
 
     @Transactional
     public AppUser register(RegisterAppUserDTO dto) {
@@ -68,6 +77,7 @@ public class AppUserService {
         validator.ensureNotDeletedForWrite(user);
         validator.validateAdminUpdate(dto, user);
         applyUpdate(user, dto);
+        principalCache.evictNowAndAfterCommit(user.getId());
         return repository.save(user);
     }
 
@@ -80,15 +90,35 @@ public class AppUserService {
         validator.ensureNotDeletedForWrite(user);
         validator.validateMeUpdate(dto);
         applyUpdate(user, dto);
+        principalCache.evictNowAndAfterCommit(user.getId());
         return repository.save(user);
     }
 
     @Transactional(readOnly = true)
-    public Page<AppUser> search(SearchAppUserDTO filter, Pageable pageable) {
+    public Page<AnswerAppUserDTO> search(SearchAppUserDTO filter, Pageable pageable) {
         Objects.requireNonNull(filter, "SearchAppUserDTO cannot be null");
         Objects.requireNonNull(pageable, "Pageable cannot be null");
         Specification<AppUser> spec = AppUserSpecs.fromFilter(filter, validator);
-        return repository.findAll(spec, pageable);
+
+        // deletados só aparecem quando pedidos (o filtro de soft delete de Auditable os esconde)
+        if (Boolean.TRUE.equals(filter.deleted())) {
+            return softDeleteFilter.includingDeleted(() -> repository.findAnswers(spec, pageable));
+        }
+        // projeção: só as colunas do DTO, sem entidades no persistence context
+        return repository.findAnswers(spec, pageable);
+    }
+
+    // Listagem sem count(*): keyset por cursor (padrão) ou slice por página
+    @Transactional(readOnly = true)
+    public ScrollDTO<AppUser> scroll(SearchAppUserDTO filter, String cursor, Integer page, Integer pageSize) {
+        Objects.requireNonNull(filter, "SearchAppUserDTO cannot be null");
+        Specification<AppUser> spec = AppUserSpecs.fromFilter(filter, validator);
+
+        if (Boolean.TRUE.equals(filter.deleted())) {
+            return softDeleteFilter.includingDeleted(() ->
+                    Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), Function.identity()));
+        }
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), Function.identity());
     }
 
     @Transactional
@@ -105,6 +135,7 @@ public class AppUserService {
         validator.ensureNotDeletedForWrite(user);
         user.setDeleted(true);
         user.setEnabled(false);
+        principalCache.evictNowAndAfterCommit(user.getId());
         repository.save(user);
     }
 
@@ -114,6 +145,7 @@ public class AppUserService {
         AppUser user = repository.findById(id)
                 .orElseThrow(() -> new ObjectNotFound("AppUser not found: " + id));
         validator.ensureCanHardDelete(user);
+        principalCache.evictNowAndAfterCommit(user.getId());
         repository.delete(user);
         return user;
     }
@@ -126,6 +158,7 @@ public class AppUserService {
         validator.ensureNotDeletedForWrite(user);
         user.setDeleted(true);
         user.setEnabled(false);
+        principalCache.evictNowAndAfterCommit(user.getId());
         return repository.save(user);
     }
     private void applyUpdate(AppUser user, UpdateAppUserDTO dto) {
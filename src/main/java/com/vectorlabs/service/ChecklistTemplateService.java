@@ -1,5 +1,6 @@
 package com.vectorlabs.service;
 
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.checklisttemplate.AnswerChecklistTemplateDTO;
 import com.vectorlabs.dto.checklisttemplate.UpdateChecklistTemplateDTO;
 import com.vectorlabs.exception.ObjectNotFound;
@@ -7,11 +8,13 @@ import com.vectorlabs.mapper.ChecklistTemplateMapper;
 import com.vectorlabs.model.ChecklistTemplate;
 import com.vectorlabs.repository.ChecklistTemplateRepository;
 import com.vectorlabs.repository.specs.ChecklistTemplateSpecs;
+import com.vectorlabs.repository.support.Scrolling;
 import com.vectorlabs.security.SecurityService;
 import com.vectorlabs.validator.ChecklistTemplateValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -74,6 +77,49 @@ public class ChecklistTemplateService {
 
         validator.validateSearch(loggedUserId, userFilter, isAdmin, page, pageSize);
 
+        Specification<ChecklistTemplate> spec = searchSpec(isAdmin, loggedUserId, userFilter, ruleFilter,
+                title, description, active);
+
+        PageRequest pageRequest = PageRequest.of(page, pageSize);
+
+        return repository.findAll(spec, pageRequest)
+                .map(mapper::toDTO);
+    }
+
+    // Listagem sem count(*): keyset por cursor (padrão) ou slice por página
+    @Transactional(readOnly = true)
+    public ScrollDTO<AnswerChecklistTemplateDTO> scroll(
+            UUID loggedUserId,
+            UUID userFilter,
+            UUID ruleFilter,
+            String title,
+            String description,
+            Boolean active,
+            String cursor,
+            Integer page,
+            Integer pageSize
+    ) {
+        boolean isAdmin = securityService.isAdmin();
+
+        // page é opcional aqui (modo cursor); o validator exige >= 0
+        validator.validateSearch(loggedUserId, userFilter, isAdmin,
+                page != null ? page : 0, pageSize != null ? pageSize : Scrolling.DEFAULT_SIZE);
+
+        Specification<ChecklistTemplate> spec = searchSpec(isAdmin, loggedUserId, userFilter, ruleFilter,
+                title, description, active);
+
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), mapper::toDTO);
+    }
+
+    private Specification<ChecklistTemplate> searchSpec(
+            boolean isAdmin,
+            UUID loggedUserId,
+            UUID userFilter,
+            UUID ruleFilter,
+            String title,
+            String description,
+            Boolean active
+    ) {
         Specification<ChecklistTemplate> spec = null;
 
         if (!isAdmin) {
@@ -88,10 +134,7 @@ public class ChecklistTemplateService {
         spec = and(spec, ChecklistTemplateSpecs.descriptionContains(description));
         spec = and(spec, ChecklistTemplateSpecs.eqActive(active));
 
-        PageRequest pageRequest = PageRequest.of(page, pageSize);
-
-        return repository.findAll(spec, pageRequest)
-                .map(mapper::toDTO);
+        return spec;
     }
 
     @Transactional
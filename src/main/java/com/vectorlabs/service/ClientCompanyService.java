@@ -1,22 +1,28 @@
 package com.vectorlabs.service;
 
 import com.vectorlabs.dto.clientcompany.*;
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.exception.ObjectNotFound; // use a sua exception do projeto
 import com.vectorlabs.mapper.ClientCompanyMapper;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.ClientCompany;
 import com.vectorlabs.repository.ClientCompanyRepository;
+import com.vectorlabs.repository.support.BulkWriter;
+import com.vectorlabs.repository.support.Scrolling;
 import com.vectorlabs.security.SecurityService;
 import com.vectorlabs.validator.ClientCompanyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import static com.vectorlabs.repository.specs.ClientCompanySpecs.*;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,6 +34,7 @@ public class ClientCompanyService {
 
     private final ClientCompanyValidator validations;
     private final SecurityService securityService;
+    private final BulkWriter bulkWriter;
 
     // =================== CREATE ===================
 
@@ -49,6 +56,27 @@ public class ClientCompanyService {
         return mapper.toDTO(saved);
     }
 
+    // CREATE (lote): mesmas regras do create, INSERTs em JDBC batch, tudo ou nada
+    @Transactional
+    public BulkResultDTO createAll(List<RegisterClientCompanyDTO> dtos) {
+        dtos.forEach(validations::validateCreate);
+
+        AppUser owner = securityService.getLoggedUser();
+        List<ClientCompany> entities = dtos.stream()
+                .map(dto -> {
+                    var entity = mapper.fromRegisterDTO(dto);
+                    entity.setUser(owner);
+                    entity.setActive(true);
+                    entity.setDeleted(false);
+                    entity.setDeletedAt(null);
+                    return entity;
+                })
+                .toList();
+
+        bulkWriter.persistAll(entities);
+        return new BulkResultDTO(entities.size(), entities.stream().map(ClientCompany::getId).toList());
+    }
+
     @Transactional
     public AnswerClientCompanyDTO adminCreate(RegisterClientCompanyAdminDTO dto) {
         validations.validateAdminCreate(dto);
@@ -95,9 +123,47 @@ public class ClientCompanyService {
     ) {
         validations.validateSearch(page, pageSize);
 
+        var spec = searchSpec(requestedUserId, corporateName, tradeName, cnpj, phone, email, active);
+
+        var pageable = PageRequest.of(page, pageSize);
+
+        // projeção: só as colunas do DTO, sem entidades no persistence context
+        return repository.findAnswers(spec, pageable);
+    }
+
+    // Listagem sem count(*): keyset por cursor (padrão) ou slice por página
+    @Transactional(readOnly = true)
+    public ScrollDTO<AnswerClientCompanyDTO> scroll(
+            UUID requestedUserId,
+            String corporateName,
+            String tradeName,
+            String cnpj,
+            String phone,
+            String email,
+            Boolean active,
+            String cursor,
+            Integer page,
+            Integer pageSize
+    ) {
+        validations.validateSearch(page, pageSize);
+
+        var spec = searchSpec(requestedUserId, corporateName, tradeName, cnpj, phone, email, active);
+
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), mapper::toDTO);
+    }
+
+    private Specification<ClientCompany> searchSpec(
+            UUID requestedUserId,
+            String corporateName,
+            String tradeName,
+            String cnpj,
+            String phone,
+            String email,
+            Boolean active
+    ) {
         UUID effectiveUserId = resolveEffectiveUserId(requestedUserId);
 
-        var spec = Specification.allOf(
+        return Specification.allOf(
                 notDeleted(),
                 byUserId(effectiveUserId),
                 corporateNameContains(corporateName),
@@ -107,11 +173,6 @@ public class ClientCompanyService {
                 emailContains(email),
                 isActive(active)
         );
-
-        var pageable = PageRequest.of(page, pageSize);
-
-        return repository.findAll(spec, pageable)
-                .map(mapper::toDTO);
     }
 
 
@@ -5,14 +5,16 @@ import com.vectorlabs.dto.client.RegisterClientDTO;
 import com.vectorlabs.dto.client.UpdateClientDTO;
 import com.vectorlabs.model.Client;
 import com.vectorlabs.repository.ClientRepository;
+import com.vectorlabs.security.ClientCredentialCache;
+import com.vectorlabs.security.VerifiedClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -21,6 +23,8 @@ public class ClientService {
 
     private final ClientRepository clientRepository;
     private final PasswordEncoder passwordEncoder;
+    private final LastSeenWriteBehind lastSeen;
+    private final ClientCredentialCache credentialCache;
 
     @Transactional
     public AnswerClientDTO register(RegisterClientDTO dto) {
@@ -78,6 +82,7 @@ public class ClientService {
         }
 
         clientRepository.save(client);
+        credentialCache.evictNowAndAfterCommit(client.getClientId());
         return toAnswer(client);
     }
 
@@ -88,6 +93,7 @@ public class ClientService {
         client.setDeleted(true);
         client.setEnabled(false);
         clientRepository.save(client);
+        credentialCache.evictNowAndAfterCommit(client.getClientId());
     }
 
     /**
@@ -97,25 +103,47 @@ public class ClientService {
     @Transactional(readOnly = true)
     public boolean validateSecret(String clientId, String rawSecret) {
 
-        Client client = clientRepository.findByClientId(normalize(clientId))
+        String normalized = normalize(clientId);
+        if (credentialCache.get(normalized, rawSecret).isPresent()) return true;
+
+        Client client = clientRepository.findByClientId(normalized)
                 .orElseThrow(() -> new IllegalArgumentException("Client not found"));
 
-        if (client.isDeleted() || !client.isEnabled()) return false;
+        return verify(client, rawSecret).isPresent();
+    }
+
+    /**
+     * Mesmo que validateSecret, mas devolve o cliente com escopos já parseados
+     * (vazio se clientId não existe, está desabilitado ou o secret não confere).
+     * Chamadas repetidas com o mesmo secret saem do ClientCredentialCache, sem bcrypt.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VerifiedClient> authenticate(String clientId, String rawSecret) {
+        if (rawSecret == null || rawSecret.isBlank()) return Optional.empty();
+
+        String normalized = normalize(clientId);
+        Optional<VerifiedClient> cached = credentialCache.get(normalized, rawSecret);
+        if (cached.isPresent()) return cached;
 
-        return passwordEncoder.matches(rawSecret, client.getClientSecretHash());
+        return clientRepository.findByClientId(normalized)
+                .flatMap(client -> verify(client, rawSecret));
     }
 
-    @Transactional
+    /** Só registra no write-behind; o UPDATE de last_used_at sai em lote. */
     public void markUsed(String clientId) {
-        clientRepository.findByClientId(normalize(clientId)).ifPresent(c -> {
-            c.setLastUsedAt(Instant.now());
-            clientRepository.save(c);
-        });
+        lastSeen.recordClientUse(normalize(clientId));
     }
 
     public List<String> getScopeList(Client client) {
-        if (client.getScopes() == null || client.getScopes().isBlank()) return List.of();
-        return List.of(client.getScopes().trim().split("\\s+"));
+        return List.copyOf(VerifiedClient.parseScopes(client.getScopes()));
+    }
+
+    private Optional<VerifiedClient> verify(Client client, String rawSecret) {
+        if (client.isDeleted() || !client.isEnabled()) return Optional.empty();
+        if (rawSecret == null || !passwordEncoder.matches(rawSecret, client.getClientSecretHash())) {
+            return Optional.empty();
+        }
+        return Optional.of(credentialCache.put(VerifiedClient.of(client), rawSecret));
     }
 
     private AnswerClientDTO toAnswer(Client c) {
@@ -0,0 +1,177 @@
+package com.vectorlabs.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind dos timestamps de "último uso" (AppUser.lastLoginAt, Client.lastUsedAt).
+ *
+ * Login/uso de integração só registra o instante em memória (o mais recente por chave vence);
+ * um flush periódico — ou antecipado quando o buffer passa de max-pending — grava tudo em
+ * um único UPDATE ... FROM (VALUES ...) por tabela, sem carregar entidades nem disparar o Auditable.
+ * No shutdown o buffer é drenado.
+ */
+@Component
+public class LastSeenWriteBehind {
+
+    private static final String USER_SQL_PREFIX =
+            "UPDATE app_user AS u SET last_login_at = v.ts FROM (VALUES ";
+    private static final String USER_SQL_SUFFIX =
+            ") AS v(id, ts) WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)";
+    private static final String USER_ROW = "(CAST(? AS uuid), CAST(? AS timestamptz))";
+
+    private static final String CLIENT_SQL_PREFIX =
+            "UPDATE client AS c SET last_used_at = v.ts FROM (VALUES ";
+    private static final String CLIENT_SQL_SUFFIX =
+            ") AS v(client_id, ts) WHERE c.client_id = v.client_id AND (c.last_used_at IS NULL OR c.last_used_at < v.ts)";
+    private static final String CLIENT_ROW = "(CAST(? AS varchar), CAST(? AS timestamptz))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final Clock clock;
+    private final ExecutorService flushExecutor;
+
+    private final Map<UUID, Instant> userLogins = new ConcurrentHashMap<>();
+    private final Map<String, Instant> clientUses = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public LastSeenWriteBehind(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.last-seen.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.last-seen.max-pending:2000}") int maxPending
+    ) {
+        this(jdbcTemplate, maxBatchSize, maxPending, Clock.systemUTC(), Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "last-seen-flush");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    LastSeenWriteBehind(JdbcTemplate jdbcTemplate, int maxBatchSize, int maxPending,
+                        Clock clock, ExecutorService flushExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxPending = maxPending;
+        this.clock = clock;
+        this.flushExecutor = flushExecutor;
+    }
+
+    public void recordUserLogin(UUID userId) {
+        if (userId == null) return;
+        userLogins.merge(userId, clock.instant(), LastSeenWriteBehind::latest);
+        flushEarlyIfFull();
+    }
+
+    public void recordClientUse(String clientId) {
+        if (clientId == null || clientId.isBlank()) return;
+        clientUses.merge(clientId, clock.instant(), LastSeenWriteBehind::latest);
+        flushEarlyIfFull();
+    }
+
+    public int pendingCount() {
+        return userLogins.size() + clientUses.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.last-seen.flush-interval-ms:5000}")
+    public void flush() {
+        // só um flush por vez; quem chegar depois deixa para o próximo ciclo
+        if (!flushLock.tryLock()) return;
+        try {
+            flushMap(userLogins, USER_SQL_PREFIX, USER_ROW, USER_SQL_SUFFIX);
+            flushMap(clientUses, CLIENT_SQL_PREFIX, CLIENT_ROW, CLIENT_SQL_SUFFIX);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // drena o que sobrou (espera um flush em andamento terminar)
+        flushLock.lock();
+        try {
+            flushMap(userLogins, USER_SQL_PREFIX, USER_ROW, USER_SQL_SUFFIX);
+            flushMap(clientUses, CLIENT_SQL_PREFIX, CLIENT_ROW, CLIENT_SQL_SUFFIX);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushEarlyIfFull() {
+        if (pendingCount() < maxPending || flushLock.isLocked()) return;
+        try {
+            flushExecutor.execute(this::flush);
+        } catch (RejectedExecutionException ignored) {
+            // desligando: o shutdown() drena
+        }
+    }
+
+    private <K> void flushMap(Map<K, Instant> pending, String prefix, String row, String suffix) {
+        if (pending.isEmpty()) return;
+
+        List<Map.Entry<K, Instant>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<K, Instant> e : pending.entrySet()) {
+            K key = e.getKey();
+            Instant ts = e.getValue();
+            // remove só se não chegou valor mais novo nesse meio tempo
+            if (pending.remove(key, ts)) {
+                drained.add(Map.entry(key, ts));
+            }
+        }
+
+        for (int from = 0; from < drained.size(); from += maxBatchSize) {
+            List<Map.Entry<K, Instant>> chunk = drained.subList(from, Math.min(drained.size(), from + maxBatchSize));
+            try {
+                jdbcTemplate.update(sqlFor(prefix, row, suffix, chunk.size()), argsOf(chunk));
+            } catch (DataAccessException ex) {
+                // banco indisponível: devolve ao buffer para o próximo ciclo
+                for (Map.Entry<K, Instant> e : drained.subList(from, drained.size())) {
+                    pending.merge(e.getKey(), e.getValue(), LastSeenWriteBehind::latest);
+                }
+                return;
+            }
+        }
+    }
+
+    private static String sqlFor(String prefix, String row, String suffix, int rows) {
+        return prefix + String.join(", ", Collections.nCopies(rows, row)) + suffix;
+    }
+
+    private static <K> Object[] argsOf(List<Map.Entry<K, Instant>> chunk) {
+        Object[] args = new Object[chunk.size() * 2];
+        int i = 0;
+        for (Map.Entry<K, Instant> e : chunk) {
+            args[i++] = e.getKey();
+            args[i++] = Timestamp.from(e.getValue());
+        }
+        return args;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
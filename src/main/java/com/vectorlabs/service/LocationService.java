@@ -1,21 +1,28 @@
 package com.vectorlabs.service;
 
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.location.AnswerLocationDTO;
+import com.vectorlabs.dto.location.RegisterLocationDTO;
 import com.vectorlabs.dto.location.UpdateLocationDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.LocationMapper;
 import com.vectorlabs.model.Location;
 import com.vectorlabs.repository.LocationRepository;
 import com.vectorlabs.repository.specs.LocationSpecs;
+import com.vectorlabs.repository.support.BulkWriter;
+import com.vectorlabs.repository.support.Scrolling;
 import com.vectorlabs.security.SecurityService;
 import com.vectorlabs.validator.LocationValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -26,6 +33,7 @@ public class LocationService {
     private final LocationMapper mapper;
     private final LocationValidator validator;
     private final SecurityService securityService;
+    private final BulkWriter bulkWriter;
 
     // =======================
     // CREATE
@@ -38,6 +46,19 @@ public class LocationService {
         return repository.save(entity);
     }
 
+    // CREATE (lote): mesma regra de ownership por item; INSERTs em JDBC batch, tudo ou nada
+    @Transactional
+    public BulkResultDTO createAll(UUID userId, List<RegisterLocationDTO> dtos) {
+        boolean isAdmin = securityService.isAdmin();
+
+        // empresa resolvida pelo persistence context: 1 select por empresa distinta, não por local
+        List<Location> entities = dtos.stream().map(mapper::fromRegisterDTO).toList();
+        entities.forEach(entity -> validator.validateCreation(userId, entity, isAdmin));
+
+        bulkWriter.persistAll(entities);
+        return new BulkResultDTO(entities.size(), entities.stream().map(Location::getId).toList());
+    }
+
     // =======================
     // READ
     // =======================
@@ -67,6 +88,52 @@ public class LocationService {
             String zipCode,
             Integer page,
             Integer pageSize
+    ) {
+        Specification<Location> spec = searchSpec(userId, clientCompanyId, name, code, description,
+                street, city, state, zipCode);
+
+        var pageable = PageRequest.of(
+                page != null ? page : 0,
+                pageSize != null ? pageSize : 10
+        );
+
+        // projeção: só as colunas do DTO, sem entidades no persistence context
+        return repository.findAnswers(spec, pageable);
+    }
+
+    // Listagem sem count(*): keyset por cursor (padrão) ou slice por página
+    @Transactional(readOnly = true)
+    public ScrollDTO<AnswerLocationDTO> scroll(
+            UUID userId,
+            UUID clientCompanyId,
+            String name,
+            String code,
+            String description,
+            String street,
+            String city,
+            String state,
+            String zipCode,
+            String cursor,
+            Integer page,
+            Integer pageSize
+    ) {
+        Specification<Location> spec = searchSpec(userId, clientCompanyId, name, code, description,
+                street, city, state, zipCode);
+
+        // company: lido pelo mapper, vem no mesmo select (o findAll paginado usa o @EntityGraph do repository)
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), mapper::toDTO, "company");
+    }
+
+    private Specification<Location> searchSpec(
+            UUID userId,
+            UUID clientCompanyId,
+            String name,
+            String code,
+            String description,
+            String street,
+            String city,
+            String state,
+            String zipCode
     ) {
         // regra: se não for admin, restringir por userId (indiretamente via company ownership)
         validator.validateSearch(userId, securityService.isAdmin(), clientCompanyId);
@@ -87,12 +154,7 @@ public class LocationService {
         // Aqui a validação pode transformar/limitar o spec internamente se você preferir.
         // (Mantido simples; ownership deve ser aplicado no validator + specs adicionais se necessário.)
 
-        var pageable = PageRequest.of(
-                page != null ? page : 0,
-                pageSize != null ? pageSize : 10
-        );
-
-        return repository.findAll(spec, pageable).map(mapper::toDTO);
+        return spec;
     }
 
     // =======================
@@ -0,0 +1,109 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.exception.TooManyRequestsException;
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.security.LoginAttemptLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Login local (email + senha) em um único passo:
+ * limite de tentativas -> carrega o usuário uma vez -> bcrypt no pool dedicado -> rehash se o custo mudou.
+ */
+@Service
+public class LoginService {
+
+    private final AppUserRepository appUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final LoginAttemptLimiter attemptLimiter;
+    private final Executor hashingExecutor;
+    private final LastSeenWriteBehind lastSeen;
+
+    // hash de referência para usuário inexistente: o tempo de resposta não denuncia se o email existe
+    private final String dummyHash;
+
+    public LoginService(
+            AppUserRepository appUserRepository,
+            PasswordEncoder passwordEncoder,
+            LoginAttemptLimiter attemptLimiter,
+            @Qualifier("passwordHashingExecutor") Executor hashingExecutor,
+            LastSeenWriteBehind lastSeen
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.attemptLimiter = attemptLimiter;
+        this.hashingExecutor = hashingExecutor;
+        this.lastSeen = lastSeen;
+        this.dummyHash = passwordEncoder.encode("login-timing-equalizer");
+    }
+
+    /**
+     * Completa com o usuário autenticado ou
+     * falha com BadCredentialsException / TooManyRequestsException.
+     */
+    public CompletableFuture<AppUser> login(String rawEmail, String rawPassword, String clientIp) {
+        String email = normalizeEmail(rawEmail);
+
+        attemptLimiter.checkAllowed(email, clientIp);
+
+        Optional<AppUser> candidate = appUserRepository.findByEmail(email)
+                .filter(this::canLoginWithPassword);
+
+        String hash = candidate.map(AppUser::getPassword).orElse(dummyHash);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                boolean matches = passwordEncoder.matches(rawPassword, hash);
+
+                if (!matches || candidate.isEmpty()) {
+                    attemptLimiter.recordFailure(email, clientIp);
+                    throw new BadCredentialsException("Invalid credentials");
+                }
+
+                attemptLimiter.recordSuccess(email);
+                return onSuccess(candidate.get(), rawPassword);
+            }, hashingExecutor);
+        } catch (RejectedExecutionException ex) {
+            throw new TooManyRequestsException("Login temporarily unavailable, try again later");
+        }
+    }
+
+    private AppUser onSuccess(AppUser user, String rawPassword) {
+        // lastLoginAt vai pelo write-behind: o login não espera transação de escrita
+        user.setLastLoginAt(Instant.now());
+        lastSeen.recordUserLogin(user.getId());
+
+        // custo do bcrypt aumentou desde que o hash foi gerado -> regrava com o custo atual.
+        // user é uma cópia destacada lida em outra thread: UPDATE só da senha, condicionado ao hash lido
+        // (se a senha mudou nesse meio tempo, o rehash é descartado e fica para o próximo login)
+        String oldHash = user.getPassword();
+        if (passwordEncoder.upgradeEncoding(oldHash)) {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (appUserRepository.updatePasswordIfUnchanged(user.getId(), oldHash, newHash) > 0) {
+                user.setPassword(newHash);
+            }
+        }
+        return user;
+    }
+
+    private boolean canLoginWithPassword(AppUser user) {
+        return !Boolean.TRUE.equals(user.getDeleted())
+                && user.isEnabled()
+                && user.getPassword() != null
+                && !user.getPassword().isBlank();
+    }
+
+    private static String normalizeEmail(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,224 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.dto.rule.ruleimport.RuleImportResultDTO;
+import com.vectorlabs.exception.DoubleRegisterException;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.repository.RuleItemRepository;
+import com.vectorlabs.repository.RuleModuleRepository;
+import com.vectorlabs.repository.RuleRepository;
+import com.vectorlabs.repository.RuleSectionRepository;
+import com.vectorlabs.repository.support.BulkWriter;
+import com.vectorlabs.service.ruleimport.RuleTree;
+import com.vectorlabs.service.ruleimport.RuleTree.ItemNode;
+import com.vectorlabs.service.ruleimport.RuleTree.ModuleNode;
+import com.vectorlabs.service.ruleimport.RuleTree.Node;
+import com.vectorlabs.service.ruleimport.RuleTree.SectionNode;
+import com.vectorlabs.service.ruleimport.RuleTreeCsvReader;
+import com.vectorlabs.service.ruleimport.RuleTreeJsonReader;
+import com.vectorlabs.validator.RuleValidator;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importação de uma norma inteira (Rule → Section → Module → Item) a partir de JSON ou CSV.
+ *
+ * 1. o arquivo é lido em streaming e montado em memória (RuleTree), que valida unicidade e resolve
+ *    os pais por código, sem consultas por nó;
+ * 2. o que já existe da norma é carregado com 4 consultas e casado com a árvore;
+ * 3. os nós novos são gravados em ordem de dependência, em transações de BATCH_SIZE nós
+ *    (INSERTs em JDBC batch via BulkWriter), com progresso a cada lote.
+ *
+ * Uma falha no meio deixa os lotes anteriores gravados; reenviar o mesmo arquivo pula o que já
+ * existe e grava o resto.
+ */
+@Slf4j
+@Service
+public class RuleImportService {
+
+    // nós por transação (2 chunks do BulkWriter)
+    static final int BATCH_SIZE = 2 * BulkWriter.CHUNK_SIZE;
+
+    private final RuleRepository ruleRepository;
+    private final RuleSectionRepository sectionRepository;
+    private final RuleModuleRepository moduleRepository;
+    private final RuleItemRepository itemRepository;
+    private final RuleValidator ruleValidator;
+    private final RuleTreeJsonReader jsonReader;
+    private final RuleTreeCsvReader csvReader;
+    private final BulkWriter bulkWriter;
+    private final EntityManager entityManager;
+    private final RuleTreeCache treeCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public RuleImportService(
+            RuleRepository ruleRepository,
+            RuleSectionRepository sectionRepository,
+            RuleModuleRepository moduleRepository,
+            RuleItemRepository itemRepository,
+            RuleValidator ruleValidator,
+            RuleTreeJsonReader jsonReader,
+            RuleTreeCsvReader csvReader,
+            BulkWriter bulkWriter,
+            EntityManager entityManager,
+            RuleTreeCache treeCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ruleRepository = ruleRepository;
+        this.sectionRepository = sectionRepository;
+        this.moduleRepository = moduleRepository;
+        this.itemRepository = itemRepository;
+        this.ruleValidator = ruleValidator;
+        this.jsonReader = jsonReader;
+        this.csvReader = csvReader;
+        this.bulkWriter = bulkWriter;
+        this.entityManager = entityManager;
+        this.treeCache = treeCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public RuleImportResultDTO importJson(InputStream in) {
+        return importTree(jsonReader.read(in));
+    }
+
+    public RuleImportResultDTO importCsv(InputStream in, String ruleCode, String ruleTitle) {
+        return importTree(csvReader.read(in, ruleCode, ruleTitle));
+    }
+
+    RuleImportResultDTO importTree(RuleTree tree) {
+        Rule newRule = attachExisting(tree);
+        List<Node> pending = tree.pending();
+        int existing = tree.size() - pending.size();
+
+        int batches = 0;
+        for (int from = 0; from < Math.max(pending.size(), newRule != null ? 1 : 0); from += BATCH_SIZE) {
+            List<Node> batch = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            Rule rule = batches == 0 ? newRule : null;
+            transactionTemplate.executeWithoutResult(status -> persist(tree, rule, batch));
+            treeCache.evict(tree.getRuleId()); // cada lote commitado já é visível na árvore
+            batches++;
+
+            log.info("Rule import {}: {}/{} nodes persisted (batch {})",
+                    tree.getCode(), from + batch.size(), pending.size(), batches);
+        }
+
+        return new RuleImportResultDTO(
+                tree.getRuleId(),
+                tree.getCode(),
+                newRule != null,
+                count(pending, SectionNode.class),
+                count(pending, ModuleNode.class),
+                count(pending, ItemNode.class),
+                existing,
+                batches
+        );
+    }
+
+    // Estado já gravado da norma: rule + 3 consultas (seções, módulos, chaves dos itens)
+    private Rule attachExisting(RuleTree tree) {
+        Rule existing = tree.getCode() == null ? null : ruleRepository.findByCodeIgnoreCase(tree.getCode()).orElse(null);
+
+        if (existing == null) {
+            Rule rule = new Rule();
+            rule.setCode(tree.getCode());
+            rule.setTitle(tree.getTitle());
+            rule.setDescription(tree.getDescription());
+            rule.setUpdateOrdinance(tree.getUpdateOrdinance());
+            rule.setUpdateOrdinanceDate(tree.getUpdateOrdinanceDate());
+            rule.setActive(true);
+            rule.setDeleted(false);
+            ruleValidator.validateCreation(rule);
+            return rule;
+        }
+        if (Boolean.TRUE.equals(existing.getDeleted())) {
+            throw new DoubleRegisterException("Rule " + existing.getCode() + " exists as deleted; restore it before importing.");
+        }
+
+        tree.attachExisting(
+                existing.getId(),
+                sectionRepository.findAllByRule_Id(existing.getId()),
+                moduleRepository.findAllBySection_Rule_Id(existing.getId()),
+                itemRepository.findImportKeysByRuleId(existing.getId())
+        );
+        return null;
+    }
+
+    private void persist(RuleTree tree, Rule newRule, List<Node> batch) {
+        List<Object> entities = new ArrayList<>(batch.size() + 1);
+        if (newRule != null) entities.add(newRule);
+
+        // pai gravado neste lote: a própria instância; em lote anterior ou já existente: referência por id, sem select
+        for (Node node : batch) {
+            switch (node) {
+                case SectionNode s -> {
+                    RuleSection e = new RuleSection();
+                    e.setRule(newRule != null ? newRule : entityManager.getReference(Rule.class, tree.getRuleId()));
+                    e.setCode(s.getCode());
+                    e.setName(s.getName());
+                    e.setSequence(s.getSequence());
+                    e.setActive(true);
+                    s.setEntity(e);
+                    entities.add(e);
+                }
+                case ModuleNode m -> {
+                    RuleModule e = new RuleModule();
+                    e.setSection(m.getSection().getEntity() != null
+                            ? m.getSection().getEntity()
+                            : entityManager.getReference(RuleSection.class, m.getSection().getId()));
+                    e.setModuleCode(m.getCode());
+                    e.setModuleName(m.getName());
+                    e.setModuleSequence(m.getSequence());
+                    e.setActive(true);
+                    m.setEntity(e);
+                    entities.add(e);
+                }
+                case ItemNode i -> {
+                    RuleItem e = new RuleItem();
+                    e.setModule(i.getModule().getEntity() != null
+                            ? i.getModule().getEntity()
+                            : entityManager.getReference(RuleModule.class, i.getModule().getId()));
+                    e.setParent(parentOf(i));
+                    e.setItemCode(i.getCode());
+                    e.setDescription(i.getDescription());
+                    e.setSequence(i.getSequence());
+                    e.setActive(true);
+                    i.setEntity(e);
+                    entities.add(e);
+                }
+            }
+        }
+
+        bulkWriter.persistAll(entities);
+
+        // ids gerados no persist; instâncias soltas para o próximo lote usar referência por id
+        if (newRule != null) tree.setRuleId(newRule.getId());
+        for (Node node : batch) {
+            switch (node) {
+                case SectionNode s -> { s.setId(s.getEntity().getId()); s.setEntity(null); }
+                case ModuleNode m -> { m.setId(m.getEntity().getId()); m.setEntity(null); }
+                case ItemNode i -> { i.setId(i.getEntity().getId()); i.setEntity(null); }
+            }
+        }
+    }
+
+    private RuleItem parentOf(ItemNode item) {
+        ItemNode parent = item.getParent();
+        if (parent != null) {
+            return parent.getEntity() != null ? parent.getEntity() : entityManager.getReference(RuleItem.class, parent.getId());
+        }
+        return item.getParentId() == null ? null : entityManager.getReference(RuleItem.class, item.getParentId());
+    }
+
+    private static int count(List<Node> nodes, Class<? extends Node> type) {
+        return (int) nodes.stream().filter(type::isInstance).count();
+    }
+}
@@ -1,20 +1,28 @@
 package com.vectorlabs.service;
 
+import com.vectorlabs.dto.common.BulkResultDTO;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.rule.ruleitem.AnswerRuleItemDTO;
+import com.vectorlabs.dto.rule.ruleitem.RegisterRuleItemDTO;
 import com.vectorlabs.dto.rule.ruleitem.UpdateRuleItemDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.RuleItemMapper;
 import com.vectorlabs.model.RuleItem;
 import com.vectorlabs.repository.RuleItemRepository;
 import com.vectorlabs.repository.specs.RuleItemSpecs;
+import com.vectorlabs.repository.support.BulkWriter;
+import com.vectorlabs.repository.support.Scrolling;
+import com.vectorlabs.repository.support.TextSearchQuery;
 import com.vectorlabs.validator.RuleItemValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -24,12 +32,26 @@ public class RuleItemService {
     private final RuleItemRepository repository;
     private final RuleItemMapper mapper;
     private final RuleItemValidator validator;
+    private final BulkWriter bulkWriter;
+    private final RuleTreeCache treeCache;
     // CREATE
     @Transactional
     public RuleItem save(RuleItem entity) {
         validator.validateCreation(entity);
+        treeCache.evictTreeOf(entity);
         return repository.save(entity);
     }
+    // CREATE (lote): INSERTs em JDBC batch, flush/clear por chunk; tudo ou nada
+    @Transactional
+    public BulkResultDTO createAll(List<RegisterRuleItemDTO> dtos) {
+        // módulos/parents resolvidos pelo persistence context: 1 select por id distinto
+        List<RuleItem> entities = dtos.stream().map(mapper::fromRegisterDTO).toList();
+        validator.validateBulkCreation(entities);
+        entities.stream().map(RuleItem::getModule).distinct().forEach(treeCache::evictTreeOf);
+
+        bulkWriter.persistAll(entities);
+        return new BulkResultDTO(entities.size(), entities.stream().map(RuleItem::getId).toList());
+    }
     // READ - details
     @Transactional(readOnly = true)
     public RuleItem findById(UUID id) {
@@ -49,16 +71,57 @@ public class RuleItemService {
     ) {
         int p  = (page == null || page < 0) ? 0 : page;
         int ps = (pageSize == null || pageSize <= 0) ? 10 : Math.min(pageSize, 100);
-        Specification<RuleItem> spec = RuleItemSpecs.any()
+        Specification<RuleItem> spec = searchSpec(moduleId, parentId, itemCode, description, active);
+
+        // projeção: só as colunas do DTO, sem entidades no persistence context
+        return repository.findAnswers(spec, PageRequest.of(p, ps));
+    }
+    // READ - full-text (q): ranqueado por relevância, usa o índice GIN em vez de ILIKE '%q%'
+    @Transactional(readOnly = true)
+    public Page<AnswerRuleItemDTO> searchText(
+            String q,
+            UUID moduleId,
+            UUID parentId,
+            Boolean active,
+            Integer page,
+            Integer pageSize
+    ) {
+        String tsQuery = TextSearchQuery.prefixQuery(q);
+        if (tsQuery == null) {
+            return search(moduleId, parentId, null, null, active, page, pageSize);
+        }
+
+        int p  = (page == null || page < 0) ? 0 : page;
+        int ps = (pageSize == null || pageSize <= 0) ? 10 : Math.min(pageSize, 100);
+
+        var result = repository.searchText(tsQuery, moduleId, parentId, active, PageRequest.of(p, ps));
+        return result.map(mapper::toDTO);
+    }
+    // READ - scroll (sem count): keyset por cursor ou slice por página
+    @Transactional(readOnly = true)
+    public ScrollDTO<AnswerRuleItemDTO> scroll(
+            UUID moduleId,
+            UUID parentId,
+            String itemCode,
+            String description,
+            Boolean active,
+            String cursor,
+            Integer page,
+            Integer pageSize
+    ) {
+        Specification<RuleItem> spec = searchSpec(moduleId, parentId, itemCode, description, active);
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize, Sort.unsorted(), mapper::toDTO, "module");
+    }
+
+    private Specification<RuleItem> searchSpec(
+            UUID moduleId, UUID parentId, String itemCode, String description, Boolean active
+    ) {
+        return RuleItemSpecs.any()
                 .and(RuleItemSpecs.byModuleId(moduleId))
                 .and(RuleItemSpecs.byParentId(parentId))
                 .and(RuleItemSpecs.itemCodeContains(itemCode))
                 .and(RuleItemSpecs.descriptionContains(description))
-                .and(RuleItemSpecs.eqActive(active)
-                );
-
-        var result = repository.findAll(spec, PageRequest.of(p, ps));
-        return result.map(mapper::toDTO);
+                .and(RuleItemSpecs.eqActive(active));
     }
     // UPDATE (PATCH semantics via UpdateDTO)
     @Transactional
@@ -67,6 +130,7 @@ public class RuleItemService {
                 .orElseThrow(() -> new ObjectNotFound("RuleItem not found: " + id));
         validator.validateUpdate(existing, dto);
         mapper.updateFromDTO(dto, existing);
+        treeCache.evictTreeOf(existing);
         var saved = repository.save(existing);
         return mapper.toDTO(saved);
     }
@@ -76,6 +140,7 @@ public class RuleItemService {
             var existing = repository.findById(id)
                 .orElseThrow(() -> new ObjectNotFound("RuleItem not found: " + id));
         validator.validateDelete(existing);
+        treeCache.evictTreeOf(existing);
         repository.delete(existing);
     }
 }
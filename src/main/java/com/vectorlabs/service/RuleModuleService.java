@@ -6,6 +6,7 @@ import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.RuleModuleMapper;
 import com.vectorlabs.model.RuleModule;
 import com.vectorlabs.repository.RuleModuleRepository;
+import com.vectorlabs.repository.RuleSectionRepository;
 import com.vectorlabs.repository.specs.RuleModuleSpecs;
 import com.vectorlabs.validator.RuleModuleValidator;
 import lombok.RequiredArgsConstructor;
@@ -22,13 +23,18 @@ import java.util.UUID;
 public class RuleModuleService {
 
     private final RuleModuleRepository repository;
+    private final RuleSectionRepository sectionRepository;
     private final RuleModuleMapper mapper;
     private final RuleModuleValidator validator;
+    private final RuleTreeCache treeCache;
 
     // CREATE
     @Transactional
     public RuleModule save(RuleModule entity) {
         validator.validateCreation(entity);
+        // a seção vinda do DTO só tem o id: a norma é resolvida no banco
+        sectionRepository.findRuleIdById(entity.getSection().getId())
+                .ifPresent(treeCache::evictNowAndAfterCommit);
         return repository.save(entity);
     }
 
@@ -76,6 +82,7 @@ public class RuleModuleService {
 
         validator.validateUpdate(existing, dto);
         mapper.updateFromDTO(dto, existing);
+        treeCache.evictTreeOf(existing);
 
         var saved = repository.save(existing);
         return mapper.toDTO(saved);
@@ -89,6 +96,7 @@ public class RuleModuleService {
                 .orElseThrow(() -> new ObjectNotFound("RuleModule not found: " + id));
 
         validator.validateDelete(existing);
+        treeCache.evictTreeOf(existing);
         repository.delete(existing);
     }
 
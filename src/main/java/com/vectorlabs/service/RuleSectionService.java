@@ -24,11 +24,13 @@ public class RuleSectionService {
     private final RuleSectionRepository repository;
     private final RuleSectionMapper mapper;
     private final RuleSectionValidator validator;
+    private final RuleTreeCache treeCache;
 
     // CREATE
     @Transactional
     public RuleSection save(RuleSection entity) {
         validator.validateCreation(entity);
+        treeCache.evictTreeOf(entity);
         return repository.save(entity);
     }
 
@@ -73,6 +75,7 @@ public class RuleSectionService {
 
         validator.validateUpdate(existing, dto);
         mapper.updateFromDTO(dto, existing);
+        treeCache.evictTreeOf(existing);
 
         var saved = repository.save(existing);
         return mapper.toDTO(saved);
@@ -84,6 +87,7 @@ public class RuleSectionService {
         var existing = repository.findById(id)
                 .orElseThrow(() -> new ObjectNotFound("RuleSection not found: " + id));
         validator.validateDelete(existing);
+        treeCache.evictTreeOf(existing);
         repository.delete(existing);
     }
 
@@ -1,12 +1,15 @@
 package com.vectorlabs.service;
 
 import com.vectorlabs.exception.ObjectNotFound;
+import com.vectorlabs.dto.common.ScrollDTO;
 import com.vectorlabs.dto.rule.AnswerRuleDTO;
 import com.vectorlabs.dto.rule.UpdateRuleDTO;
 import com.vectorlabs.mapper.RuleMapper;
 import com.vectorlabs.model.Rule;
 import com.vectorlabs.repository.RuleRepository;
 import com.vectorlabs.repository.specs.RuleSpecs;
+import com.vectorlabs.repository.support.Scrolling;
+import com.vectorlabs.repository.support.SoftDeleteFilter;
 import com.vectorlabs.validator.RuleValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -26,6 +29,8 @@ public class RuleService {
     private final RuleRepository repository;
     private final RuleMapper mapper;
     private final RuleValidator validator;
+    private final SoftDeleteFilter softDeleteFilter;
+    private final RuleTreeCache treeCache;
 
     // CREATE
     @Transactional
@@ -64,19 +69,54 @@ public class RuleService {
                 Sort.by(Sort.Direction.ASC, "code")
         );
 
-        // padrão: não listar deletados (a não ser que o cliente peça explicitamente)
+        Specification<Rule> spec = searchSpec(code, title, description, active, deleted);
+
+        if (Boolean.TRUE.equals(deleted)) {
+            return softDeleteFilter.includingDeleted(() -> repository.findAll(spec, pageable))
+                    .map(mapper::toDTO);
+        }
+
+        return repository.findAll(spec, pageable)
+                .map(mapper::toDTO);
+    }
+
+    // Listagem sem count(*): keyset por cursor (padrão) ou slice por página (ordem por code)
+    @Transactional(readOnly = true)
+    public ScrollDTO<AnswerRuleDTO> scroll(
+            String code,
+            String title,
+            String description,
+            Boolean active,
+            Boolean deleted,
+            String cursor,
+            Integer page,
+            Integer pageSize
+    ) {
+        Specification<Rule> spec = searchSpec(code, title, description, active, deleted);
+
+        if (Boolean.TRUE.equals(deleted)) {
+            return softDeleteFilter.includingDeleted(() -> Scrolling.scroll(repository, spec, cursor, page, pageSize,
+                    Sort.by(Sort.Direction.ASC, "code"), mapper::toDTO));
+        }
+
+        return Scrolling.scroll(repository, spec, cursor, page, pageSize,
+                Sort.by(Sort.Direction.ASC, "code"), mapper::toDTO);
+    }
+
+    private Specification<Rule> searchSpec(
+            String code, String title, String description, Boolean active, Boolean deleted
+    ) {
+        // padrão: não listar deletados (a não ser que o cliente peça explicitamente).
+        // O filtro de Auditable já esconde os deletados; deleted=true só funciona com ele desligado
         Boolean deletedFilter = (deleted == null) ? Boolean.FALSE : deleted;
 
-        Specification<Rule> spec = Specification.allOf(
+        return Specification.allOf(
                 RuleSpecs.codeLike(code),
                 RuleSpecs.titleLike(title),
                 RuleSpecs.descriptionLike(description),
                 RuleSpecs.activeEquals(active),
                 RuleSpecs.deletedEquals(deletedFilter)
         );
-
-        return repository.findAll(spec, pageable)
-                .map(mapper::toDTO);
     }
 
     // UPDATE
@@ -88,6 +128,7 @@ public class RuleService {
         validator.validateUpdate(existing, dto);
 
         mapper.updateFromDTO(dto, existing);
+        treeCache.evictNowAndAfterCommit(id);
         var saved = repository.save(existing);
         return mapper.toDTO(saved);
     }
@@ -104,6 +145,7 @@ public class RuleService {
 
         existing.setDeleted(true);
         existing.setActive(false);
+        treeCache.evictNowAndAfterCommit(id);
         repository.save(existing);
     }
 
@@ -118,6 +160,7 @@ public class RuleService {
         }
 
         existing.setDeleted(false);
+        treeCache.evictNowAndAfterCommit(id);
         repository.save(existing);
     }
 }
@@ -0,0 +1,30 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.dto.rule.RuleTextHitDTO;
+import com.vectorlabs.repository.RuleTextSearchRepository;
+import com.vectorlabs.repository.support.TextSearchQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RuleTextSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 50;
+
+    private final RuleTextSearchRepository repository;
+
+    // Busca no corpus inteiro (normas, seções, módulos e itens), ordenada por relevância
+    @Transactional(readOnly = true)
+    public List<RuleTextHitDTO> search(String q, Integer limit) {
+        String tsQuery = TextSearchQuery.prefixQuery(q);
+        if (tsQuery == null) return List.of();
+
+        int l = (limit == null || limit <= 0) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return repository.search(tsQuery, l);
+    }
+}
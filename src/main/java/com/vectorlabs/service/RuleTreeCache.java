@@ -0,0 +1,117 @@
+package com.vectorlabs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeDTO;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.support.BoundedTtlMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Read model da árvore de cada norma (RuleTreeDTO) em memória, com ETag do conteúdo.
+ *
+ * Cada evict avança a versão da norma: um load que começou antes da escrita não é guardado
+ * (entrega o que leu, mas a próxima leitura recarrega). TTL é só a rede de segurança para
+ * escritas que não passam pelos services (SQL manual, outra instância).
+ */
+@Component
+public class RuleTreeCache {
+
+    public record Snapshot(RuleTreeDTO tree, String etag, long version, Instant loadedAt) {}
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Clock clock;
+    private final BoundedTtlMap<UUID, Snapshot> entries;
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RuleTreeCache(
+            ObjectMapper objectMapper,
+            @Value("${app.rule-tree-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.rule-tree-cache.max-entries:200}") int maxEntries
+    ) {
+        this(objectMapper, Duration.ofSeconds(ttlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    RuleTreeCache(ObjectMapper objectMapper, Duration ttl, int maxEntries, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new BoundedTtlMap<>(maxEntries, clock);
+    }
+
+    /** Snapshot em cache ou montado pelo loader (normalmente RuleTreeService.load). */
+    public Snapshot getOrLoad(UUID ruleId, Function<UUID, RuleTreeDTO> loader) {
+        long version = version(ruleId);
+        Instant now = clock.instant();
+
+        Snapshot cached = entries.get(ruleId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        RuleTreeDTO tree = loader.apply(ruleId);
+        Snapshot loaded = new Snapshot(tree, etagOf(tree), version, now);
+
+        // escrita concorrente durante o load: não guarda um estado que pode já ser velho
+        if (version(ruleId) == version) {
+            entries.put(ruleId, loaded, now.plus(ttl));
+        }
+        return loaded;
+    }
+
+    public void evict(UUID ruleId) {
+        if (ruleId == null) return;
+        versions.merge(ruleId, 1L, Long::sum);
+        entries.remove(ruleId);
+    }
+
+    public void evictNowAndAfterCommit(UUID ruleId) {
+        // a versão avança de novo no fim: um load entre a escrita e o commit não fica guardado
+        if (ruleId != null) BoundedTtlMap.runNowAndAfterCommit(() -> evict(ruleId));
+    }
+
+    // escrita em um nó: invalida a árvore da norma dona dele
+    public void evictTreeOf(RuleSection section) {
+        if (section != null && section.getRule() != null) evictNowAndAfterCommit(section.getRule().getId());
+    }
+
+    public void evictTreeOf(RuleModule module) {
+        if (module != null) evictTreeOf(module.getSection());
+    }
+
+    public void evictTreeOf(RuleItem item) {
+        if (item != null) evictTreeOf(item.getModule());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private long version(UUID ruleId) {
+        return versions.getOrDefault(ruleId, 0L);
+    }
+
+    // ETag forte do conteúdo: igual entre instâncias e restarts enquanto a árvore não mudar
+    private String etagOf(RuleTreeDTO tree) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(tree)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize rule tree " + tree.id(), e);
+        }
+    }
+}
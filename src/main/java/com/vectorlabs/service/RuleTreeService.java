@@ -0,0 +1,117 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.dto.rule.ruletree.RuleTreeDTO;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeItemDTO;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeModuleDTO;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeSectionDTO;
+import com.vectorlabs.exception.ObjectNotFound;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.repository.RuleItemRepository;
+import com.vectorlabs.repository.RuleModuleRepository;
+import com.vectorlabs.repository.RuleRepository;
+import com.vectorlabs.repository.RuleSectionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Árvore completa de uma norma para o cliente renderizar em uma chamada.
+ *
+ * Montada com uma consulta por nível (rule, seções, módulos, itens) e guardada no RuleTreeCache;
+ * escritas em seções/módulos/itens/rule invalidam pela norma. Cache hit não abre transação.
+ */
+@Service
+public class RuleTreeService {
+
+    private final RuleRepository ruleRepository;
+    private final RuleSectionRepository sectionRepository;
+    private final RuleModuleRepository moduleRepository;
+    private final RuleItemRepository itemRepository;
+    private final RuleTreeCache cache;
+    private final TransactionTemplate readOnly;
+
+    public RuleTreeService(
+            RuleRepository ruleRepository,
+            RuleSectionRepository sectionRepository,
+            RuleModuleRepository moduleRepository,
+            RuleItemRepository itemRepository,
+            RuleTreeCache cache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.ruleRepository = ruleRepository;
+        this.sectionRepository = sectionRepository;
+        this.moduleRepository = moduleRepository;
+        this.itemRepository = itemRepository;
+        this.cache = cache;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public RuleTreeCache.Snapshot getTree(UUID ruleId) {
+        return cache.getOrLoad(ruleId, id -> readOnly.execute(status -> load(id)));
+    }
+
+    RuleTreeDTO load(UUID ruleId) {
+        Rule rule = ruleRepository.findById(ruleId)
+                .filter(r -> !Boolean.TRUE.equals(r.getDeleted()))
+                .orElseThrow(() -> new ObjectNotFound("Rule not found: " + ruleId));
+
+        // filtro de soft delete: nós deletados (e o que estiver pendurado neles) ficam de fora
+        List<RuleSection> sections = sectionRepository.findAllByRule_IdOrderBySequenceAsc(ruleId);
+        List<RuleModule> modules = moduleRepository.findAllBySection_Rule_IdOrderByModuleSequenceAsc(ruleId);
+        List<RuleItem> items = itemRepository.findAllByModule_Section_Rule_IdOrderBySequenceAscItemCodeAsc(ruleId);
+
+        // module.section.id / item.module.id / item.parent.id vêm do proxy, sem select
+        Map<UUID, List<RuleModule>> modulesBySection = new HashMap<>();
+        for (RuleModule m : modules) {
+            modulesBySection.computeIfAbsent(m.getSection().getId(), k -> new ArrayList<>()).add(m);
+        }
+        Map<UUID, List<RuleItem>> rootsByModule = new HashMap<>();
+        Map<UUID, List<RuleItem>> childrenByParent = new HashMap<>();
+        for (RuleItem i : items) {
+            if (i.getParent() == null) {
+                rootsByModule.computeIfAbsent(i.getModule().getId(), k -> new ArrayList<>()).add(i);
+            } else {
+                childrenByParent.computeIfAbsent(i.getParent().getId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<RuleTreeSectionDTO> sectionDTOs = sections.stream()
+                .map(s -> new RuleTreeSectionDTO(
+                        s.getId(), s.getCode(), s.getName(), s.getSequence(), s.getActive(),
+                        modulesBySection.getOrDefault(s.getId(), List.of()).stream()
+                                .map(m -> new RuleTreeModuleDTO(
+                                        m.getId(), m.getModuleCode(), m.getModuleName(), m.getModuleSequence(), m.getActive(),
+                                        items(rootsByModule.getOrDefault(m.getId(), List.of()), childrenByParent)))
+                                .toList()))
+                .toList();
+
+        return new RuleTreeDTO(
+                rule.getId(),
+                rule.getCode(),
+                rule.getTitle(),
+                rule.getDescription(),
+                rule.getUpdateOrdinance(),
+                rule.getUpdateOrdinanceDate(),
+                rule.getActive(),
+                sectionDTOs
+        );
+    }
+
+    private static List<RuleTreeItemDTO> items(List<RuleItem> level, Map<UUID, List<RuleItem>> childrenByParent) {
+        return level.stream()
+                .map(i -> new RuleTreeItemDTO(
+                        i.getId(), i.getItemCode(), i.getDescription(), i.getSequence(), i.getActive(),
+                        items(childrenByParent.getOrDefault(i.getId(), List.of()), childrenByParent)))
+                .toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.vectorlabs.exception.InvalidFieldException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor CSV (RFC 4180) linha a linha sobre um Reader: separador ',', campos entre aspas podem
+ * conter vírgula, quebra de linha e aspas escapadas (""). Texto de norma tem tudo isso.
+ */
+final class CsvRowReader {
+
+    private final Reader reader;
+    private int line = 1;
+    private int rowLine;
+    private boolean eof;
+
+    CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Linha (1-based) onde começou a última linha retornada por next(). */
+    int rowLine() {
+        return rowLine;
+    }
+
+    /** Próxima linha de campos, ou null no fim do arquivo. Linhas em branco são puladas. */
+    List<String> next() {
+        try {
+            while (!eof) {
+                List<String> row = readRow();
+                if (row.size() > 1 || !row.get(0).isEmpty()) return row;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> readRow() throws IOException {
+        rowLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                if (quoted) throw new InvalidFieldException("line " + rowLine + ": unterminated quoted field.");
+                eof = true;
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                    afterQuote = true;
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    // "" dentro de campo entre aspas = aspas literal
+                    if (afterQuote) field.append('"');
+                    else if (!field.isEmpty()) throw new InvalidFieldException("line " + rowLine + ": unexpected quote.");
+                    quoted = true;
+                    afterQuote = false;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                }
+                case '\r' -> { }
+                case '\n' -> {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                default -> {
+                    if (afterQuote) throw new InvalidFieldException("line " + rowLine + ": text after closing quote.");
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+}
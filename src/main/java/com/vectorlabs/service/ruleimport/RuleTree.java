@@ -0,0 +1,375 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.vectorlabs.exception.DoubleRegisterException;
+import com.vectorlabs.exception.InvalidFieldException;
+import com.vectorlabs.exception.MissingRequiredFieldException;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Árvore de uma norma (Rule → Section → Module → Item) montada em memória durante a leitura do
+ * arquivo de importação. Toda a validação é feita aqui, com mapas por código, sem consultar o
+ * banco: unicidade (seção/módulo por código e sequence, item por código no módulo) e pai de cada
+ * item resolvido pelo itemCode.
+ *
+ * O estado já gravado da norma entra por attachExisting (poucas consultas, feitas pelo service):
+ * nós com o mesmo código são reaproveitados, não regravados.
+ */
+@Getter
+@Setter
+public final class RuleTree {
+
+    // ---------------- cabeçalho (Rule) ----------------
+    private String code;
+    private String title;
+    private String description;
+    private String updateOrdinance;
+    private LocalDate updateOrdinanceDate;
+
+    /** Id da Rule já gravada com o mesmo código (null = a importação cria). */
+    private UUID ruleId;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, SectionNode> sections = new LinkedHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<Integer, String> sectionSequences = new HashMap<>();
+
+    /** Prefixo das mensagens de erro (ex.: "line 42: " na importação CSV). */
+    @Getter(AccessLevel.NONE)
+    private String location = "";
+
+    public void at(String location) {
+        this.location = location == null ? "" : location + ": ";
+    }
+
+    // =======================
+    // CONSTRUÇÃO (leitura do arquivo)
+    // =======================
+
+    /** Seção pelo código; repetir a mesma seção (linhas do CSV) só vale com os mesmos dados. */
+    public SectionNode section(String code, String name, Integer sequence) {
+        required(code, "sectionCode");
+        maxLength(code, 30, "sectionCode");
+        required(name, "sectionName");
+        maxLength(name, 300, "sectionName");
+        sequence(sequence, "section " + code + " sequence");
+
+        SectionNode node = sections.get(code);
+        if (node != null) {
+            if (!node.name.equals(name) || !node.sequence.equals(sequence)) {
+                throw new InvalidFieldException(location + "section " + code + " declared twice with different name/sequence.");
+            }
+            return node;
+        }
+
+        String owner = sectionSequences.putIfAbsent(sequence, code);
+        if (owner != null) {
+            throw new DoubleRegisterException(location + "section " + code + ": sequence " + sequence + " already used by section " + owner + ".");
+        }
+        node = new SectionNode(code, name, sequence);
+        sections.put(code, node);
+        return node;
+    }
+
+    public ModuleNode module(SectionNode section, String code, String name, Integer sequence) {
+        required(code, "moduleCode");
+        maxLength(code, 50, "moduleCode");
+        required(name, "moduleName");
+        maxLength(name, 300, "moduleName");
+        sequence(sequence, "module " + code + " sequence");
+
+        ModuleNode node = section.modules.get(code);
+        if (node != null) {
+            if (!node.name.equals(name) || !node.sequence.equals(sequence)) {
+                throw new InvalidFieldException(location + "module " + code + " declared twice with different name/sequence.");
+            }
+            return node;
+        }
+
+        String owner = section.moduleSequences.putIfAbsent(sequence, code);
+        if (owner != null) {
+            throw new DoubleRegisterException(location + "module " + code + ": sequence " + sequence + " already used by module " + owner + ".");
+        }
+        node = new ModuleNode(section, code, name, sequence);
+        section.modules.put(code, node);
+        return node;
+    }
+
+    public ItemNode item(ModuleNode module, String code, String parentCode, String description, Integer sequence) {
+        required(code, "itemCode");
+        maxLength(code, 50, "itemCode");
+        required(description, "description");
+        maxLength(description, 4000, "description");
+        if (sequence != null && sequence < 0) {
+            throw new InvalidFieldException(location + "item " + code + " sequence must be >= 0.");
+        }
+
+        String parent = parentCode == null || parentCode.isBlank() ? null : parentCode;
+        if (code.equals(parent)) {
+            throw new InvalidFieldException(location + "item " + code + " cannot be its own parent.");
+        }
+
+        // sem sequence: posição do item no módulo
+        int effectiveSequence = sequence != null ? sequence : module.items.size() + 1;
+        ItemNode node = new ItemNode(module, code, parent, description, effectiveSequence);
+        if (module.items.putIfAbsent(code, node) != null) {
+            throw new DoubleRegisterException(location + "Duplicate RuleItem: itemCode " + code + " repeated in module " + module.code + ".");
+        }
+        return node;
+    }
+
+    /** Total de nós (seções + módulos + itens) lidos do arquivo. */
+    public int size() {
+        int size = 0;
+        for (SectionNode section : sections.values()) {
+            size++;
+            for (ModuleNode module : section.modules.values()) size += 1 + module.items.size();
+        }
+        return size;
+    }
+
+    // =======================
+    // ESTADO JÁ GRAVADO
+    // =======================
+
+    /**
+     * Casa a árvore com o que já existe da norma. itemKeys: (moduleId, itemCode, id, deleted).
+     * Tombstones com o mesmo código seguram a unique constraint: conflito, não reaproveitamento.
+     */
+    public void attachExisting(UUID ruleId, List<RuleSection> existingSections, List<RuleModule> existingModules,
+                               List<Object[]> itemKeys) {
+        this.ruleId = ruleId;
+        this.location = "";
+
+        Map<UUID, SectionNode> sectionsById = new HashMap<>();
+        for (RuleSection section : existingSections) {
+            SectionNode node = sections.get(section.getCode());
+            if (node == null) continue;
+            notDeleted(section.getDeleted(), "section " + section.getCode());
+            node.id = section.getId();
+            node.existing = true;
+            sectionsById.put(section.getId(), node);
+        }
+        for (RuleSection section : existingSections) {
+            SectionNode node = sections.get(sectionSequences.get(section.getSequence()));
+            if (node != null && !node.existing) {
+                throw new DoubleRegisterException("section " + node.code + ": sequence " + section.getSequence()
+                        + " already used by section " + section.getCode() + ".");
+            }
+        }
+
+        Map<UUID, ModuleNode> modulesById = new HashMap<>();
+        for (RuleModule module : existingModules) {
+            SectionNode section = sectionsById.get(module.getSection().getId());
+            ModuleNode node = section == null ? null : section.modules.get(module.getModuleCode());
+            if (node == null) continue;
+            notDeleted(module.getDeleted(), "module " + module.getModuleCode());
+            node.id = module.getId();
+            node.existing = true;
+            modulesById.put(module.getId(), node);
+        }
+        for (RuleModule module : existingModules) {
+            SectionNode section = sectionsById.get(module.getSection().getId());
+            if (section == null) continue;
+            ModuleNode node = section.modules.get(section.moduleSequences.get(module.getModuleSequence()));
+            if (node != null && !node.existing) {
+                throw new DoubleRegisterException("module " + node.code + ": sequence " + module.getModuleSequence()
+                        + " already used by module " + module.getModuleCode() + ".");
+            }
+        }
+
+        for (Object[] key : itemKeys) {
+            ModuleNode module = modulesById.get((UUID) key[0]);
+            if (module == null) continue;
+            String itemCode = (String) key[1];
+            UUID id = (UUID) key[2];
+            ItemNode node = module.items.get(itemCode);
+            if (node != null) {
+                notDeleted((Boolean) key[3], "item " + itemCode);
+                node.id = id;
+                node.existing = true;
+            } else if (!Boolean.TRUE.equals(key[3])) {
+                // só para resolver parentCode de itens novos
+                module.existingItems.put(itemCode, id);
+            }
+        }
+    }
+
+    // =======================
+    // PLANO DE GRAVAÇÃO
+    // =======================
+
+    /**
+     * Nós a gravar, em ordem de dependência: seções, módulos e itens por profundidade (pai antes
+     * do filho). Resolve parentCode de cada item novo; ciclo ou pai inexistente é erro.
+     */
+    public List<Node> pending() {
+        List<Node> out = new ArrayList<>();
+        List<ItemNode> items = new ArrayList<>();
+
+        for (SectionNode section : sections.values()) {
+            if (!section.existing) out.add(section);
+            for (ModuleNode module : section.modules.values()) {
+                if (!module.existing) out.add(module);
+                for (ItemNode item : module.items.values()) {
+                    if (!item.existing) {
+                        resolveParent(item);
+                        items.add(item);
+                    }
+                }
+            }
+        }
+
+        Map<ItemNode, Integer> depth = new HashMap<>();
+        for (ItemNode item : items) depth(item, depth, new HashSet<>());
+        items.sort(Comparator.comparingInt(depth::get)); // estável: mantém a ordem do arquivo
+        out.addAll(items);
+        return out;
+    }
+
+    private void resolveParent(ItemNode item) {
+        if (item.parentCode == null) return;
+
+        ItemNode parent = item.module.items.get(item.parentCode);
+        if (parent != null) {
+            item.parent = parent;
+            return;
+        }
+        UUID existing = item.module.existingItems.get(item.parentCode);
+        if (existing == null) {
+            throw new InvalidFieldException("item " + item.code + ": parent " + item.parentCode
+                    + " not found in module " + item.module.code + ".");
+        }
+        item.parentId = existing;
+    }
+
+    private int depth(ItemNode item, Map<ItemNode, Integer> depth, Set<ItemNode> path) {
+        Integer known = depth.get(item);
+        if (known != null) return known;
+        if (item.parent == null || item.parent.existing) {
+            depth.put(item, 0);
+            return 0;
+        }
+        if (!path.add(item)) {
+            throw new InvalidFieldException("item " + item.code + ": parent cycle in module " + item.module.code + ".");
+        }
+        int d = depth(item.parent, depth, path) + 1;
+        depth.put(item, d);
+        return d;
+    }
+
+    // =======================
+    // HELPERS
+    // =======================
+
+    private void required(String value, String field) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new MissingRequiredFieldException(location + field + " is required.");
+        }
+    }
+
+    private void maxLength(String value, int max, String field) {
+        if (value.length() > max) {
+            throw new InvalidFieldException(location + field + " max length is " + max + ".");
+        }
+    }
+
+    private void sequence(Integer value, String field) {
+        if (value == null) throw new MissingRequiredFieldException(location + field + " is required.");
+        if (value < 0) throw new InvalidFieldException(location + field + " must be >= 0.");
+    }
+
+    private static void notDeleted(Boolean deleted, String what) {
+        if (Boolean.TRUE.equals(deleted)) {
+            throw new DoubleRegisterException(what + " exists as deleted; restore it before importing.");
+        }
+    }
+
+    // =======================
+    // NÓS
+    // =======================
+
+    public sealed interface Node permits SectionNode, ModuleNode, ItemNode {
+    }
+
+    /** id: preenchido quando o nó já existe ou depois de gravado. entity: só durante o lote que grava o nó. */
+    @Getter
+    public static final class SectionNode implements Node {
+        private final String code;
+        private final String name;
+        private final Integer sequence;
+        private final Map<String, ModuleNode> modules = new LinkedHashMap<>();
+        private final Map<Integer, String> moduleSequences = new HashMap<>();
+        @Setter private UUID id;
+        @Setter private RuleSection entity;
+        private boolean existing;
+
+        private SectionNode(String code, String name, Integer sequence) {
+            this.code = code;
+            this.name = name;
+            this.sequence = sequence;
+        }
+    }
+
+    @Getter
+    public static final class ModuleNode implements Node {
+        private final SectionNode section;
+        private final String code;
+        private final String name;
+        private final Integer sequence;
+        private final Map<String, ItemNode> items = new LinkedHashMap<>();
+        private final Map<String, UUID> existingItems = new HashMap<>();
+        @Setter private UUID id;
+        @Setter private RuleModule entity;
+        private boolean existing;
+
+        private ModuleNode(SectionNode section, String code, String name, Integer sequence) {
+            this.section = section;
+            this.code = code;
+            this.name = name;
+            this.sequence = sequence;
+        }
+    }
+
+    @Getter
+    public static final class ItemNode implements Node {
+        private final ModuleNode module;
+        private final String code;
+        private final String parentCode;
+        private final String description;
+        private final int sequence;
+        /** Pai no próprio arquivo (novo ou já existente)... */
+        private ItemNode parent;
+        /** ...ou só gravado no banco. */
+        private UUID parentId;
+        @Setter private UUID id;
+        @Setter private RuleItem entity;
+        private boolean existing;
+
+        private ItemNode(ModuleNode module, String code, String parentCode, String description, int sequence) {
+            this.module = module;
+            this.code = code;
+            this.parentCode = parentCode;
+            this.description = description;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.vectorlabs.exception.InvalidFieldException;
+import com.vectorlabs.exception.MissingRequiredFieldException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV da árvore, uma linha por item (seção e módulo repetidos em cada linha), lido linha a linha:
+ *
+ * section_code,section_name,section_sequence,module_code,module_name,module_sequence,item_code,parent_code,description,item_sequence
+ *
+ * A ordem das colunas vem do cabeçalho; parent_code e item_sequence podem ficar vazios. O
+ * cabeçalho da Rule (código, título) vem fora do arquivo.
+ */
+@Component
+public class RuleTreeCsvReader {
+
+    static final List<String> COLUMNS = List.of(
+            "section_code", "section_name", "section_sequence",
+            "module_code", "module_name", "module_sequence",
+            "item_code", "parent_code", "description", "item_sequence"
+    );
+
+    public RuleTree read(InputStream in, String ruleCode, String ruleTitle) {
+        RuleTree tree = new RuleTree();
+        tree.setCode(ruleCode);
+        tree.setTitle(ruleTitle);
+
+        CsvRowReader csv = new CsvRowReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) throw new MissingRequiredFieldException("CSV is empty.");
+        Map<String, Integer> col = columns(header);
+
+        List<String> row;
+        while ((row = csv.next()) != null) {
+            tree.at("line " + csv.rowLine());
+            if (row.size() != header.size()) {
+                throw new InvalidFieldException("line " + csv.rowLine() + ": expected " + header.size()
+                        + " columns, found " + row.size() + ".");
+            }
+
+            var section = tree.section(text(row, col, "section_code"), text(row, col, "section_name"),
+                    number(row, col, "section_sequence", csv));
+            var module = tree.module(section, text(row, col, "module_code"), text(row, col, "module_name"),
+                    number(row, col, "module_sequence", csv));
+            tree.item(module, text(row, col, "item_code"), text(row, col, "parent_code"),
+                    text(row, col, "description"), number(row, col, "item_sequence", csv));
+        }
+        tree.at(null);
+        return tree;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> col = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // BOM do Excel no primeiro nome de coluna
+            col.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(), i);
+        }
+        for (String name : COLUMNS) {
+            if (!col.containsKey(name)) throw new MissingRequiredFieldException("CSV column " + name + " is required.");
+        }
+        return col;
+    }
+
+    private static String text(List<String> row, Map<String, Integer> col, String name) {
+        String value = row.get(col.get(name)).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer number(List<String> row, Map<String, Integer> col, String name, CsvRowReader csv) {
+        String value = text(row, col, name);
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidFieldException("line " + csv.rowLine() + ": " + name + " must be a number.");
+        }
+    }
+}
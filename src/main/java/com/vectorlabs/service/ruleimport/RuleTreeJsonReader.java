@@ -0,0 +1,81 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorlabs.dto.rule.ruleimport.ImportRuleItemDTO;
+import com.vectorlabs.dto.rule.ruleimport.ImportRuleModuleDTO;
+import com.vectorlabs.dto.rule.ruleimport.ImportRuleSectionDTO;
+import com.vectorlabs.exception.InvalidFieldException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JSON da árvore lido em streaming (JsonParser): só uma seção por vez vira objeto; o corpo
+ * inteiro nunca é carregado como String/árvore.
+ *
+ * { "code", "title", "description", "updateOrdinance", "updateOrdinanceDate",
+ *   "sections": [ { "code", "name", "sequence",
+ *       "modules": [ { "code", "name", "sequence",
+ *           "items": [ { "code", "parentCode", "description", "sequence" } ] } ] } ] }
+ */
+@Component
+@RequiredArgsConstructor
+public class RuleTreeJsonReader {
+
+    private final ObjectMapper objectMapper;
+
+    public RuleTree read(InputStream in) {
+        RuleTree tree = new RuleTree();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidFieldException("Rule import must be a JSON object.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "code" -> tree.setCode(parser.getValueAsString());
+                    case "title" -> tree.setTitle(parser.getValueAsString());
+                    case "description" -> tree.setDescription(parser.getValueAsString());
+                    case "updateOrdinance" -> tree.setUpdateOrdinance(parser.getValueAsString());
+                    case "updateOrdinanceDate" -> tree.setUpdateOrdinanceDate(parser.readValueAs(LocalDate.class));
+                    case "sections" -> readSections(parser, tree);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidFieldException("Invalid rule import JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tree;
+    }
+
+    private void readSections(JsonParser parser, RuleTree tree) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new InvalidFieldException("sections must be an array.");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            ImportRuleSectionDTO dto = parser.readValueAs(ImportRuleSectionDTO.class);
+            var section = tree.section(dto.code(), dto.name(), dto.sequence());
+            for (ImportRuleModuleDTO m : orEmpty(dto.modules())) {
+                var module = tree.module(section, m.code(), m.name(), m.sequence());
+                for (ImportRuleItemDTO i : orEmpty(m.items())) {
+                    tree.item(module, i.code(), i.parentCode(), i.description(), i.sequence());
+                }
+            }
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,103 @@
+package com.vectorlabs.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapa em memória com expiração por entrada e limite de tamanho, base dos caches
+ * locais (PrincipalCache, ClientCredentialCache, VerifiedTokenCache, RuleTreeCache).
+ * maxEntries <= 0 desliga: put não guarda nada.
+ */
+public final class BoundedTtlMap<K, V> {
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public BoundedTtlMap(int maxEntries, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /** Valor ainda válido, ou null; o vencido sai do mapa. */
+    public V get(K key) {
+        if (key == null) return null;
+
+        Entry<V> cached = entries.get(key);
+        if (cached == null) return null;
+
+        if (!cached.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached.value();
+    }
+
+    public void put(K key, V value, Instant expiresAt) {
+        if (maxEntries <= 0 || key == null || value == null || expiresAt == null) return;
+
+        Instant now = clock.instant();
+        if (!expiresAt.isAfter(now)) return;
+
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictOverflow(now);
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void remove(K key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public void removeNowAndAfterCommit(K key) {
+        if (key != null) runNowAndAfterCommit(() -> entries.remove(key));
+    }
+
+    /**
+     * Roda agora e de novo ao fim da transação corrente: um request concorrente pode ter
+     * recarregado o estado antigo entre a escrita e o commit.
+     */
+    public static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Primeiro remove os vencidos; se ainda estiver cheio, libera ~10% da capacidade.
+    private void evictOverflow(Instant now) {
+        entries.values().removeIf(e -> !e.expiresAt().isAfter(now));
+
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<K> it = entries.keySet().iterator();
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
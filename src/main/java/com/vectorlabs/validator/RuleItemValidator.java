@@ -9,6 +9,13 @@ import com.vectorlabs.repository.RuleItemRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 public class RuleItemValidator {
@@ -17,20 +24,24 @@ public class RuleItemValidator {
 
     // CREATE
     public void validateCreation(RuleItem entity) {
+        validateFields(entity);
+        assertUniqueOnCreate(entity);
+    }
+    // CREATE (lote): mesmas regras do unitário; unicidade com 1 consulta por módulo, não 1 por item
+    public void validateBulkCreation(List<RuleItem> entities) {
+        entities.forEach(this::validateFields);
 
-        if (entity.getModule() == null) {
-            throw new MissingRequiredFieldException("RuleModule is required.");
-        }
-        if (!notBlank(entity.getItemCode())) {
-            throw new MissingRequiredFieldException("itemCode is required.");
-        }
-        if (entity.getItemCode().length() > 50) {
-            throw new InvalidFieldException("itemCode max length is 50.");
-        }
-        if (entity.getDescription() != null && entity.getDescription().length() > 4000) {
-            throw new MissingRequiredFieldException("description max length is 4000.");
+        Map<UUID, Set<String>> codesByModule = new HashMap<>();
+        for (RuleItem entity : entities) {
+            Set<String> codes = codesByModule.computeIfAbsent(entity.getModule().getId(),
+                    moduleId -> new HashSet<>(repository.findItemCodesByModuleId(moduleId)));
+            // add == false: já existe no módulo ou repetido dentro do próprio lote
+            if (!codes.add(entity.getItemCode())) {
+                throw new DoubleRegisterException(
+                        "Duplicate RuleItem: itemCode " + entity.getItemCode() + " already exists in this module."
+                );
+            }
         }
-        assertUniqueOnCreate(entity);
     }
     // UPDATE (PATCH)
     public void validateUpdate(RuleItem before, UpdateRuleItemDTO dto) {
@@ -57,6 +68,22 @@ public class RuleItemValidator {
         }
     }
 
+    private void validateFields(RuleItem entity) {
+
+        if (entity.getModule() == null) {
+            throw new MissingRequiredFieldException("RuleModule is required.");
+        }
+        if (!notBlank(entity.getItemCode())) {
+            throw new MissingRequiredFieldException("itemCode is required.");
+        }
+        if (entity.getItemCode().length() > 50) {
+            throw new InvalidFieldException("itemCode max length is 50.");
+        }
+        if (entity.getDescription() != null && entity.getDescription().length() > 4000) {
+            throw new MissingRequiredFieldException("description max length is 4000.");
+        }
+    }
+
     private boolean notBlank(String s) {
         return s != null && !s.trim().isEmpty();
     }
@@ -0,0 +1,5 @@
+-- Ordem por pagamento no inbox (PaymentWebhookInboxRepository.findReadyInPaymentOrder / existsOlderPending):
+-- "existe PENDING mais antigo do mesmo provider_payment_id?" por linha despachada. Parcial como
+-- ix_payment_webhook_inbox_pending: só as pendentes, as processadas ficam fora.
+CREATE INDEX IF NOT EXISTS ix_payment_webhook_inbox_pending_payment
+    ON payment_webhook_inbox (provider_payment_id, received_at) WHERE status = 'PENDING';
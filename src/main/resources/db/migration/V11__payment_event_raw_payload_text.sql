@@ -0,0 +1,9 @@
+-- payment_event.raw_payload: oid -> text, como payment_webhook_inbox.raw_payload (V6).
+-- Com oid o large object é criado no bind, antes do ON CONFLICT DO NOTHING (PaymentEventInsertsImpl):
+-- cada entrega duplicada descartada deixava um órfão em pg_largeobject.
+ALTER TABLE payment_event
+    ALTER COLUMN raw_payload TYPE TEXT USING convert_from(lo_get(raw_payload), 'UTF8');
+
+-- raw_payload era a única coluna oid do schema: o que sobrou em pg_largeobject é payload já
+-- copiado acima ou órfão de duplicata
+SELECT lo_unlink(oid) FROM pg_largeobject_metadata;
@@ -0,0 +1,298 @@
+-- Baseline do schema (antes gerado por ddl-auto=update).
+--
+-- Bancos que já existiam são marcados na versão 1 (baseline-on-migrate) e não executam
+-- este script; banco novo cria tudo aqui. Deve bater com as entidades: o Hibernate
+-- roda com ddl-auto=validate.
+
+-- =================== USUÁRIOS / AUTH ===================
+
+CREATE TABLE app_user (
+    id                UUID         NOT NULL,
+    email             VARCHAR(200) NOT NULL,
+    password          VARCHAR(120),
+    auth_provider     VARCHAR(20)  NOT NULL CHECK (auth_provider IN ('LOCAL', 'GOOGLE', 'GITHUB')),
+    provider_user_id  VARCHAR(120),
+    name              VARCHAR(150),
+    picture_url       VARCHAR(500),
+    email_verified    BOOLEAN,
+    last_login_at     TIMESTAMP(6) WITH TIME ZONE,
+    cpf               VARCHAR(14),
+    cnpj              VARCHAR(18),
+    street            VARCHAR(150),
+    number            VARCHAR(20),
+    complement        VARCHAR(150),
+    district          VARCHAR(100),
+    city              VARCHAR(100),
+    state             VARCHAR(2),
+    zip_code          VARCHAR(20),
+    country           VARCHAR(100),
+    enabled           BOOLEAN      NOT NULL,
+    created_at        TIMESTAMP(6) WITH TIME ZONE,
+    updated_at        TIMESTAMP(6) WITH TIME ZONE,
+    created_by        UUID,
+    updated_by        UUID,
+    deleted           BOOLEAN      NOT NULL,
+    deleted_at        TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by        UUID,
+    CONSTRAINT pk_app_user PRIMARY KEY (id),
+    CONSTRAINT uk_app_user_email UNIQUE (email),
+    CONSTRAINT uk_app_user_provider UNIQUE (auth_provider, provider_user_id),
+    CONSTRAINT uk_app_user_cpf UNIQUE (cpf),
+    CONSTRAINT uk_app_user_cnpj UNIQUE (cnpj)
+);
+
+CREATE TABLE app_user_roles (
+    user_id UUID        NOT NULL,
+    role    VARCHAR(30) NOT NULL CHECK (role IN ('ADMIN', 'USER', 'CLIENT')),
+    CONSTRAINT pk_app_user_roles PRIMARY KEY (user_id, role),
+    CONSTRAINT fk_app_user_roles_user FOREIGN KEY (user_id) REFERENCES app_user (id)
+);
+
+CREATE TABLE client (
+    id                 UUID         NOT NULL,
+    client_id          VARCHAR(200) NOT NULL,
+    client_secret_hash VARCHAR(255) NOT NULL,
+    scopes             VARCHAR(500) NOT NULL,
+    redirect_uri       VARCHAR(500),
+    enabled            BOOLEAN      NOT NULL,
+    last_used_at       TIMESTAMP(6) WITH TIME ZONE,
+    created_at         TIMESTAMP(6) WITH TIME ZONE,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE,
+    created_by         UUID,
+    updated_by         UUID,
+    deleted            BOOLEAN      NOT NULL,
+    deleted_at         TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by         UUID,
+    CONSTRAINT pk_client PRIMARY KEY (id),
+    CONSTRAINT uk_client_client_id UNIQUE (client_id)
+);
+
+CREATE TABLE revoked_token (
+    token_id   VARCHAR(64) NOT NULL,
+    kind       VARCHAR(16) NOT NULL CHECK (kind IN ('TOKEN', 'FAMILY')),
+    family_id  VARCHAR(64),
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revoked_token PRIMARY KEY (token_id)
+);
+
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_token (revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
+
+-- =================== CLIENTES / LOCAIS ===================
+
+CREATE TABLE client_companies (
+    id                 UUID         NOT NULL,
+    user_id            UUID         NOT NULL,
+    address_street     VARCHAR(150),
+    address_number     VARCHAR(20),
+    address_complement VARCHAR(150),
+    address_district   VARCHAR(100),
+    address_city       VARCHAR(100),
+    address_state      VARCHAR(2),
+    address_zip_code   VARCHAR(20),
+    address_country    VARCHAR(100),
+    corporate_name     VARCHAR(200) NOT NULL,
+    trade_name         VARCHAR(200),
+    cnpj               VARCHAR(18),
+    phone              VARCHAR(20),
+    email              VARCHAR(150),
+    active             BOOLEAN      NOT NULL,
+    created_at         TIMESTAMP(6) WITH TIME ZONE,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE,
+    created_by         UUID,
+    updated_by         UUID,
+    deleted            BOOLEAN      NOT NULL,
+    deleted_at         TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by         UUID,
+    CONSTRAINT pk_client_companies PRIMARY KEY (id),
+    CONSTRAINT fk_client_companies_user FOREIGN KEY (user_id) REFERENCES app_user (id)
+);
+
+CREATE INDEX idx_client_companies_user ON client_companies (user_id);
+CREATE INDEX idx_client_companies_cnpj ON client_companies (cnpj);
+CREATE INDEX idx_client_companies_active ON client_companies (active);
+CREATE INDEX idx_client_companies_deleted ON client_companies (deleted);
+
+CREATE TABLE locations (
+    id          UUID         NOT NULL,
+    company_id  UUID         NOT NULL,
+    street      VARCHAR(150),
+    number      VARCHAR(20),
+    complement  VARCHAR(150),
+    district    VARCHAR(100),
+    city        VARCHAR(100),
+    state       VARCHAR(2),
+    zip_code    VARCHAR(20),
+    country     VARCHAR(100),
+    name        VARCHAR(150) NOT NULL,
+    code        VARCHAR(50),
+    type        VARCHAR(255) CHECK (type IN (
+        'INDUSTRIAL_PLANT', 'FACTORY', 'WORKSHOP', 'PRODUCTION_LINE', 'WAREHOUSE', 'DISTRIBUTION_CENTER',
+        'LABORATORY', 'MAINTENANCE_AREA', 'COMMERCIAL_ROOM', 'OFFICE', 'SHOPPING_MALL', 'STORE', 'SUPERMARKET',
+        'RESTAURANT', 'KITCHEN', 'HOTEL', 'HOSPITAL', 'CLINIC', 'SCHOOL', 'UNIVERSITY', 'TRAINING_CENTER',
+        'CONSTRUCTION_SITE', 'TEMPORARY_SITE', 'PORT_AREA', 'AIRPORT_AREA', 'TRANSPORT_TERMINAL',
+        'RESIDENTIAL_BUILDING', 'CONDOMINIUM', 'TECHNICAL_ROOM', 'MACHINE_ROOM', 'STORAGE_AREA', 'OTHER')),
+    description TEXT,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    created_by  UUID,
+    updated_by  UUID,
+    deleted     BOOLEAN      NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by  UUID,
+    CONSTRAINT pk_locations PRIMARY KEY (id),
+    CONSTRAINT fk_locations_company FOREIGN KEY (company_id) REFERENCES client_companies (id)
+);
+
+CREATE INDEX idx_locations_company ON locations (company_id);
+
+CREATE TABLE machines (
+    id           UUID         NOT NULL,
+    type         VARCHAR(128) NOT NULL,
+    manufacturer VARCHAR(255),
+    model        VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_machines PRIMARY KEY (id),
+    CONSTRAINT uk_machines_type_manufacturer_model UNIQUE (type, manufacturer, model)
+);
+
+-- =================== NORMAS (NR) ===================
+
+CREATE TABLE rules (
+    id                    UUID          NOT NULL,
+    code                  VARCHAR(50)   NOT NULL,
+    title                 VARCHAR(200)  NOT NULL,
+    description           VARCHAR(2000),
+    update_ordinance      VARCHAR(200),
+    update_ordinance_date DATE,
+    active                BOOLEAN       NOT NULL,
+    created_at            TIMESTAMP(6) WITH TIME ZONE,
+    updated_at            TIMESTAMP(6) WITH TIME ZONE,
+    created_by            UUID,
+    updated_by            UUID,
+    deleted               BOOLEAN       NOT NULL,
+    deleted_at            TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by            UUID,
+    CONSTRAINT pk_rules PRIMARY KEY (id),
+    CONSTRAINT uk_rules_code UNIQUE (code)
+);
+
+CREATE TABLE rule_sections (
+    id         UUID         NOT NULL,
+    rule_id    UUID         NOT NULL,
+    code       VARCHAR(30)  NOT NULL,
+    name       VARCHAR(400) NOT NULL,
+    sequence   INTEGER      NOT NULL,
+    active     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    created_by UUID,
+    updated_by UUID,
+    deleted    BOOLEAN      NOT NULL,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by UUID,
+    CONSTRAINT pk_rule_sections PRIMARY KEY (id),
+    CONSTRAINT uk_rulesection_rule_code UNIQUE (rule_id, code),
+    CONSTRAINT uk_rulesection_rule_sequence UNIQUE (rule_id, sequence),
+    CONSTRAINT fk_rule_sections_rule FOREIGN KEY (rule_id) REFERENCES rules (id)
+);
+
+CREATE INDEX ix_rulesection_rule_sequence ON rule_sections (rule_id, sequence);
+CREATE INDEX ix_rulesection_rule_code ON rule_sections (rule_id, code);
+
+CREATE TABLE rule_modules (
+    id              UUID         NOT NULL,
+    section_id      UUID         NOT NULL,
+    module_code     VARCHAR(50)  NOT NULL,
+    module_name     VARCHAR(300) NOT NULL,
+    module_sequence INTEGER      NOT NULL,
+    active          BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE,
+    created_by      UUID,
+    updated_by      UUID,
+    deleted         BOOLEAN      NOT NULL,
+    deleted_at      TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by      UUID,
+    CONSTRAINT pk_rule_modules PRIMARY KEY (id),
+    CONSTRAINT uk_rulemodule_section_code UNIQUE (section_id, module_code),
+    CONSTRAINT fk_rule_modules_section FOREIGN KEY (section_id) REFERENCES rule_sections (id)
+);
+
+CREATE INDEX ix_rulemodule_section_sequence ON rule_modules (section_id, module_sequence);
+
+CREATE TABLE rule_items (
+    id          UUID          NOT NULL,
+    module_id   UUID          NOT NULL,
+    parent_id   UUID,
+    item_code   VARCHAR(50)   NOT NULL,
+    description VARCHAR(8000) NOT NULL,
+    sequence    INTEGER       NOT NULL,
+    active      BOOLEAN       NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    created_by  UUID,
+    updated_by  UUID,
+    deleted     BOOLEAN       NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by  UUID,
+    CONSTRAINT pk_rule_items PRIMARY KEY (id),
+    CONSTRAINT uk_ruleitem_module_code UNIQUE (module_id, item_code),
+    CONSTRAINT fk_rule_items_module FOREIGN KEY (module_id) REFERENCES rule_modules (id),
+    CONSTRAINT fk_rule_items_parent FOREIGN KEY (parent_id) REFERENCES rule_items (id)
+);
+
+CREATE INDEX ix_ruleitem_module_sequence ON rule_items (module_id, sequence);
+CREATE INDEX ix_ruleitem_parent ON rule_items (parent_id);
+CREATE INDEX ix_ruleitem_item_code ON rule_items (item_code);
+
+CREATE TABLE checklist_templates (
+    id          UUID          NOT NULL,
+    user_id     UUID          NOT NULL,
+    rule_id     UUID          NOT NULL,
+    title       VARCHAR(200)  NOT NULL,
+    description VARCHAR(2000),
+    active      BOOLEAN       NOT NULL,
+    is_default  BOOLEAN       NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    created_by  UUID,
+    updated_by  UUID,
+    deleted     BOOLEAN       NOT NULL,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE,
+    deleted_by  UUID,
+    CONSTRAINT pk_checklist_templates PRIMARY KEY (id),
+    CONSTRAINT fk_checklist_templates_user FOREIGN KEY (user_id) REFERENCES app_user (id),
+    CONSTRAINT fk_checklist_templates_rule FOREIGN KEY (rule_id) REFERENCES rules (id)
+);
+
+-- =================== PAGAMENTOS ===================
+
+CREATE TABLE payment_intent (
+    id                     UUID           NOT NULL,
+    inspection_id          UUID           NOT NULL,
+    machine_count_snapshot INTEGER        NOT NULL,
+    report_fee             NUMERIC(12, 2) NOT NULL,
+    price_per_machine      NUMERIC(12, 2) NOT NULL,
+    total_amount           NUMERIC(12, 2) NOT NULL,
+    provider               VARCHAR(30)    NOT NULL CHECK (provider IN ('MERCADO_PAGO')),
+    provider_payment_id    VARCHAR(120),
+    provider_checkout_url  VARCHAR(500),
+    status                 VARCHAR(20)    NOT NULL CHECK (status IN ('PENDING', 'PAID', 'FAILED', 'CANCELED', 'REFUNDED')),
+    created_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    paid_at                TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_payment_intent PRIMARY KEY (id)
+);
+
+-- raw_payload: @Lob String -> oid (large object), mesmo tipo que o Hibernate criava
+CREATE TABLE payment_event (
+    id                  UUID         NOT NULL,
+    provider            VARCHAR(30)  NOT NULL CHECK (provider IN ('MERCADO_PAGO')),
+    provider_event_id   VARCHAR(120) NOT NULL,
+    provider_payment_id VARCHAR(120),
+    status              VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'PAID', 'FAILED', 'CANCELED', 'REFUNDED')),
+    raw_payload         OID          NOT NULL,
+    received_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_payment_event PRIMARY KEY (id),
+    CONSTRAINT uk_payment_event_provider_event UNIQUE (provider, provider_event_id)
+);
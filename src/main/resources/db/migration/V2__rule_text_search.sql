@@ -0,0 +1,35 @@
+-- Busca textual sobre o corpus das NRs (rules, rule_sections, rule_modules, rule_items).
+--
+-- * portuguese_unaccent: stemming em português + unaccent ("máquinas" ~ "maquina").
+-- * GIN em to_tsvector(...) por tabela: as expressões abaixo precisam ser IDÊNTICAS às usadas
+--   em RuleItemRepository.searchText e RuleTextSearchRepository, senão o índice não é usado.
+-- * GIN trigram em lower(description) / lower(item_code): atende os filtros ILIKE '%q%'
+--   que já existiam (RuleItemSpecs.descriptionContains / itemCodeContains).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portuguese_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION portuguese_unaccent (COPY = pg_catalog.portuguese);
+        ALTER TEXT SEARCH CONFIGURATION portuguese_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS ix_ruleitem_fts
+    ON rule_items USING gin (to_tsvector('portuguese_unaccent', item_code || ' ' || description));
+CREATE INDEX IF NOT EXISTS ix_ruleitem_description_trgm
+    ON rule_items USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_ruleitem_item_code_trgm
+    ON rule_items USING gin (lower(item_code) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_rulemodule_fts
+    ON rule_modules USING gin (to_tsvector('portuguese_unaccent', module_code || ' ' || module_name));
+
+CREATE INDEX IF NOT EXISTS ix_rulesection_fts
+    ON rule_sections USING gin (to_tsvector('portuguese_unaccent', code || ' ' || name));
+
+CREATE INDEX IF NOT EXISTS ix_rules_fts
+    ON rules USING gin (to_tsvector('portuguese_unaccent', code || ' ' || title || ' ' || coalesce(description, '')));
@@ -0,0 +1,57 @@
+-- Índices de expressão para os filtros gerados pelas *Specs.
+--
+-- Os @Index das entidades ficam na coluna crua; os filtros comparam lower(coluna), então só
+-- um índice sobre a MESMA expressão pode ser usado:
+-- * lower(col) = ?        -> btree em lower(col)
+-- * lower(col) LIKE '%q%' -> GIN trigram em lower(col) (pg_trgm, criado em V2)
+--
+-- Ficam de fora: colunas de UF (2 caracteres, sem trigramas úteis) e a tabela rules
+-- (poucas dezenas de linhas, o seq scan é o plano certo).
+
+-- AppUserSpecs (emailEquals, emailLike, nameLike, address*Like)
+-- e AppUserRepository.findByEmailIgnoreCase / existsByEmailIgnoreCase
+CREATE INDEX IF NOT EXISTS ix_app_user_email_lower ON app_user (lower(email));
+CREATE INDEX IF NOT EXISTS ix_app_user_email_trgm ON app_user USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_app_user_name_trgm ON app_user USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_app_user_city_trgm ON app_user USING gin (lower(city) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_app_user_country_trgm ON app_user USING gin (lower(country) gin_trgm_ops);
+
+-- ClientCompanySpecs
+CREATE INDEX IF NOT EXISTS ix_client_companies_corporate_name_trgm
+    ON client_companies USING gin (lower(corporate_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_client_companies_trade_name_trgm
+    ON client_companies USING gin (lower(trade_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_client_companies_email_trgm
+    ON client_companies USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_client_companies_phone_trgm
+    ON client_companies USING gin (lower(phone) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_client_companies_city_lower
+    ON client_companies (lower(address_city));
+
+-- LocationSpecs
+CREATE INDEX IF NOT EXISTS ix_locations_name_trgm ON locations USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_locations_code_trgm ON locations USING gin (lower(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_locations_description_trgm ON locations USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_locations_street_trgm ON locations USING gin (lower(street) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_locations_city_trgm ON locations USING gin (lower(city) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_locations_zip_code_trgm ON locations USING gin (lower(zip_code) gin_trgm_ops);
+
+-- MachineSpecs (hasType/typeLike, ...) e MachineRepository.existsByType...IgnoreCase
+CREATE INDEX IF NOT EXISTS ix_machines_identity_lower
+    ON machines (lower(type), lower(manufacturer), lower(model));
+CREATE INDEX IF NOT EXISTS ix_machines_type_trgm ON machines USING gin (lower(type) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_machines_manufacturer_trgm ON machines USING gin (lower(manufacturer) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_machines_model_trgm ON machines USING gin (lower(model) gin_trgm_ops);
+
+-- ChecklistTemplateSpecs
+CREATE INDEX IF NOT EXISTS ix_checklist_templates_title_trgm
+    ON checklist_templates USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_checklist_templates_description_trgm
+    ON checklist_templates USING gin (lower(description) gin_trgm_ops);
+
+-- RuleSectionSpecs / RuleModuleSpecs (RuleItemSpecs já coberto em V2)
+CREATE INDEX IF NOT EXISTS ix_rulesection_code_trgm ON rule_sections USING gin (lower(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_rulesection_name_trgm ON rule_sections USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_rulemodule_code_trgm ON rule_modules USING gin (lower(module_code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_rulemodule_name_trgm ON rule_modules USING gin (lower(module_name) gin_trgm_ops);
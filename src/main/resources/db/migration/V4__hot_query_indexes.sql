@@ -0,0 +1,21 @@
+-- Índices das consultas quentes que não existiam (ou só existiam quando o ddl-auto=update
+-- chegava a criá-los). IF NOT EXISTS: bancos antigos podem já ter parte deles.
+
+-- keyset /scroll de rule_items (RuleItem @Index ix_ruleitem_created_at_id)
+CREATE INDEX IF NOT EXISTS ix_ruleitem_created_at_id ON rule_items (created_at, id);
+
+-- PaymentIntentRepository.findTopByInspectionIdOrderByCreatedAtDesc / countByInspectionIdAndStatus
+CREATE INDEX IF NOT EXISTS ix_payment_intent_inspection_created
+    ON payment_intent (inspection_id, created_at DESC);
+
+-- webhook / reconciliação: findByProviderAndProviderPaymentId
+CREATE INDEX IF NOT EXISTS ix_payment_intent_provider_payment
+    ON payment_intent (provider, provider_payment_id);
+
+-- PaymentEventRepository.countByProviderAndProviderPaymentId
+CREATE INDEX IF NOT EXISTS ix_payment_event_provider_payment
+    ON payment_event (provider, provider_payment_id);
+
+-- ChecklistTemplateSpecs.byUserId / byRuleId (FKs sem índice)
+CREATE INDEX IF NOT EXISTS ix_checklist_templates_user ON checklist_templates (user_id);
+CREATE INDEX IF NOT EXISTS ix_checklist_templates_rule ON checklist_templates (rule_id);
@@ -0,0 +1,42 @@
+-- Soft delete: o filtro automático de Auditable (deleted = false) entra em toda consulta
+-- JPQL/Criteria, então os índices das leituras quentes só precisam cobrir as linhas vivas.
+-- Índice parcial WHERE deleted = false: menor, não carrega tombstones e casa com o predicado
+-- que o Hibernate gera.
+--
+-- idx_client_companies_deleted (btree no boolean) sai: com ~70% de linhas vivas ele nunca é
+-- seletivo o bastante para ser escolhido e só custa escrita.
+-- Os índices completos das FKs ficam (checagem de FK e lookups por id não filtram deleted).
+
+DROP INDEX IF EXISTS idx_client_companies_deleted;
+
+-- ClientCompanySpecs.byUserId (+ keyset por created_at, id) e eqCnpj
+CREATE INDEX IF NOT EXISTS ix_client_companies_user_live
+    ON client_companies (user_id, created_at, id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_client_companies_cnpj_live
+    ON client_companies (cnpj) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_client_companies_created_live
+    ON client_companies (created_at, id) WHERE deleted = false;
+
+-- LocationSpecs.byClientCompanyId
+CREATE INDEX IF NOT EXISTS ix_locations_company_live
+    ON locations (company_id, created_at, id) WHERE deleted = false;
+
+-- ChecklistTemplateSpecs.byUserId
+CREATE INDEX IF NOT EXISTS ix_checklist_templates_user_live
+    ON checklist_templates (user_id, created_at, id) WHERE deleted = false;
+
+-- árvore da NR: filhos por pai na ordem de exibição
+CREATE INDEX IF NOT EXISTS ix_rulesection_rule_live
+    ON rule_sections (rule_id, sequence) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_rulemodule_section_live
+    ON rule_modules (section_id, module_sequence) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_ruleitem_module_live
+    ON rule_items (module_id, sequence) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_ruleitem_created_live
+    ON rule_items (created_at, id) WHERE deleted = false;
+
+-- AppUserSpecs.emailEquals e listagem keyset de usuários
+CREATE INDEX IF NOT EXISTS ix_app_user_email_lower_live
+    ON app_user (lower(email)) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS ix_app_user_created_live
+    ON app_user (created_at, id) WHERE deleted = false;
@@ -0,0 +1,22 @@
+-- Inbox dos webhooks de pagamento: o endpoint grava o payload bruto e responde 200;
+-- workers aplicam em ordem por provider_payment_id (PaymentWebhookInboxService).
+
+CREATE TABLE payment_webhook_inbox (
+    id                  UUID         NOT NULL,
+    provider            VARCHAR(30)  NOT NULL CHECK (provider IN ('MERCADO_PAGO')),
+    provider_event_id   VARCHAR(120) NOT NULL,
+    provider_payment_id VARCHAR(120) NOT NULL,
+    raw_payload         TEXT         NOT NULL,
+    status              VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED')),
+    attempts            INTEGER      NOT NULL DEFAULT 0,
+    last_error          VARCHAR(500),
+    received_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    available_at        TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at        TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_payment_webhook_inbox PRIMARY KEY (id)
+);
+
+-- poller (status = 'PENDING' AND available_at <= now ORDER BY received_at) e gauge de backlog:
+-- só as linhas pendentes, que são poucas; as processadas ficam fora do índice
+CREATE INDEX IF NOT EXISTS ix_payment_webhook_inbox_pending
+    ON payment_webhook_inbox (received_at) WHERE status = 'PENDING';
@@ -0,0 +1,4 @@
+-- Reconciliação agendada (PaymentReconciliationEngine): keyset por (created_at, id) sobre os
+-- intents PENDING. Parcial: os finalizados (quase todos) ficam fora do índice.
+CREATE INDEX IF NOT EXISTS ix_payment_intent_pending_created
+    ON payment_intent (created_at, id) WHERE status = 'PENDING';
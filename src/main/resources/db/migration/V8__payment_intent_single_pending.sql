@@ -0,0 +1,18 @@
+-- No máximo um PaymentIntent PENDING por inspeção (PaymentOrchestratorService.reserve).
+-- A checagem em Java sozinha não segura duas requisições simultâneas; o índice sim, e a
+-- segunda recebe 409.
+--
+-- Duplicados antigos (da checagem não atômica) impediriam o índice: fica o mais recente,
+-- os anteriores viram CANCELED. Webhook de pagamento tardio ainda atualiza pelo provider_payment_id.
+UPDATE payment_intent p
+SET status = 'CANCELED'
+WHERE p.status = 'PENDING'
+  AND EXISTS (
+      SELECT 1 FROM payment_intent n
+      WHERE n.inspection_id = p.inspection_id
+        AND n.status = 'PENDING'
+        AND (n.created_at > p.created_at OR (n.created_at = p.created_at AND n.id > p.id))
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payment_intent_inspection_pending
+    ON payment_intent (inspection_id) WHERE status = 'PENDING';
@@ -0,0 +1,15 @@
+-- revoked_token (RevokedToken / RefreshTokenRevocationStore) só existe no V1, que bancos já existentes
+-- pulam (baseline-on-migrate na versão 1): sem isto o ddl-auto=validate derruba o boot deles.
+-- IF NOT EXISTS: no banco novo o V1 já criou tudo e aqui não muda nada.
+
+CREATE TABLE IF NOT EXISTS revoked_token (
+    token_id   VARCHAR(64) NOT NULL,
+    kind       VARCHAR(16) NOT NULL CHECK (kind IN ('TOKEN', 'FAMILY')),
+    family_id  VARCHAR(64),
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_revoked_token PRIMARY KEY (token_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_token_revoked_at ON revoked_token (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token (expires_at);
@@ -10,8 +10,6 @@ import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.security.CustomUserDetails;
 import com.vectorlabs.security.SecurityService;
-import com.vectorlabs.security.jwt.JwtAuthenticationConverterConfig;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import com.vectorlabs.service.AppUserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,8 +44,6 @@ class AppUserControllerTest {
     @MockitoBean AppUserService service;
     @MockitoBean SecurityService securityService;
     @MockitoBean AppUserMapper mapper;
-    @MockitoBean JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-    @MockitoBean JwtAuthenticationConverterConfig jwtAuthenticationConverterConfig;
 
     private AppUser user(UUID id, String email, Set<UserRole> roles) {
         AppUser u = new AppUser();
@@ -220,12 +216,10 @@ class AppUserControllerTest {
 
     @Test
     void search_admin_ok_returns_page() throws Exception {
-        var id = UUID.randomUUID();
-        var e1 = user(id, "a@test.com", Set.of(UserRole.USER));
-        var page = new PageImpl<>(List.of(e1), PageRequest.of(0, 20), 1);
+        var page = new PageImpl<>(List.of(mock(AnswerAppUserDTO.class)), PageRequest.of(0, 20), 1);
 
+        // o service já devolve a projeção em DTO
         when(service.search(any(SearchAppUserDTO.class), any())).thenReturn(page);
-        when(mapper.toAnswerDTO(e1)).thenReturn(mock(AnswerAppUserDTO.class));
 
         mvc.perform(get("/api/users/internal/search")
                         .with(adminUser())
@@ -238,7 +232,7 @@ class AppUserControllerTest {
                 .andExpect(jsonPath("$.content").isArray());
 
         verify(service).search(any(SearchAppUserDTO.class), any());
-        verify(mapper).toAnswerDTO(e1);
+        verifyNoInteractions(mapper);
     }
 
     // -------------------------
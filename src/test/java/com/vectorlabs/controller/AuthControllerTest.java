@@ -1,30 +1,42 @@
 package com.vectorlabs.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorlabs.dto.auth.ClientTokenRequestDTO;
 import com.vectorlabs.dto.auth.LoginDTO;
 import com.vectorlabs.dto.auth.RefreshTokenDTO;
+import com.vectorlabs.exception.TooManyRequestsException;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.security.PrincipalCache;
+import com.vectorlabs.security.VerifiedClient;
 import com.vectorlabs.security.jwt.JwtService;
+import com.vectorlabs.security.jwt.RefreshTokenRevocationStore;
+import com.vectorlabs.security.jwt.VerifiedToken;
+import com.vectorlabs.service.ClientService;
+import com.vectorlabs.service.LoginService;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,10 +47,13 @@ class AuthControllerTest {
     @Autowired MockMvc mvc;
     @Autowired ObjectMapper objectMapper;
 
-    @MockitoBean AuthenticationManager authenticationManager;
+    @MockitoBean LoginService loginService;
     @MockitoBean AppUserRepository appUserRepository;
     @MockitoBean
     JwtService jwtService;
+    @MockitoBean PrincipalCache principalCache;
+    @MockitoBean RefreshTokenRevocationStore revocationStore;
+    @MockitoBean ClientService clientService;
 
     private AppUser userOk(UUID id) {
         AppUser u = new AppUser();
@@ -56,103 +71,88 @@ class AuthControllerTest {
     // -------------------------
 
     @Test
-    void login_ok_returns_tokens_and_updates_lastLogin() throws Exception {
+    void login_ok_returns_tokens() throws Exception {
         var dto = new LoginDTO("USER@test.com", "123456");
         var id = UUID.randomUUID();
         var user = userOk(id);
 
-        // auth ok
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(null);
-
-        // repo encontra user por email normalizado
-        when(appUserRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+        // pipeline de login (limite, bcrypt, lastLoginAt) fica no LoginService
+        when(loginService.login(eq("USER@test.com"), eq("123456"), any()))
+                .thenReturn(CompletableFuture.completedFuture(user));
 
         // jwt
         when(jwtService.generateAccessToken(user)).thenReturn("access123");
         when(jwtService.generateRefreshToken(user)).thenReturn("refresh123");
 
-        mvc.perform(post("/api/users/internal/login")
+        MvcResult async = mvc.perform(post("/api/users/internal/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(async))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.tokenType").value("Bearer"))
                 .andExpect(jsonPath("$.accessToken").value("access123"))
                 .andExpect(jsonPath("$.refreshToken").value("refresh123"));
-
-        // garante que salvou lastLoginAt
-        ArgumentCaptor<AppUser> captor = ArgumentCaptor.forClass(AppUser.class);
-        verify(appUserRepository).save(captor.capture());
-        assertThat(captor.getValue().getLastLoginAt()).isNotNull();
     }
 
     @Test
     void login_authentication_fails_returns_401() throws Exception {
         var dto = new LoginDTO("user@test.com", "wronggg"); // >= 6
 
-        when(authenticationManager.authenticate(any()))
-                .thenThrow(new RuntimeException("fail"));
+        when(loginService.login(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials")));
 
-        mvc.perform(post("/api/users/internal/login")
+        MvcResult async = mvc.perform(post("/api/users/internal/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
-                .andExpect(status().isUnauthorized());
-    }
-
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-    @Test
-    void login_user_not_found_returns_401() throws Exception {
-        var dto = new LoginDTO("user@test.com", "123456");
-
-        when(authenticationManager.authenticate(any()))
-                .thenReturn(null);
-
-        when(appUserRepository.findByEmail("user@test.com"))
-                .thenReturn(Optional.empty());
-
-        mvc.perform(post("/api/users/internal/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(dto)))
+        mvc.perform(asyncDispatch(async))
                 .andExpect(status().isUnauthorized());
+
+        verify(jwtService, never()).generateAccessToken(any());
     }
 
     @Test
-    void login_deleted_or_disabled_returns_401() throws Exception {
+    void login_too_many_attempts_returns_429() throws Exception {
         var dto = new LoginDTO("user@test.com", "123456");
-        var user = userOk(UUID.randomUUID());
-        user.setDeleted(true);
 
-        when(authenticationManager.authenticate(any()))
-                .thenReturn(null);
-        when(appUserRepository.findByEmail("user@test.com"))
-                .thenReturn(Optional.of(user));
+        when(loginService.login(any(), any(), any()))
+                .thenThrow(new TooManyRequestsException("Too many login attempts, try again later"));
 
         mvc.perform(post("/api/users/internal/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
-                .andExpect(status().isUnauthorized());
+                .andExpect(status().isTooManyRequests());
     }
 
     // -------------------------
     // /refresh
     // -------------------------
 
+    private VerifiedToken refreshToken(UUID userId, String type) {
+        return new VerifiedToken("user@test.com", userId, type, List.of(), "LOCAL",
+                Instant.now().plusSeconds(3600), "jti-1", "fam-1", List.of());
+    }
+
     @Test
     void refresh_ok_returns_new_tokens() throws Exception {
         var refresh = "refreshToken123";
         var dto = new RefreshTokenDTO(refresh);
         var id = UUID.randomUUID();
         var user = userOk(id);
+        var verified = refreshToken(id, JwtService.TYPE_REFRESH);
 
-        doNothing().when(jwtService).validateTokenOrThrow(refresh);
-        when(jwtService.isRefreshToken(refresh)).thenReturn(true);
-        when(jwtService.extractUserId(refresh)).thenReturn(id);
+        when(jwtService.verify(refresh)).thenReturn(verified);
 
         when(appUserRepository.findById(id)).thenReturn(Optional.of(user));
 
         when(jwtService.generateAccessToken(user)).thenReturn("newAccess");
-        when(jwtService.generateRefreshToken(user)).thenReturn("newRefresh");
+        when(jwtService.generateRefreshToken(user, "fam-1")).thenReturn("newRefresh");
 
         mvc.perform(post("/api/users/internal/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -161,6 +161,9 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.tokenType").value("Bearer"))
                 .andExpect(jsonPath("$.accessToken").value("newAccess"))
                 .andExpect(jsonPath("$.refreshToken").value("newRefresh"));
+
+        // o refresh usado é consumido (jti entra na denylist)
+        verify(revocationStore).rotate(verified);
     }
 
     @Test
@@ -168,13 +171,14 @@ class AuthControllerTest {
         var refresh = "bad";
         var dto = new RefreshTokenDTO(refresh);
 
-        doThrow(new BadCredentialsException("Invalid token"))
-                .when(jwtService).validateTokenOrThrow(refresh);
+        when(jwtService.verify(refresh)).thenThrow(new MalformedJwtException("bad"));
 
         mvc.perform(post("/api/users/internal/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(revocationStore);
     }
 
     @Test
@@ -182,13 +186,32 @@ class AuthControllerTest {
         var refresh = "accessDisguised";
         var dto = new RefreshTokenDTO(refresh);
 
-        doNothing().when(jwtService).validateTokenOrThrow(refresh);
-        when(jwtService.isRefreshToken(refresh)).thenReturn(false);
+        when(jwtService.verify(refresh)).thenReturn(refreshToken(UUID.randomUUID(), JwtService.TYPE_ACCESS));
 
         mvc.perform(post("/api/users/internal/refresh")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(revocationStore);
+    }
+
+    @Test
+    void refresh_reused_token_returns_401() throws Exception {
+        var refresh = "alreadyUsed";
+        var dto = new RefreshTokenDTO(refresh);
+        var id = UUID.randomUUID();
+        var verified = refreshToken(id, JwtService.TYPE_REFRESH);
+
+        when(jwtService.verify(refresh)).thenReturn(verified);
+        doThrow(new BadCredentialsException("Invalid token")).when(revocationStore).rotate(verified);
+
+        mvc.perform(post("/api/users/internal/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnauthorized());
+
+        verify(jwtService, never()).generateAccessToken(any());
     }
 
     @Test
@@ -197,9 +220,7 @@ class AuthControllerTest {
         var dto = new RefreshTokenDTO(refresh);
         var id = UUID.randomUUID();
 
-        doNothing().when(jwtService).validateTokenOrThrow(refresh);
-        when(jwtService.isRefreshToken(refresh)).thenReturn(true);
-        when(jwtService.extractUserId(refresh)).thenReturn(id);
+        when(jwtService.verify(refresh)).thenReturn(refreshToken(id, JwtService.TYPE_REFRESH));
 
         when(appUserRepository.findById(id)).thenReturn(Optional.empty());
 
@@ -208,4 +229,52 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isUnauthorized());
     }
+
+    // -------------------------
+    // /token (client credentials)
+    // -------------------------
+
+    @Test
+    void clientToken_ok_returns_scoped_token() throws Exception {
+        var client = new VerifiedClient(UUID.randomUUID(), "n8n", Set.of("nr12:read", "nr12:write"));
+        when(clientService.authenticate("n8n", "s3cr3t")).thenReturn(Optional.of(client));
+        when(jwtService.generateClientAccessToken(eq("n8n"), eq(Set.of("nr12:read")), anyLong()))
+                .thenReturn("clientAccess");
+
+        mvc.perform(post("/api/users/internal/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClientTokenRequestDTO("n8n", "s3cr3t", "nr12:read"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.accessToken").value("clientAccess"))
+                .andExpect(jsonPath("$.expiresIn").value(900))
+                .andExpect(jsonPath("$.scope").value("nr12:read"));
+
+        verify(clientService).markUsed("n8n");
+    }
+
+    @Test
+    void clientToken_invalid_credentials_returns_401() throws Exception {
+        when(clientService.authenticate(any(), any())).thenReturn(Optional.empty());
+
+        mvc.perform(post("/api/users/internal/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClientTokenRequestDTO("n8n", "wrong", null))))
+                .andExpect(status().isUnauthorized());
+
+        verify(jwtService, never()).generateClientAccessToken(any(), any(), anyLong());
+    }
+
+    @Test
+    void clientToken_scope_outside_client_scopes_returns_400() throws Exception {
+        var client = new VerifiedClient(UUID.randomUUID(), "n8n", Set.of("nr12:read"));
+        when(clientService.authenticate("n8n", "s3cr3t")).thenReturn(Optional.of(client));
+
+        mvc.perform(post("/api/users/internal/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClientTokenRequestDTO("n8n", "s3cr3t", "nr12:write"))))
+                .andExpect(status().isBadRequest());
+
+        verify(jwtService, never()).generateClientAccessToken(any(), any(), anyLong());
+    }
 }
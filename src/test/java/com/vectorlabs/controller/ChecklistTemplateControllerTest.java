@@ -6,7 +6,6 @@ import com.vectorlabs.mapper.ChecklistTemplateMapper;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.ChecklistTemplate;
 import com.vectorlabs.security.SecurityService;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import com.vectorlabs.service.ChecklistTemplateService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,9 +40,6 @@ class ChecklistTemplateControllerTest {
     @Autowired MockMvc mockMvc;
     @Autowired ObjectMapper objectMapper;
 
-    // Mantém se sua SecurityConfiguration precisa desse bean no contexto de teste
-    @MockitoBean JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
     @MockitoBean SecurityService securityService;
     @MockitoBean ChecklistTemplateService service;
     @MockitoBean ChecklistTemplateMapper mapper;
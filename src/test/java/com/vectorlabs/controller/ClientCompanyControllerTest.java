@@ -6,7 +6,6 @@ import com.vectorlabs.dto.clientcompany.RegisterClientCompanyAdminDTO;
 import com.vectorlabs.dto.clientcompany.RegisterClientCompanyDTO;
 import com.vectorlabs.dto.clientcompany.UpdateClientCompanyDTO;
 import com.vectorlabs.repository.ClientCompanyRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import com.vectorlabs.service.ClientCompanyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,11 +44,6 @@ class ClientCompanyControllerTest {
     @Autowired
     ClientCompanyRepository clientCompanyRepository;
 
-    // Mantém se sua SecurityConfiguration precisa desse bean no contexto de teste
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
-
     @MockitoBean
     ClientCompanyService service;
 
@@ -0,0 +1,69 @@
+package com.vectorlabs.controller;
+
+import com.vectorlabs.security.jwt.JwtKeyRing;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksControllerTest {
+
+    @Test
+    void jwks_shouldPublishAllPublicKeys_fromPemConfiguration() throws Exception {
+        KeyPair active = rsa();
+        KeyPair retired = rsa();
+
+        JwtKeyRing ring = JwtKeyRing.fromPem(SignatureAlgorithm.RS256, "active", List.of(
+                new JwtKeyRing.PemKey("active",
+                        pem("PRIVATE KEY", active.getPrivate().getEncoded()),
+                        pem("PUBLIC KEY", active.getPublic().getEncoded())),
+                new JwtKeyRing.PemKey("retired", null,
+                        pem("PUBLIC KEY", retired.getPublic().getEncoded()))
+        ));
+
+        Map<String, Object> body = new JwksController(ring).jwks().getBody();
+
+        assertNotNull(body);
+        List<?> keys = (List<?>) body.get("keys");
+        assertEquals(2, keys.size());
+
+        for (Object key : keys) {
+            Map<?, ?> jwk = (Map<?, ?>) key;
+            assertEquals("RSA", jwk.get("kty"));
+            assertEquals("RS256", jwk.get("alg"));
+            assertEquals("sig", jwk.get("use"));
+            assertFalse(jwk.containsKey("d"), "private exponent must never be published");
+        }
+        assertEquals(List.of("active", "retired"),
+                keys.stream().map(k -> ((Map<?, ?>) k).get("kid")).toList());
+    }
+
+    @Test
+    void jwks_shouldBeEmpty_inHmacMode() {
+        JwtKeyRing ring = JwtKeyRing.hmac(Keys.secretKeyFor(SignatureAlgorithm.HS256));
+
+        Map<String, Object> body = new JwksController(ring).jwks().getBody();
+
+        assertNotNull(body);
+        assertTrue(((List<?>) body.get("keys")).isEmpty());
+    }
+
+    private static KeyPair rsa() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
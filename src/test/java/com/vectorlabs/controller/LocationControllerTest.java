@@ -11,7 +11,6 @@ import com.vectorlabs.repository.AppUserRepository;
 import com.vectorlabs.repository.ClientCompanyRepository;
 import com.vectorlabs.repository.LocationRepository;
 import com.vectorlabs.security.SecurityService;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,7 +42,6 @@ class LocationControllerTest {
     @Autowired ClientCompanyRepository clientCompanyRepository;
     @Autowired AppUserRepository appUserRepository;
 
-    @MockitoBean JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
     @MockitoBean SecurityService securityService;
 
     @BeforeEach
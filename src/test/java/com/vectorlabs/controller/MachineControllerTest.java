@@ -5,7 +5,6 @@ import com.vectorlabs.dto.machine.RegisterMachineDTO;
 import com.vectorlabs.dto.machine.UpdateMachineDTO;
 import com.vectorlabs.model.Machine;
 import com.vectorlabs.repository.MachineRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +13,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -35,10 +33,6 @@ class MachineControllerTest {
     @Autowired ObjectMapper objectMapper;
     @Autowired MachineRepository machineRepository;
 
-    // Mantém se sua SecurityConfiguration precisa desse bean no contexto de teste
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
     @BeforeEach
     void setup() {
         machineRepository.deleteAll();
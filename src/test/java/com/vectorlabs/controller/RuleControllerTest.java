@@ -4,22 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vectorlabs.dto.rule.RegisterRuleDTO;
 import com.vectorlabs.dto.rule.UpdateRuleDTO;
 import com.vectorlabs.model.Rule;
+import com.vectorlabs.repository.RuleItemRepository;
+import com.vectorlabs.repository.RuleModuleRepository;
 import com.vectorlabs.repository.RuleRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
+import com.vectorlabs.repository.RuleSectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,12 +37,18 @@ class RuleControllerTest {
     @Autowired MockMvc mockMvc;
     @Autowired ObjectMapper objectMapper;
     @Autowired RuleRepository ruleRepository;
-
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
+    @Autowired RuleSectionRepository sectionRepository;
+    @Autowired RuleModuleRepository moduleRepository;
+    @Autowired RuleItemRepository itemRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setup() {
+        // árvores importadas: itens apontam para o pai, então solta o parent antes de apagar
+        jdbcTemplate.update("update rule_items set parent_id = null");
+        jdbcTemplate.update("delete from rule_items");
+        jdbcTemplate.update("delete from rule_modules");
+        jdbcTemplate.update("delete from rule_sections");
         ruleRepository.deleteAll();
     }
 
@@ -227,4 +238,157 @@ class RuleControllerTest {
         mockMvc.perform(delete("/api/rules/{id}", UUID.randomUUID()))
                 .andExpect(status().isForbidden());
     }
+
+    // ------------------- IMPORT -------------------
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldImportRuleTreeFromJson_inSeveralBatches() throws Exception {
+        // 100 raízes + 2000 filhos: 3 lotes, filhos dos lotes 2 e 3 apontam para pais do lote 1
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int r = 0; r < 100; r++) {
+            items.add(Map.of("code", "12.1." + r, "description", "Raiz " + r));
+        }
+        for (int c = 0; c < 2000; c++) {
+            items.add(Map.of("code", "12.1." + (c % 100) + "." + c, "parentCode", "12.1." + (c % 100),
+                    "description", "Filho " + c));
+        }
+        Map<String, Object> body = Map.of(
+                "code", "NR-12",
+                "title", "Máquinas e equipamentos",
+                "sections", List.of(Map.of("code", "12.1", "name", "Princípios gerais", "sequence", 1,
+                        "modules", List.of(Map.of("code", "12.1", "name", "Disposições", "sequence", 1,
+                                "items", items))))
+        );
+
+        mockMvc.perform(post("/api/rules/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleCreated").value(true))
+                .andExpect(jsonPath("$.sectionsCreated").value(1))
+                .andExpect(jsonPath("$.modulesCreated").value(1))
+                .andExpect(jsonPath("$.itemsCreated").value(2100))
+                .andExpect(jsonPath("$.batches").value(3));
+
+        assertEquals(2100, itemRepository.count());
+        assertEquals(2000, jdbcTemplate.queryForObject(
+                "select count(*) from rule_items c join rule_items p on p.id = c.parent_id"
+                        + " where c.item_code like p.item_code || '.%'", Integer.class));
+
+        // reenvio: nada novo, tudo reaproveitado
+        mockMvc.perform(post("/api/rules/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleCreated").value(false))
+                .andExpect(jsonPath("$.itemsCreated").value(0))
+                .andExpect(jsonPath("$.existingSkipped").value(2102));
+        assertEquals(2100, itemRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldImportCsvIntoExistingRule_resolvingParentsAlreadySaved() throws Exception {
+        String header = "section_code,section_name,section_sequence,module_code,module_name,module_sequence,"
+                + "item_code,parent_code,description,item_sequence\n";
+        mockMvc.perform(post("/api/rules/import").param("rule_code", "NR-10").param("rule_title", "Eletricidade")
+                        .contentType("text/csv")
+                        .content(header + "10.1,Objetivo,1,10.1,Geral,1,10.1.1,,\"Texto, com vírgula\",1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemsCreated").value(1));
+
+        mockMvc.perform(post("/api/rules/import").param("rule_code", "NR-10")
+                        .contentType("text/csv")
+                        .content(header
+                                + "10.1,Objetivo,1,10.1,Geral,1,10.1.1.1,10.1.1,Filho,1\n"
+                                + "10.2,Medidas,2,10.2,Controle,1,10.2.1,,Outro,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleCreated").value(false))
+                .andExpect(jsonPath("$.sectionsCreated").value(1))
+                .andExpect(jsonPath("$.itemsCreated").value(2))
+                .andExpect(jsonPath("$.existingSkipped").value(2));
+
+        assertEquals(1, ruleRepository.count());
+        assertEquals(2, sectionRepository.count());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from rule_items c join rule_items p on p.id = c.parent_id"
+                        + " where c.item_code = '10.1.1.1' and p.item_code = '10.1.1'", Integer.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectImportWithoutWriting_whenParentIsUnknown() throws Exception {
+        Map<String, Object> body = Map.of(
+                "code", "NR-12",
+                "title", "Máquinas",
+                "sections", List.of(Map.of("code", "12.1", "name", "Gerais", "sequence", 1,
+                        "modules", List.of(Map.of("code", "12.1", "name", "Disposições", "sequence", 1,
+                                "items", List.of(Map.of("code", "12.1.1", "parentCode", "12.0", "description", "x"))))))
+        );
+
+        mockMvc.perform(post("/api/rules/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, ruleRepository.count());
+        assertEquals(0, moduleRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldReturnForbiddenOnImportWhenNotAdmin() throws Exception {
+        mockMvc.perform(post("/api/rules/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"NR-12\",\"sections\":[]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldServeNestedTree_withEtag_andRevalidateAfterWrite() throws Exception {
+        String header = "section_code,section_name,section_sequence,module_code,module_name,module_sequence,"
+                + "item_code,parent_code,description,item_sequence\n";
+        mockMvc.perform(post("/api/rules/import").param("rule_code", "NR-10").param("rule_title", "Eletricidade")
+                        .contentType("text/csv")
+                        .content(header
+                                + "10.1,Objetivo,1,10.1,Geral,1,10.1.1,,Raiz,1\n"
+                                + "10.1,Objetivo,1,10.1,Geral,1,10.1.1.1,10.1.1,Filho,1\n"
+                                + "10.1,Objetivo,1,10.1,Geral,1,10.1.2,,Outro,2\n"))
+                .andExpect(status().isOk());
+        UUID ruleId = ruleRepository.findByCodeIgnoreCase("NR-10").orElseThrow().getId();
+
+        String etag = mockMvc.perform(get("/api/rules/{id}/tree", ruleId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.code").value("NR-10"))
+                .andExpect(jsonPath("$.sections[0].modules[0].items.length()").value(2))
+                .andExpect(jsonPath("$.sections[0].modules[0].items[0].itemCode").value("10.1.1"))
+                .andExpect(jsonPath("$.sections[0].modules[0].items[0].children[0].itemCode").value("10.1.1.1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/rules/{id}/tree", ruleId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        // escrita pelo service de itens invalida a árvore da norma
+        UUID leaf = jdbcTemplate.queryForObject(
+                "select id from rule_items where item_code = '10.1.2'", UUID.class);
+        mockMvc.perform(delete("/api/rule-items/{id}", leaf))
+                .andExpect(status().is2xxSuccessful());
+
+        String changed = mockMvc.perform(get("/api/rules/{id}/tree", ruleId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sections[0].modules[0].items.length()").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(!etag.equals(changed));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldReturnNotFoundOnTree_whenRuleMissing() throws Exception {
+        mockMvc.perform(get("/api/rules/{id}/tree", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
 }
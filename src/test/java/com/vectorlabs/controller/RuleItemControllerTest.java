@@ -1,6 +1,7 @@
 package com.vectorlabs.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vectorlabs.dto.common.BulkRequestDTO;
 import com.vectorlabs.dto.rule.ruleitem.RegisterRuleItemDTO;
 import com.vectorlabs.dto.rule.ruleitem.UpdateRuleItemDTO;
 import com.vectorlabs.model.Rule;
@@ -11,7 +12,6 @@ import com.vectorlabs.repository.RuleItemRepository;
 import com.vectorlabs.repository.RuleModuleRepository;
 import com.vectorlabs.repository.RuleRepository;
 import com.vectorlabs.repository.RuleSectionRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +20,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -28,6 +27,7 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -45,9 +45,6 @@ class RuleItemControllerTest {
     @Autowired RuleModuleRepository ruleModuleRepository;
     @Autowired RuleItemRepository ruleItemRepository;
 
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
     private Rule rule;
     private RuleSection section;
     private RuleModule module;
@@ -124,6 +121,55 @@ class RuleItemControllerTest {
                 .andExpect(jsonPath("$.itemSequence").value(1));
     }
 
+    // ------------------- BULK CREATE -------------------
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldCreateRuleItemsInBulk() throws Exception {
+        var body = new BulkRequestDTO<>(List.of(
+                new RegisterRuleItemDTO(module.getId(), null, "I1", "Descrição 1", 1),
+                new RegisterRuleItemDTO(module.getId(), null, "I2", "Descrição 2", 2)
+        ));
+
+        mockMvc.perform(post("/api/rule-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.ids", hasSize(2)));
+
+        assertEquals(2, ruleItemRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectWholeBulk_whenItemCodeRepeats() throws Exception {
+        var body = new BulkRequestDTO<>(List.of(
+                new RegisterRuleItemDTO(module.getId(), null, "I1", "Descrição 1", 1),
+                new RegisterRuleItemDTO(module.getId(), null, "I1", "Descrição 2", 2)
+        ));
+
+        mockMvc.perform(post("/api/rule-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isConflict());
+
+        assertEquals(0, ruleItemRepository.count());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnForbiddenOnBulkWhenNotAdmin() throws Exception {
+        var body = new BulkRequestDTO<>(List.of(
+                new RegisterRuleItemDTO(module.getId(), null, "I1", "Descrição 1", 1)
+        ));
+
+        mockMvc.perform(post("/api/rule-items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isForbidden());
+    }
+
     // ------------------- DETAILS -------------------
 
     @Test
@@ -9,7 +9,6 @@ import com.vectorlabs.model.RuleSection;
 import com.vectorlabs.repository.RuleModuleRepository;
 import com.vectorlabs.repository.RuleRepository;
 import com.vectorlabs.repository.RuleSectionRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +17,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -42,9 +40,6 @@ class RuleModuleControllerTest {
     @Autowired RuleSectionRepository ruleSectionRepository;
     @Autowired RuleModuleRepository ruleModuleRepository;
 
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
     private Rule rule;
     private RuleSection section;
 
@@ -10,7 +10,6 @@ import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.repository.AppUserRepository;
 import com.vectorlabs.repository.RuleRepository;
 import com.vectorlabs.repository.RuleSectionRepository;
-import com.vectorlabs.security.jwt.JwtGrantedAuthoritiesConverter;
 import com.vectorlabs.security.jwt.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +19,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -41,9 +39,6 @@ class RuleSectionControllerTest {
     @Autowired MockMvc mockMvc;
     @Autowired ObjectMapper objectMapper;
 
-    @MockitoBean
-    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
-
     @Autowired JwtService jwtService;
 
     @Autowired AppUserRepository appUserRepository;
@@ -0,0 +1,86 @@
+package com.vectorlabs.payments;
+
+import com.vectorlabs.exception.PaymentGatewayUnavailableException;
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.config.MercadoPagoProperties;
+import com.vectorlabs.payments.gateway.PaymentGatewayTransport;
+import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class MercadoPagoClientTest {
+
+    private static final String BASE_URL = "https://api.mercadopago.test";
+
+    private MockRestServiceServer server;
+    private MercadoPagoClient client;
+
+    @BeforeEach
+    void setup() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        RestClient restClient = builder.build();
+
+        PaymentGatewayTransport transport = new PaymentGatewayTransport(
+                new SimpleMeterRegistry(), 3, 0, 0.2, 10, 5, 30);
+        client = new MercadoPagoClient(restClient, restClient, transport,
+                new MercadoPagoProperties(BASE_URL, "token", "https://hooks.test/mp", "BRL"));
+    }
+
+    @Test
+    void createCharge_shouldResendSameIdempotencyKey_whenRetrying() {
+        List<String> keys = new ArrayList<>();
+        server.expect(requestTo(BASE_URL + "/checkout/preferences"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(req -> keys.add(req.getHeaders().getFirst("X-Idempotency-Key")))
+                .andRespond(withServerError());
+        server.expect(requestTo(BASE_URL + "/checkout/preferences"))
+                .andExpect(req -> keys.add(req.getHeaders().getFirst("X-Idempotency-Key")))
+                .andRespond(withSuccess("{\"id\":\"pref-1\",\"init_point\":\"https://mp.test/checkout/pref-1\"}",
+                        MediaType.APPLICATION_JSON));
+
+        UUID paymentIntentId = UUID.randomUUID();
+        PaymentGatewayClient.CreateChargeResult result =
+                client.createCharge(paymentIntentId, UUID.randomUUID(), 2, new BigDecimal("150.00"));
+
+        server.verify();
+        assertEquals("pref-1", result.providerPaymentId());
+        assertEquals(List.of(paymentIntentId.toString(), paymentIntentId.toString()), keys);
+    }
+
+    @Test
+    void getPaymentStatus_shouldFailWithUnavailable_afterExhaustingRetries() {
+        for (int i = 0; i < 3; i++) {
+            server.expect(requestTo(BASE_URL + "/v1/payments/123")).andRespond(withServerError());
+        }
+
+        assertThrows(PaymentGatewayUnavailableException.class,
+                () -> client.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "123"));
+        server.verify();
+    }
+
+    @Test
+    void getPaymentStatus_shouldMapProviderStatus() {
+        server.expect(requestTo(BASE_URL + "/v1/payments/456"))
+                .andRespond(withSuccess("{\"id\":\"456\",\"status\":\"approved\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals(PaymentStatus.PAID, client.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "456"));
+    }
+}
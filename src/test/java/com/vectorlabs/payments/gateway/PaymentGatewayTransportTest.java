@@ -0,0 +1,139 @@
+package com.vectorlabs.payments.gateway;
+
+import com.vectorlabs.exception.PaymentGatewayUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentGatewayTransportTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private PaymentGatewayTransport transport(int maxAttempts, double budgetMax, int failureThreshold) {
+        return new PaymentGatewayTransport(registry, maxAttempts, 0, 0.2, budgetMax,
+                failureThreshold, Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void execute_shouldRetryTransientFailures_untilSuccess() {
+        PaymentGatewayTransport transport = transport(3, 10, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = transport.execute("payment_status", () -> {
+            if (calls.incrementAndGet() < 3) throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, registry.counter("payments.gateway.retries", "operation", "payment_status").count());
+        assertEquals(1, registry.get("payments.gateway.latency").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void execute_shouldNotRetryClientErrors_norCountThemAgainstCircuit() {
+        PaymentGatewayTransport transport = transport(3, 10, 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HttpClientErrorException.class, () -> transport.execute("create_charge", () -> {
+            calls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, transport.circuitState());
+    }
+
+    @Test
+    void execute_shouldStopRetrying_whenBudgetIsSpent() {
+        PaymentGatewayTransport transport = transport(5, 1, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(PaymentGatewayUnavailableException.class, () -> transport.execute("payment_status", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("timeout");
+        }));
+
+        // um retry no orçamento: 2 chamadas, não 5
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_shouldOpenCircuit_andFailFast_thenCloseAfterSuccessfulProbe() {
+        PaymentGatewayTransport transport = transport(1, 10, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(PaymentGatewayUnavailableException.class, () -> transport.execute("payment_status", () -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("timeout");
+            }));
+        }
+        assertEquals(GatewayCircuitBreaker.State.OPEN, transport.circuitState());
+
+        // aberto: nem chega ao provedor
+        assertThrows(PaymentGatewayUnavailableException.class,
+                () -> transport.execute("payment_status", () -> calls.incrementAndGet()));
+        assertEquals(2, calls.get());
+        assertEquals(1.0, registry.counter("payments.gateway.short_circuited", "operation", "payment_status").count());
+
+        // depois do open-duration, uma chamada de teste fecha o circuito
+        clock.now = NOW.plusSeconds(31);
+        assertEquals(3, transport.execute("payment_status", () -> calls.incrementAndGet()));
+        assertEquals(GatewayCircuitBreaker.State.CLOSED, transport.circuitState());
+    }
+
+    @Test
+    void execute_shouldReopenCircuit_whenProbeFails() {
+        PaymentGatewayTransport transport = transport(1, 10, 1);
+
+        assertThrows(PaymentGatewayUnavailableException.class, () -> transport.execute("payment_status", () -> {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+        }));
+        assertEquals(GatewayCircuitBreaker.State.OPEN, transport.circuitState());
+
+        clock.now = NOW.plusSeconds(31);
+        assertThrows(PaymentGatewayUnavailableException.class, () -> transport.execute("payment_status", () -> {
+            throw new ResourceAccessException("timeout");
+        }));
+        assertEquals(GatewayCircuitBreaker.State.OPEN, transport.circuitState());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
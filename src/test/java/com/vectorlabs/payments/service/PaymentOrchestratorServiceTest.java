@@ -0,0 +1,140 @@
+package com.vectorlabs.payments.service;
+
+import com.vectorlabs.exception.BusinessRuleException;
+import com.vectorlabs.exception.PaymentGatewayUnavailableException;
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.dto.mercadopago.PaymentAnswerDTO;
+import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
+import com.vectorlabs.payments.model.PaymentIntent;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import com.vectorlabs.service.InspectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "payments.reconciliation.enabled=false",
+        "payments.reservation-timeout-seconds=600"
+})
+class PaymentOrchestratorServiceTest {
+
+    @Autowired PaymentOrchestratorService service;
+    @Autowired PaymentIntentRepository intentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    PaymentGatewayClient gatewayClient;
+
+    @MockitoBean
+    InspectionService inspectionService;
+
+    private final UUID inspectionId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        intentRepository.deleteAll();
+        when(inspectionService.countMachines(any())).thenReturn(3);
+    }
+
+    @Test
+    void createPayment_shouldCallGatewayOutsideTransaction_andFinalizeReservation() {
+        AtomicBoolean txActiveDuringCall = new AtomicBoolean(true);
+        AtomicReference<UUID> chargedIntentId = new AtomicReference<>();
+        when(gatewayClient.createCharge(any(), eq(inspectionId), eq(3), any())).thenAnswer(inv -> {
+            chargedIntentId.set(inv.getArgument(0));
+            txActiveDuringCall.set(TransactionSynchronizationManager.isActualTransactionActive());
+            // a reserva já está commitada quando o provedor é chamado
+            assertEquals(1, intentRepository.count());
+            return charge("pref-1");
+        });
+
+        PaymentAnswerDTO answer = service.createPaymentForInspection(inspectionId, userId);
+
+        assertFalse(txActiveDuringCall.get());
+        assertEquals(PaymentStatus.PENDING, answer.status());
+        assertEquals("https://mp.test/checkout/pref-1", answer.checkoutUrl());
+
+        PaymentIntent intent = intentRepository.findById(answer.paymentIntentId()).orElseThrow();
+        assertEquals("pref-1", intent.getProviderPaymentId());
+        assertEquals(3, intent.getMachineCountSnapshot());
+        // a reserva identifica a cobrança no provedor (chave de idempotência)
+        assertEquals(intent.getId(), chargedIntentId.get());
+    }
+
+    @Test
+    void createPayment_shouldReleaseReservation_whenGatewayFails() {
+        when(gatewayClient.createCharge(any(), any(), anyInt(), any()))
+                .thenThrow(new PaymentGatewayUnavailableException("down"))
+                .thenReturn(charge("pref-2"));
+
+        assertThrows(PaymentGatewayUnavailableException.class,
+                () -> service.createPaymentForInspection(inspectionId, userId));
+
+        List<PaymentIntent> intents = intentRepository.findAll();
+        assertEquals(1, intents.size());
+        assertEquals(PaymentStatus.FAILED, intents.get(0).getStatus());
+
+        // compensado: nova tentativa não esbarra na reserva anterior
+        PaymentAnswerDTO answer = service.createPaymentForInspection(inspectionId, userId);
+        assertEquals(PaymentStatus.PENDING, answer.status());
+    }
+
+    @Test
+    void createPayment_shouldRejectSecondPending_withoutCallingGateway() {
+        when(gatewayClient.createCharge(any(), any(), anyInt(), any())).thenReturn(charge("pref-3"));
+        service.createPaymentForInspection(inspectionId, userId);
+
+        assertThrows(BusinessRuleException.class, () -> service.createPaymentForInspection(inspectionId, userId));
+        verify(gatewayClient, times(1)).createCharge(any(), any(), anyInt(), any());
+        assertEquals(1, intentRepository.count());
+    }
+
+    @Test
+    void createPayment_shouldReplaceAbandonedReservation() {
+        // reserva sem dados do provedor (processo caiu entre as fases), mais velha que o timeout
+        PaymentIntent abandoned = new PaymentIntent();
+        abandoned.setInspectionId(inspectionId);
+        abandoned.setMachineCountSnapshot(3);
+        abandoned.setReportFee(BigDecimal.TEN);
+        abandoned.setPricePerMachine(BigDecimal.ONE);
+        abandoned.setTotalAmount(BigDecimal.valueOf(13));
+        UUID abandonedId = intentRepository.save(abandoned).getId();
+        jdbcTemplate.update("update payment_intent set created_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS)), abandonedId);
+
+        when(gatewayClient.createCharge(any(), any(), anyInt(), any())).thenReturn(charge("pref-4"));
+        PaymentAnswerDTO answer = service.createPaymentForInspection(inspectionId, userId);
+
+        assertNotEquals(abandonedId, answer.paymentIntentId());
+        assertEquals(PaymentStatus.FAILED, intentRepository.findById(abandonedId).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.PENDING, intentRepository.findById(answer.paymentIntentId()).orElseThrow().getStatus());
+    }
+
+    private static PaymentGatewayClient.CreateChargeResult charge(String preferenceId) {
+        return new PaymentGatewayClient.CreateChargeResult(
+                PaymentProvider.MERCADO_PAGO, preferenceId, "https://mp.test/checkout/" + preferenceId);
+    }
+}
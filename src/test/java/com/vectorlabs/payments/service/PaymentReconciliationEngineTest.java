@@ -0,0 +1,171 @@
+package com.vectorlabs.payments.service;
+
+import com.vectorlabs.exception.PaymentGatewayUnavailableException;
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.gateway.mercadopago.PaymentGatewayClient;
+import com.vectorlabs.payments.model.PaymentIntent;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "payments.reconciliation.enabled=false",
+        "payments.reconciliation.batch-size=2",
+        "payments.reconciliation.max-concurrency=2",
+        "payments.reconciliation.rate-per-second=0"
+})
+class PaymentReconciliationEngineTest {
+
+    @Autowired PaymentReconciliationEngine engine;
+    @Autowired PaymentIntentRepository intentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    PaymentGatewayClient gatewayClient;
+
+    @BeforeEach
+    void setup() {
+        intentRepository.deleteAll();
+    }
+
+    @Test
+    void reconcileStale_shouldPageThroughStalePending_andWriteOnlyChanges() {
+        UUID paid1 = stale("pay-1");
+        UUID paid2 = stale("pay-2");
+        UUID canceled = stale("pay-3");
+        UUID stillPending = stale("pay-4");
+        UUID fresh = intent("pay-fresh").getId();
+        UUID noProviderId = backdate(intent(null).getId());
+
+        when(gatewayClient.getPaymentStatus(eq(PaymentProvider.MERCADO_PAGO), any())).thenReturn(PaymentStatus.PAID);
+        when(gatewayClient.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-3")).thenReturn(PaymentStatus.CANCELED);
+        when(gatewayClient.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-4")).thenReturn(PaymentStatus.PENDING);
+
+        PaymentReconciliationEngine.RunResult result = engine.reconcileStale();
+
+        assertEquals(4, result.checked());
+        assertEquals(3, result.updated());
+        assertEquals(0, result.errors());
+        assertEquals(2, result.pages());
+
+        assertEquals(PaymentStatus.PAID, statusOf(paid1));
+        assertNotNull(intentRepository.findById(paid1).orElseThrow().getPaidAt());
+        assertEquals(PaymentStatus.PAID, statusOf(paid2));
+        assertEquals(PaymentStatus.CANCELED, statusOf(canceled));
+        assertEquals(PaymentStatus.PENDING, statusOf(stillPending));
+        assertEquals(PaymentStatus.PENDING, statusOf(fresh));
+        assertEquals(PaymentStatus.PENDING, statusOf(noProviderId));
+        verify(gatewayClient, never()).getPaymentStatus(any(), eq("pay-fresh"));
+    }
+
+    @Test
+    void reconcileStale_shouldCallGatewayOncePerIntent_andPickFailuresUpNextRun() {
+        UUID flaky = stale("pay-flaky");
+        UUID ok = stale("pay-ok");
+
+        // o transport já esgotou os retries dele: o engine não repete a consulta
+        when(gatewayClient.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-flaky"))
+                .thenThrow(new PaymentGatewayUnavailableException("Payment provider unavailable, try again later"))
+                .thenReturn(PaymentStatus.PAID);
+        when(gatewayClient.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-ok")).thenReturn(PaymentStatus.PAID);
+
+        PaymentReconciliationEngine.RunResult first = engine.reconcileStale();
+
+        assertEquals(1, first.checked());
+        assertEquals(1, first.updated());
+        assertEquals(1, first.errors());
+        assertEquals(PaymentStatus.PENDING, statusOf(flaky));
+        assertEquals(PaymentStatus.PAID, statusOf(ok));
+        verify(gatewayClient, times(1)).getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-flaky");
+
+        PaymentReconciliationEngine.RunResult next = engine.reconcileStale();
+
+        assertEquals(1, next.updated());
+        assertEquals(PaymentStatus.PAID, statusOf(flaky));
+    }
+
+    @Test
+    void reconcileStale_shouldNotOverwriteStatusAppliedByWebhookMeanwhile() {
+        UUID id = stale("pay-race");
+
+        // o webhook aplica PAID enquanto a consulta ao provedor ainda devolve o status antigo
+        when(gatewayClient.getPaymentStatus(PaymentProvider.MERCADO_PAGO, "pay-race")).thenAnswer(inv -> {
+            jdbcTemplate.update("update payment_intent set status = 'PAID' where id = ?", id);
+            return PaymentStatus.CANCELED;
+        });
+
+        PaymentReconciliationEngine.RunResult result = engine.reconcileStale();
+
+        assertEquals(0, result.updated());
+        assertEquals(PaymentStatus.PAID, statusOf(id));
+    }
+
+    @Test
+    void reconcileStale_shouldBoundConcurrentGatewayCalls() {
+        for (int i = 0; i < 6; i++) stale("pay-c" + i);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(gatewayClient.getPaymentStatus(eq(PaymentProvider.MERCADO_PAGO), any())).thenAnswer(inv -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return PaymentStatus.PENDING;
+        });
+
+        PaymentReconciliationEngine.RunResult result = engine.reconcileStale();
+
+        assertEquals(6, result.checked());
+        assertTrue(maxInFlight.get() <= 2, "max in flight: " + maxInFlight.get());
+    }
+
+    // ========================= helpers =========================
+
+    private UUID stale(String providerPaymentId) {
+        return backdate(intent(providerPaymentId).getId());
+    }
+
+    // created_at não é atualizável pela entidade
+    private UUID backdate(UUID id) {
+        Timestamp createdAt = Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        jdbcTemplate.update("update payment_intent set created_at = ? where id = ?", createdAt, id);
+        return id;
+    }
+
+    private PaymentStatus statusOf(UUID id) {
+        return intentRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private PaymentIntent intent(String providerPaymentId) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setInspectionId(UUID.randomUUID());
+        intent.setMachineCountSnapshot(1);
+        intent.setReportFee(BigDecimal.TEN);
+        intent.setPricePerMachine(BigDecimal.ONE);
+        intent.setTotalAmount(BigDecimal.valueOf(11));
+        intent.setProviderPaymentId(providerPaymentId);
+        return intentRepository.save(intent);
+    }
+}
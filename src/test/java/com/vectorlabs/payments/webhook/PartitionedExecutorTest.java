@@ -0,0 +1,89 @@
+package com.vectorlabs.payments.webhook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedExecutorTest {
+
+    private PartitionedExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (executor != null) executor.shutdown(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void trySubmit_shouldRunTasksOfSameKeyInSubmissionOrder() throws InterruptedException {
+        executor = new PartitionedExecutor("test", 4, 1000);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            assertTrue(executor.trySubmit("pay-1", () -> { seen.add(n); done.countDown(); }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 200).boxed().toList(), seen);
+    }
+
+    @Test
+    void trySubmit_shouldRunDifferentPartitionsInParallel() throws InterruptedException {
+        executor = new PartitionedExecutor("test", 2, 10);
+        String a = keyInPartition(0);
+        String b = keyInPartition(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+
+        // partição de "a" presa: "b" roda mesmo assim
+        executor.trySubmit(a, () -> awaitQuietly(release));
+        executor.trySubmit(b, otherRan::countDown);
+
+        assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void trySubmit_shouldRefuse_whenPartitionQueueIsFull() {
+        executor = new PartitionedExecutor("test", 1, 2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertTrue(executor.trySubmit("k", () -> awaitQuietly(release))); // rodando
+        waitUntilQueueEmpty();
+        assertTrue(executor.trySubmit("k", () -> {}));
+        assertTrue(executor.trySubmit("k", () -> {}));
+
+        assertFalse(executor.trySubmit("k", () -> {}));
+        assertEquals(2, executor.queued());
+        release.countDown();
+    }
+
+    // ========================= helpers =========================
+
+    private String keyInPartition(int partition) {
+        for (int i = 0; ; i++) {
+            if (executor.partitionOf("pay-" + i) == partition) return "pay-" + i;
+        }
+    }
+
+    private void waitUntilQueueEmpty() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.queued() > 0 && System.nanoTime() < deadline) Thread.onSpinWait();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
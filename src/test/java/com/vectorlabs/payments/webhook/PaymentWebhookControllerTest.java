@@ -0,0 +1,118 @@
+package com.vectorlabs.payments.webhook;
+
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.model.enuns.WebhookInboxStatus;
+import com.vectorlabs.payments.model.PaymentIntent;
+import com.vectorlabs.payments.model.PaymentWebhookInbox;
+import com.vectorlabs.repository.PaymentEventRepository;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import com.vectorlabs.repository.PaymentWebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentWebhookControllerTest {
+
+    private static final String URL = "/api/payments/webhooks/mercadopago";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired PaymentWebhookInboxRepository inboxRepository;
+    @Autowired PaymentEventRepository eventRepository;
+    @Autowired PaymentIntentRepository intentRepository;
+
+    @BeforeEach
+    void setup() {
+        inboxRepository.deleteAll();
+        eventRepository.deleteAll();
+        intentRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldAckThenApplyEventFromInbox() throws Exception {
+        PaymentIntent intent = intent("pay-1");
+
+        mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"evt-1\",\"status\":\"approved\",\"data\":{\"id\":\"pay-1\"}}"))
+                .andExpect(status().isOk());
+
+        waitFor(() -> inboxRepository.countByStatus(WebhookInboxStatus.PROCESSED) == 1);
+
+        PaymentWebhookInbox row = inboxRepository.findAll().getFirst();
+        assertEquals("evt-1", row.getProviderEventId());
+        assertEquals(1, row.getAttempts());
+        assertNotNull(row.getProcessedAt());
+
+        PaymentIntent updated = intentRepository.findById(intent.getId()).orElseThrow();
+        assertEquals(PaymentStatus.PAID, updated.getStatus());
+        assertNotNull(updated.getPaidAt());
+        assertEquals(1, eventRepository.count());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldApplyEventsOfSamePaymentInArrivalOrder() throws Exception {
+        PaymentIntent intent = intent("pay-2");
+
+        mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"evt-a\",\"status\":\"approved\",\"data\":{\"id\":\"pay-2\"}}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"evt-b\",\"status\":\"refunded\",\"data\":{\"id\":\"pay-2\"}}"))
+                .andExpect(status().isOk());
+
+        waitFor(() -> inboxRepository.countByStatus(WebhookInboxStatus.PROCESSED) == 2);
+
+        // o reembolso (último a chegar) é o estado final
+        assertEquals(PaymentStatus.REFUNDED, intentRepository.findById(intent.getId()).orElseThrow().getStatus());
+        assertEquals(2, eventRepository.count());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldRejectInvalidPayloadWithoutWritingInbox() throws Exception {
+        mockMvc.perform(post(URL).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"approved\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, inboxRepository.count());
+    }
+
+    // ========================= helpers =========================
+
+    private PaymentIntent intent(String providerPaymentId) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setInspectionId(UUID.randomUUID());
+        intent.setMachineCountSnapshot(1);
+        intent.setReportFee(BigDecimal.TEN);
+        intent.setPricePerMachine(BigDecimal.ONE);
+        intent.setTotalAmount(BigDecimal.valueOf(11));
+        intent.setProviderPaymentId(providerPaymentId);
+        return intentRepository.save(intent);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the inbox worker");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.vectorlabs.payments.webhook;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.payments.model.PaymentEvent;
+import com.vectorlabs.payments.model.PaymentIntent;
+import com.vectorlabs.repository.PaymentEventRepository;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import com.vectorlabs.repository.PaymentWebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class PaymentWebhookIdempotencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired PaymentWebhookHandler handler;
+    @Autowired MercadoPagoWebhookParser parser;
+    @Autowired PaymentWebhookInboxRepository inboxRepository;
+    @Autowired PaymentEventRepository eventRepository;
+    @Autowired PaymentIntentRepository intentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        inboxRepository.deleteAll();
+        eventRepository.deleteAll();
+        intentRepository.deleteAll();
+    }
+
+    @Test
+    void apply_sameEventFromManyThreads_shouldTransitionExactlyOnce() throws Exception {
+        PaymentIntent intent = intent("pay-concurrent");
+        String raw = "{\"id\":\"evt-concurrent\",\"status\":\"approved\",\"data\":{\"id\":\"pay-concurrent\"}}";
+        MercadoPagoWebhookParser.Result parsed = parser.parse(raw);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return handler.apply(parsed, raw);
+                }));
+            }
+            start.countDown();
+
+            int applied = 0;
+            for (Future<Boolean> f : results) {
+                if (f.get()) applied++; // nenhuma entrega duplicada estoura exceção
+            }
+            assertEquals(1, applied);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, eventRepository.count());
+        PaymentIntent updated = intentRepository.findById(intent.getId()).orElseThrow();
+        assertEquals(PaymentStatus.PAID, updated.getStatus());
+        assertNotNull(updated.getPaidAt());
+    }
+
+    @Test
+    void apply_recentDuplicate_shouldBeDroppedBeforeAnySql() {
+        intent("pay-recent");
+        String raw = "{\"id\":\"evt-recent\",\"status\":\"approved\",\"data\":{\"id\":\"pay-recent\"}}";
+        MercadoPagoWebhookParser.Result parsed = parser.parse(raw);
+
+        assertTrue(handler.apply(parsed, raw));
+
+        // sem a linha no banco, só o cache em memória explica o descarte
+        jdbcTemplate.update("delete from payment_event");
+        assertFalse(handler.apply(parsed, raw));
+        assertEquals(0, eventRepository.count());
+    }
+
+    @Test
+    void insertIfAbsent_shouldReportExistingEvent() {
+        String raw = "{\"id\":\"evt-insert\",\"data\":{\"id\":\"pay-insert\"}}";
+        MercadoPagoWebhookParser.Result parsed = parser.parse(raw);
+
+        assertTrue(handler.apply(parsed, raw));
+        // outra instância (sem o id no cache) recebendo o mesmo evento
+        PaymentEvent event = new PaymentEvent();
+        event.setProvider(PaymentProvider.MERCADO_PAGO);
+        event.setProviderEventId("evt-insert");
+        event.setProviderPaymentId("pay-insert");
+        event.setStatus(PaymentStatus.PENDING);
+        event.setRawPayload(raw);
+
+        assertFalse(eventRepository.insertIfAbsent(event));
+        assertEquals(1, eventRepository.count());
+    }
+
+    // ========================= helpers =========================
+
+    private PaymentIntent intent(String providerPaymentId) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setInspectionId(UUID.randomUUID());
+        intent.setMachineCountSnapshot(1);
+        intent.setReportFee(BigDecimal.TEN);
+        intent.setPricePerMachine(BigDecimal.ONE);
+        intent.setTotalAmount(BigDecimal.valueOf(11));
+        intent.setProviderPaymentId(providerPaymentId);
+        return intentRepository.save(intent);
+    }
+}
@@ -0,0 +1,127 @@
+package com.vectorlabs.payments.webhook;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.model.enuns.PaymentStatus;
+import com.vectorlabs.model.enuns.WebhookInboxStatus;
+import com.vectorlabs.payments.model.PaymentIntent;
+import com.vectorlabs.payments.model.PaymentWebhookInbox;
+import com.vectorlabs.repository.PaymentEventRepository;
+import com.vectorlabs.repository.PaymentIntentRepository;
+import com.vectorlabs.repository.PaymentWebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/** Eventos do mesmo pagamento aplicados na ordem de chegada mesmo quando o primeiro falha. */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        // poller só quando o teste chama
+        "payments.webhook.poll-interval-ms=3600000",
+        "payments.reconciliation.enabled=false"
+})
+class PaymentWebhookInboxOrderTest {
+
+    @Autowired PaymentWebhookInboxService service;
+    @Autowired PaymentWebhookInboxRepository inboxRepository;
+    @Autowired PaymentEventRepository eventRepository;
+    @Autowired PaymentIntentRepository intentRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean PaymentWebhookHandler handler;
+
+    @BeforeEach
+    void setup() {
+        inboxRepository.deleteAll();
+        eventRepository.deleteAll();
+        intentRepository.deleteAll();
+    }
+
+    @Test
+    void laterEvent_shouldWaitWhileFirstEventOfSamePaymentIsInBackoff() {
+        PaymentIntent intent = intent("pay-order");
+        Instant t0 = Instant.now().minus(1, ChronoUnit.MINUTES);
+        UUID approved = inbox("evt-1", "approved", "pay-order", t0);
+        UUID refunded = inbox("evt-2", "refunded", "pay-order", t0.plusMillis(1));
+        UUID other = inbox("evt-3", "approved", "pay-other", t0.plusMillis(2));
+
+        // primeira tentativa do evento mais antigo falha (banco/rede), as seguintes aplicam de verdade
+        doThrow(new IllegalStateException("transient"))
+                .doCallRealMethod()
+                .when(handler).apply(argThat(p -> p != null && "evt-1".equals(p.providerEventId())), any());
+
+        service.process(approved);
+        assertEquals(WebhookInboxStatus.PENDING, statusOf(approved));
+        assertTrue(inboxRepository.findById(approved).orElseThrow().getAvailableAt().isAfter(Instant.now()));
+
+        // o reembolso chegou depois: não passa na frente do evento em backoff, nem no worker nem no poller
+        service.process(refunded);
+        assertEquals(WebhookInboxStatus.PENDING, statusOf(refunded));
+        assertEquals(0, inboxRepository.findById(refunded).orElseThrow().getAttempts());
+        assertEquals(PaymentStatus.PENDING, intentRepository.findById(intent.getId()).orElseThrow().getStatus());
+
+        var ready = inboxRepository.findReadyInPaymentOrder(WebhookInboxStatus.PENDING, Instant.now(), Limit.of(10));
+        assertEquals(1, ready.size());
+        assertEquals(other, ready.getFirst().getId()); // outro pagamento não é afetado
+
+        // fim do backoff: o primeiro volta a ser a cabeça, e só depois dele o reembolso
+        jdbcTemplate.update("update payment_webhook_inbox set available_at = ? where id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), approved);
+        ready = inboxRepository.findReadyInPaymentOrder(WebhookInboxStatus.PENDING, Instant.now(), Limit.of(10));
+        assertEquals(approved, ready.getFirst().getId());
+        assertFalse(ready.stream().anyMatch(r -> r.getId().equals(refunded)));
+
+        service.process(approved);
+        service.process(refunded);
+
+        assertEquals(WebhookInboxStatus.PROCESSED, statusOf(approved));
+        assertEquals(WebhookInboxStatus.PROCESSED, statusOf(refunded));
+        assertEquals(PaymentStatus.REFUNDED, intentRepository.findById(intent.getId()).orElseThrow().getStatus());
+    }
+
+    // ========================= helpers =========================
+
+    private WebhookInboxStatus statusOf(UUID id) {
+        return inboxRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private UUID inbox(String eventId, String status, String paymentId, Instant receivedAt) {
+        PaymentWebhookInbox row = new PaymentWebhookInbox();
+        row.setProvider(PaymentProvider.MERCADO_PAGO);
+        row.setProviderEventId(eventId);
+        row.setProviderPaymentId(paymentId);
+        row.setRawPayload("{\"id\":\"" + eventId + "\",\"status\":\"" + status + "\",\"data\":{\"id\":\"" + paymentId + "\"}}");
+        UUID id = inboxRepository.save(row).getId();
+
+        // received_at vem do @PrePersist: fixa a ordem de chegada
+        Timestamp ts = Timestamp.from(receivedAt);
+        jdbcTemplate.update("update payment_webhook_inbox set received_at = ?, available_at = ? where id = ?", ts, ts, id);
+        return id;
+    }
+
+    private PaymentIntent intent(String providerPaymentId) {
+        PaymentIntent intent = new PaymentIntent();
+        intent.setInspectionId(UUID.randomUUID());
+        intent.setMachineCountSnapshot(1);
+        intent.setReportFee(BigDecimal.TEN);
+        intent.setPricePerMachine(BigDecimal.ONE);
+        intent.setTotalAmount(BigDecimal.valueOf(11));
+        intent.setProviderPaymentId(providerPaymentId);
+        return intentRepository.save(intent);
+    }
+}
@@ -0,0 +1,139 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.repository.support.BulkWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BulkWriter + hibernate.jdbc.batch_size/order_inserts (application.yaml): os INSERTs do lote
+ * saem em JDBC batches e o persistence context não cresce com o lote.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(BulkWriter.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false" // 50k INSERTs formatados no console distorcem a medida
+})
+class BulkInsertTest {
+
+    @Autowired private EntityManager entityManager;
+    @Autowired private BulkWriter bulkWriter;
+
+    @Autowired private RuleRepository ruleRepository;
+    @Autowired private RuleSectionRepository sectionRepository;
+    @Autowired private RuleModuleRepository moduleRepository;
+    @Autowired private RuleItemRepository ruleItemRepository;
+
+    private RuleModule module;
+
+    @BeforeEach
+    void setUp() {
+        Rule rule = new Rule();
+        rule.setCode("NR12");
+        rule.setTitle("Rule NR12");
+        rule.setActive(true);
+        rule = ruleRepository.save(rule);
+
+        RuleSection section = new RuleSection();
+        section.setRule(rule);
+        section.setCode("SEC-01");
+        section.setName("Section 1");
+        section.setSequence(1);
+        section.setActive(true);
+        section = sectionRepository.save(section);
+
+        RuleModule m = new RuleModule();
+        m.setSection(section);
+        m.setModuleCode("MOD-01");
+        m.setModuleName("Module 1");
+        m.setModuleSequence(1);
+        m.setActive(true);
+        module = moduleRepository.save(m);
+
+        entityManager.flush();
+    }
+
+    @Test
+    void persistAll_shouldSendInsertsInJdbcBatches_andKeepContextSmall() {
+        int rows = BulkWriter.CHUNK_SIZE * 2 + 70;
+        Statistics stats = statistics();
+        stats.clear();
+
+        bulkWriter.persistAll(items("B", rows));
+
+        // 1 PreparedStatement por batch de 50 (sem batching seriam 1070)
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(rows / 50 + 3);
+        assertThat(stats.getEntityInsertCount()).isEqualTo(rows);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(ruleItemRepository.count()).isEqualTo(rows);
+    }
+
+    /**
+     * Benchmark (opt-in): BULK_BENCHMARK_ROWS=50000 mvn test -Dtest=BulkInsertTest
+     * Compara linhas/s do lote com e sem JDBC batching no banco de teste; em H2 a diferença é
+     * menor que no Postgres, onde cada INSERT sem batch é um round-trip de rede.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BULK_BENCHMARK_ROWS", matches = "\\d+")
+    void benchmark_rowsPerSecond() {
+        int rows = Integer.parseInt(System.getenv("BULK_BENCHMARK_ROWS"));
+        Session session = entityManager.unwrap(Session.class);
+
+        session.setJdbcBatchSize(1);
+        double unbatched = rowsPerSecond("U", rows);
+
+        session.setJdbcBatchSize(null); // volta ao hibernate.jdbc.batch_size
+        double batched = rowsPerSecond("B", rows);
+
+        System.out.printf("bulk insert %d rule_items: sem batch %.0f linhas/s, batch_size=50 %.0f linhas/s (%.1fx)%n",
+                rows, unbatched, batched, batched / unbatched);
+        assertThat(ruleItemRepository.count()).isEqualTo(2L * rows);
+    }
+
+    // ========================= helpers =========================
+
+    private double rowsPerSecond(String prefix, int rows) {
+        List<RuleItem> items = items(prefix, rows);
+        long start = System.nanoTime();
+        bulkWriter.persistAll(items);
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private List<RuleItem> items(String prefix, int rows) {
+        List<RuleItem> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            RuleItem item = new RuleItem();
+            item.setModule(module);
+            item.setItemCode(prefix + "-" + i);
+            item.setDescription("Item " + prefix + "-" + i);
+            item.setSequence(i);
+            item.setActive(true);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
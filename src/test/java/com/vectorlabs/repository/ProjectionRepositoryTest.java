@@ -0,0 +1,212 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.mapper.AddressMapperImpl;
+import com.vectorlabs.mapper.AppUserMapperImpl;
+import com.vectorlabs.mapper.ClientCompanyMapperImpl;
+import com.vectorlabs.mapper.LocationMapperImpl;
+import com.vectorlabs.mapper.RuleItemMapperImpl;
+import com.vectorlabs.model.Address;
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.ClientCompany;
+import com.vectorlabs.model.Location;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.model.enuns.InspectionLocationType;
+import com.vectorlabs.model.enuns.UserRole;
+import com.vectorlabs.repository.specs.AppUserSpecs;
+import com.vectorlabs.repository.specs.ClientCompanySpecs;
+import com.vectorlabs.repository.specs.LocationSpecs;
+import com.vectorlabs.repository.specs.RuleItemSpecs;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * findAnswers (projeção) tem que devolver exatamente o que o mapper devolveria a partir da
+ * entidade, sem deixar nenhuma entidade no persistence context.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({RuleItemMapperImpl.class, LocationMapperImpl.class, ClientCompanyMapperImpl.class,
+        AppUserMapperImpl.class, AddressMapperImpl.class})
+class ProjectionRepositoryTest {
+
+    @Autowired private EntityManager entityManager;
+
+    @Autowired private AppUserRepository userRepository;
+    @Autowired private ClientCompanyRepository companyRepository;
+    @Autowired private LocationRepository locationRepository;
+    @Autowired private RuleRepository ruleRepository;
+    @Autowired private RuleSectionRepository sectionRepository;
+    @Autowired private RuleModuleRepository moduleRepository;
+    @Autowired private RuleItemRepository ruleItemRepository;
+
+    @Autowired private RuleItemMapperImpl ruleItemMapper;
+    @Autowired private LocationMapperImpl locationMapper;
+    @Autowired private ClientCompanyMapperImpl clientCompanyMapper;
+    @Autowired private AppUserMapperImpl appUserMapper;
+
+    @Test
+    void ruleItemAnswers_shouldMatchMapper_includingItemsWithoutParent() {
+        RuleModule module = persistModule();
+        RuleItem root = ruleItemRepository.save(newItem(module, null, "12.1"));
+        ruleItemRepository.save(newItem(module, root, "12.1.1"));
+
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("itemCode"));
+        var answers = projected(() -> ruleItemRepository.findAnswers(RuleItemSpecs.byModuleId(module.getId()), pageable));
+
+        var expected = ruleItemRepository.findAll(RuleItemSpecs.byModuleId(module.getId()), pageable)
+                .map(ruleItemMapper::toDTO);
+        assertThat(answers.getContent()).hasSize(2).isEqualTo(expected.getContent());
+        assertThat(answers.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void locationAnswers_shouldMatchMapper_withNestedCompany() {
+        AppUser user = userRepository.save(newUser("owner@test.com"));
+        ClientCompany newCompany = newCompany(user, "Metalúrgica Alfa");
+        newCompany.setAddress(newAddress("Niterói"));
+        ClientCompany company = companyRepository.save(newCompany);
+
+        Location withAddress = newLocation(company, "Galpão 1");
+        withAddress.setAddress(newAddress("São Gonçalo"));
+        withAddress.setType(InspectionLocationType.values()[0]);
+        locationRepository.save(withAddress);
+        locationRepository.save(newLocation(company, "Galpão 2"));
+
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("name"));
+        var answers = projected(() -> locationRepository.findAnswers(LocationSpecs.byClientCompanyId(company.getId()), pageable));
+
+        var expected = locationRepository.findAll(LocationSpecs.byClientCompanyId(company.getId()), pageable)
+                .map(locationMapper::toDTO);
+        assertThat(answers.getContent()).hasSize(2).isEqualTo(expected.getContent());
+    }
+
+    @Test
+    void clientCompanyAnswers_shouldMatchMapper_withAndWithoutAddress() {
+        AppUser user = userRepository.save(newUser("owner@test.com"));
+        ClientCompany withAddress = newCompany(user, "Alfa");
+        withAddress.setAddress(newAddress("Niterói"));
+        companyRepository.save(withAddress);
+        companyRepository.save(newCompany(user, "Beta"));
+
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("corporateName"));
+        var answers = projected(() -> companyRepository.findAnswers(ClientCompanySpecs.byUserId(user.getId()), pageable));
+
+        var expected = companyRepository.findAll(ClientCompanySpecs.byUserId(user.getId()), pageable)
+                .map(clientCompanyMapper::toDTO);
+        assertThat(answers.getContent()).hasSize(2).isEqualTo(expected.getContent());
+        assertThat(answers.getContent().get(1).address()).isNull();
+    }
+
+    @Test
+    void appUserAnswers_shouldMatchMapper_withRolesLoadedForThePage() {
+        AppUser admin = newUser("admin@test.com");
+        admin.setRoles(Set.of(UserRole.ADMIN, UserRole.USER));
+        admin.setAddress(newAddress("Rio de Janeiro"));
+        userRepository.save(admin);
+        userRepository.save(newUser("plain@test.com"));
+
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("email"));
+        var answers = projected(() -> userRepository.findAnswers(AppUserSpecs.emailLike("test.com"), pageable));
+
+        var expected = userRepository.findAll(AppUserSpecs.emailLike("test.com"), pageable)
+                .map(appUserMapper::toAnswerDTO);
+        assertThat(answers.getContent()).hasSize(2).isEqualTo(expected.getContent());
+        assertThat(answers.getContent().get(0).roles()).containsExactlyInAnyOrder(UserRole.ADMIN, UserRole.USER);
+    }
+
+    // ========================= helpers =========================
+
+    /** Roda a projeção com o contexto limpo e garante que nenhuma entidade ficou gerenciada. */
+    private <D> Page<D> projected(Supplier<Page<D>> query) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<D> page = query.get();
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        return page;
+    }
+
+    private RuleModule persistModule() {
+        Rule rule = new Rule();
+        rule.setCode("NR12");
+        rule.setTitle("Rule NR12");
+        rule.setActive(true);
+        rule = ruleRepository.save(rule);
+
+        RuleSection section = new RuleSection();
+        section.setRule(rule);
+        section.setCode("SEC-01");
+        section.setName("Section 1");
+        section.setSequence(1);
+        section.setActive(true);
+        section = sectionRepository.save(section);
+
+        RuleModule module = new RuleModule();
+        module.setSection(section);
+        module.setModuleCode("MOD-01");
+        module.setModuleName("Module 1");
+        module.setModuleSequence(1);
+        module.setActive(true);
+        return moduleRepository.save(module);
+    }
+
+    private RuleItem newItem(RuleModule module, RuleItem parent, String itemCode) {
+        RuleItem i = new RuleItem();
+        i.setModule(module);
+        i.setParent(parent);
+        i.setItemCode(itemCode);
+        i.setDescription("Item " + itemCode);
+        i.setActive(true);
+        return i;
+    }
+
+    private AppUser newUser(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+
+    private ClientCompany newCompany(AppUser user, String corporateName) {
+        ClientCompany c = new ClientCompany();
+        c.setUser(user);
+        c.setCorporateName(corporateName);
+        c.setCnpj("12345678000199");
+        return c;
+    }
+
+    private Location newLocation(ClientCompany company, String name) {
+        Location l = new Location();
+        l.setCompany(company);
+        l.setName(name);
+        return l;
+    }
+
+    private Address newAddress(String city) {
+        Address a = new Address();
+        a.setStreet("Rua A");
+        a.setNumber("10");
+        a.setDistrict("Centro");
+        a.setCity(city);
+        a.setState("RJ");
+        a.setZipCode("24000-000");
+        a.setCountry("Brasil");
+        return a;
+    }
+}
@@ -4,12 +4,23 @@ import com.vectorlabs.model.Rule;
 import com.vectorlabs.model.RuleItem;
 import com.vectorlabs.model.RuleModule;
 import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.dto.common.ScrollDTO;
+import com.vectorlabs.repository.specs.RuleItemSpecs;
+import com.vectorlabs.repository.support.Scrolling;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ActiveProfiles("test")
 @DataJpaTest
 class RuleItemRepositoryTest {
 
@@ -50,6 +61,51 @@ class RuleItemRepositoryTest {
         assertFalse(exists);
     }
 
+    // ========================= scroll (keyset / slice) =========================
+
+    @Test
+    void keysetScroll_shouldWalkAllItems_withoutDuplicates() {
+        RuleModule module = persistRuleGraphAndReturnModule();
+        for (int i = 0; i < 7; i++) {
+            repository.save(newItem(module, null, "ITM-" + i, "Item " + i, true));
+        }
+
+        Specification<RuleItem> spec = RuleItemSpecs.byModuleId(module.getId());
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int windows = 0;
+
+        do {
+            ScrollDTO<UUID> window = Scrolling.keyset(repository, spec, cursor, 3, RuleItem::getId);
+            window.content().forEach(id -> assertTrue(seen.add(id), "duplicated item across windows"));
+            cursor = window.nextCursor();
+            windows++;
+            assertEquals(cursor != null, window.hasNext());
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(3, windows);
+    }
+
+    @Test
+    void slice_shouldReportHasNext_withoutTotals() {
+        RuleModule module = persistRuleGraphAndReturnModule();
+        for (int i = 0; i < 5; i++) {
+            repository.save(newItem(module, null, "ITM-" + i, "Item " + i, true));
+        }
+
+        Specification<RuleItem> spec = RuleItemSpecs.byModuleId(module.getId());
+
+        ScrollDTO<UUID> first = Scrolling.slice(repository, spec, 0, 3, Sort.unsorted(), RuleItem::getId);
+        ScrollDTO<UUID> second = Scrolling.slice(repository, spec, 1, 3, Sort.unsorted(), RuleItem::getId);
+
+        assertEquals(3, first.content().size());
+        assertTrue(first.hasNext());
+        assertEquals(2, second.content().size());
+        assertFalse(second.hasNext());
+        assertNull(second.nextCursor());
+    }
+
     // ========================= existsByModule_IdAndItemCode =========================
 
     @Test
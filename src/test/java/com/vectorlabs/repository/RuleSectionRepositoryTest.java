@@ -5,9 +5,11 @@ import com.vectorlabs.model.RuleSection;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ActiveProfiles("test")
 @DataJpaTest
 class RuleSectionRepositoryTest {
 
@@ -101,6 +103,14 @@ class RuleSectionRepositoryTest {
         assertTrue(exists);
     }
 
+    @Test
+    void findRuleIdById_shouldReturnOwningRule() {
+        Rule rule = ruleRepository.save(newRule("NR12"));
+        RuleSection section = repository.save(newSection(rule, "SEC-01", "Section 1", 1, true));
+
+        assertEquals(rule.getId(), repository.findRuleIdById(section.getId()).orElseThrow());
+    }
+
     // ========================= HELPERS =========================
 
     private Rule newRule(String code) {
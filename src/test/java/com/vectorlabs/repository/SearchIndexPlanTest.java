@@ -0,0 +1,202 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.model.enuns.PaymentProvider;
+import com.vectorlabs.repository.specs.AppUserSpecs;
+import com.vectorlabs.repository.specs.ChecklistTemplateSpecs;
+import com.vectorlabs.repository.specs.ClientCompanySpecs;
+import com.vectorlabs.repository.specs.LocationSpecs;
+import com.vectorlabs.repository.specs.MachineSpecs;
+import com.vectorlabs.repository.specs.RuleItemSpecs;
+import com.vectorlabs.repository.specs.RuleModuleSpecs;
+import com.vectorlabs.repository.specs.RuleSectionSpecs;
+import com.vectorlabs.repository.support.SqlCapture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que cada filtro das *Specs tem um índice que o Postgres consegue usar
+ * (V2__rule_text_search.sql / V3__search_expression_indexes.sql), além das consultas quentes de V4.
+ *
+ * Roda só contra um Postgres 16+ real (banco vazio): EXPLAIN_DB_URL, EXPLAIN_DB_USER, EXPLAIN_DB_PASSWORD.
+ * No CI, o job search-index-plan (.github/workflows/postgres-migrations.yml) sobe o Postgres e
+ * falha se este teste for pulado. Local: {@code docker run -d -p 5432:5432 -e POSTGRES_PASSWORD=explain postgres:16}
+ * e {@code EXPLAIN_DB_URL=jdbc:postgresql://localhost:5432/postgres EXPLAIN_DB_USER=postgres
+ * EXPLAIN_DB_PASSWORD=explain mvn test -Dtest=SearchIndexPlanTest}.
+ * O schema sai das migrations e o Hibernate valida contra ele (ddl-auto=validate).
+ * O SQL gerado pelo Hibernate é capturado e explicado com EXPLAIN (GENERIC_PLAN), com
+ * enable_seqscan = off: se ainda assim o plano for Seq Scan, nenhum índice atende o predicado.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_DB_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.vectorlabs.repository.support.SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SearchIndexPlanTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("EXPLAIN_DB_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv("EXPLAIN_DB_USER"));
+        registry.add("spring.datasource.password", () -> System.getenv("EXPLAIN_DB_PASSWORD"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired DataSource dataSource;
+    @Autowired AppUserRepository appUserRepository;
+    @Autowired ClientCompanyRepository clientCompanyRepository;
+    @Autowired LocationRepository locationRepository;
+    @Autowired MachineRepository machineRepository;
+    @Autowired ChecklistTemplateRepository checklistTemplateRepository;
+    @Autowired RuleSectionRepository ruleSectionRepository;
+    @Autowired RuleModuleRepository ruleModuleRepository;
+    @Autowired RuleItemRepository ruleItemRepository;
+    @Autowired PaymentIntentRepository paymentIntentRepository;
+
+    @Test
+    void appUserSearches_useIndexes() {
+        assertIndexed("app_user", () -> appUserRepository.findAll(AppUserSpecs.emailLike("silva"), PAGE));
+        assertIndexed("app_user", () -> appUserRepository.findAll(AppUserSpecs.nameLike("silva"), PAGE));
+        assertIndexed("app_user", () -> appUserRepository.findAll(AppUserSpecs.emailEquals("a@b.com"), PAGE));
+        assertIndexed("app_user", () -> appUserRepository.findAll(AppUserSpecs.addressCityLike("paulo"), PAGE));
+        assertIndexed("app_user", () -> appUserRepository.findByEmailIgnoreCase("A@B.com"));
+        assertIndexed("app_user", () -> appUserRepository.existsByEmailIgnoreCase("a@b.com"));
+    }
+
+    @Test
+    void clientCompanySearches_useIndexes() {
+        assertIndexed("client_companies", () -> clientCompanyRepository.findAll(ClientCompanySpecs.corporateNameContains("metal"), PAGE));
+        assertIndexed("client_companies", () -> clientCompanyRepository.findAll(ClientCompanySpecs.tradeNameContains("metal"), PAGE));
+        assertIndexed("client_companies", () -> clientCompanyRepository.findAll(ClientCompanySpecs.emailContains("metal"), PAGE));
+        assertIndexed("client_companies", () -> clientCompanyRepository.findAll(ClientCompanySpecs.phoneContains("2199"), PAGE));
+        assertIndexed("client_companies", () -> clientCompanyRepository.findAll(ClientCompanySpecs.addressCityEquals("Niterói"), PAGE));
+    }
+
+    @Test
+    void locationSearches_useIndexes() {
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.nameContains("galpão"), PAGE));
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.codeContains("gal"), PAGE));
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.descriptionContains("prensa"), PAGE));
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.streetContains("brasil"), PAGE));
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.cityContains("paulo"), PAGE));
+        assertIndexed("locations", () -> locationRepository.findAll(LocationSpecs.zipCodeContains("2402"), PAGE));
+    }
+
+    @Test
+    void machineSearches_useIndexes() {
+        assertIndexed("machines", () -> machineRepository.findAll(MachineSpecs.typeLike("torno"), PAGE));
+        assertIndexed("machines", () -> machineRepository.findAll(MachineSpecs.manufacturerLike("romi"), PAGE));
+        assertIndexed("machines", () -> machineRepository.findAll(MachineSpecs.modelLike("2500"), PAGE));
+        assertIndexed("machines", () -> machineRepository.findAll(MachineSpecs.hasType("Torno"), PAGE));
+        assertIndexed("machines", () -> machineRepository
+                .existsByTypeIgnoreCaseAndManufacturerIgnoreCaseAndModelIgnoreCase("Torno", "Romi", "KCTS"));
+    }
+
+    @Test
+    void checklistTemplateSearches_useIndexes() {
+        assertIndexed("checklist_templates", () -> checklistTemplateRepository.findAll(ChecklistTemplateSpecs.titleContains("prensa"), PAGE));
+        assertIndexed("checklist_templates", () -> checklistTemplateRepository.findAll(ChecklistTemplateSpecs.descriptionContains("prensa"), PAGE));
+    }
+
+    @Test
+    void ruleSearches_useIndexes() {
+        assertIndexed("rule_sections", () -> ruleSectionRepository.findAll(RuleSectionSpecs.nameContains("proteção"), PAGE));
+        assertIndexed("rule_sections", () -> ruleSectionRepository.findAll(RuleSectionSpecs.codeContains("12.3"), PAGE));
+        assertIndexed("rule_modules", () -> ruleModuleRepository.findAll(RuleModuleSpecs.moduleNameContains("proteção"), PAGE));
+        assertIndexed("rule_modules", () -> ruleModuleRepository.findAll(RuleModuleSpecs.moduleCodeContains("12.3"), PAGE));
+        assertIndexed("rule_items", () -> ruleItemRepository.findAll(RuleItemSpecs.descriptionContains("parada"), PAGE));
+        assertIndexed("rule_items", () -> ruleItemRepository.findAll(RuleItemSpecs.itemCodeContains("12.38"), PAGE));
+    }
+
+    @Test
+    void liveRowLookups_useIndexes() {
+        // o filtro de soft delete (deleted = false) entra no SQL e casa com os índices parciais de V5
+        assertIndexed("client_companies", "user_id",
+                () -> clientCompanyRepository.findAll(ClientCompanySpecs.byUserId(UUID.randomUUID()), PAGE));
+        assertIndexed("locations", "company_id",
+                () -> locationRepository.findAll(LocationSpecs.byClientCompanyId(UUID.randomUUID()), PAGE));
+        assertIndexed("checklist_templates", "user_id",
+                () -> checklistTemplateRepository.findAll(ChecklistTemplateSpecs.byUserId(UUID.randomUUID()), PAGE));
+    }
+
+    @Test
+    void paymentIntentLookups_useIndexes() {
+        assertIndexed("payment_intent", "inspection_id",
+                () -> paymentIntentRepository.findTopByInspectionIdOrderByCreatedAtDesc(UUID.randomUUID()));
+        assertIndexed("payment_intent", "provider_payment_id",
+                () -> paymentIntentRepository.findByProviderAndProviderPaymentId(PaymentProvider.MERCADO_PAGO, "123"));
+    }
+
+    // ---------- helpers ----------
+
+    private void assertIndexed(String table, Supplier<?> query) {
+        assertIndexed(table, "lower(", query);
+    }
+
+    private void assertIndexed(String table, String indexedExpression, Supplier<?> query) {
+        List<String> statements = SqlCapture.capture(query);
+        String sql = statements.stream()
+                .filter(s -> s.toLowerCase().contains("from " + table + " "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement on " + table + ": " + statements));
+
+        String plan = explain(sql);
+        assertFalse(plan.contains("Seq Scan on " + table + " "),
+                () -> "sequential scan on " + table + "\n" + sql + "\n" + plan);
+        // um Index Scan "cheio" pela pk também escaparia do seq scan: exige o predicado no índice
+        assertTrue(plan.lines().anyMatch(l -> l.contains("Index Cond:") && l.contains(indexedExpression)),
+                () -> "predicate not served by an index on " + table + "\n" + sql + "\n" + plan);
+    }
+
+    private String explain(String sql) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement st = connection.createStatement()) {
+            st.execute("SET LOCAL enable_seqscan = off");
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = st.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for: " + sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // JDBC "?" -> "$1", "$2"... (fora de literais), formato aceito pelo GENERIC_PLAN
+    static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 8);
+        boolean inLiteral = false;
+        int n = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') inLiteral = !inLiteral;
+            if (c == '?' && !inLiteral) out.append('$').append(++n);
+            else out.append(c);
+        }
+        return out.toString();
+    }
+}
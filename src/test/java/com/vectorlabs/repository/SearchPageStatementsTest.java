@@ -0,0 +1,234 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.mapper.ChecklistTemplateMapperImpl;
+import com.vectorlabs.mapper.ClientCompanyMapperImpl;
+import com.vectorlabs.mapper.LocationMapperImpl;
+import com.vectorlabs.mapper.RuleItemMapperImpl;
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.ChecklistTemplate;
+import com.vectorlabs.model.ClientCompany;
+import com.vectorlabs.model.Location;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.repository.specs.ChecklistTemplateSpecs;
+import com.vectorlabs.repository.specs.LocationSpecs;
+import com.vectorlabs.repository.specs.RuleItemSpecs;
+import com.vectorlabs.repository.support.Scrolling;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de statements por página de busca, já em DTO (como os services fazem: findAnswers
+ * nas projeções, mapper + entity graph no scroll).
+ * Tem que ser fixa: não pode crescer com o tamanho da página (N+1 de proxies lazy).
+ *
+ * default_batch_fetch_size=0 aqui: sem o batch fetch de segurança, qualquer lazy load que o
+ * mapper disparar aparece na contagem.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({LocationMapperImpl.class, ClientCompanyMapperImpl.class, RuleItemMapperImpl.class, ChecklistTemplateMapperImpl.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=0"
+})
+class SearchPageStatementsTest {
+
+    private static final int ROWS = 12;
+
+    @Autowired private EntityManager entityManager;
+
+    @Autowired private AppUserRepository userRepository;
+    @Autowired private ClientCompanyRepository companyRepository;
+    @Autowired private LocationRepository locationRepository;
+    @Autowired private RuleRepository ruleRepository;
+    @Autowired private RuleSectionRepository sectionRepository;
+    @Autowired private RuleModuleRepository moduleRepository;
+    @Autowired private RuleItemRepository ruleItemRepository;
+    @Autowired private ChecklistTemplateRepository templateRepository;
+
+    @Autowired private LocationMapperImpl locationMapper;
+    @Autowired private RuleItemMapperImpl ruleItemMapper;
+    @Autowired private ChecklistTemplateMapperImpl templateMapper;
+
+    // ========================= Location (company + ClientCompanyMapper) =========================
+
+    @Test
+    void locationPage_shouldCostSelectPlusCount_regardlessOfPageSize() {
+        AppUser user = userRepository.save(newUser("owner@test.com"));
+        for (int i = 0; i < ROWS; i++) {
+            // uma empresa por local: o pior caso do N+1
+            ClientCompany company = companyRepository.save(newCompany(user, "Empresa " + i));
+            locationRepository.save(newLocation(company, "Local " + i));
+        }
+        Specification<Location> spec = LocationSpecs.nameContains("local");
+
+        long small = statements(() -> locationRepository.findAnswers(spec, PageRequest.of(0, 3))
+                .getContent());
+        long large = statements(() -> locationRepository.findAnswers(spec, PageRequest.of(0, ROWS))
+                .getContent());
+
+        assertThat(small).isEqualTo(2); // select + count
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void locationScroll_shouldCostOneSelect_regardlessOfPageSize() {
+        AppUser user = userRepository.save(newUser("owner@test.com"));
+        for (int i = 0; i < ROWS; i++) {
+            ClientCompany company = companyRepository.save(newCompany(user, "Empresa " + i));
+            locationRepository.save(newLocation(company, "Local " + i));
+        }
+        Specification<Location> spec = LocationSpecs.nameContains("local");
+
+        long keyset = statements(() -> Scrolling.keyset(locationRepository, spec, null, ROWS,
+                locationMapper::toDTO, "company"));
+        long slice = statements(() -> Scrolling.slice(locationRepository, spec, 0, ROWS, Sort.unsorted(),
+                locationMapper::toDTO, "company"));
+
+        assertThat(keyset).isEqualTo(1);
+        assertThat(slice).isEqualTo(1);
+    }
+
+    // ========================= RuleItem (module.moduleCode, parent.id) =========================
+
+    @Test
+    void ruleItemPage_shouldCostSelectPlusCount_regardlessOfPageSize() {
+        Rule rule = ruleRepository.save(newRule("NR12"));
+        RuleSection section = sectionRepository.save(newSection(rule));
+        for (int i = 0; i < ROWS; i++) {
+            // um módulo por item e um parent em cada item
+            RuleModule module = moduleRepository.save(newModule(section, "MOD-" + i, i));
+            RuleItem parent = ruleItemRepository.save(newItem(module, null, "P-" + i));
+            ruleItemRepository.save(newItem(module, parent, "ITM-" + i));
+        }
+        Specification<RuleItem> spec = RuleItemSpecs.itemCodeContains("itm");
+
+        long small = statements(() -> ruleItemRepository.findAnswers(spec, PageRequest.of(0, 3))
+                .getContent());
+        long large = statements(() -> ruleItemRepository.findAnswers(spec, PageRequest.of(0, ROWS))
+                .getContent());
+        long keyset = statements(() -> Scrolling.keyset(ruleItemRepository, spec, null, ROWS,
+                ruleItemMapper::toDTO, "module"));
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+        assertThat(keyset).isEqualTo(1);
+    }
+
+    // ========================= ChecklistTemplate (user.id, rule.id) =========================
+
+    @Test
+    void checklistTemplatePage_shouldNotLoadUserOrRule_forTheirIds() {
+        for (int i = 0; i < ROWS; i++) {
+            AppUser user = userRepository.save(newUser("user" + i + "@test.com"));
+            Rule rule = ruleRepository.save(newRule("NR-" + i));
+            templateRepository.save(newTemplate(user, rule, "Template " + i));
+        }
+        Specification<ChecklistTemplate> spec = ChecklistTemplateSpecs.titleContains("template");
+
+        // só ids das associações: o proxy responde sem select, não precisa de entity graph
+        long small = statements(() -> templateRepository.findAll(spec, PageRequest.of(0, 3))
+                .map(templateMapper::toDTO).getContent());
+        long large = statements(() -> templateRepository.findAll(spec, PageRequest.of(0, ROWS))
+                .map(templateMapper::toDTO).getContent());
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    // ========================= helpers =========================
+
+    private long statements(Supplier<?> page) {
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        page.get();
+        return stats.getPrepareStatementCount();
+    }
+
+    private AppUser newUser(String email) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        return u;
+    }
+
+    private ClientCompany newCompany(AppUser user, String corporateName) {
+        ClientCompany c = new ClientCompany();
+        c.setUser(user);
+        c.setCorporateName(corporateName);
+        return c;
+    }
+
+    private Location newLocation(ClientCompany company, String name) {
+        Location l = new Location();
+        l.setCompany(company);
+        l.setName(name);
+        return l;
+    }
+
+    private Rule newRule(String code) {
+        Rule r = new Rule();
+        r.setCode(code);
+        r.setTitle("Rule " + code);
+        r.setActive(true);
+        return r;
+    }
+
+    private RuleSection newSection(Rule rule) {
+        RuleSection s = new RuleSection();
+        s.setRule(rule);
+        s.setCode("SEC-01");
+        s.setName("Section 1");
+        s.setSequence(1);
+        s.setActive(true);
+        return s;
+    }
+
+    private RuleModule newModule(RuleSection section, String code, int sequence) {
+        RuleModule m = new RuleModule();
+        m.setSection(section);
+        m.setModuleCode(code);
+        m.setModuleName("Module " + code);
+        m.setModuleSequence(sequence);
+        m.setActive(true);
+        return m;
+    }
+
+    private RuleItem newItem(RuleModule module, RuleItem parent, String itemCode) {
+        RuleItem i = new RuleItem();
+        i.setModule(module);
+        i.setParent(parent);
+        i.setItemCode(itemCode);
+        i.setDescription("Item " + itemCode);
+        i.setActive(true);
+        return i;
+    }
+
+    private ChecklistTemplate newTemplate(AppUser user, Rule rule, String title) {
+        ChecklistTemplate t = new ChecklistTemplate();
+        t.setUser(user);
+        t.setRule(rule);
+        t.setTitle(title);
+        t.setActive(true);
+        return t;
+    }
+}
@@ -0,0 +1,96 @@
+package com.vectorlabs.repository;
+
+import com.vectorlabs.config.SoftDeleteConfig;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.repository.specs.RuleSpecs;
+import com.vectorlabs.repository.support.SoftDeleteFilter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({SoftDeleteConfig.class, SoftDeleteFilter.class})
+class SoftDeleteFilterTest {
+
+    @Autowired
+    private RuleRepository repository;
+
+    @Autowired
+    private SoftDeleteFilter softDeleteFilter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Rule live;
+    private Rule deleted;
+
+    private Rule buildRule(String code) {
+        Rule rule = new Rule();
+        rule.setCode(code);
+        rule.setTitle("NR Teste");
+        rule.setDescription("Descrição teste");
+        rule.setActive(true);
+        rule.setDeleted(false);
+        return rule;
+    }
+
+    @BeforeEach
+    void setUp() {
+        live = repository.save(buildRule("NR-10"));
+        deleted = buildRule("NR-11");
+        deleted.softDelete();
+        deleted = repository.save(deleted);
+        repository.flush();
+        entityManager.clear();
+    }
+
+    private static List<String> codes(List<Rule> rules) {
+        return rules.stream().map(Rule::getCode).sorted().toList();
+    }
+
+    @Test
+    void queries_shouldHideDeletedRows_byDefault() {
+        assertThat(codes(repository.findAll())).containsExactly("NR-10");
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.findAll(RuleSpecs.codeLike("NR"), PageRequest.of(0, 10, Sort.by("code")))
+                .getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_shouldStillLoadDeletedRow() {
+        // lookup por chave não passa pelo filtro: restore/validateNotDeleted continuam funcionando
+        assertThat(repository.findById(deleted.getId())).isPresent();
+    }
+
+    @Test
+    void includeDeletedMethod_shouldSeeTombstones() {
+        // a unique constraint vale para a tombstone: a checagem de duplicidade tem que enxergá-la
+        assertThat(repository.existsByCodeIgnoreCase("nr-11")).isTrue();
+        assertThat(repository.existsByCodeIgnoreCase("nr-10")).isTrue();
+    }
+
+    @Test
+    void includingDeleted_shouldDisableFilterOnlyInsideTheCall() {
+        List<Rule> all = softDeleteFilter.includingDeleted(() -> repository.findAll());
+        assertThat(codes(all)).containsExactly("NR-10", "NR-11");
+
+        List<Rule> onlyDeleted = softDeleteFilter.includingDeleted(() ->
+                repository.findAll(RuleSpecs.deletedEquals(true)));
+        assertThat(codes(onlyDeleted)).containsExactly("NR-11");
+
+        // filtro religado na mesma sessão
+        assertThat(codes(repository.findAll())).containsExactly("NR-10");
+        assertThat(live.getId()).isNotNull();
+    }
+}
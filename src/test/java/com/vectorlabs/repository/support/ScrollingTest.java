@@ -0,0 +1,53 @@
+package com.vectorlabs.repository.support;
+
+import com.vectorlabs.exception.InvalidFieldException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrollingTest {
+
+    @Test
+    void cursor_shouldRoundTripKeysetPosition() {
+        Instant createdAt = Instant.parse("2026-01-01T12:00:00.123456Z");
+        UUID id = UUID.randomUUID();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(Scrolling.CREATED_AT, createdAt);
+        keys.put(Scrolling.ID, id);
+
+        String cursor = Scrolling.encode(ScrollPosition.forward(keys));
+        ScrollPosition decoded = Scrolling.decode(cursor);
+
+        KeysetScrollPosition keyset = assertInstanceOf(KeysetScrollPosition.class, decoded);
+        assertEquals(createdAt, keyset.getKeys().get(Scrolling.CREATED_AT));
+        assertEquals(id, keyset.getKeys().get(Scrolling.ID));
+        assertFalse(cursor.contains("="));
+    }
+
+    @Test
+    void decode_shouldStartFromBeginning_whenCursorMissing() {
+        assertTrue(Scrolling.decode(null).isInitial());
+        assertTrue(Scrolling.decode(" ").isInitial());
+    }
+
+    @Test
+    void decode_shouldRejectTamperedCursor() {
+        assertThrows(InvalidFieldException.class, () -> Scrolling.decode("not-a-cursor"));
+        assertThrows(InvalidFieldException.class, () -> Scrolling.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    @Test
+    void sizeOf_shouldClampPageSize() {
+        assertEquals(Scrolling.DEFAULT_SIZE, Scrolling.sizeOf(null));
+        assertEquals(Scrolling.DEFAULT_SIZE, Scrolling.sizeOf(0));
+        assertEquals(Scrolling.MAX_SIZE, Scrolling.sizeOf(5000));
+        assertEquals(25, Scrolling.sizeOf(25));
+    }
+}
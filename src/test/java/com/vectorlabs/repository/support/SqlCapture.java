@@ -0,0 +1,35 @@
+package com.vectorlabs.repository.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * StatementInspector de teste: guarda o SQL que o Hibernate gera enquanto capture() roda.
+ * Registrado via spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) captured.add(sql);
+        return sql;
+    }
+
+    /** SQL de todas as statements executadas por action, na ordem. */
+    public static List<String> capture(Supplier<?> action) {
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            action.get();
+            return captured;
+        } finally {
+            CAPTURED.remove();
+        }
+    }
+}
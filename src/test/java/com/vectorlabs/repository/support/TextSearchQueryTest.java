@@ -0,0 +1,41 @@
+package com.vectorlabs.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSearchQueryTest {
+
+    @Test
+    void prefixQuery_shouldJoinTermsWithAnd_andPrefixLastTerm() {
+        assertEquals("proteção & máquin:*", TextSearchQuery.prefixQuery("  Proteção   MÁQUIN"));
+    }
+
+    @Test
+    void prefixQuery_shouldDropTsqueryOperators() {
+        assertEquals("a & b & c:*", TextSearchQuery.prefixQuery("a & !b | (c):*"));
+        assertEquals("drop & table:*", TextSearchQuery.prefixQuery("'; drop table --"));
+    }
+
+    @Test
+    void prefixQuery_shouldKeepItemCodes_withoutTrailingPunctuation() {
+        assertEquals("12.38.1:*", TextSearchQuery.prefixQuery("12.38.1"));
+        assertEquals(List.of("12.38"), TextSearchQuery.terms("12.38."));
+        assertEquals(List.of("nr-12", "x"), TextSearchQuery.terms("-nr-12 x-"));
+    }
+
+    @Test
+    void prefixQuery_shouldReturnNull_whenNothingSearchable() {
+        assertNull(TextSearchQuery.prefixQuery(null));
+        assertNull(TextSearchQuery.prefixQuery("   "));
+        assertNull(TextSearchQuery.prefixQuery("&|!():*'"));
+    }
+
+    @Test
+    void terms_shouldBeBounded() {
+        assertEquals(TextSearchQuery.MAX_TERMS, TextSearchQuery.terms("a b c d e f g h i j k").size());
+        assertEquals(TextSearchQuery.MAX_TERM_LENGTH, TextSearchQuery.terms("x".repeat(500)).get(0).length());
+    }
+}
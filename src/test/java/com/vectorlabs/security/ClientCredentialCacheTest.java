@@ -0,0 +1,90 @@
+package com.vectorlabs.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientCredentialCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private static VerifiedClient client(String clientId) {
+        return new VerifiedClient(UUID.randomUUID(), clientId, Set.of("nr12:read"));
+    }
+
+    @Test
+    void get_shouldHit_onlyWithSameSecret() {
+        ClientCredentialCache cache = new ClientCredentialCache(Duration.ofMinutes(10), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        VerifiedClient client = client("n8n");
+
+        cache.put(client, "s3cr3t");
+
+        assertEquals(client, cache.get("n8n", "s3cr3t").orElseThrow());
+        assertTrue(cache.get("n8n", "s3cr3t-other").isEmpty());
+        assertTrue(cache.get("other", "s3cr3t").isEmpty());
+    }
+
+    @Test
+    void get_shouldMiss_afterTtl() {
+        ClientCredentialCache writer = new ClientCredentialCache(Duration.ofMinutes(10), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        writer.put(client("n8n"), "s3cr3t");
+        assertTrue(writer.get("n8n", "s3cr3t").isPresent());
+
+        ClientCredentialCache expired = new ClientCredentialCache(Duration.ZERO, 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        expired.put(client("n8n"), "s3cr3t");
+        assertTrue(expired.get("n8n", "s3cr3t").isEmpty());
+        assertEquals(0, expired.size());
+    }
+
+    @Test
+    void evict_shouldRemoveEntry() {
+        ClientCredentialCache cache = new ClientCredentialCache(Duration.ofMinutes(10), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(client("n8n"), "s3cr3t");
+
+        cache.evict("n8n");
+
+        assertTrue(cache.get("n8n", "s3cr3t").isEmpty());
+    }
+
+    @Test
+    void evictNowAndAfterCommit_shouldDropEntryReloadedBeforeCommit() {
+        ClientCredentialCache cache = new ClientCredentialCache(Duration.ofMinutes(10), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        cache.put(client("n8n"), "s3cr3t");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictNowAndAfterCommit("n8n");
+            assertEquals(0, cache.size());
+
+            // autenticação concorrente recarrega o estado antigo antes do commit
+            cache.put(client("n8n"), "s3cr3t");
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(cache.get("n8n", "s3cr3t").isEmpty());
+    }
+
+    @Test
+    void put_shouldKeepSizeBounded() {
+        ClientCredentialCache cache = new ClientCredentialCache(Duration.ofMinutes(10), 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(client("client-" + i), "s3cr3t");
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+}
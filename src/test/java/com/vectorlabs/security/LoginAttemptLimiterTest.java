@@ -0,0 +1,107 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Test
+    void checkAllowed_shouldBlockAccount_afterMaxFailures() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(3, 100, Duration.ofMinutes(15), 1000,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.checkAllowed("user@test.com", "10.0.0." + i);
+            limiter.recordFailure("user@test.com", "10.0.0." + i);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("user@test.com", "10.0.0.99"));
+        // outra conta no mesmo IP segue liberada
+        assertDoesNotThrow(() -> limiter.checkAllowed("other@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_shouldBlockIp_acrossAccounts() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(100, 3, Duration.ofMinutes(15), 1000,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("fresh@test.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> limiter.checkAllowed("fresh@test.com", "10.0.0.2"));
+    }
+
+    @Test
+    void recordSuccess_shouldResetAccountCounter() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(2, 100, Duration.ofMinutes(15), 1000,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+        limiter.recordSuccess("user@test.com");
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+
+        assertDoesNotThrow(() -> limiter.checkAllowed("user@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_shouldUnblock_afterWindow() {
+        MutableClock clock = new MutableClock(NOW);
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(1, 100, Duration.ofMinutes(15), 1000, clock);
+
+        limiter.recordFailure("user@test.com", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkAllowed("user@test.com", "10.0.0.1"));
+
+        clock.now = NOW.plus(Duration.ofMinutes(15));
+        assertDoesNotThrow(() -> limiter.checkAllowed("user@test.com", "10.0.0.1"));
+
+        limiter.evictExpired();
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    @Test
+    void recordFailure_shouldKeepTrackedKeysBounded() {
+        LoginAttemptLimiter limiter = new LoginAttemptLimiter(5, 50, Duration.ofMinutes(15), 10,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 100; i++) {
+            limiter.recordFailure("user" + i + "@test.com", "10.0.1." + i);
+        }
+
+        assertTrue(limiter.trackedKeys() <= 10);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private static AppUser user(UUID id) {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setEmail("user@test.com");
+        user.setEnabled(true);
+        user.setDeleted(false);
+        user.setRoles(Set.of(UserRole.CLIENT));
+        return user;
+    }
+
+    @Test
+    void getOrLoad_shouldHitLoaderOnlyOnce_withinTtl() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofSeconds(30), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            Optional<PrincipalSnapshot> snapshot = cache.getOrLoad(id, uid -> {
+                loads.incrementAndGet();
+                return Optional.of(user(uid));
+            });
+            assertTrue(snapshot.isPresent());
+            assertEquals(Set.of(UserRole.CLIENT), snapshot.get().roles());
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getOrLoad_shouldReload_afterTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        PrincipalCache cache = new PrincipalCache(Duration.ofSeconds(30), 100, clock);
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(id, uid -> { loads.incrementAndGet(); return Optional.of(user(uid)); });
+        clock.now = NOW.plusSeconds(31);
+        cache.getOrLoad(id, uid -> { loads.incrementAndGet(); return Optional.of(user(uid)); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_shouldForceReload_andSeeNewState() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofSeconds(30), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+        AppUser user = user(id);
+
+        cache.getOrLoad(id, uid -> Optional.of(user));
+        user.setDeleted(true);
+        user.setEnabled(false);
+
+        assertTrue(cache.getOrLoad(id, uid -> Optional.of(user)).orElseThrow().isActive());
+
+        cache.evictNowAndAfterCommit(id);
+
+        assertFalse(cache.getOrLoad(id, uid -> Optional.of(user)).orElseThrow().isActive());
+    }
+
+    @Test
+    void getOrLoad_shouldNotCacheMissingUser() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofSeconds(30), 100, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(cache.getOrLoad(UUID.randomUUID(), uid -> Optional.empty()).isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_shouldKeepSizeBounded() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofSeconds(30), 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 100; i++) {
+            cache.getOrLoad(UUID.randomUUID(), uid -> Optional.of(user(uid)));
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vectorlabs.security;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleAuthoritiesTest {
+
+    private static AppUser user(Set<UserRole> roles) {
+        AppUser user = new AppUser();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@test.com");
+        user.setEnabled(true);
+        user.setDeleted(false);
+        user.setRoles(roles);
+        return user;
+    }
+
+    @Test
+    void authoritiesOf_shouldReturnSameInstance_forSameRoleCombination() {
+        Set<GrantedAuthority> a = RoleAuthorities.authoritiesOf(RoleAuthorities.maskOf(new HashSet<>(Set.of(UserRole.ADMIN, UserRole.USER))));
+        Set<GrantedAuthority> b = RoleAuthorities.authoritiesOf(RoleAuthorities.maskOf(EnumSet.of(UserRole.USER, UserRole.ADMIN)));
+
+        // nenhuma alocação por chamada: mesma coleção canônica
+        assertSame(a, b);
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"),
+                Set.of(a.stream().map(GrantedAuthority::getAuthority).toArray(String[]::new)));
+        assertThrows(UnsupportedOperationException.class, () -> a.clear());
+    }
+
+    @Test
+    void customUserDetails_shouldExposeCanonicalAuthorities_acrossRequests() {
+        PrincipalSnapshot snapshot = PrincipalSnapshot.of(user(Set.of(UserRole.CLIENT)), Instant.now());
+
+        var first = CustomUserDetails.fromSnapshot(snapshot).getAuthorities();
+        var second = CustomUserDetails.fromSnapshot(snapshot).getAuthorities();
+        var fromEntity = new CustomUserDetails(user(new HashSet<>(Set.of(UserRole.CLIENT)))).getAuthorities();
+
+        assertSame(first, second);
+        assertSame(first, fromEntity);
+    }
+
+    @Test
+    void snapshot_shouldShareCanonicalRoleSet_betweenUsers() {
+        PrincipalSnapshot a = PrincipalSnapshot.of(user(new HashSet<>(Set.of(UserRole.USER))), Instant.now());
+        PrincipalSnapshot b = PrincipalSnapshot.of(user(EnumSet.of(UserRole.USER)), Instant.now());
+
+        assertSame(a.roles(), b.roles());
+        assertEquals(RoleAuthorities.maskOf(Set.of(UserRole.USER)), a.roleMask());
+    }
+
+    @Test
+    void mask_shouldAnswerRoleChecks() {
+        int mask = RoleAuthorities.maskOf(Set.of(UserRole.ADMIN, UserRole.CLIENT));
+
+        assertTrue(RoleAuthorities.hasRole(mask, UserRole.ADMIN));
+        assertTrue(RoleAuthorities.hasRole(mask, UserRole.CLIENT));
+        assertFalse(RoleAuthorities.hasRole(mask, UserRole.USER));
+        assertEquals(0, RoleAuthorities.maskOf(null));
+    }
+
+    @Test
+    void claimOf_shouldBePrecomputedList() {
+        List<String> claim = RoleAuthorities.claimOf(Set.of(UserRole.ADMIN));
+
+        assertEquals(List.of("ROLE_ADMIN"), claim);
+        assertSame(claim, RoleAuthorities.claimOf(EnumSet.of(UserRole.ADMIN)));
+        assertTrue(RoleAuthorities.claimOf(null).isEmpty());
+    }
+
+    @Test
+    void containsRole_shouldAcceptPrefixedAndBareNames() {
+        assertTrue(RoleAuthorities.containsRole(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), UserRole.ADMIN));
+        assertTrue(RoleAuthorities.containsRole(List.of(new SimpleGrantedAuthority("ADMIN")), UserRole.ADMIN));
+        assertFalse(RoleAuthorities.containsRole(List.of(), UserRole.ADMIN));
+    }
+}
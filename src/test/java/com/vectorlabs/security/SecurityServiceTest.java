@@ -2,20 +2,24 @@ package com.vectorlabs.security;
 
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.service.AppUserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,17 +31,20 @@ class SecurityServiceTest {
     @Mock
     private AppUserService appUserService;
 
+    private SimpleMeterRegistry meterRegistry;
     private SecurityService securityService;
 
     @BeforeEach
     void setUp() {
-        securityService = new SecurityService(appUserService);
+        meterRegistry = new SimpleMeterRegistry();
+        securityService = new SecurityService(appUserService, new RequestPrincipalContext(meterRegistry));
         SecurityContextHolder.clearContext();
     }
 
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -50,20 +57,39 @@ class SecurityServiceTest {
     }
 
     @Test
-    void getLoggedUser_shouldReturnUserWhenJwtAuthentication() {
+    void getLoggedUser_shouldReuseEntityLoadedByBasicAuth() {
+        UUID userId = UUID.randomUUID();
+
+        AppUser principalUser = new AppUser();
+        principalUser.setId(userId);
+
+        CustomUserDetails principal = new CustomUserDetails(principalUser);
+
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(principal, "pwd", principal.getAuthorities());
+
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        AppUser result = securityService.getLoggedUser();
+
+        assertSame(principalUser, result);
+        verifyNoInteractions(appUserService);
+    }
+
+    @Test
+    void getLoggedUser_shouldLoadByIdWhenJwtPrincipalComesFromSnapshot() {
         UUID userId = UUID.randomUUID();
         AppUser expected = new AppUser();
         expected.setId(userId);
 
-        Jwt jwt = new Jwt(
-                "token-value",
-                Instant.now(),
-                Instant.now().plusSeconds(3600),
-                Map.of("alg", "none"),
-                Map.of("sub", userId.toString()) // subject UUID
+        CustomUserDetails principal = CustomUserDetails.fromSnapshot(
+                new PrincipalSnapshot(userId, "user@test.com", true, false, Set.of(UserRole.CLIENT),
+                        RoleAuthorities.maskOf(Set.of(UserRole.CLIENT)), Instant.now())
         );
 
-        JwtAuthenticationToken auth = new JwtAuthenticationToken(jwt);
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
         SecurityContextHolder.getContext().setAuthentication(auth);
 
         when(appUserService.findById(userId)).thenReturn(expected);
@@ -75,27 +101,36 @@ class SecurityServiceTest {
     }
 
     @Test
-    void getLoggedUser_shouldReturnUserWhenBasicAuthWithCustomUserDetails() {
+    void getLoggedUser_shouldLoadOncePerRequest_andRecordLookups() {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+
         UUID userId = UUID.randomUUID();
         AppUser expected = new AppUser();
         expected.setId(userId);
 
-        AppUser principalUser = new AppUser();
-        principalUser.setId(userId);
-
-        CustomUserDetails principal = new CustomUserDetails(principalUser);
+        CustomUserDetails principal = CustomUserDetails.fromSnapshot(
+                new PrincipalSnapshot(userId, "user@test.com", true, false, Set.of(UserRole.ADMIN),
+                        RoleAuthorities.maskOf(Set.of(UserRole.ADMIN)), Instant.now())
+        );
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
 
-        UsernamePasswordAuthenticationToken auth =
-                new UsernamePasswordAuthenticationToken(principal, "pwd", principal.getAuthorities());
+        when(appUserService.findById(userId)).thenReturn(expected);
 
-        SecurityContextHolder.getContext().setAuthentication(auth);
+        assertSame(expected, securityService.getLoggedUser());
+        assertSame(expected, securityService.getLoggedUser());
+        assertTrue(securityService.isAdmin());
+        assertTrue(securityService.isAdmin());
 
-        when(appUserService.findById(userId)).thenReturn(expected);
+        verify(appUserService, times(1)).findById(userId);
 
-        AppUser result = securityService.getLoggedUser();
+        request.requestCompleted();
 
-        assertSame(expected, result);
-        verify(appUserService).findById(userId);
+        DistributionSummary lookups = meterRegistry.get("security.user.lookups").summary();
+        assertEquals(1, lookups.count());
+        assertEquals(1.0, lookups.totalAmount());
     }
 
     @Test
@@ -109,21 +144,4 @@ class SecurityServiceTest {
         assertTrue(ex.getMessage().contains("Unsupported authentication principal"));
         verifyNoInteractions(appUserService);
     }
-
-    @Test
-    void getLoggedUser_shouldThrowWhenJwtSubjectIsNotUuid() {
-        Jwt jwt = new Jwt(
-                "token-value",
-                Instant.now(),
-                Instant.now().plusSeconds(3600),
-                Map.of("alg", "none"),
-                Map.of("sub", "a@a.com") // não é UUID
-        );
-
-        JwtAuthenticationToken auth = new JwtAuthenticationToken(jwt);
-        SecurityContextHolder.getContext().setAuthentication(auth);
-
-        assertThrows(IllegalArgumentException.class, () -> securityService.getLoggedUser());
-        verifyNoInteractions(appUserService);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.vectorlabs.security.jwt;
+
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.model.enuns.AuthProvider;
+import com.vectorlabs.model.enuns.UserRole;
+import com.vectorlabs.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Tokens reais passando pela cadeia de segurança da API (/api/**). */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class BearerTokenAccessTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired JwtService jwtService;
+    @Autowired AppUserRepository appUserRepository;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setup() {
+        AppUser u = new AppUser();
+        u.setEmail("bearer-" + UUID.randomUUID() + "@test.com");
+        u.setAuthProvider(AuthProvider.LOCAL);
+        u.setRoles(Set.of(UserRole.ADMIN));
+        user = appUserRepository.save(u);
+    }
+
+    @Test
+    void accessToken_shouldReachApi() throws Exception {
+        mockMvc.perform(get("/api/rules")
+                        .header("Authorization", "Bearer " + jwtService.generateAccessToken(user)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshToken_shouldBeRejectedOnApi() throws Exception {
+        mockMvc.perform(get("/api/rules")
+                        .header("Authorization", "Bearer " + jwtService.generateRefreshToken(user)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void clientToken_shouldReachAllowListedRoute_withItsScope() throws Exception {
+        String token = jwtService.generateClientAccessToken("n8n", List.of("rules:read"), 300);
+
+        mockMvc.perform(get("/api/rule-modules").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void clientToken_shouldBeForbiddenOnAllowListedRoute_withoutScope() throws Exception {
+        String token = jwtService.generateClientAccessToken("n8n", List.of("reports:write"), 300);
+
+        mockMvc.perform(get("/api/rule-modules").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void clientToken_shouldBeForbiddenOnUserEndpoint() throws Exception {
+        String token = jwtService.generateClientAccessToken("n8n", List.of("rules:read"), 300);
+
+        mockMvc.perform(get("/api/machines").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/client-companies").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -4,11 +4,18 @@ import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.model.enuns.UserRole;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.Test;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -17,7 +24,7 @@ import static org.assertj.core.api.Assertions.*;
 class JwtServiceTest {
 
     private static String base64Secret() {
-        SecretKey key = Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256);
+        SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
         return Encoders.BASE64.encode(key.getEncoded());
     }
 
@@ -83,6 +90,24 @@ class JwtServiceTest {
         assertThat(jwtService.isAccessToken(token)).isFalse();
     }
 
+    @Test
+    void refresh_tokens_carry_unique_jti_and_keep_family_on_rotation() {
+        JwtService jwtService = new JwtService(base64Secret(), "vectorlabs", 3600, 1209600);
+        AppUser user = user(UUID.randomUUID(), "user@test.com", Set.of(UserRole.USER));
+
+        VerifiedToken first = jwtService.verify(jwtService.generateRefreshToken(user));
+        VerifiedToken rotated = jwtService.verify(jwtService.generateRefreshToken(user, first.familyId()));
+
+        assertThat(first.tokenId()).isNotBlank();
+        assertThat(first.familyId()).isNotBlank();
+        assertThat(rotated.familyId()).isEqualTo(first.familyId());
+        assertThat(rotated.tokenId()).isNotEqualTo(first.tokenId());
+
+        VerifiedToken access = jwtService.verify(jwtService.generateAccessToken(user));
+        assertThat(access.tokenId()).isNull();
+        assertThat(access.familyId()).isNull();
+    }
+
     @Test
     void validateTokenOrThrow_fails_with_invalid_signature() {
         String secretA = base64Secret();
@@ -140,4 +165,129 @@ class JwtServiceTest {
 
         assertThat(jwtService.extractUserId(token)).isNull();
     }
+
+    @Test
+    void verify_returns_claims_and_reuses_cached_result() {
+        String secret = base64Secret();
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        JwtService jwtService = new JwtService(secret, "vectorlabs", 3600, 1209600, cache);
+
+        UUID userId = UUID.randomUUID();
+        AppUser user = user(userId, "user@test.com", Set.of(UserRole.ADMIN));
+
+        String token = jwtService.generateAccessToken(user);
+
+        VerifiedToken first = jwtService.verify(token);
+
+        assertThat(first.userId()).isEqualTo(userId);
+        assertThat(first.subject()).isEqualTo("user@test.com");
+        assertThat(first.roles()).containsExactly("ROLE_ADMIN");
+        assertThat(first.isAccessToken()).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+
+        assertThat(jwtService.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    void verify_does_not_cache_invalid_tokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        JwtService jwtA = new JwtService(base64Secret(), "vectorlabs", 3600, 1209600);
+        JwtService jwtB = new JwtService(base64Secret(), "vectorlabs", 3600, 1209600, cache);
+
+        String token = jwtA.generateAccessToken(user(UUID.randomUUID(), "user@test.com", Set.of(UserRole.USER)));
+
+        assertThatThrownBy(() -> jwtB.verify(token)).isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void rs256_token_carries_kid_and_verifies_with_public_key() throws Exception {
+        KeyPair pair = keyPair("RSA", 2048);
+        JwtKeyRing ring = JwtKeyRing.asymmetric(SignatureAlgorithm.RS256, "k1", pair.getPrivate(),
+                Map.of("k1", pair.getPublic()));
+        JwtService jwtService = new JwtService(ring, "vectorlabs", 3600, 1209600, new VerifiedTokenCache(100));
+
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.generateAccessToken(user(userId, "user@test.com", Set.of(UserRole.ADMIN)));
+
+        assertThat(headerOf(token)).contains("\"kid\":\"k1\"").contains("\"alg\":\"RS256\"");
+        assertThat(jwtService.verify(token).userId()).isEqualTo(userId);
+    }
+
+    @Test
+    void es256_rotation_keeps_tokens_signed_by_retired_key_valid() throws Exception {
+        KeyPair oldPair = keyPair("EC", 256);
+        KeyPair newPair = keyPair("EC", 256);
+
+        JwtService before = new JwtService(
+                JwtKeyRing.asymmetric(SignatureAlgorithm.ES256, "old", oldPair.getPrivate(),
+                        Map.of("old", oldPair.getPublic())),
+                "vectorlabs", 3600, 1209600, new VerifiedTokenCache(100));
+
+        String oldToken = before.generateAccessToken(user(UUID.randomUUID(), "user@test.com", Set.of(UserRole.USER)));
+
+        // rotação: "new" passa a assinar, "old" fica só para verificação
+        JwtService after = new JwtService(
+                JwtKeyRing.asymmetric(SignatureAlgorithm.ES256, "new", newPair.getPrivate(),
+                        Map.of("old", oldPair.getPublic(), "new", newPair.getPublic())),
+                "vectorlabs", 3600, 1209600, new VerifiedTokenCache(100));
+
+        String newToken = after.generateAccessToken(user(UUID.randomUUID(), "user@test.com", Set.of(UserRole.USER)));
+
+        assertThatCode(() -> after.validateTokenOrThrow(oldToken)).doesNotThrowAnyException();
+        assertThatCode(() -> after.validateTokenOrThrow(newToken)).doesNotThrowAnyException();
+        assertThat(headerOf(newToken)).contains("\"kid\":\"new\"");
+    }
+
+    @Test
+    void asymmetric_mode_rejects_unknown_kid() throws Exception {
+        KeyPair a = keyPair("RSA", 2048);
+        KeyPair b = keyPair("RSA", 2048);
+
+        JwtService issuer = new JwtService(
+                JwtKeyRing.asymmetric(SignatureAlgorithm.RS256, "a", a.getPrivate(), Map.of("a", a.getPublic())),
+                "vectorlabs", 3600, 1209600, new VerifiedTokenCache(100));
+        JwtService validator = new JwtService(
+                JwtKeyRing.asymmetric(SignatureAlgorithm.RS256, "b", b.getPrivate(), Map.of("b", b.getPublic())),
+                "vectorlabs", 3600, 1209600, new VerifiedTokenCache(100));
+
+        String token = issuer.generateAccessToken(user(UUID.randomUUID(), "user@test.com", Set.of(UserRole.USER)));
+
+        assertThatThrownBy(() -> validator.validateTokenOrThrow(token))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void generateClientAccessToken_carries_scopes_and_client_type() {
+        JwtService jwtService = new JwtService(base64Secret(), "vectorlabs", 3600, 1209600);
+
+        String token = jwtService.generateClientAccessToken("n8n", List.of("nr12:read", "nr12:write"), 900);
+
+        VerifiedToken verified = jwtService.verify(token);
+        assertThat(verified.isClientToken()).isTrue();
+        assertThat(verified.isAccessToken()).isFalse();
+        assertThat(verified.subject()).isEqualTo("n8n");
+        assertThat(verified.userId()).isNull();
+        assertThat(verified.scopes()).containsExactly("nr12:read", "nr12:write");
+        assertThat(verified.tokenId()).isNotBlank();
+    }
+
+    @Test
+    void generateClientAccessToken_without_scopes_yields_no_blank_scope() {
+        JwtService jwtService = new JwtService(base64Secret(), "vectorlabs", 3600, 1209600);
+
+        String token = jwtService.generateClientAccessToken("n8n", List.of(), 900);
+
+        assertThat(jwtService.verify(token).scopes()).isEmpty();
+    }
+
+    private static KeyPair keyPair(String algorithm, int size) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        generator.initialize(size);
+        return generator.generateKeyPair();
+    }
+
+    private static String headerOf(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,75 @@
+package com.vectorlabs.security.jwt;
+
+import com.vectorlabs.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Duas instâncias da API sobre a mesma tabela revoked_token. */
+@ActiveProfiles("test")
+@DataJpaTest
+// H2 do profile test (modo PostgreSQL): o embutido padrão não aceita ON CONFLICT
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RefreshTokenReuseAcrossInstancesTest {
+
+    @Autowired RevokedTokenRepository repository;
+
+    private RefreshTokenRevocationStore store() {
+        RefreshTokenRevocationStore store = new RefreshTokenRevocationStore(repository, Clock.systemUTC(),
+                Duration.ofDays(14), 1_000, 0.001);
+        store.warmUp();
+        return store;
+    }
+
+    private static VerifiedToken refresh(String jti, String family) {
+        return new VerifiedToken("user@test.com", UUID.randomUUID(), JwtService.TYPE_REFRESH, List.of(),
+                "LOCAL", Instant.now().plusSeconds(3600), jti, family, List.of());
+    }
+
+    @Test
+    void sameRefreshTokenOnTwoInstances_withinSyncWindow_shouldRevokeFamily() {
+        RefreshTokenRevocationStore a = store();
+        RefreshTokenRevocationStore b = store();
+
+        // token roubado usado nas duas instâncias antes de qualquer sync: as duas rotações passam
+        a.rotate(refresh("jti-1", "fam-1"));
+        b.rotate(refresh("jti-1", "fam-1"));
+
+        a.sync();
+        // b encontra o jti já gravado por a: é reuso
+        b.sync();
+
+        assertTrue(repository.existsById("fam-1"));
+        assertThrows(BadCredentialsException.class, () -> b.rotate(refresh("jti-2b", "fam-1")));
+
+        // a recebe a revogação da família no próximo sync: a cadeia dela também morre
+        a.sync();
+        assertThrows(BadCredentialsException.class, () -> a.rotate(refresh("jti-2a", "fam-1")));
+    }
+
+    @Test
+    void distinctTokens_shouldNotRevokeFamily() {
+        RefreshTokenRevocationStore a = store();
+        RefreshTokenRevocationStore b = store();
+
+        a.rotate(refresh("jti-1", "fam-2"));
+        b.rotate(refresh("jti-2", "fam-2"));
+        a.sync();
+        b.sync();
+
+        assertFalse(repository.existsById("fam-2"));
+        assertTrue(repository.existsById("jti-1"));
+        assertTrue(repository.existsById("jti-2"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.vectorlabs.security.jwt;
+
+import com.vectorlabs.model.enuns.RevokedTokenKind;
+import com.vectorlabs.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private RefreshTokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RefreshTokenRevocationStore(repository, Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofDays(14), 1_000, 0.001);
+        when(repository.findActiveTokenIds(any())).thenReturn(List.of());
+        store.warmUp();
+    }
+
+    private static VerifiedToken refresh(String jti, String family) {
+        return new VerifiedToken("user@test.com", UUID.randomUUID(), JwtService.TYPE_REFRESH, List.of(),
+                "LOCAL", NOW.plusSeconds(3600), jti, family, List.of());
+    }
+
+    @Test
+    void rotate_shouldAcceptFreshToken_withoutTouchingDatabase() {
+        store.rotate(refresh("jti-1", "fam-1"));
+
+        verify(repository, never()).existsById(anyString());
+        assertTrue(store.isRevoked("jti-1"));
+    }
+
+    @Test
+    void rotate_reuse_shouldRevokeWholeFamily() {
+        store.rotate(refresh("jti-1", "fam-1"));
+
+        assertThrows(BadCredentialsException.class, () -> store.rotate(refresh("jti-1", "fam-1")));
+
+        // token legítimo mais novo da mesma família também morre
+        assertThrows(BadCredentialsException.class, () -> store.rotate(refresh("jti-2", "fam-1")));
+        assertTrue(store.isRevoked("fam-1"));
+    }
+
+    @Test
+    void rotate_shouldDetectReuse_afterFlush_viaDatabase() {
+        store.rotate(refresh("jti-1", "fam-1"));
+        when(repository.findTokenIdsRevokedSince(any(), any())).thenReturn(List.of());
+        when(repository.insertIfAbsent(any(), any(), any(), any(), any())).thenReturn(1);
+        store.sync();
+
+        verify(repository).insertIfAbsent("jti-1", RevokedTokenKind.TOKEN.name(), "fam-1", NOW, NOW.plusSeconds(3600));
+
+        when(repository.existsById("jti-1")).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> store.rotate(refresh("jti-1", "fam-1")));
+    }
+
+    @Test
+    void sync_shouldPullRevocationsFromOtherInstances() {
+        when(repository.findTokenIdsRevokedSince(any(), any())).thenReturn(List.of("fam-remote"));
+        when(repository.existsById("fam-remote")).thenReturn(true);
+
+        store.sync();
+
+        assertThrows(BadCredentialsException.class, () -> store.rotate(refresh("jti-9", "fam-remote")));
+    }
+
+    @Test
+    void warmUp_shouldLoadActiveRevocations() {
+        when(repository.findActiveTokenIds(any())).thenReturn(List.of("jti-old"));
+        when(repository.existsById("jti-old")).thenReturn(true);
+
+        store.warmUp();
+
+        assertTrue(store.isRevoked("jti-old"));
+    }
+
+    @Test
+    void rotate_shouldIgnoreLegacyTokensWithoutJti() {
+        store.rotate(refresh(null, null));
+
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void bloomFilter_shouldNeverReportFalseNegatives() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        List<String> ids = java.util.stream.IntStream.range(0, 10_000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        ids.forEach(filter::put);
+
+        assertTrue(ids.stream().allMatch(filter::mightContain));
+
+        long falsePositives = java.util.stream.IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,97 @@
+package com.vectorlabs.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private static VerifiedToken token(Instant expiresAt) {
+        return new VerifiedToken("user@test.com", UUID.randomUUID(), JwtService.TYPE_ACCESS,
+                List.of("ROLE_USER"), "LOCAL", expiresAt, null, null, List.of());
+    }
+
+    @Test
+    void get_returns_cached_token_before_exp() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+        VerifiedToken verified = token(NOW.plus(Duration.ofMinutes(5)));
+
+        cache.put("abc", verified);
+
+        assertThat(cache.get("abc")).containsSame(verified);
+        assertThat(cache.get("other")).isEmpty();
+    }
+
+    @Test
+    void get_drops_entry_after_exp() {
+        MutableClock clock = new MutableClock(NOW);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+
+        cache.put("abc", token(NOW.plusSeconds(30)));
+        clock.now = NOW.plusSeconds(31);
+
+        assertThat(cache.get("abc")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_ignores_already_expired_tokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.put("abc", token(NOW.minusSeconds(1)));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_keeps_size_bounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, token(NOW.plusSeconds(60)));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void disabled_cache_never_stores() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.put("abc", token(NOW.plusSeconds(60)));
+
+        assertThat(cache.get("abc")).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.vectorlabs.service;
 
 import com.vectorlabs.dto.address.RegisterAddressDTO;
 import com.vectorlabs.dto.address.UpdateAddressDTO;
+import com.vectorlabs.dto.appuser.AnswerAppUserDTO;
 import com.vectorlabs.dto.appuser.RegisterAppUserDTO;
 import com.vectorlabs.dto.appuser.SearchAppUserDTO;
 import com.vectorlabs.dto.appuser.UpdateAppUserDTO;
@@ -12,6 +13,7 @@ import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.enuns.AuthProvider;
 import com.vectorlabs.model.enuns.UserRole;
 import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.security.PrincipalCache;
 import com.vectorlabs.validator.AppUserValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,7 @@ class AppUserServiceTest {
     @Mock private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
     @Mock private AppUserValidator validator;
     @Mock private AddressMapper addressMapper;
+    @Mock private PrincipalCache principalCache;
 
     @InjectMocks private AppUserService service;
 
@@ -312,7 +315,7 @@ class AppUserServiceTest {
     // ------------------------------------------------------------
 
     @Test
-    void search_shouldCallRepositoryFindAll_andReturnPage() {
+    void search_shouldCallRepositoryFindAnswers_andReturnPage() {
         // arrange
         SearchAppUserDTO filter = new SearchAppUserDTO(
                 null,
@@ -332,17 +335,19 @@ class AppUserServiceTest {
         );
 
         Pageable pageable = PageRequest.of(0, 10, Sort.by("email").ascending());
-        Page<AppUser> page = new PageImpl<>(List.of(existing), pageable, 1);
+        AnswerAppUserDTO dto = mock(AnswerAppUserDTO.class);
+        Page<AnswerAppUserDTO> page = new PageImpl<>(List.of(dto), pageable, 1);
 
-        when(repository.findAll(Mockito.<Specification<AppUser>>any(), eq(pageable))).thenReturn(page);
+        // projeção direto no DTO (sem carregar AppUser + roles EAGER por linha)
+        when(repository.findAnswers(Mockito.<Specification<AppUser>>any(), eq(pageable))).thenReturn(page);
 
         // act
-        Page<AppUser> result = service.search(filter, pageable);
+        Page<AnswerAppUserDTO> result = service.search(filter, pageable);
 
         // assert
         assertEquals(1, result.getTotalElements());
-        assertSame(existing, result.getContent().get(0));
-        verify(repository).findAll(Mockito.<Specification<AppUser>>any(), eq(pageable));
+        assertSame(dto, result.getContent().get(0));
+        verify(repository).findAnswers(Mockito.<Specification<AppUser>>any(), eq(pageable));
 
     }
 
@@ -394,6 +399,7 @@ class AppUserServiceTest {
         verify(validator).requireId(id);
         verify(validator).ensureNotDeletedForWrite(existing);
         verify(repository).save(existing);
+        verify(principalCache).evictNowAndAfterCommit(id);
 
         assertTrue(existing.getDeleted());
         assertFalse(existing.isEnabled());
@@ -405,6 +411,7 @@ class AppUserServiceTest {
 
         assertThrows(ObjectNotFound.class, () -> service.softDelete(id));
         verify(repository, never()).save(any());
+        verifyNoInteractions(principalCache);
     }
 
     // ------------------------------------------------------------
@@ -420,6 +427,7 @@ class AppUserServiceTest {
         verify(validator).requireId(id);
         verify(validator).ensureCanHardDelete(existing);
         verify(repository).delete(existing);
+        verify(principalCache).evictNowAndAfterCommit(id);
         assertSame(existing, deleted);
     }
 
@@ -9,6 +9,7 @@ import com.vectorlabs.mapper.ClientCompanyMapper;
 import com.vectorlabs.model.AppUser;
 import com.vectorlabs.model.ClientCompany;
 import com.vectorlabs.repository.ClientCompanyRepository;
+import com.vectorlabs.repository.support.BulkWriter;
 import com.vectorlabs.security.SecurityService;
 import com.vectorlabs.validator.ClientCompanyValidator;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,6 +35,7 @@ class ClientCompanyServiceTest {
     @Mock private ClientCompanyMapper mapper;
     @Mock private ClientCompanyValidator validations;
     @Mock private SecurityService securityService;
+    @Mock private BulkWriter bulkWriter;
 
     @InjectMocks private ClientCompanyService service;
 
@@ -75,6 +78,38 @@ class ClientCompanyServiceTest {
         verifyNoMoreInteractions(repository, mapper, validations, securityService);
     }
 
+    @Test
+    void createAll_shouldApplyCreateRulesToEveryItem_andPersistInChunks() {
+        RegisterClientCompanyDTO dto1 = mock(RegisterClientCompanyDTO.class);
+        RegisterClientCompanyDTO dto2 = mock(RegisterClientCompanyDTO.class);
+
+        AppUser logged = new AppUser();
+        logged.setId(UUID.randomUUID());
+
+        ClientCompany e1 = new ClientCompany();
+        ClientCompany e2 = new ClientCompany();
+        e2.setDeleted(true);
+
+        when(mapper.fromRegisterDTO(dto1)).thenReturn(e1);
+        when(mapper.fromRegisterDTO(dto2)).thenReturn(e2);
+        when(securityService.getLoggedUser()).thenReturn(logged);
+
+        var result = service.createAll(List.of(dto1, dto2));
+
+        assertEquals(2, result.created());
+        for (ClientCompany e : List.of(e1, e2)) {
+            assertSame(logged, e.getUser());
+            assertEquals(true, e.getActive());
+            assertEquals(false, e.getDeleted());
+        }
+
+        verify(validations).validateCreate(dto1);
+        verify(validations).validateCreate(dto2);
+        verify(securityService).getLoggedUser();
+        verify(bulkWriter).persistAll(List.of(e1, e2));
+        verifyNoInteractions(repository);
+    }
+
     // =================== ADMIN CREATE ===================
 
     @Test
@@ -198,20 +233,15 @@ class ClientCompanyServiceTest {
         UUID loggedId = UUID.randomUUID();
         logged.setId(loggedId);
 
-        ClientCompany e1 = new ClientCompany();
-        ClientCompany e2 = new ClientCompany();
-
         AnswerClientCompanyDTO d1 = mock(AnswerClientCompanyDTO.class);
         AnswerClientCompanyDTO d2 = mock(AnswerClientCompanyDTO.class);
 
         when(securityService.isAdmin()).thenReturn(false);
         when(securityService.getLoggedUser()).thenReturn(logged);
 
-        when(repository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(java.util.List.of(e1, e2), PageRequest.of(page, pageSize), 2));
-
-        when(mapper.toDTO(e1)).thenReturn(d1);
-        when(mapper.toDTO(e2)).thenReturn(d2);
+        // projeção direto no DTO: sem entidade nem mapper na listagem
+        when(repository.findAnswers(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(java.util.List.of(d1, d2), PageRequest.of(page, pageSize), 2));
 
         Page<AnswerClientCompanyDTO> result = service.search(
                 requestedUserId,
@@ -226,7 +256,7 @@ class ClientCompanyServiceTest {
         assertSame(d2, result.getContent().get(1));
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(repository).findAll(any(Specification.class), pageableCaptor.capture());
+        verify(repository).findAnswers(any(Specification.class), pageableCaptor.capture());
 
         Pageable used = pageableCaptor.getValue();
         assertEquals(page, used.getPageNumber());
@@ -235,8 +265,6 @@ class ClientCompanyServiceTest {
         verify(validations).validateSearch(page, pageSize);
         verify(securityService).isAdmin();
         verify(securityService).getLoggedUser();
-        verify(mapper).toDTO(e1);
-        verify(mapper).toDTO(e2);
         verifyNoMoreInteractions(repository, mapper, validations, securityService);
     }
 
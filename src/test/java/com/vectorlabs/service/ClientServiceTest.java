@@ -0,0 +1,116 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.dto.client.UpdateClientDTO;
+import com.vectorlabs.model.Client;
+import com.vectorlabs.repository.ClientRepository;
+import com.vectorlabs.security.ClientCredentialCache;
+import com.vectorlabs.security.VerifiedClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientServiceTest {
+
+    @Mock private ClientRepository clientRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private LastSeenWriteBehind lastSeen;
+
+    private ClientCredentialCache credentialCache;
+    private ClientService service;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new ClientCredentialCache(600, 100);
+        service = new ClientService(clientRepository, passwordEncoder, lastSeen, credentialCache);
+
+        client = Client.builder()
+                .id(UUID.randomUUID())
+                .clientId("n8n")
+                .clientSecretHash("$2a$10$hash")
+                .scopes("nr12:read nr12:write")
+                .enabled(true)
+                .deleted(false)
+                .build();
+    }
+
+    @Test
+    void authenticate_ok_returnsParsedScopes_andCachesCredential() {
+        when(clientRepository.findByClientId("n8n")).thenReturn(Optional.of(client));
+        when(passwordEncoder.matches("s3cr3t", "$2a$10$hash")).thenReturn(true);
+
+        Optional<VerifiedClient> first = service.authenticate(" N8N ", "s3cr3t");
+        Optional<VerifiedClient> second = service.authenticate("n8n", "s3cr3t");
+
+        assertTrue(first.isPresent());
+        assertEquals(Set.of("nr12:read", "nr12:write"), first.get().scopes());
+        assertEquals(first, second);
+        // segunda chamada sai do cache: sem banco e sem bcrypt
+        verify(clientRepository, times(1)).findByClientId("n8n");
+        verify(passwordEncoder, times(1)).matches(any(), any());
+    }
+
+    @Test
+    void authenticate_wrongSecret_isNotServedFromCache() {
+        when(clientRepository.findByClientId("n8n")).thenReturn(Optional.of(client));
+        when(passwordEncoder.matches("s3cr3t", "$2a$10$hash")).thenReturn(true);
+        when(passwordEncoder.matches("other", "$2a$10$hash")).thenReturn(false);
+
+        service.authenticate("n8n", "s3cr3t");
+
+        assertTrue(service.authenticate("n8n", "other").isEmpty());
+        verify(passwordEncoder).matches("other", "$2a$10$hash");
+    }
+
+    @Test
+    void authenticate_disabledClient_returnsEmpty_withoutBcrypt() {
+        client.setEnabled(false);
+        when(clientRepository.findByClientId("n8n")).thenReturn(Optional.of(client));
+
+        assertTrue(service.authenticate("n8n", "s3cr3t").isEmpty());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void update_evictsCachedCredential() {
+        when(clientRepository.findByClientId("n8n")).thenReturn(Optional.of(client));
+        when(passwordEncoder.matches("s3cr3t", "$2a$10$hash")).thenReturn(true);
+        when(clientRepository.findById(client.getId())).thenReturn(Optional.of(client));
+
+        service.authenticate("n8n", "s3cr3t");
+        assertEquals(1, credentialCache.size());
+
+        service.update(client.getId(), new UpdateClientDTO(null, null, null, false));
+
+        assertEquals(0, credentialCache.size());
+        assertTrue(service.authenticate("n8n", "s3cr3t").isEmpty());
+    }
+
+    @Test
+    void markUsed_onlyRecordsWriteBehind() {
+        service.markUsed(" N8N ");
+
+        verify(lastSeen).recordClientUse("n8n");
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void getScopeList_acceptsSpacesAndCommas() {
+        client.setScopes("a:read,  b:write c");
+
+        assertEquals(List.of("a:read", "b:write", "c"), service.getScopeList(client));
+    }
+}
@@ -0,0 +1,129 @@
+package com.vectorlabs.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class LastSeenWriteBehindTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final ExecutorService executor = mock(ExecutorService.class);
+
+    @Test
+    void flush_shouldCoalesceRepeatedLogins_intoOneRowWithLatestTimestamp() {
+        MutableClock clock = new MutableClock(NOW);
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 500, 1000, clock, executor);
+        UUID id = UUID.randomUUID();
+
+        writeBehind.recordUserLogin(id);
+        clock.now = NOW.plusSeconds(10);
+        writeBehind.recordUserLogin(id);
+        assertEquals(1, writeBehind.pendingCount());
+
+        writeBehind.flush();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).update(startsWith("UPDATE app_user"), args.capture());
+        assertArrayEquals(new Object[]{id, Timestamp.from(NOW.plusSeconds(10))}, args.getValue());
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    void flush_shouldSplitIntoStatementsOfMaxBatchSize() {
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 2, 1000, Clock.fixed(NOW, ZoneOffset.UTC), executor);
+
+        for (int i = 0; i < 5; i++) {
+            writeBehind.recordUserLogin(UUID.randomUUID());
+        }
+        writeBehind.recordClientUse("n8n");
+
+        writeBehind.flush();
+
+        verify(jdbc, times(3)).update(startsWith("UPDATE app_user"), any(Object[].class));
+        verify(jdbc, times(1)).update(startsWith("UPDATE client"), any(Object[].class));
+    }
+
+    @Test
+    void flush_shouldKeepEntries_whenDatabaseFails() {
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 500, 1000, Clock.fixed(NOW, ZoneOffset.UTC), executor);
+        when(jdbc.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        writeBehind.recordUserLogin(UUID.randomUUID());
+        writeBehind.flush();
+
+        assertEquals(1, writeBehind.pendingCount());
+    }
+
+    @Test
+    void record_shouldTriggerEarlyFlush_whenBufferIsFull() {
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 500, 2, Clock.fixed(NOW, ZoneOffset.UTC), executor);
+
+        writeBehind.recordUserLogin(UUID.randomUUID());
+        verify(executor, never()).execute(any());
+
+        writeBehind.recordClientUse("n8n");
+        verify(executor).execute(any());
+    }
+
+    @Test
+    void shutdown_shouldDrainPendingEntries() throws Exception {
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 500, 1000, Clock.fixed(NOW, ZoneOffset.UTC), executor);
+
+        writeBehind.recordClientUse("n8n");
+        writeBehind.shutdown();
+
+        verify(executor).shutdown();
+        verify(jdbc).update(startsWith("UPDATE client"), any(Object[].class));
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    void flush_shouldDoNothing_whenEmpty() {
+        LastSeenWriteBehind writeBehind = new LastSeenWriteBehind(jdbc, 500, 1000, Clock.fixed(NOW, ZoneOffset.UTC), executor);
+
+        writeBehind.flush();
+
+        verifyNoInteractions(jdbc);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
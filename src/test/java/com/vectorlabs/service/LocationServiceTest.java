@@ -1,10 +1,12 @@
 package com.vectorlabs.service;
 import com.vectorlabs.dto.location.AnswerLocationDTO;
+import com.vectorlabs.dto.location.RegisterLocationDTO;
 import com.vectorlabs.dto.location.UpdateLocationDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.LocationMapper;
 import com.vectorlabs.model.Location;
 import com.vectorlabs.repository.LocationRepository;
+import com.vectorlabs.repository.support.BulkWriter;
 import com.vectorlabs.security.SecurityService;
 import com.vectorlabs.validator.LocationValidator;
 import org.junit.jupiter.api.Test;
@@ -33,6 +35,9 @@ class LocationServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private BulkWriter bulkWriter;
+
     @InjectMocks
     private LocationService service;
 
@@ -76,6 +81,28 @@ class LocationServiceTest {
         verifyNoInteractions(mapper);
     }
 
+    @Test
+    void createAll_shouldValidateOwnershipOfEveryItem_andPersistInChunks() {
+        UUID userId = UUID.randomUUID();
+        RegisterLocationDTO dto1 = mock(RegisterLocationDTO.class);
+        RegisterLocationDTO dto2 = mock(RegisterLocationDTO.class);
+        Location e1 = new Location();
+        Location e2 = new Location();
+
+        when(securityService.isAdmin()).thenReturn(false);
+        when(mapper.fromRegisterDTO(dto1)).thenReturn(e1);
+        when(mapper.fromRegisterDTO(dto2)).thenReturn(e2);
+
+        var out = service.createAll(userId, List.of(dto1, dto2));
+
+        assertEquals(2, out.created());
+        verify(securityService).isAdmin();
+        verify(validator).validateCreation(userId, e1, false);
+        verify(validator).validateCreation(userId, e2, false);
+        verify(bulkWriter).persistAll(List.of(e1, e2));
+        verifyNoInteractions(repository);
+    }
+
     // =======================
     // READ
     // =======================
@@ -142,16 +169,13 @@ class LocationServiceTest {
 
         when(securityService.isAdmin()).thenReturn(false);
 
-        // repo returns one entity
-        Location entity = new Location();
-        Page<Location> page = new PageImpl<>(List.of(entity), PageRequest.of(0, 10), 1);
+        // repo devolve a projeção pronta (sem entidade nem mapper)
+        AnswerLocationDTO dto = mock(AnswerLocationDTO.class);
+        Page<AnswerLocationDTO> page = new PageImpl<>(List.of(dto), PageRequest.of(0, 10), 1);
 
-        when(repository.findAll(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
+        when(repository.findAnswers(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
                 ArgumentMatchers.any(Pageable.class))).thenReturn(page);
 
-        AnswerLocationDTO dto = mock(AnswerLocationDTO.class);
-        when(mapper.toDTO(entity)).thenReturn(dto);
-
         Page<AnswerLocationDTO> out = service.search(
                 userId,
                 UUID.randomUUID(),
@@ -168,15 +192,14 @@ class LocationServiceTest {
 
         // pageable default (0,10)
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(repository).findAll(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
+        verify(repository).findAnswers(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
                 pageableCaptor.capture());
 
         Pageable pageable = pageableCaptor.getValue();
         assertEquals(0, pageable.getPageNumber());
         assertEquals(10, pageable.getPageSize());
 
-        verify(mapper).toDTO(entity);
-
+        verifyNoInteractions(mapper);
         verifyNoMoreInteractions(repository, validator, securityService, mapper);
     }
 
@@ -187,8 +210,8 @@ class LocationServiceTest {
 
         when(securityService.isAdmin()).thenReturn(true);
 
-        Page<Location> empty = new PageImpl<>(List.of(), PageRequest.of(5, 20), 0);
-        when(repository.findAll(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
+        Page<AnswerLocationDTO> empty = new PageImpl<>(List.of(), PageRequest.of(5, 20), 0);
+        when(repository.findAnswers(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
                 ArgumentMatchers.any(Pageable.class))).thenReturn(empty);
 
         Page<AnswerLocationDTO> out = service.search(
@@ -205,7 +228,7 @@ class LocationServiceTest {
         verify(validator).validateSearch(userId, true, companyId);
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(repository).findAll(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
+        verify(repository).findAnswers(ArgumentMatchers.<org.springframework.data.jpa.domain.Specification<Location>>any(),
                 pageableCaptor.capture());
 
         Pageable pageable = pageableCaptor.getValue();
@@ -0,0 +1,149 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.exception.TooManyRequestsException;
+import com.vectorlabs.model.AppUser;
+import com.vectorlabs.repository.AppUserRepository;
+import com.vectorlabs.security.LoginAttemptLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    private static final String IP = "10.0.0.1";
+
+    @Mock private AppUserRepository repository;
+    @Mock private LoginAttemptLimiter limiter;
+    @Mock private LastSeenWriteBehind lastSeen;
+
+    // custo baixo para o teste ser rápido; executor síncrono
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    private LoginService service;
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoginService(repository, encoder, limiter, Runnable::run, lastSeen);
+
+        user = new AppUser();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@test.com");
+        user.setPassword(encoder.encode("123456"));
+        user.setEnabled(true);
+        user.setDeleted(false);
+    }
+
+    @Test
+    void login_ok_recordsLastLoginWriteBehind_withoutSaving() {
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        AppUser result = service.login("  USER@test.com ", "123456", IP).join();
+
+        assertSame(user, result);
+        assertNotNull(result.getLastLoginAt());
+        verify(lastSeen).recordUserLogin(user.getId());
+        verify(repository, never()).save(any());
+        verify(limiter).checkAllowed("user@test.com", IP);
+        verify(limiter).recordSuccess("user@test.com");
+        verify(limiter, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    void login_wrongPassword_recordsFailure_andFailsWithBadCredentials() {
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> service.login("user@test.com", "wrong-pass", IP).join());
+
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verify(limiter).recordFailure("user@test.com", IP);
+        verify(repository, never()).save(any());
+        verifyNoInteractions(lastSeen);
+    }
+
+    @Test
+    void login_unknownUser_failsWithBadCredentials() {
+        when(repository.findByEmail("ghost@test.com")).thenReturn(Optional.empty());
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> service.login("ghost@test.com", "123456", IP).join());
+
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verify(limiter).recordFailure("ghost@test.com", IP);
+    }
+
+    @Test
+    void login_deletedUser_failsWithBadCredentials_evenWithCorrectPassword() {
+        user.setDeleted(true);
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> service.login("user@test.com", "123456", IP).join());
+
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void login_rehashesPassword_whenStoredCostIsLowerThanConfigured() {
+        LoginService stronger = new LoginService(repository, new BCryptPasswordEncoder(5), limiter, Runnable::run, lastSeen);
+        String oldHash = user.getPassword();
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+        when(repository.updatePasswordIfUnchanged(eq(user.getId()), eq(oldHash), any())).thenReturn(1);
+
+        AppUser result = stronger.login("user@test.com", "123456", IP).join();
+
+        assertNotEquals(oldHash, result.getPassword());
+        assertTrue(result.getPassword().startsWith("$2a$05$"));
+        verify(repository).updatePasswordIfUnchanged(user.getId(), oldHash, result.getPassword());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void login_keepsReadHash_whenPasswordChangedConcurrently() {
+        LoginService stronger = new LoginService(repository, new BCryptPasswordEncoder(5), limiter, Runnable::run, lastSeen);
+        String oldHash = user.getPassword();
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+        // senha trocada entre a leitura e o rehash: o UPDATE condicionado não casa nenhuma linha
+        when(repository.updatePasswordIfUnchanged(eq(user.getId()), eq(oldHash), any())).thenReturn(0);
+
+        AppUser result = stronger.login("user@test.com", "123456", IP).join();
+
+        assertEquals(oldHash, result.getPassword());
+    }
+
+    @Test
+    void login_blockedByLimiter_throws429_withoutHittingRepository() {
+        doThrow(new TooManyRequestsException("Too many login attempts, try again later"))
+                .when(limiter).checkAllowed("user@test.com", IP);
+
+        assertThrows(TooManyRequestsException.class, () -> service.login("user@test.com", "123456", IP));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void login_hashingPoolSaturated_throws429() {
+        LoginService saturated = new LoginService(repository, encoder, limiter,
+                task -> { throw new RejectedExecutionException("full"); }, lastSeen);
+        when(repository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+
+        assertThrows(TooManyRequestsException.class, () -> saturated.login("user@test.com", "123456", IP));
+    }
+}
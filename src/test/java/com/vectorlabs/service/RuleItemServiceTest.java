@@ -1,10 +1,13 @@
 package com.vectorlabs.service;
+import com.vectorlabs.dto.common.BulkResultDTO;
 import com.vectorlabs.dto.rule.ruleitem.AnswerRuleItemDTO;
+import com.vectorlabs.dto.rule.ruleitem.RegisterRuleItemDTO;
 import com.vectorlabs.dto.rule.ruleitem.UpdateRuleItemDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.RuleItemMapper;
 import com.vectorlabs.model.RuleItem;
 import com.vectorlabs.repository.RuleItemRepository;
+import com.vectorlabs.repository.support.BulkWriter;
 import com.vectorlabs.validator.RuleItemValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +43,12 @@ class RuleItemServiceTest {
     @Mock
     private RuleItemValidator validator;
 
+    @Mock
+    private BulkWriter bulkWriter;
+
+    @Mock
+    private RuleTreeCache treeCache;
+
     @InjectMocks
     private RuleItemService service;
 
@@ -64,6 +75,27 @@ class RuleItemServiceTest {
         verify(repository).save(entity);
     }
 
+    @Test
+    void createAll_shouldValidateWholeBatchThenPersistInChunks() {
+        UUID moduleId = UUID.randomUUID();
+        var dto1 = new RegisterRuleItemDTO(moduleId, null, "ITM-01", "d1", 1);
+        var dto2 = new RegisterRuleItemDTO(moduleId, null, "ITM-02", "d2", 2);
+        RuleItem second = new RuleItem();
+        second.setId(UUID.randomUUID());
+        when(mapper.fromRegisterDTO(dto1)).thenReturn(entity);
+        when(mapper.fromRegisterDTO(dto2)).thenReturn(second);
+
+        BulkResultDTO out = service.createAll(List.of(dto1, dto2));
+
+        assertEquals(2, out.created());
+        assertEquals(List.of(id, second.getId()), out.ids());
+        var order = inOrder(validator, bulkWriter);
+        order.verify(validator).validateBulkCreation(List.of(entity, second));
+        order.verify(bulkWriter).persistAll(List.of(entity, second));
+        verify(repository, never()).save(any());
+        verify(validator, never()).validateCreation(any());
+    }
+
     // ========================= READ =========================
 
     @Test
@@ -92,19 +124,18 @@ class RuleItemServiceTest {
         // não depende do construtor do record
         AnswerRuleItemDTO dto = mock(AnswerRuleItemDTO.class);
 
-        Page<RuleItem> page = new PageImpl<>(
-                List.of(entity),
+        Page<AnswerRuleItemDTO> page = new PageImpl<>(
+                List.of(dto),
                 PageRequest.of(0, 10),
                 1
         );
 
-        when(repository.findAll(
+        // projeção direto no DTO: nada de entidade nem mapper na listagem
+        when(repository.findAnswers(
                 org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
                 any(PageRequest.class)
         )).thenReturn(page);
 
-        when(mapper.toDTO(entity)).thenReturn(dto);
-
         var result = service.search(
                 UUID.randomUUID(),  // moduleId
                 UUID.randomUUID(),  // parentId
@@ -119,16 +150,16 @@ class RuleItemServiceTest {
         assertEquals(1, result.getTotalElements());
         assertSame(dto, result.getContent().get(0));
 
-        verify(repository).findAll(
+        verify(repository).findAnswers(
                 org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
                 any(PageRequest.class)
         );
-        verify(mapper).toDTO(entity);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void search_shouldClampPageAndPageSize() {
-        when(repository.findAll(
+        when(repository.findAnswers(
                 org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
                 any(PageRequest.class)
         )).thenReturn(Page.empty());
@@ -146,7 +177,7 @@ class RuleItemServiceTest {
         );
 
         ArgumentCaptor<PageRequest> prCaptor = ArgumentCaptor.forClass(PageRequest.class);
-        verify(repository).findAll(
+        verify(repository).findAnswers(
                 org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
                 prCaptor.capture()
         );
@@ -156,6 +187,36 @@ class RuleItemServiceTest {
         assertEquals(100, pr.getPageSize());
     }
 
+    @Test
+    void searchText_shouldUseFullTextQuery_ranked() {
+        var dto = mock(AnswerRuleItemDTO.class);
+        UUID moduleId = UUID.randomUUID();
+        when(repository.searchText(eq("parada & emergência:*"), eq(moduleId), isNull(), eq(true), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(entity), PageRequest.of(0, 10), 1));
+        when(mapper.toDTO(entity)).thenReturn(dto);
+
+        var result = service.searchText("Parada emergência", moduleId, null, true, 0, 10);
+
+        assertEquals(1, result.getTotalElements());
+        assertSame(dto, result.getContent().get(0));
+        verify(repository, never()).findAnswers(
+                org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
+                any(PageRequest.class)
+        );
+    }
+
+    @Test
+    void searchText_shouldFallBackToSpecSearch_whenQueryHasNoTerms() {
+        when(repository.findAnswers(
+                org.mockito.ArgumentMatchers.<Specification<RuleItem>>any(),
+                any(PageRequest.class)
+        )).thenReturn(Page.empty());
+
+        service.searchText("&&", null, null, null, 0, 10);
+
+        verify(repository, never()).searchText(any(), any(), any(), any(), any());
+    }
+
     // ========================= UPDATE =========================
 
     @Test
@@ -174,6 +235,7 @@ class RuleItemServiceTest {
 
         verify(validator).validateUpdate(entity, updateDTO);
         verify(mapper).updateFromDTO(updateDTO, entity);
+        verify(treeCache).evictTreeOf(entity);
         verify(repository).save(entity);
         verify(mapper).toDTO(entity);
     }
@@ -200,6 +262,7 @@ class RuleItemServiceTest {
         service.delete(id);
 
         verify(validator).validateDelete(entity);
+        verify(treeCache).evictTreeOf(entity);
         verify(repository).delete(entity);
     }
 
@@ -1,11 +1,16 @@
 package com.vectorlabs.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.vectorlabs.dto.rule.rulemodule.AnswerRuleModuleDTO;
 import com.vectorlabs.dto.rule.rulemodule.UpdateRuleModuleDTO;
 import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.RuleModuleMapper;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeDTO;
 import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
 import com.vectorlabs.repository.RuleModuleRepository;
+import com.vectorlabs.repository.RuleSectionRepository;
 import com.vectorlabs.validator.RuleModuleValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,10 +23,13 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,12 +42,18 @@ class RuleModuleServiceTest {
     @Mock
     private RuleModuleRepository repository;
 
+    @Mock
+    private RuleSectionRepository sectionRepository;
+
     @Mock
     private RuleModuleMapper mapper;
 
     @Mock
     private RuleModuleValidator validator;
 
+    @Mock
+    private RuleTreeCache treeCache;
+
     @InjectMocks
     private RuleModuleService service;
 
@@ -57,15 +71,39 @@ class RuleModuleServiceTest {
 
     @Test
     void save_shouldValidateAndPersist() {
+        UUID ruleId = UUID.randomUUID();
+        entity.setSection(sectionWithIdOnly());
+        when(sectionRepository.findRuleIdById(entity.getSection().getId())).thenReturn(Optional.of(ruleId));
         when(repository.save(entity)).thenReturn(entity);
 
         var result = service.save(entity);
 
         assertNotNull(result);
         verify(validator).validateCreation(entity);
+        verify(treeCache).evictNowAndAfterCommit(ruleId);
         verify(repository).save(entity);
     }
 
+    @Test
+    void save_shouldInvalidateCachedTree_withRealCache() {
+        RuleTreeCache realCache = new RuleTreeCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+                Duration.ofMinutes(10), 100, Clock.systemUTC());
+        RuleModuleService withRealCache = new RuleModuleService(repository, sectionRepository, mapper, validator, realCache);
+        UUID ruleId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        realCache.getOrLoad(ruleId, rid -> { loads.incrementAndGet(); return tree(rid); });
+
+        // como o mapper monta a partir do RegisterRuleModuleDTO: seção sem a norma
+        entity.setSection(sectionWithIdOnly());
+        when(sectionRepository.findRuleIdById(entity.getSection().getId())).thenReturn(Optional.of(ruleId));
+        when(repository.save(entity)).thenReturn(entity);
+
+        withRealCache.save(entity);
+        realCache.getOrLoad(ruleId, rid -> { loads.incrementAndGet(); return tree(rid); });
+
+        assertEquals(2, loads.get());
+    }
+
     // ========================= READ =========================
 
     @Test
@@ -221,4 +259,14 @@ class RuleModuleServiceTest {
         verifyNoMoreInteractions(mapper, validator);
         verify(repository, never()).delete(any(RuleModule.class));
     }
+
+    private static RuleSection sectionWithIdOnly() {
+        RuleSection section = new RuleSection();
+        section.setId(UUID.randomUUID());
+        return section;
+    }
+
+    private static RuleTreeDTO tree(UUID ruleId) {
+        return new RuleTreeDTO(ruleId, "NR12", "Title", null, null, null, true, List.of());
+    }
 }
@@ -40,6 +40,9 @@ class RuleSectionServiceTest {
     @Mock
     private RuleSectionValidator validator;
 
+    @Mock
+    private RuleTreeCache treeCache;
+
     @InjectMocks
     private RuleSectionService service;
 
@@ -6,6 +6,7 @@ import com.vectorlabs.exception.ObjectNotFound;
 import com.vectorlabs.mapper.RuleMapper;
 import com.vectorlabs.model.Rule;
 import com.vectorlabs.repository.RuleRepository;
+import com.vectorlabs.repository.support.SoftDeleteFilter;
 import com.vectorlabs.validator.RuleValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.springframework.data.jpa.domain.Specification;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +27,8 @@ class RuleServiceTest {
     @Mock private RuleRepository repository;
     @Mock private RuleMapper mapper;
     @Mock private RuleValidator validator;
+    @Mock private SoftDeleteFilter softDeleteFilter;
+    @Mock private RuleTreeCache treeCache;
 
     @InjectMocks private RuleService service;
 
@@ -161,6 +165,7 @@ class RuleServiceTest {
         Page<Rule> empty = Page.empty(expectedPageable);
 
         when(repository.findAll(any(Specification.class), eq(expectedPageable))).thenReturn(empty);
+        when(softDeleteFilter.includingDeleted(any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(0).get());
 
         Page<AnswerRuleDTO> result = service.search(
                 null, null, null,
@@ -173,6 +178,8 @@ class RuleServiceTest {
         assertNotNull(result);
         assertEquals(0, result.getTotalElements());
 
+        // tombstones só aparecem com o filtro de soft delete desligado
+        verify(softDeleteFilter).includingDeleted(any());
         verify(repository).findAll(any(Specification.class), eq(expectedPageable));
         verifyNoMoreInteractions(repository, validator, mapper);
     }
@@ -243,6 +250,7 @@ class RuleServiceTest {
 
         verify(repository).findById(id);
         verify(repository).save(existing);
+        verify(treeCache).evictNowAndAfterCommit(id);
         verifyNoMoreInteractions(repository, validator, mapper);
     }
 
@@ -0,0 +1,50 @@
+package com.vectorlabs.service;
+
+import com.vectorlabs.dto.rule.RuleTextHitDTO;
+import com.vectorlabs.model.enuns.RuleTextHitType;
+import com.vectorlabs.repository.RuleTextSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleTextSearchServiceTest {
+
+    @Mock
+    private RuleTextSearchRepository repository;
+
+    @InjectMocks
+    private RuleTextSearchService service;
+
+    @Test
+    void search_shouldPassPrefixQuery_andDefaultLimit() {
+        var hit = new RuleTextHitDTO(RuleTextHitType.ITEM, UUID.randomUUID(), UUID.randomUUID(),
+                "12.38.1", "Dispositivos de parada", "<mark>parada</mark> de emergência", 0.4);
+        when(repository.search("parada & emerg:*", RuleTextSearchService.DEFAULT_LIMIT)).thenReturn(List.of(hit));
+
+        var result = service.search("parada emerg", null);
+
+        assertEquals(List.of(hit), result);
+    }
+
+    @Test
+    void search_shouldClampLimit() {
+        service.search("nr", 1000);
+
+        verify(repository).search("nr:*", RuleTextSearchService.MAX_LIMIT);
+    }
+
+    @Test
+    void search_shouldNotHitDatabase_whenQueryHasNoTerms() {
+        assertTrue(service.search(" :* ", 10).isEmpty());
+        verifyNoInteractions(repository);
+    }
+}
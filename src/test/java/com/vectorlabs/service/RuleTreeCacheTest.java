@@ -0,0 +1,154 @@
+package com.vectorlabs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vectorlabs.dto.rule.ruletree.RuleTreeDTO;
+import com.vectorlabs.model.Rule;
+import com.vectorlabs.model.RuleItem;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleTreeCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private RuleTreeCache cache(Duration ttl, Clock clock) {
+        return new RuleTreeCache(objectMapper, ttl, 100, clock);
+    }
+
+    private static RuleTreeDTO tree(UUID id, String title) {
+        return new RuleTreeDTO(id, "NR12", title, null, null, null, true, List.of());
+    }
+
+    @Test
+    void getOrLoad_shouldLoadOnce_andKeepEtagStable() {
+        RuleTreeCache cache = cache(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        RuleTreeCache.Snapshot first = cache.getOrLoad(id, rid -> { loads.incrementAndGet(); return tree(rid, "A"); });
+        RuleTreeCache.Snapshot second = cache.getOrLoad(id, rid -> { loads.incrementAndGet(); return tree(rid, "A"); });
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void evict_shouldReload_andChangeEtag_whenContentChanged() {
+        RuleTreeCache cache = cache(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+
+        RuleTreeCache.Snapshot before = cache.getOrLoad(id, rid -> tree(rid, "A"));
+        cache.evict(id);
+        RuleTreeCache.Snapshot after = cache.getOrLoad(id, rid -> tree(rid, "B"));
+
+        assertEquals("B", after.tree().title());
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(after.version() > before.version());
+    }
+
+    @Test
+    void evict_shouldReuseEtag_whenReloadedContentIsTheSame() {
+        RuleTreeCache cache = cache(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+
+        String before = cache.getOrLoad(id, rid -> tree(rid, "A")).etag();
+        cache.evict(id);
+
+        assertEquals(before, cache.getOrLoad(id, rid -> tree(rid, "A")).etag());
+    }
+
+    @Test
+    void getOrLoad_shouldNotStore_whenEvictedDuringLoad() {
+        RuleTreeCache cache = cache(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        // escrita concorrente entre o select e o put: o estado lido não vai para o cache
+        RuleTreeCache.Snapshot stale = cache.getOrLoad(id, rid -> {
+            loads.incrementAndGet();
+            cache.evict(rid);
+            return tree(rid, "old");
+        });
+        RuleTreeCache.Snapshot fresh = cache.getOrLoad(id, rid -> { loads.incrementAndGet(); return tree(rid, "new"); });
+
+        assertEquals("old", stale.tree().title());
+        assertEquals("new", fresh.tree().title());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getOrLoad_shouldReload_afterTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        RuleTreeCache cache = cache(Duration.ofSeconds(30), clock);
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(id, rid -> { loads.incrementAndGet(); return tree(rid, "A"); });
+        clock.now = NOW.plusSeconds(31);
+        cache.getOrLoad(id, rid -> { loads.incrementAndGet(); return tree(rid, "A"); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictTreeOf_shouldResolveRuleThroughParents() {
+        RuleTreeCache cache = cache(Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        UUID ruleId = UUID.randomUUID();
+        cache.getOrLoad(ruleId, rid -> tree(rid, "A"));
+
+        Rule rule = new Rule();
+        rule.setId(ruleId);
+        RuleSection section = new RuleSection();
+        section.setRule(rule);
+        RuleModule module = new RuleModule();
+        module.setSection(section);
+        RuleItem item = new RuleItem();
+        item.setModule(module);
+
+        cache.evictTreeOf(item);
+        assertEquals(0, cache.size());
+
+        // nó sem pai (ainda não validado) não quebra a escrita
+        assertDoesNotThrow(() -> cache.evictTreeOf(new RuleItem()));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
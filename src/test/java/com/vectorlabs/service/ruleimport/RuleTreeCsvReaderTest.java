@@ -0,0 +1,80 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.vectorlabs.exception.DoubleRegisterException;
+import com.vectorlabs.exception.InvalidFieldException;
+import com.vectorlabs.exception.MissingRequiredFieldException;
+import com.vectorlabs.service.ruleimport.RuleTree.ItemNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleTreeCsvReaderTest {
+
+    private static final String HEADER = String.join(",", RuleTreeCsvReader.COLUMNS) + "\n";
+
+    private final RuleTreeCsvReader reader = new RuleTreeCsvReader();
+
+    @Test
+    void read_shouldBuildTree_withQuotedCommasQuotesAndLineBreaks() {
+        String csv = HEADER
+                + "12.1,Princípios gerais,1,12.1,Disposições,1,12.1.1,,\"Texto com, vírgula\",1\r\n"
+                + "12.1,Princípios gerais,1,12.1,Disposições,1,12.1.1.1,12.1.1,\"Linha 1\nLinha \"\"2\"\"\",2\n"
+                + "\n";
+
+        RuleTree tree = reader.read(stream(csv), "NR-12", "Máquinas");
+
+        assertEquals("NR-12", tree.getCode());
+        List<ItemNode> items = tree.pending().stream()
+                .filter(ItemNode.class::isInstance).map(ItemNode.class::cast).toList();
+        assertEquals(2, items.size());
+        assertEquals("Texto com, vírgula", items.get(0).getDescription());
+        assertEquals("Linha 1\nLinha \"2\"", items.get(1).getDescription());
+        assertSame(items.get(0), items.get(1).getParent());
+    }
+
+    @Test
+    void read_shouldAcceptColumnsInAnyOrder_andBom() {
+        String csv = "\uFEFFitem_code,description,section_code,section_name,section_sequence,"
+                + "module_code,module_name,module_sequence,parent_code,item_sequence\n"
+                + "12.1.1,Texto,12.1,Seção,1,12.1,Módulo,1,,\n";
+
+        RuleTree tree = reader.read(stream(csv), "NR-12", null);
+
+        assertEquals(3, tree.size());
+    }
+
+    @Test
+    void read_shouldReportLineNumber_onInvalidRow() {
+        String csv = HEADER
+                + "12.1,Seção,1,12.1,Módulo,1,12.1.1,,\"Texto\nem duas linhas\",1\n"
+                + "12.1,Seção,1,12.1,Módulo,1,12.1.1,,Repetido,2\n";
+
+        var ex = assertThrows(DoubleRegisterException.class, () -> reader.read(stream(csv), "NR-12", null));
+        assertTrue(ex.getMessage().startsWith("line 4: "), ex.getMessage());
+    }
+
+    @Test
+    void read_shouldThrow_onWrongColumnCountOrBadNumber() {
+        assertThrows(InvalidFieldException.class,
+                () -> reader.read(stream(HEADER + "12.1,Seção,1\n"), "NR-12", null));
+        assertThrows(InvalidFieldException.class,
+                () -> reader.read(stream(HEADER + "12.1,Seção,um,12.1,Módulo,1,12.1.1,,Texto,1\n"), "NR-12", null));
+        assertThrows(InvalidFieldException.class,
+                () -> reader.read(stream(HEADER + "12.1,Seção,1,12.1,Módulo,1,12.1.1,,\"aberto,1\n"), "NR-12", null));
+    }
+
+    @Test
+    void read_shouldThrow_whenColumnMissing() {
+        assertThrows(MissingRequiredFieldException.class,
+                () -> reader.read(stream("section_code,item_code\n"), "NR-12", null));
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,179 @@
+package com.vectorlabs.service.ruleimport;
+
+import com.vectorlabs.exception.DoubleRegisterException;
+import com.vectorlabs.exception.InvalidFieldException;
+import com.vectorlabs.exception.MissingRequiredFieldException;
+import com.vectorlabs.model.RuleModule;
+import com.vectorlabs.model.RuleSection;
+import com.vectorlabs.service.ruleimport.RuleTree.ItemNode;
+import com.vectorlabs.service.ruleimport.RuleTree.ModuleNode;
+import com.vectorlabs.service.ruleimport.RuleTree.Node;
+import com.vectorlabs.service.ruleimport.RuleTree.SectionNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleTreeTest {
+
+    private RuleTree tree;
+    private SectionNode section;
+    private ModuleNode module;
+
+    @BeforeEach
+    void setup() {
+        tree = new RuleTree();
+        section = tree.section("12.1", "Princípios gerais", 1);
+        module = tree.module(section, "12.1", "Disposições", 1);
+    }
+
+    // ===================== CONSTRUÇÃO =====================
+
+    @Test
+    void section_shouldReturnSameNode_whenRepeatedWithSameData() {
+        assertSame(section, tree.section("12.1", "Princípios gerais", 1));
+        assertSame(module, tree.module(section, "12.1", "Disposições", 1));
+    }
+
+    @Test
+    void section_shouldThrow_whenRepeatedWithDifferentData() {
+        assertThrows(InvalidFieldException.class, () -> tree.section("12.1", "Outro nome", 1));
+    }
+
+    @Test
+    void section_shouldThrow_whenSequenceAlreadyUsed() {
+        assertThrows(DoubleRegisterException.class, () -> tree.section("12.2", "Arranjo físico", 1));
+    }
+
+    @Test
+    void module_shouldThrow_whenSequenceAlreadyUsedInSection() {
+        assertThrows(DoubleRegisterException.class, () -> tree.module(section, "12.1.A", "Outro", 1));
+    }
+
+    @Test
+    void item_shouldThrow_whenCodeRepeatsInModule() {
+        tree.item(module, "12.1.1", null, "Texto", 1);
+
+        assertThrows(DoubleRegisterException.class, () -> tree.item(module, "12.1.1", null, "Outro", 2));
+    }
+
+    @Test
+    void item_shouldValidateFields_withLocationPrefix() {
+        tree.at("line 7");
+
+        var ex = assertThrows(MissingRequiredFieldException.class, () -> tree.item(module, "12.1.1", null, " ", 1));
+        assertTrue(ex.getMessage().startsWith("line 7: "));
+        assertThrows(InvalidFieldException.class, () -> tree.item(module, "X".repeat(51), null, "Texto", 1));
+        assertThrows(InvalidFieldException.class, () -> tree.item(module, "12.1.2", "12.1.2", "Texto", 1));
+    }
+
+    @Test
+    void item_shouldDefaultSequenceToPositionInModule() {
+        tree.item(module, "12.1.1", null, "A", null);
+        ItemNode second = tree.item(module, "12.1.2", null, "B", null);
+
+        assertEquals(2, second.getSequence());
+    }
+
+    // ===================== PLANO =====================
+
+    @Test
+    void pending_shouldOrderParentsBeforeChildren_evenWhenChildComesFirst() {
+        tree.item(module, "12.1.1.1", "12.1.1", "Neto", 1);
+        tree.item(module, "12.1.1", "12.1", "Filho", 2);
+        tree.item(module, "12.1", null, "Raiz", 3);
+
+        List<Node> pending = tree.pending();
+
+        assertEquals(List.of(section, module), pending.subList(0, 2));
+        List<String> items = pending.subList(2, 5).stream().map(n -> ((ItemNode) n).getCode()).toList();
+        assertEquals(List.of("12.1", "12.1.1", "12.1.1.1"), items);
+        assertEquals("12.1.1", ((ItemNode) pending.get(4)).getParent().getCode());
+        assertEquals(5, tree.size());
+    }
+
+    @Test
+    void pending_shouldThrow_whenParentMissing() {
+        tree.item(module, "12.1.1", "12.9", "Filho", 1);
+
+        assertThrows(InvalidFieldException.class, () -> tree.pending());
+    }
+
+    @Test
+    void pending_shouldThrow_onParentCycle() {
+        tree.item(module, "A", "B", "a", 1);
+        tree.item(module, "B", "A", "b", 2);
+
+        assertThrows(InvalidFieldException.class, () -> tree.pending());
+    }
+
+    // ===================== ESTADO JÁ GRAVADO =====================
+
+    @Test
+    void attachExisting_shouldSkipExistingNodes_andResolveParentFromDatabase() {
+        tree.item(module, "12.1.1", null, "Já gravado", 1);
+        ItemNode child = tree.item(module, "12.1.2", "12.1.0", "Novo, pai só no banco", 2);
+
+        UUID sectionId = UUID.randomUUID();
+        UUID moduleId = UUID.randomUUID();
+        UUID existingItemId = UUID.randomUUID();
+        UUID dbParentId = UUID.randomUUID();
+
+        tree.attachExisting(UUID.randomUUID(),
+                List.of(existingSection(sectionId, "12.1", 1, false)),
+                List.of(existingModule(moduleId, sectionId, "12.1", 1, false)),
+                List.of(new Object[]{moduleId, "12.1.1", existingItemId, false},
+                        new Object[]{moduleId, "12.1.0", dbParentId, false}));
+
+        List<Node> pending = tree.pending();
+
+        assertEquals(List.of(child), pending);
+        assertEquals(dbParentId, child.getParentId());
+        assertEquals(sectionId, section.getId());
+        assertEquals(moduleId, module.getId());
+    }
+
+    @Test
+    void attachExisting_shouldThrow_whenCodeMatchesDeletedRow() {
+        tree.item(module, "12.1.1", null, "Texto", 1);
+        UUID sectionId = UUID.randomUUID();
+        UUID moduleId = UUID.randomUUID();
+
+        assertThrows(DoubleRegisterException.class, () -> tree.attachExisting(UUID.randomUUID(),
+                List.of(existingSection(sectionId, "12.1", 1, false)),
+                List.of(existingModule(moduleId, sectionId, "12.1", 1, false)),
+                List.<Object[]>of(new Object[]{moduleId, "12.1.1", UUID.randomUUID(), true})));
+    }
+
+    @Test
+    void attachExisting_shouldThrow_whenNewSectionTakesExistingSequence() {
+        tree.section("12.2", "Arranjo físico", 2);
+
+        assertThrows(DoubleRegisterException.class, () -> tree.attachExisting(UUID.randomUUID(),
+                List.of(existingSection(UUID.randomUUID(), "12.9", 2, false)), List.of(), List.of()));
+    }
+
+    // ===================== helpers =====================
+
+    private RuleSection existingSection(UUID id, String code, int sequence, boolean deleted) {
+        RuleSection s = new RuleSection();
+        s.setId(id);
+        s.setCode(code);
+        s.setSequence(sequence);
+        s.setDeleted(deleted);
+        return s;
+    }
+
+    private RuleModule existingModule(UUID id, UUID sectionId, String code, int sequence, boolean deleted) {
+        RuleModule m = new RuleModule();
+        m.setId(id);
+        m.setSection(existingSection(sectionId, "-", -1, false));
+        m.setModuleCode(code);
+        m.setModuleSequence(sequence);
+        m.setDeleted(deleted);
+        return m;
+    }
+}
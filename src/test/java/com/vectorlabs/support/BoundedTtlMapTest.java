@@ -0,0 +1,114 @@
+package com.vectorlabs.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlMapTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void get_shouldDropExpiredEntry() {
+        MutableClock moving = new MutableClock(NOW);
+        BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, moving);
+        map.put("short", "a", NOW.plusSeconds(10));
+        map.put("long", "b", NOW.plusSeconds(60));
+
+        moving.now = NOW.plusSeconds(30);
+
+        assertNull(map.get("short"));
+        assertEquals("b", map.get("long"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void put_shouldIgnoreAlreadyExpiredValue() {
+        BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, clock);
+        map.put("dead", "b", NOW);
+
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void put_shouldKeepSizeBounded() {
+        BoundedTtlMap<Integer, Integer> map = new BoundedTtlMap<>(10, clock);
+        for (int i = 200; i < 250; i++) map.put(i, i, NOW.plusSeconds(60));
+        assertTrue(map.size() <= 10);
+        assertEquals(249, map.get(249));
+    }
+
+    @Test
+    void put_shouldReplaceExistingKey_withoutEvictingOthers() {
+        BoundedTtlMap<Integer, Integer> map = new BoundedTtlMap<>(3, clock);
+        for (int i = 0; i < 3; i++) map.put(i, i, NOW.plusSeconds(60));
+
+        map.put(1, 10, NOW.plusSeconds(60));
+
+        assertEquals(3, map.size());
+        assertEquals(10, map.get(1));
+    }
+
+    @Test
+    void put_shouldBeNoop_whenDisabled() {
+        BoundedTtlMap<String, String> map = new BoundedTtlMap<>(0, clock);
+        map.put("k", "v", NOW.plusSeconds(60));
+
+        assertNull(map.get("k"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeNowAndAfterCommit_shouldDropValueReloadedBeforeCommit() {
+        BoundedTtlMap<String, String> map = new BoundedTtlMap<>(10, clock);
+        map.put("k", "old", NOW.plusSeconds(60));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            map.removeNowAndAfterCommit("k");
+            assertNull(map.get("k"));
+
+            // request concorrente recarregou o estado antigo antes do commit
+            map.put("k", "old", NOW.plusSeconds(60));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(map.get("k"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -110,6 +111,51 @@ class RuleItemValidatorTest {
         verify(repository).existsByModule_IdAndItemCode(module.getId(), "ITM-01");
     }
 
+    // ===================== CREATE (lote) =====================
+
+    @Test
+    void validateBulkCreation_shouldQueryCodesOncePerModule() {
+        RuleItem second = new RuleItem();
+        second.setModule(module);
+        second.setItemCode("ITM-02");
+        when(repository.findItemCodesByModuleId(module.getId())).thenReturn(List.of("ITM-00"));
+
+        assertDoesNotThrow(() -> validator.validateBulkCreation(List.of(validItem, second)));
+
+        verify(repository).findItemCodesByModuleId(module.getId());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void validateBulkCreation_shouldThrow_whenCodeAlreadyExistsInModule() {
+        when(repository.findItemCodesByModuleId(module.getId())).thenReturn(List.of("ITM-01"));
+
+        assertThrows(DoubleRegisterException.class, () -> validator.validateBulkCreation(List.of(validItem)));
+    }
+
+    @Test
+    void validateBulkCreation_shouldThrow_whenCodeRepeatsInsideTheBatch() {
+        RuleItem duplicate = new RuleItem();
+        duplicate.setModule(module);
+        duplicate.setItemCode("ITM-01");
+        when(repository.findItemCodesByModuleId(module.getId())).thenReturn(List.of());
+
+        assertThrows(DoubleRegisterException.class,
+                () -> validator.validateBulkCreation(List.of(validItem, duplicate)));
+    }
+
+    @Test
+    void validateBulkCreation_shouldThrowBeforeQuerying_whenAnyItemIsInvalid() {
+        RuleItem invalid = new RuleItem();
+        invalid.setModule(module);
+        invalid.setItemCode("X".repeat(51));
+
+        assertThrows(InvalidFieldException.class,
+                () -> validator.validateBulkCreation(List.of(validItem, invalid)));
+
+        verifyNoInteractions(repository);
+    }
+
     // ===================== UPDATE =====================
 
     @Test